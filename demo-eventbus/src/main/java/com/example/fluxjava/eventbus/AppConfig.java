@@ -18,15 +18,22 @@ package com.example.fluxjava.eventbus;
 import android.app.Application;
 
 import com.example.fluxjava.eventbus.domain.ActionHelper;
+import com.example.fluxjava.eventbus.domain.actions.TodoAction;
+import com.example.fluxjava.eventbus.domain.actions.UserAction;
 import com.example.fluxjava.eventbus.domain.Bus;
 import com.example.fluxjava.eventbus.domain.stores.TodoStore;
 import com.example.fluxjava.eventbus.domain.stores.UserStore;
+import io.wzcodes.fluxjava.ActionRegistry;
 import io.wzcodes.fluxjava.FluxContext;
 
 import java.util.HashMap;
 
 import static com.example.fluxjava.eventbus.domain.Constants.DATA_TODO;
 import static com.example.fluxjava.eventbus.domain.Constants.DATA_USER;
+import static com.example.fluxjava.eventbus.domain.Constants.TODO_ADD;
+import static com.example.fluxjava.eventbus.domain.Constants.TODO_CLOSE;
+import static com.example.fluxjava.eventbus.domain.Constants.TODO_LOAD;
+import static com.example.fluxjava.eventbus.domain.Constants.USER_LOAD;
 
 public class AppConfig extends Application {
 
@@ -42,11 +49,20 @@ public class AppConfig extends Application {
         storeMap.put(DATA_USER, UserStore.class);
         storeMap.put(DATA_TODO, TodoStore.class);
 
+        // map the action ids to classes without switch in ActionHelper
+        ActionRegistry actionRegistry = new ActionRegistry()
+                .register(USER_LOAD, UserAction.class)
+                .register(TODO_LOAD, TodoAction.class)
+                .register(TODO_ADD, TodoAction.class)
+                .register(TODO_CLOSE, TodoAction.class);
+
         // setup relationship of components in framework
         FluxContext.getBuilder()
                 .setBus(new Bus())
                 .setActionHelper(new ActionHelper())
                 .setStoreMap(storeMap)
+                .setActionRegistry(actionRegistry)
+                .setLoadRegistry(true)
                 .build();
     }
 
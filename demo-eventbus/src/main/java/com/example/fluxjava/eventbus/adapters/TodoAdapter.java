@@ -28,6 +28,8 @@ import com.example.fluxjava.eventbus.R;
 import com.example.fluxjava.eventbus.domain.models.Todo;
 import com.example.fluxjava.eventbus.domain.stores.TodoStore;
 import io.wzcodes.fluxjava.FluxContext;
+import io.wzcodes.fluxjava.ListDiff;
+import io.wzcodes.fluxjava.PersistentVector;
 
 import org.greenrobot.eventbus.Subscribe;
 import org.greenrobot.eventbus.ThreadMode;
@@ -53,10 +55,13 @@ public class TodoAdapter extends RecyclerView.Adapter<TodoAdapter.ViewHolder> {
     }
 
     private TodoStore mStore;
+    // the version applied to RecyclerView, the store may be ahead of it
+    private PersistentVector<Todo> mSnapshot;
 
     public TodoAdapter() {
         // get the instance of store that will provide data
         this.mStore = (TodoStore)FluxContext.getInstance().getStore(DATA_TODO, null, this);
+        this.mSnapshot = this.mStore.getSnapshot();
     }
 
     @Override
@@ -70,7 +75,7 @@ public class TodoAdapter extends RecyclerView.Adapter<TodoAdapter.ViewHolder> {
 
     @Override
     public void onBindViewHolder(final ViewHolder inViewHolder, final int inPosition) {
-        final Todo item = this.mStore.getItem(inPosition);
+        final Todo item = this.mSnapshot.get(inPosition);
 
         // bind data into item view of RecyclerView
         inViewHolder.title.setText(item.title);
@@ -88,27 +93,48 @@ public class TodoAdapter extends RecyclerView.Adapter<TodoAdapter.ViewHolder> {
         inViewHolder.closed.setOnCheckedChangeListener(new CompoundButton.OnCheckedChangeListener() {
             @Override
             public void onCheckedChanged(final CompoundButton inButtonView, final boolean inIsChecked) {
-                item.closed = inIsChecked;
+                // the item is shared with store, change a copy of it
+                final Todo todo = new Todo(item);
+
+                todo.closed = inIsChecked;
                 FluxContext.getInstance()
                         .getActionCreator()
-                        .sendRequestAsync(TODO_CLOSE, item);
+                        .sendRequestAsync(TODO_CLOSE, todo);
             }
         });
     }
 
     @Override
     public int getItemCount() {
-        return this.mStore.getCount();
+        return this.mSnapshot.size();
     }
 
     @Subscribe(threadMode = ThreadMode.MAIN)
     public void onEvent(final TodoStore.ListChangeEvent inEvent) {
-        super.notifyDataSetChanged();
-    }
-
-    @Subscribe(threadMode = ThreadMode.MAIN)
-    public void onEvent(final TodoStore.ItemChangeEvent inEvent) {
-        super.notifyItemChanged(inEvent.position);
+        if (inEvent.getBase() == this.mSnapshot) {
+            // apply the changes calculated by store in order, only the changed items are rebound
+            this.mSnapshot = inEvent.getSnapshot();
+            for (ListDiff.Change change : inEvent.getChanges()) {
+                switch (change.getType()) {
+                    case INSERT:
+                        super.notifyItemRangeInserted(change.getPosition(), change.getCount());
+                        break;
+                    case REMOVE:
+                        super.notifyItemRangeRemoved(change.getPosition(), change.getCount());
+                        break;
+                    case MOVE:
+                        super.notifyItemMoved(change.getPosition(), change.getToPosition());
+                        break;
+                    case CHANGE:
+                        super.notifyItemRangeChanged(change.getPosition(), change.getCount());
+                        break;
+                }
+            }
+        } else if (this.mStore.getSnapshot() != this.mSnapshot) {
+            // the events from different threads are out of order, show the current version
+            this.mSnapshot = this.mStore.getSnapshot();
+            super.notifyDataSetChanged();
+        }
     }
 
     public void dispose() {
@@ -17,9 +17,11 @@ package com.example.fluxjava.eventbus.domain.actions;
 
 import com.example.fluxjava.eventbus.domain.models.Todo;
 import io.wzcodes.fluxjava.FluxAction;
+import io.wzcodes.fluxjava.FluxFactory;
 
 import java.util.List;
 
+@FluxFactory
 public class TodoAction extends FluxAction<Integer, List<Todo>> {
 
     public TodoAction(final Integer inType, final List<Todo> inData) {
@@ -17,9 +17,11 @@ package com.example.fluxjava.eventbus.domain.actions;
 
 import com.example.fluxjava.eventbus.domain.models.User;
 import io.wzcodes.fluxjava.FluxAction;
+import io.wzcodes.fluxjava.FluxFactory;
 
 import java.util.List;
 
+@FluxFactory
 public class UserAction extends FluxAction<Integer, List<User>> {
 
     public UserAction(final Integer inType, final List<User> inData) {
@@ -17,49 +17,64 @@ package com.example.fluxjava.eventbus.domain.stores;
 
 import com.example.fluxjava.eventbus.domain.actions.TodoAction;
 import com.example.fluxjava.eventbus.domain.models.Todo;
-import io.wzcodes.fluxjava.FluxContext;
-import io.wzcodes.fluxjava.FluxStore;
+import io.wzcodes.fluxjava.FluxFactory;
 import io.wzcodes.fluxjava.IFluxBus;
+import io.wzcodes.fluxjava.ListDiff;
+import io.wzcodes.fluxjava.ListDiffEvent;
+import io.wzcodes.fluxjava.PersistentVector;
+import io.wzcodes.fluxjava.SnapshotFluxStore;
 
 import org.greenrobot.eventbus.Subscribe;
 import org.greenrobot.eventbus.ThreadMode;
 
-import java.util.ArrayList;
+import java.util.List;
 
 import static com.example.fluxjava.eventbus.domain.Constants.TODO_ADD;
 import static com.example.fluxjava.eventbus.domain.Constants.TODO_CLOSE;
 import static com.example.fluxjava.eventbus.domain.Constants.TODO_LOAD;
 
-public class TodoStore extends FluxStore<Todo> {
+@FluxFactory
+public class TodoStore extends SnapshotFluxStore<Todo> {
 
-    public static class ListChangeEvent implements FluxContext.StoreChangeEvent {}
+    public static class ListChangeEvent extends ListDiffEvent<Todo> {
+        ListChangeEvent(final TodoStore inStore, final PersistentVector<Todo> inBase,
+                        final PersistentVector<Todo> inSnapshot, final List<ListDiff.Change> inChanges) {
+            super(inStore, inBase, inSnapshot, inChanges);
+        }
+    }
 
-    public static class ItemChangeEvent implements FluxContext.StoreChangeEvent {
-        public int position;
+    // use id field to identify data, the other fields are displayed
+    private static final ListDiff.Callback<Todo> DIFF_CALLBACK = new ListDiff.Callback<Todo>() {
+        @Override
+        public Object getKey(final Todo inItem) {
+            return inItem.id;
+        }
 
-        ItemChangeEvent(final int inPosition) {
-            this.position = inPosition;
+        @Override
+        public boolean isSameContent(final Todo inOldItem, final Todo inNewItem) {
+            return isSameText(inOldItem.title, inNewItem.title)
+                    && isSameText(inOldItem.dueDate, inNewItem.dueDate)
+                    && isSameText(inOldItem.memo, inNewItem.memo)
+                    && inOldItem.closed == inNewItem.closed;
         }
-    }
 
-    ArrayList<Todo> mList = new ArrayList<>();
+        private boolean isSameText(final String inOldText, final String inNewText) {
+            return inOldText == null ? inNewText == null : inOldText.equals(inNewText);
+        }
+    };
 
     public TodoStore(final IFluxBus inBus) {
         super(inBus);
     }
 
-    @Override
-    public Todo getItem(final int inIndex) {
-        return new Todo(this.mList.get(inIndex));
-    }
-
     @Override
     public int findItem(final Todo inTodo) {
+        final PersistentVector<Todo> snapshot = super.getSnapshot();
         int result = -1;
 
         // use id field to identify data
-        for (int i = 0; i < this.mList.size(); i++) {
-            if (this.mList.get(i).id == inTodo.id) {
+        for (int i = 0; i < snapshot.size(); i++) {
+            if (snapshot.get(i).id == inTodo.id) {
                 result = i;
                 break;
             }
@@ -69,33 +84,62 @@ public class TodoStore extends FluxStore<Todo> {
     }
 
     @Override
-    public int getCount() {
-        return this.mList.size();
+    protected boolean isCoalesceChanges() {
+        // the changes of an action are sent together
+        return true;
+    }
+
+    @Override
+    protected ListChangeEvent createDiffEvent(final PersistentVector<Todo> inBase,
+                                              final PersistentVector<Todo> inSnapshot,
+                                              final List<ListDiff.Change> inChanges) {
+        return new ListChangeEvent(this, inBase, inSnapshot, inChanges);
     }
 
     @Subscribe(threadMode = ThreadMode.BACKGROUND)
     public void onAction(final TodoAction inAction) {
-        // base on input action to process data
+        super.beginChanges();
+        try {
+            this.processAction(inAction);
+        } finally {
+            super.endChanges();
+        }
+    }
+
+    private void processAction(final TodoAction inAction) {
+        // base on input action to process data,
+        // the changes of list are calculated here in background thread
+        PersistentVector<Todo> current;
+        PersistentVector<Todo> snapshot;
+
         switch (inAction.getType()) {
             case TODO_LOAD:
-                this.mList.clear();
-                this.mList.addAll(inAction.getData());
-                super.emitChange(new ListChangeEvent());
+                super.publishChanges(PersistentVector.from(inAction.getData()), DIFF_CALLBACK);
                 break;
             case TODO_ADD:
-                this.mList.addAll(inAction.getData());
-                super.emitChange(new ListChangeEvent());
+                // the actions are handled in the threads of senders,
+                // start again from the new version if another one published first
+                do {
+                    current = super.getSnapshot();
+                    snapshot = current;
+                    for (Todo todo : inAction.getData()) {
+                        snapshot = snapshot.plus(todo);
+                    }
+                } while (super.publishChanges(current, snapshot, DIFF_CALLBACK) == null);
                 break;
             case TODO_CLOSE:
-                for (int j = 0; j < inAction.getData().size(); j++) {
-                    for (int i = 0; i < this.mList.size(); i++) {
-                        if (this.mList.get(i).id == inAction.getData().get(j).id) {
-                            this.mList.set(i, inAction.getData().get(j));
-                            super.emitChange(new ItemChangeEvent(i));
-                            break;
+                do {
+                    current = super.getSnapshot();
+                    snapshot = current;
+                    for (int j = 0; j < inAction.getData().size(); j++) {
+                        for (int i = 0; i < snapshot.size(); i++) {
+                            if (snapshot.get(i).id == inAction.getData().get(j).id) {
+                                snapshot = snapshot.set(i, inAction.getData().get(j));
+                                break;
+                            }
                         }
                     }
-                }
+                } while (super.publishChanges(current, snapshot, DIFF_CALLBACK) == null);
                 break;
         }
     }
@@ -18,38 +18,33 @@ package com.example.fluxjava.eventbus.domain.stores;
 import com.example.fluxjava.eventbus.domain.actions.UserAction;
 import com.example.fluxjava.eventbus.domain.models.User;
 import io.wzcodes.fluxjava.FluxContext;
-import io.wzcodes.fluxjava.FluxStore;
+import io.wzcodes.fluxjava.FluxFactory;
 import io.wzcodes.fluxjava.IFluxBus;
+import io.wzcodes.fluxjava.PersistentVector;
+import io.wzcodes.fluxjava.SnapshotFluxStore;
 
 import org.greenrobot.eventbus.Subscribe;
 import org.greenrobot.eventbus.ThreadMode;
 
-import java.util.ArrayList;
-
 import static com.example.fluxjava.eventbus.domain.Constants.USER_LOAD;
 
-public class UserStore extends FluxStore<User> {
+@FluxFactory
+public class UserStore extends SnapshotFluxStore<User> {
 
     public static class ListChangeEvent implements FluxContext.StoreChangeEvent {}
 
-    ArrayList<User> mList = new ArrayList<>();
-
     public UserStore(final IFluxBus inBus) {
         super(inBus);
     }
 
-    @Override
-    public User getItem(final int inIndex) {
-        return new User(this.mList.get(inIndex));
-    }
-
     @Override
     public int findItem(final User inUser) {
+        final PersistentVector<User> snapshot = super.getSnapshot();
         int result = -1;
 
         // use name field to identify data
-        for (int i = 0; i < this.mList.size(); i++) {
-            if (this.mList.get(i).name.equals(inUser.name)) {
+        for (int i = 0; i < snapshot.size(); i++) {
+            if (snapshot.get(i).name.equals(inUser.name)) {
                 result = i;
                 break;
             }
@@ -58,19 +53,13 @@ public class UserStore extends FluxStore<User> {
         return result;
     }
 
-    @Override
-    public int getCount() {
-        return this.mList.size();
-    }
-
     @Subscribe(threadMode = ThreadMode.BACKGROUND)
     public void onAction(final UserAction inAction) {
         // base on input action to process data
         // in this sample only define one action
         switch (inAction.getType()) {
             case USER_LOAD:
-                this.mList.clear();
-                this.mList.addAll(inAction.getData());
+                super.publish(PersistentVector.from(inAction.getData()));
                 super.emitChange(new ListChangeEvent());
                 break;
         }
@@ -53,7 +53,6 @@ class MainActivitySpec extends GradleRoboSpecification {
         spinner.getAdapter().count == 2
         recyclerView != null
         EventBus.getDefault().hasSubscriberForEvent(TodoStore.ListChangeEvent.class)
-        EventBus.getDefault().hasSubscriberForEvent(TodoStore.ItemChangeEvent.class)
         EventBus.getDefault().hasSubscriberForEvent(UserStore.ListChangeEvent.class)
         EventBus.getDefault().hasSubscriberForEvent(UserAction.class)
         EventBus.getDefault().hasSubscriberForEvent(TodoAction.class)
@@ -100,7 +99,6 @@ class MainActivitySpec extends GradleRoboSpecification {
 
         then: "resources were released"
         !EventBus.getDefault().hasSubscriberForEvent(TodoStore.ListChangeEvent.class)
-        !EventBus.getDefault().hasSubscriberForEvent(TodoStore.ItemChangeEvent.class)
         !EventBus.getDefault().hasSubscriberForEvent(UserStore.ListChangeEvent.class)
         !EventBus.getDefault().hasSubscriberForEvent(UserAction.class)
         !EventBus.getDefault().hasSubscriberForEvent(TodoAction.class)
@@ -22,6 +22,7 @@ import org.greenrobot.eventbus.Subscribe
 import spock.lang.Specification
 
 import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
 
 import static com.example.fluxjava.eventbus.domain.Constants.TODO_ADD
 import static com.example.fluxjava.eventbus.domain.Constants.TODO_CLOSE
@@ -42,13 +43,6 @@ class TodoStoreSpec extends Specification {
                 this.mCountDownLatch.countDown()
             }
         }
-
-        @Subscribe
-        public onEvent(TodoStore.ItemChangeEvent inEvent) {
-            if (inEvent != null) {
-                this.mCountDownLatch.countDown()
-            }
-        }
     }
 
     def "Test load data"() {
@@ -69,9 +63,9 @@ class TodoStoreSpec extends Specification {
 
         when:
         bus.post(new TodoAction(TODO_LOAD, expected))
-        countDownLatch.await()
 
         then:
+        countDownLatch.await(5, TimeUnit.SECONDS)
         target.getCount() == expected.size()
 
         when: "get the last item"
@@ -92,9 +86,9 @@ class TodoStoreSpec extends Specification {
         subscriber = new Subscriber(countDownLatch)
         target.register(subscriber)
         bus.post(new TodoAction(TODO_ADD, [new Todo(101)]))
-        countDownLatch.await()
 
         then: "the count of list will increase"
+        countDownLatch.await(5, TimeUnit.SECONDS)
         target.getCount() == expected.size() + 1
 
         when: "update an item"
@@ -102,11 +96,14 @@ class TodoStoreSpec extends Specification {
         countDownLatch = new CountDownLatch(1)
         subscriber = new Subscriber(countDownLatch)
         target.register(subscriber)
-        findItem.closed = true
-        bus.post(new TodoAction(TODO_CLOSE, [findItem]))
-        countDownLatch.await()
+        // the item is shared with store, change a copy of it
+        def closedItem = new Todo(findItem)
+        closedItem.closed = true
+        bus.post(new TodoAction(TODO_CLOSE, [closedItem]))
 
         then:
+        countDownLatch.await(5, TimeUnit.SECONDS)
+        !findItem.closed
         target.getItem(expected.size() - 1).closed
 
         cleanup:
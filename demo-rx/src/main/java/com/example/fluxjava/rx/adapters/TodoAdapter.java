@@ -28,6 +28,7 @@ import com.example.fluxjava.rx.R;
 import com.example.fluxjava.rx.domain.models.Todo;
 import com.example.fluxjava.rx.domain.stores.TodoStore;
 import io.wzcodes.fluxjava.FluxContext;
+import io.wzcodes.fluxjava.ItemRangeChangeEvent;
 
 import rx.android.schedulers.AndroidSchedulers;
 import rx.functions.Action1;
@@ -87,6 +88,24 @@ public class TodoAdapter extends RecyclerView.Adapter<TodoAdapter.ViewHolder> {
                                 // put error handle here
                             }
                         });
+        this.mStore.toObservable(ItemRangeChangeEvent.class)
+                .observeOn(AndroidSchedulers.mainThread())
+                .subscribe(
+                        new Action1<ItemRangeChangeEvent>() {
+                            @Override
+                            public void call(final ItemRangeChangeEvent inEvent) {
+                                if (inEvent.getStore() == TodoAdapter.this.mStore) {
+                                    TodoAdapter.super.notifyItemRangeChanged(
+                                            inEvent.getPositionStart(), inEvent.getItemCount());
+                                }
+                            }
+                        },
+                        new Action1<Throwable>() {
+                            @Override
+                            public void call(Throwable inThrowable) {
+                                // put error handle here
+                            }
+                        });
     }
 
     @Override
@@ -17,9 +17,11 @@ package com.example.fluxjava.rx.domain.stores;
 
 import com.example.fluxjava.rx.domain.actions.TodoAction;
 import com.example.fluxjava.rx.domain.models.Todo;
-import io.wzcodes.fluxjava.FluxContext;
+import io.wzcodes.fluxjava.FluxFactory;
 import io.wzcodes.fluxjava.IFluxAction;
 import io.wzcodes.fluxjava.IFluxBus;
+import io.wzcodes.fluxjava.IItemChangeEvent;
+import io.wzcodes.fluxjava.IListChangeEvent;
 import io.wzcodes.fluxjava.rx.RxStore;
 
 import java.util.ArrayList;
@@ -28,16 +30,22 @@ import static com.example.fluxjava.rx.domain.Constants.TODO_ADD;
 import static com.example.fluxjava.rx.domain.Constants.TODO_CLOSE;
 import static com.example.fluxjava.rx.domain.Constants.TODO_LOAD;
 
+@FluxFactory
 public class TodoStore extends RxStore<Todo> {
 
-    public static class ListChangeEvent implements FluxContext.StoreChangeEvent {}
+    public static class ListChangeEvent implements IListChangeEvent {}
 
-    public static class ItemChangeEvent implements FluxContext.StoreChangeEvent {
+    public static class ItemChangeEvent implements IItemChangeEvent {
         public int position;
 
         ItemChangeEvent(final int inPosition) {
             this.position = inPosition;
         }
+
+        @Override
+        public int getPosition() {
+            return this.position;
+        }
     }
 
     ArrayList<Todo> mList = new ArrayList<>();
@@ -51,6 +59,18 @@ public class TodoStore extends RxStore<Todo> {
         return TodoAction.class;
     }
 
+    @Override
+    protected boolean isSerialDispatch() {
+        // actions update the same list, handle them one by one
+        return true;
+    }
+
+    @Override
+    protected boolean isCoalesceChanges() {
+        // closing many todos at once only notifies the changed range
+        return true;
+    }
+
     @Override
     protected <TAction extends IFluxAction> void onAction(final TAction inAction) {
         final TodoAction action = (TodoAction)inAction;
@@ -18,6 +18,7 @@ package com.example.fluxjava.rx.domain.stores;
 import com.example.fluxjava.rx.domain.actions.UserAction;
 import com.example.fluxjava.rx.domain.models.User;
 import io.wzcodes.fluxjava.FluxContext;
+import io.wzcodes.fluxjava.FluxFactory;
 import io.wzcodes.fluxjava.IFluxAction;
 import io.wzcodes.fluxjava.IFluxBus;
 import io.wzcodes.fluxjava.rx.RxStore;
@@ -26,6 +27,7 @@ import java.util.ArrayList;
 
 import static com.example.fluxjava.rx.domain.Constants.USER_LOAD;
 
+@FluxFactory
 public class UserStore extends RxStore<User> {
 
     public static class ListChangeEvent implements FluxContext.StoreChangeEvent {}
@@ -18,16 +18,23 @@ package com.example.fluxjava.rx2;
 import android.app.Application;
 
 import com.example.fluxjava.rx2.domain.ActionHelper;
+import com.example.fluxjava.rx2.domain.actions.TodoAction;
+import com.example.fluxjava.rx2.domain.actions.UserAction;
 import com.example.fluxjava.rx2.domain.stores.TodoStore;
 import com.example.fluxjava.rx2.domain.stores.UserStore;
 
 import java.util.HashMap;
 
+import io.wzcodes.fluxjava.ActionRegistry;
 import io.wzcodes.fluxjava.FluxContext;
 import io.wzcodes.fluxjava.rx.RxBus;
 
 import static com.example.fluxjava.rx2.domain.Constants.DATA_TODO;
 import static com.example.fluxjava.rx2.domain.Constants.DATA_USER;
+import static com.example.fluxjava.rx2.domain.Constants.TODO_ADD;
+import static com.example.fluxjava.rx2.domain.Constants.TODO_CLOSE;
+import static com.example.fluxjava.rx2.domain.Constants.TODO_LOAD;
+import static com.example.fluxjava.rx2.domain.Constants.USER_LOAD;
 
 public class AppConfig extends Application {
 
@@ -43,11 +50,20 @@ public class AppConfig extends Application {
         storeMap.put(DATA_USER, UserStore.class);
         storeMap.put(DATA_TODO, TodoStore.class);
 
+        // map the action ids to classes without switch in ActionHelper
+        ActionRegistry actionRegistry = new ActionRegistry()
+                .register(USER_LOAD, UserAction.class)
+                .register(TODO_LOAD, TodoAction.class)
+                .register(TODO_ADD, TodoAction.class)
+                .register(TODO_CLOSE, TodoAction.class);
+
         // setup relationship of components in framework
         FluxContext.getBuilder()
                 .setBus(RxBus.getDefault())
                 .setActionHelper(new ActionHelper())
                 .setStoreMap(storeMap)
+                .setActionRegistry(actionRegistry)
+                .setLoadRegistry(true)
                 .build();
     }
 
@@ -31,6 +31,7 @@ import com.example.fluxjava.rx2.domain.stores.TodoStore;
 import io.reactivex.android.schedulers.AndroidSchedulers;
 import io.reactivex.functions.Consumer;
 import io.wzcodes.fluxjava.FluxContext;
+import io.wzcodes.fluxjava.ItemRangeChangeEvent;
 
 import static com.example.fluxjava.rx2.domain.Constants.DATA_TODO;
 import static com.example.fluxjava.rx2.domain.Constants.TODO_CLOSE;
@@ -87,6 +88,24 @@ public class TodoAdapter extends RecyclerView.Adapter<TodoAdapter.ViewHolder> {
                                 // put error handle here
                             }
                         });
+        this.mStore.toObservable(ItemRangeChangeEvent.class)
+                .observeOn(AndroidSchedulers.mainThread())
+                .subscribe(
+                        new Consumer<ItemRangeChangeEvent>() {
+                            @Override
+                            public void accept(final ItemRangeChangeEvent inEvent) throws Exception {
+                                if (inEvent.getStore() == TodoAdapter.this.mStore) {
+                                    TodoAdapter.super.notifyItemRangeChanged(
+                                            inEvent.getPositionStart(), inEvent.getItemCount());
+                                }
+                            }
+                        },
+                        new Consumer<Throwable>() {
+                            @Override
+                            public void accept(final Throwable inThrowable) throws Exception {
+                                // put error handle here
+                            }
+                        });
     }
 
     @Override
@@ -20,7 +20,9 @@ import com.example.fluxjava.rx2.domain.models.Todo;
 import java.util.List;
 
 import io.wzcodes.fluxjava.FluxAction;
+import io.wzcodes.fluxjava.FluxFactory;
 
+@FluxFactory
 public class TodoAction extends FluxAction<Integer, List<Todo>> {
 
     public TodoAction(final Integer inType, final List<Todo> inData) {
@@ -20,7 +20,9 @@ import com.example.fluxjava.rx2.domain.models.User;
 import java.util.List;
 
 import io.wzcodes.fluxjava.FluxAction;
+import io.wzcodes.fluxjava.FluxFactory;
 
+@FluxFactory
 public class UserAction extends FluxAction<Integer, List<User>> {
 
     public UserAction(final Integer inType, final List<User> inData) {
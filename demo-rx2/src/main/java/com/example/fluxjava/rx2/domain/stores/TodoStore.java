@@ -20,25 +20,33 @@ import com.example.fluxjava.rx2.domain.models.Todo;
 
 import java.util.ArrayList;
 
-import io.wzcodes.fluxjava.FluxContext;
+import io.wzcodes.fluxjava.FluxFactory;
 import io.wzcodes.fluxjava.IFluxAction;
 import io.wzcodes.fluxjava.IFluxBus;
+import io.wzcodes.fluxjava.IItemChangeEvent;
+import io.wzcodes.fluxjava.IListChangeEvent;
 import io.wzcodes.fluxjava.rx.RxStore;
 
 import static com.example.fluxjava.rx2.domain.Constants.TODO_ADD;
 import static com.example.fluxjava.rx2.domain.Constants.TODO_CLOSE;
 import static com.example.fluxjava.rx2.domain.Constants.TODO_LOAD;
 
+@FluxFactory
 public class TodoStore extends RxStore<Todo> {
 
-    public static class ListChangeEvent implements FluxContext.StoreChangeEvent {}
+    public static class ListChangeEvent implements IListChangeEvent {}
 
-    public static class ItemChangeEvent implements FluxContext.StoreChangeEvent {
+    public static class ItemChangeEvent implements IItemChangeEvent {
         public int position;
 
         ItemChangeEvent(final int inPosition) {
             this.position = inPosition;
         }
+
+        @Override
+        public int getPosition() {
+            return this.position;
+        }
     }
 
     ArrayList<Todo> mList = new ArrayList<>();
@@ -52,6 +60,18 @@ public class TodoStore extends RxStore<Todo> {
         return TodoAction.class;
     }
 
+    @Override
+    protected boolean isSerialDispatch() {
+        // actions update the same list, handle them one by one
+        return true;
+    }
+
+    @Override
+    protected boolean isCoalesceChanges() {
+        // closing many todos at once only notifies the changed range
+        return true;
+    }
+
     @Override
     protected <TAction extends IFluxAction> void onAction(final TAction inAction) {
         final TodoAction action = (TodoAction)inAction;
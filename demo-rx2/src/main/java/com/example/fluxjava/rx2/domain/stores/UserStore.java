@@ -21,12 +21,14 @@ import com.example.fluxjava.rx2.domain.models.User;
 import java.util.ArrayList;
 
 import io.wzcodes.fluxjava.FluxContext;
+import io.wzcodes.fluxjava.FluxFactory;
 import io.wzcodes.fluxjava.IFluxAction;
 import io.wzcodes.fluxjava.IFluxBus;
 import io.wzcodes.fluxjava.rx.RxStore;
 
 import static com.example.fluxjava.rx2.domain.Constants.USER_LOAD;
 
+@FluxFactory
 public class UserStore extends RxStore<User> {
 
     public static class ListChangeEvent implements FluxContext.StoreChangeEvent {}
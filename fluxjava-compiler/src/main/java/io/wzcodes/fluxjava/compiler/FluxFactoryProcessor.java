@@ -0,0 +1,393 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava.compiler;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import io.wzcodes.fluxjava.FluxAction;
+import io.wzcodes.fluxjava.FluxFactory;
+import io.wzcodes.fluxjava.IFluxBus;
+import io.wzcodes.fluxjava.IFluxRegistry;
+import io.wzcodes.fluxjava.IFluxStore;
+import io.wzcodes.fluxjava.PrimitiveAction;
+
+/**
+ * Generate an {@link IFluxRegistry} for each package has classes annotated with {@link FluxFactory}.
+ * The registries call the constructors of stores and actions directly, and they are listed in
+ * META-INF/services so {@link io.wzcodes.fluxjava.FluxContext} finds them when it's built with
+ * {@code setLoadRegistry(true)}, without listing the packages.
+ * Generating in the same package lets the constructors be package-private.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+public class FluxFactoryProcessor extends AbstractProcessor {
+
+    static final String REGISTRY_NAME = "FluxJavaRegistry";
+    static final String SERVICE_FILE = "META-INF/services/" + IFluxRegistry.class.getCanonicalName();
+
+    private Elements mElements;
+    private Types mTypes;
+    private Filer mFiler;
+    private Messager mMessager;
+    // The registries generated in previous rounds
+    private final Set<String> mRegistries = new TreeSet<>();
+
+    /**
+     * @since 2026/10/17
+     */
+    @Override
+    public synchronized void init(final ProcessingEnvironment inProcessingEnv) {
+        super.init(inProcessingEnv);
+        this.mElements = inProcessingEnv.getElementUtils();
+        this.mTypes = inProcessingEnv.getTypeUtils();
+        this.mFiler = inProcessingEnv.getFiler();
+        this.mMessager = inProcessingEnv.getMessager();
+    }
+
+    /**
+     * @since 2026/10/17
+     */
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(FluxFactory.class.getCanonicalName());
+    }
+
+    /**
+     * @since 2026/10/17
+     */
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    /**
+     * @since 2026/10/17
+     */
+    @Override
+    public boolean process(final Set<? extends TypeElement> inAnnotations, final RoundEnvironment inRoundEnv) {
+        final Map<String, RegistryWriter> writers = new TreeMap<>();
+
+        for (Element element : inRoundEnv.getElementsAnnotatedWith(FluxFactory.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                this.error("Only class can be annotated with @FluxFactory.", element);
+            } else if (this.checkModifiers((TypeElement)element)) {
+                final TypeElement type = (TypeElement)element;
+                final String packageName = this.mElements.getPackageOf(type).getQualifiedName().toString();
+                RegistryWriter writer = writers.get(packageName);
+
+                if (writer == null) {
+                    writer = new RegistryWriter(packageName);
+                    writers.put(packageName, writer);
+                }
+                this.addFactory(writer, type);
+            }
+        }
+
+        for (RegistryWriter writer : writers.values()) {
+            if (writer.isEmpty() == false) {
+                this.writeRegistry(writer);
+            }
+        }
+        if (inRoundEnv.processingOver() && this.mRegistries.isEmpty() == false) {
+            this.writeServiceFile();
+        }
+
+        return true;
+    }
+
+    /**
+     * Add the factory of a store or an Action class.
+     *
+     * @param inWriter The writer of registry in the same package.
+     * @param inType The annotated class.
+     * @since 2026/10/17
+     */
+    private void addFactory(final RegistryWriter inWriter, final TypeElement inType) {
+        if (this.isSubclass(inType, IFluxStore.class)) {
+            if (this.findStoreConstructor(inType) == null) {
+                this.error("Store needs a non-private constructor with IFluxBus parameter.", inType);
+            } else {
+                inWriter.addStore(inType.getQualifiedName().toString(), inType);
+            }
+        } else if (this.isSubclass(inType, FluxAction.class) || this.isSubclass(inType, PrimitiveAction.class)) {
+            final ExecutableElement constructor = this.findActionConstructor(inType);
+
+            if (constructor == null) {
+                this.error("Action needs a non-private constructor with type and data parameters.", inType);
+            } else {
+                inWriter.addAction(inType.getQualifiedName().toString(),
+                        this.getCastName(constructor.getParameters().get(0).asType()),
+                        this.getCastName(constructor.getParameters().get(1).asType()), inType);
+            }
+        } else {
+            this.error("@FluxFactory is only for store or Action class.", inType);
+        }
+    }
+
+    /**
+     * Check if the generated registry can create the class.
+     *
+     * @param inType The annotated class.
+     * @return True if the class can be created in its package.
+     * @since 2026/10/17
+     */
+    private boolean checkModifiers(final TypeElement inType) {
+        boolean result = true;
+
+        if (inType.getModifiers().contains(Modifier.ABSTRACT)) {
+            this.error("Class annotated with @FluxFactory can't be abstract.", inType);
+            result = false;
+        }
+
+        Element element = inType;
+
+        while (result && element.getKind() == ElementKind.CLASS) {
+            if (element.getModifiers().contains(Modifier.PRIVATE)) {
+                this.error("Class annotated with @FluxFactory can't be private.", inType);
+                result = false;
+            } else if (element.getEnclosingElement().getKind() == ElementKind.CLASS
+                    && element.getModifiers().contains(Modifier.STATIC) == false) {
+                this.error("Nested class annotated with @FluxFactory must be static.", inType);
+                result = false;
+            }
+            element = element.getEnclosingElement();
+        }
+
+        return result;
+    }
+
+    /**
+     * Check if a class extends or implements another one.
+     *
+     * @param inType The class to check.
+     * @param inSuperClass The super class or interface.
+     * @return Check result.
+     * @since 2026/10/17
+     */
+    private boolean isSubclass(final TypeElement inType, final Class<?> inSuperClass) {
+        final TypeElement superType = this.mElements.getTypeElement(inSuperClass.getCanonicalName());
+
+        return superType != null && this.mTypes.isSubtype(
+                this.mTypes.erasure(inType.asType()), this.mTypes.erasure(superType.asType()));
+    }
+
+    /**
+     * Find the constructor used by {@link io.wzcodes.fluxjava.FluxContext}, the one with an IFluxBus parameter.
+     *
+     * @param inType The class of store.
+     * @return The constructor, or null if not found.
+     * @since 2026/10/17
+     */
+    private ExecutableElement findStoreConstructor(final TypeElement inType) {
+        final TypeElement busType = this.mElements.getTypeElement(IFluxBus.class.getCanonicalName());
+        ExecutableElement result = null;
+
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(inType.getEnclosedElements())) {
+            if (constructor.getModifiers().contains(Modifier.PRIVATE) == false
+                    && constructor.getParameters().size() == 1
+                    && this.mTypes.isSameType(constructor.getParameters().get(0).asType(), busType.asType())) {
+                result = constructor;
+                break;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Find the constructor with type and data parameters.
+     * If there are several ones, use the one whose data parameter matches the data type of {@link FluxAction}.
+     *
+     * @param inType The class of Action.
+     * @return The constructor, or null if not found.
+     * @since 2026/10/17
+     */
+    private ExecutableElement findActionConstructor(final TypeElement inType) {
+        final List<ExecutableElement> candidates = new ArrayList<>();
+        ExecutableElement result = null;
+
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(inType.getEnclosedElements())) {
+            if (constructor.getModifiers().contains(Modifier.PRIVATE) == false
+                    && constructor.getParameters().size() == 2) {
+                candidates.add(constructor);
+            }
+        }
+
+        if (candidates.size() == 1) {
+            result = candidates.get(0);
+        } else if (candidates.size() > 1) {
+            final TypeMirror dataType = this.findDataType(inType);
+
+            for (ExecutableElement constructor : candidates) {
+                if (dataType != null && this.mTypes.isSameType(
+                        this.mTypes.erasure(constructor.getParameters().get(1).asType()),
+                        this.mTypes.erasure(dataType))) {
+                    result = constructor;
+                    break;
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Find the data type declared in the generic parameters of {@link FluxAction}.
+     *
+     * @param inType The class of Action.
+     * @return The data type, or null if it's not declared.
+     * @since 2026/10/17
+     */
+    private TypeMirror findDataType(final TypeElement inType) {
+        final String actionName = FluxAction.class.getCanonicalName();
+        TypeMirror current = inType.asType();
+        TypeMirror result = null;
+        boolean isFound = false;
+
+        while (isFound == false && current != null) {
+            TypeMirror superClass = null;
+
+            // The direct super types have the type arguments substituted
+            for (TypeMirror superType : this.mTypes.directSupertypes(current)) {
+                final Element element = this.mTypes.asElement(superType);
+
+                if (element != null && element.getKind() == ElementKind.CLASS) {
+                    superClass = superType;
+                    break;
+                }
+            }
+            if (superClass != null
+                    && ((TypeElement)this.mTypes.asElement(superClass)).getQualifiedName().contentEquals(actionName)) {
+                final List<? extends TypeMirror> arguments = ((DeclaredType)superClass).getTypeArguments();
+
+                if (arguments.size() == 2) {
+                    result = arguments.get(1);
+                }
+                isFound = true;
+            }
+            current = superClass;
+        }
+
+        return result;
+    }
+
+    /**
+     * Get the name of type used to cast an argument.
+     *
+     * @param inType The type of parameter.
+     * @return The name of boxed class for primitive type, or the name of erasure.
+     * @since 2026/10/17
+     */
+    private String getCastName(final TypeMirror inType) {
+        final String result;
+
+        if (inType.getKind().isPrimitive()) {
+            result = this.mTypes.boxedClass((PrimitiveType)inType).getQualifiedName().toString();
+        } else if (inType.getKind() == TypeKind.DECLARED) {
+            result = ((TypeElement)this.mTypes.asElement(inType)).getQualifiedName().toString();
+        } else {
+            result = this.mTypes.erasure(inType).toString();
+        }
+
+        return result;
+    }
+
+    /**
+     * Write the source of registry.
+     *
+     * @param inWriter The writer of registry.
+     * @since 2026/10/17
+     */
+    private void writeRegistry(final RegistryWriter inWriter) {
+        final String name = inWriter.getQualifiedName();
+
+        if (this.mRegistries.contains(name)) {
+            this.error("Registry of package " + inWriter.getPackageName() + " is generated already.",
+                    inWriter.getOriginatingElements()[0]);
+        } else {
+            try (Writer writer = this.mFiler.createSourceFile(name, inWriter.getOriginatingElements()).openWriter()) {
+                inWriter.write(writer);
+                this.mRegistries.add(name);
+            } catch (IOException exIO) {
+                this.error("Failed to write " + name + ": " + exIO.getMessage(), null);
+            }
+        }
+    }
+
+    /**
+     * List the generated registries for {@link java.util.ServiceLoader}.
+     *
+     * @since 2026/10/17
+     */
+    private void writeServiceFile() {
+        try {
+            final FileObject file = this.mFiler.createResource(StandardLocation.CLASS_OUTPUT, "",
+                    FluxFactoryProcessor.SERVICE_FILE);
+
+            try (Writer writer = file.openWriter()) {
+                for (String name : this.mRegistries) {
+                    writer.write(name);
+                    writer.write("\n");
+                }
+            }
+        } catch (IOException exIO) {
+            this.error("Failed to write " + FluxFactoryProcessor.SERVICE_FILE + ": " + exIO.getMessage(), null);
+        }
+    }
+
+    /**
+     * Report an error to compiler.
+     *
+     * @param inMessage The message of error.
+     * @param inElement The element causes error, can be null.
+     * @since 2026/10/17
+     */
+    private void error(final String inMessage, final Element inElement) {
+        this.mMessager.printMessage(Diagnostic.Kind.ERROR, inMessage, inElement);
+    }
+
+}
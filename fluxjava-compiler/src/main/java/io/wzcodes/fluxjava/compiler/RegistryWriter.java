@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava.compiler;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.lang.model.element.Element;
+
+/**
+ * Write the source of registry for the annotated classes in one package.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+final class RegistryWriter {
+
+    private static final String INDENT = "    ";
+
+    private final String mPackageName;
+    private final List<String> mStores = new ArrayList<>();
+    // Each entry has the names of action, type and data class
+    private final List<String[]> mActions = new ArrayList<>();
+    private final List<Element> mOriginatingElements = new ArrayList<>();
+
+    /**
+     * Constructor.
+     *
+     * @param inPackageName The package of registry, empty for default package.
+     * @since 2026/10/17
+     */
+    RegistryWriter(final String inPackageName) {
+        this.mPackageName = inPackageName;
+    }
+
+    /**
+     * @return The package of registry.
+     * @since 2026/10/17
+     */
+    String getPackageName() {
+        return this.mPackageName;
+    }
+
+    /**
+     * @return The full name of registry class.
+     * @since 2026/10/17
+     */
+    String getQualifiedName() {
+        return this.mPackageName.isEmpty() ? FluxFactoryProcessor.REGISTRY_NAME
+                : this.mPackageName + "." + FluxFactoryProcessor.REGISTRY_NAME;
+    }
+
+    /**
+     * @return The annotated classes the registry is generated from.
+     * @since 2026/10/17
+     */
+    Element[] getOriginatingElements() {
+        return this.mOriginatingElements.toArray(new Element[this.mOriginatingElements.size()]);
+    }
+
+    /**
+     * @return True if there is nothing to create.
+     * @since 2026/10/17
+     */
+    boolean isEmpty() {
+        return this.mOriginatingElements.isEmpty();
+    }
+
+    /**
+     * Add a store created by the constructor with IFluxBus parameter.
+     *
+     * @param inStoreName The full name of store class.
+     * @param inElement The annotated class.
+     * @since 2026/10/17
+     */
+    void addStore(final String inStoreName, final Element inElement) {
+        this.mStores.add(inStoreName);
+        this.mOriginatingElements.add(inElement);
+    }
+
+    /**
+     * Add an action created by the constructor with type and data parameters.
+     *
+     * @param inActionName The full name of action class.
+     * @param inTypeName The class to cast type into.
+     * @param inDataName The class to cast data into.
+     * @param inElement The annotated class.
+     * @since 2026/10/17
+     */
+    void addAction(final String inActionName, final String inTypeName, final String inDataName,
+                   final Element inElement) {
+        this.mActions.add(new String[] { inActionName, inTypeName, inDataName });
+        this.mOriginatingElements.add(inElement);
+    }
+
+    /**
+     * Write the source of registry.
+     *
+     * @param inWriter The writer of source file.
+     * @throws IOException If failed to write.
+     * @since 2026/10/17
+     */
+    void write(final Writer inWriter) throws IOException {
+        final String indent2 = RegistryWriter.INDENT + RegistryWriter.INDENT;
+        final String indent3 = indent2 + RegistryWriter.INDENT;
+        final String indent4 = indent3 + RegistryWriter.INDENT;
+        final StringBuilder source = new StringBuilder();
+
+        source.append("// Generated by fluxjava-compiler, do not edit.\n");
+        if (this.mPackageName.isEmpty() == false) {
+            source.append("package ").append(this.mPackageName).append(";\n\n");
+        }
+        source.append("import java.util.HashMap;\n")
+                .append("import java.util.Map;\n\n")
+                .append("import io.wzcodes.fluxjava.IActionFactory;\n")
+                .append("import io.wzcodes.fluxjava.IFluxBus;\n")
+                .append("import io.wzcodes.fluxjava.IFluxRegistry;\n")
+                .append("import io.wzcodes.fluxjava.IFluxStore;\n\n")
+                .append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+                .append("public final class ").append(FluxFactoryProcessor.REGISTRY_NAME)
+                .append(" implements IFluxRegistry {\n\n");
+
+        source.append(RegistryWriter.INDENT)
+                .append("private final Map<Class<?>, IActionFactory> mActionFactories = new HashMap<>();\n\n");
+
+        source.append(RegistryWriter.INDENT).append("public ").append(FluxFactoryProcessor.REGISTRY_NAME)
+                .append("() {\n");
+        for (String[] action : this.mActions) {
+            source.append(indent2).append("this.mActionFactories.put(").append(action[0])
+                    .append(".class, new IActionFactory() {\n")
+                    .append(indent3).append("@Override\n")
+                    .append(indent3).append("public Object create(final Object inTypeId, final Object inData) {\n")
+                    .append(indent4).append("return new ").append(action[0])
+                    .append("((").append(action[1]).append(")inTypeId, (").append(action[2]).append(")inData);\n")
+                    .append(indent3).append("}\n")
+                    .append(indent2).append("});\n");
+        }
+        source.append(RegistryWriter.INDENT).append("}\n\n");
+
+        source.append(RegistryWriter.INDENT).append("@Override\n")
+                .append(RegistryWriter.INDENT)
+                .append("public IFluxStore createStore(final Class<?> inStoreClass, final IFluxBus inBus) {\n")
+                .append(indent2).append("IFluxStore result = null;\n\n");
+        for (int i = 0; i < this.mStores.size(); i++) {
+            source.append(indent2).append(i == 0 ? "if" : "} else if").append(" (inStoreClass == ")
+                    .append(this.mStores.get(i)).append(".class) {\n")
+                    .append(indent3).append("result = new ").append(this.mStores.get(i)).append("(inBus);\n");
+        }
+        if (this.mStores.isEmpty() == false) {
+            source.append(indent2).append("}\n\n");
+        }
+        source.append(indent2).append("return result;\n")
+                .append(RegistryWriter.INDENT).append("}\n\n");
+
+        source.append(RegistryWriter.INDENT).append("@Override\n")
+                .append(RegistryWriter.INDENT)
+                .append("public IActionFactory getActionFactory(final Class<?> inActionClass) {\n")
+                .append(indent2).append("return this.mActionFactories.get(inActionClass);\n")
+                .append(RegistryWriter.INDENT).append("}\n\n")
+                .append("}\n");
+
+        inWriter.write(source.toString());
+    }
+
+}
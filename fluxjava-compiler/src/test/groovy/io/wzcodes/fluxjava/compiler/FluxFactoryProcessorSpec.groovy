@@ -0,0 +1,223 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava.compiler
+
+import io.wzcodes.fluxjava.IActionFactory
+import io.wzcodes.fluxjava.IFluxBus
+import io.wzcodes.fluxjava.IFluxRegistry
+import spock.lang.Specification
+
+import javax.tools.Diagnostic
+import javax.tools.DiagnosticCollector
+import javax.tools.JavaFileObject
+import javax.tools.SimpleJavaFileObject
+import javax.tools.StandardLocation
+import javax.tools.ToolProvider
+import java.nio.file.Files
+
+class FluxFactoryProcessorSpec extends Specification {
+
+    private static final String STORE_SOURCE = """
+package demo;
+
+import io.wzcodes.fluxjava.FluxFactory;
+import io.wzcodes.fluxjava.FluxStore;
+import io.wzcodes.fluxjava.IFluxBus;
+
+@FluxFactory
+class DemoStore extends FluxStore<String> {
+    DemoStore(IFluxBus inBus) {
+        super(inBus);
+    }
+
+    @Override
+    public String getItem(int inIndex) {
+        return null;
+    }
+
+    @Override
+    public int findItem(String inEntity) {
+        return -1;
+    }
+
+    @Override
+    public int getCount() {
+        return 0;
+    }
+}
+"""
+    private static final String ACTION_SOURCE = """
+package demo;
+
+import io.wzcodes.fluxjava.FluxAction;
+import io.wzcodes.fluxjava.FluxFactory;
+import java.util.List;
+
+@FluxFactory
+public class DemoAction extends FluxAction<Integer, List<String>> {
+    DemoAction(int inType, List<String> inData) {
+        super(inType, inData);
+    }
+
+    DemoAction(int inType, String inData) {
+        super(inType, java.util.Collections.singletonList(inData));
+    }
+
+    @FluxFactory
+    public static class PositionAction extends io.wzcodes.fluxjava.IntAction {
+        public PositionAction(int inType, int inData) {
+            super(inType, inData);
+        }
+    }
+
+    @FluxFactory
+    public static class NestedAction extends FluxAction<String, String> {
+        public NestedAction(String inType, String inData) {
+            super(inType, inData);
+        }
+    }
+}
+"""
+
+    private File mOutput
+    private DiagnosticCollector<JavaFileObject> mDiagnostics
+
+    def setup() {
+        this.mOutput = Files.createTempDirectory("fluxjava-compiler").toFile()
+        this.mDiagnostics = new DiagnosticCollector<>()
+    }
+
+    def cleanup() {
+        this.mOutput.deleteDir()
+    }
+
+    def "Test generate registry"() {
+        given:
+        def isSuccess = this.compile(["demo.DemoStore": STORE_SOURCE, "demo.DemoAction": ACTION_SOURCE])
+        def loader = new URLClassLoader([this.mOutput.toURI().toURL()] as URL[], this.class.classLoader)
+        def registries = ServiceLoader.load(IFluxRegistry, loader).toList()
+        def registry = registries[0]
+        def bus = Mock(IFluxBus)
+        def storeClass = loader.loadClass("demo.DemoStore")
+        def actionClass = loader.loadClass("demo.DemoAction")
+        def nestedClass = loader.loadClass('demo.DemoAction$NestedAction')
+        def positionClass = loader.loadClass('demo.DemoAction$PositionAction')
+
+        when:
+        def store = registry.createStore(storeClass, bus)
+        def action = registry.getActionFactory(actionClass).create(1, ["a"])
+        def nested = registry.getActionFactory(nestedClass).create("b", "c")
+        def position = registry.getActionFactory(positionClass).create(2, 3)
+
+        then:
+        isSuccess
+        registries.size() == 1
+        registry.class.name == "demo.FluxJavaRegistry"
+        storeClass.isInstance(store)
+        actionClass.isInstance(action)
+        action.getType() == 1
+        action.getData() == ["a"]
+        nestedClass.isInstance(nested)
+        nested.getType() == "b"
+        nested.getData() == "c"
+        positionClass.isInstance(position)
+        position.getType() == 2
+        position.getData() == 3
+        registry.createStore(String, bus) == null
+        registry.getActionFactory(String) == null
+    }
+
+    def "Test create action with wrong data"() {
+        given:
+        this.compile(["demo.DemoAction": ACTION_SOURCE])
+        def loader = new URLClassLoader([this.mOutput.toURI().toURL()] as URL[], this.class.classLoader)
+        IActionFactory factory = ServiceLoader.load(IFluxRegistry, loader).iterator().next()
+                .getActionFactory(loader.loadClass("demo.DemoAction"))
+
+        when:
+        factory.create("1", ["a"])
+
+        then:
+        thrown(ClassCastException)
+    }
+
+    def "Test invalid annotated class"() {
+        when:
+        def isSuccess = this.compile(["demo.Invalid": source])
+
+        then:
+        isSuccess == false
+        this.mDiagnostics.diagnostics.any {
+            it.kind == Diagnostic.Kind.ERROR && it.getMessage(Locale.ROOT) == message
+        }
+
+        where:
+        source                                                                                       | message
+        """package demo;
+@io.wzcodes.fluxjava.FluxFactory
+abstract class Invalid extends io.wzcodes.fluxjava.FluxAction<String, String> {
+    Invalid(String inType, String inData) { super(inType, inData); }
+}"""                                                                                                 | "Class annotated with @FluxFactory can't be abstract."
+        """package demo;
+class Invalid {
+    @io.wzcodes.fluxjava.FluxFactory
+    class Inner extends io.wzcodes.fluxjava.FluxAction<String, String> {
+        Inner(String inType, String inData) { super(inType, inData); }
+    }
+}"""                                                                                                 | "Nested class annotated with @FluxFactory must be static."
+        """package demo;
+@io.wzcodes.fluxjava.FluxFactory
+class Invalid extends io.wzcodes.fluxjava.FluxAction<String, String> {
+    private Invalid(String inType, String inData) { super(inType, inData); }
+}"""                                                                                                 | "Action needs a non-private constructor with type and data parameters."
+        """package demo;
+@io.wzcodes.fluxjava.FluxFactory
+class Invalid {
+}"""                                                                                                 | "@FluxFactory is only for store or Action class."
+    }
+
+    /**
+     * Compile the sources with {@link FluxFactoryProcessor} into the output folder.
+     */
+    private boolean compile(final Map<String, String> inSources) {
+        def compiler = ToolProvider.getSystemJavaCompiler()
+        def fileManager = compiler.getStandardFileManager(this.mDiagnostics, null, null)
+        def units = inSources.collect { name, source ->
+            new SimpleJavaFileObject(URI.create("string:///${name.replace('.', '/')}.java"),
+                    JavaFileObject.Kind.SOURCE) {
+                @Override
+                CharSequence getCharContent(boolean inIgnoreEncodingErrors) {
+                    return source
+                }
+            }
+        }
+
+        fileManager.setLocation(StandardLocation.CLASS_OUTPUT, [this.mOutput])
+        fileManager.setLocation(StandardLocation.SOURCE_OUTPUT, [this.mOutput])
+
+        def task = compiler.getTask(null, fileManager, this.mDiagnostics,
+                ["-classpath", System.getProperty("java.class.path")], null, units)
+
+        task.setProcessors([new FluxFactoryProcessor()])
+
+        def result = task.call()
+
+        fileManager.close()
+
+        return result
+    }
+
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava.jfr;
+
+import java.util.Arrays;
+import java.util.List;
+
+import io.wzcodes.fluxjava.IFluxMetrics;
+import io.wzcodes.fluxjava.IFluxStore;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * An implementation of {@link IFluxMetrics} emits the stages of framework as events of Java Flight Recorder,
+ * so they are in the same recording with GC, locks and I/O of the application.
+ * There is an event class for each {@link IFluxMetrics.Stage} and one for the depth of queues,
+ * all of them are in the category "FluxJava". Like other custom events they are enabled by default,
+ * turn them off in the settings of recording, for example {@code io.wzcodes.fluxjava.ActionCreate#enabled=false}.<br />
+ * An event begins in {@link #onStageBegin(IFluxMetrics.Stage, Object, Object)} and is committed when the stage ends,
+ * so it has the start time and duration of the stage, and is recorded in the thread ends it.
+ * The threshold of JFR applies to the events of stages, it's 0 by default, drop the short ones
+ * in the settings of recording, for example {@code io.wzcodes.fluxjava.StoreHandle#threshold=1 ms}.
+ * {@link #isEnabled()} is only true when a recording is running with any of the events enabled,
+ * otherwise the framework does not read the clock or call this.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+public class JfrMetrics implements IFluxMetrics {
+
+    /**
+     * The fields shared by the events of stages.
+     */
+    @Category("FluxJava")
+    @StackTrace(false)
+    @Threshold("0 ns")
+    public abstract static class StageEvent extends Event {
+        @Label("Type")
+        @Description("The type of action or the class of change event")
+        String type;
+
+        @Label("Owner")
+        @Description("The class of action creator, bus or store runs the stage")
+        Class<?> owner;
+
+        @Label("Tag")
+        @Description("The tag of store")
+        String tag;
+    }
+
+    /**
+     * An action is created by ActionCreator.
+     */
+    @Name("io.wzcodes.fluxjava.ActionCreate")
+    @Label("Action Create")
+    public static final class ActionCreateEvent extends StageEvent {}
+
+    /**
+     * ActionCreator posts an action until the bus returned.
+     */
+    @Name("io.wzcodes.fluxjava.ActionSend")
+    @Label("Action Send")
+    public static final class ActionSendEvent extends StageEvent {}
+
+    /**
+     * A bus delivers an event to the subscribers in the thread of post.
+     */
+    @Name("io.wzcodes.fluxjava.BusDeliver")
+    @Label("Bus Deliver")
+    public static final class BusDeliverEvent extends StageEvent {}
+
+    /**
+     * An action waits in a store from delivered until handled.
+     */
+    @Name("io.wzcodes.fluxjava.StoreWait")
+    @Label("Store Wait")
+    public static final class StoreWaitEvent extends StageEvent {}
+
+    /**
+     * A store handles an action.
+     */
+    @Name("io.wzcodes.fluxjava.StoreHandle")
+    @Label("Store Handle")
+    public static final class StoreHandleEvent extends StageEvent {}
+
+    /**
+     * A store sends a change event to the views.
+     */
+    @Name("io.wzcodes.fluxjava.ChangeEmit")
+    @Label("Change Emit")
+    public static final class ChangeEmitEvent extends StageEvent {}
+
+    /**
+     * The number of items waiting in the queue of a bus or store.
+     */
+    @Name("io.wzcodes.fluxjava.QueueDepth")
+    @Label("Queue Depth")
+    @Category("FluxJava")
+    @StackTrace(false)
+    public static final class QueueDepthEvent extends Event {
+        @Label("Owner")
+        @Description("The class of bus or store owns the queue")
+        Class<?> owner;
+
+        @Label("Tag")
+        @Description("The tag of store")
+        String tag;
+
+        @Label("Depth")
+        int depth;
+    }
+
+    private static final List<Class<? extends Event>> EVENT_CLASSES = Arrays.<Class<? extends Event>>asList(
+            ActionCreateEvent.class, ActionSendEvent.class, BusDeliverEvent.class, StoreWaitEvent.class,
+            StoreHandleEvent.class, ChangeEmitEvent.class, QueueDepthEvent.class);
+    private static volatile boolean sEnabled;
+
+    static {
+        for (Class<? extends Event> eventClass : JfrMetrics.EVENT_CLASSES) {
+            FlightRecorder.register(eventClass);
+        }
+        // Follow the recordings started and stopped later
+        FlightRecorder.addListener(new FlightRecorderListener() {
+            @Override
+            public void recordingStateChanged(final Recording inRecording) {
+                JfrMetrics.updateEnabled();
+            }
+        });
+        JfrMetrics.updateEnabled();
+    }
+
+    /**
+     * Check the events of framework are enabled in any recording.
+     *
+     * @since 2026/10/17
+     */
+    private static void updateEnabled() {
+        boolean result = false;
+
+        for (Class<? extends Event> eventClass : JfrMetrics.EVENT_CLASSES) {
+            if (EventType.getEventType(eventClass).isEnabled()) {
+                result = true;
+                break;
+            }
+        }
+        JfrMetrics.sEnabled = result;
+    }
+
+    /**
+     * @since 2026/10/17
+     */
+    @Override
+    public boolean isEnabled() {
+        return JfrMetrics.sEnabled;
+    }
+
+    /**
+     * @since 2026/10/17
+     */
+    @Override
+    public Object onStageBegin(final Stage inStage, final Object inOwner, final Object inType) {
+        StageEvent result = null;
+
+        if (inStage != null) {
+            final StageEvent event = this.createEvent(inStage);
+
+            if (event.isEnabled()) {
+                event.type = inType instanceof Class ? ((Class<?>)inType).getName() : String.valueOf(inType);
+                event.owner = inOwner != null ? inOwner.getClass() : null;
+                event.tag = this.getTag(inOwner);
+                event.begin();
+                result = event;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * The duration of event is measured by JFR since it began, the stages began before
+     * the event was enabled are not recorded.
+     *
+     * @since 2026/10/17
+     */
+    @Override
+    public void onStage(final Stage inStage, final Object inOwner, final Object inType, final long inNanos,
+                        final Object inBegin) {
+        if (inBegin instanceof StageEvent) {
+            final StageEvent event = (StageEvent)inBegin;
+
+            event.end();
+            // Checks the threshold of recording
+            if (event.shouldCommit()) {
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * @since 2026/10/17
+     */
+    @Override
+    public void onQueueDepth(final Object inOwner, final int inDepth) {
+        final QueueDepthEvent event = new QueueDepthEvent();
+
+        if (event.isEnabled()) {
+            event.owner = inOwner != null ? inOwner.getClass() : null;
+            event.tag = this.getTag(inOwner);
+            event.depth = inDepth;
+            event.commit();
+        }
+    }
+
+    /**
+     * Create the event of a stage.
+     *
+     * @param inStage The stage.
+     * @return The event not committed.
+     * @since 2026/10/17
+     */
+    private StageEvent createEvent(final Stage inStage) {
+        final StageEvent result;
+
+        switch (inStage) {
+            case CREATE:
+                result = new ActionCreateEvent();
+                break;
+            case SEND:
+                result = new ActionSendEvent();
+                break;
+            case DELIVER:
+                result = new BusDeliverEvent();
+                break;
+            case WAIT:
+                result = new StoreWaitEvent();
+                break;
+            case HANDLE:
+                result = new StoreHandleEvent();
+                break;
+            default:
+                result = new ChangeEmitEvent();
+                break;
+        }
+
+        return result;
+    }
+
+    /**
+     * Get the tag of owner if it's a store.
+     *
+     * @param inOwner The owner of stage or queue.
+     * @return The tag in string, or null if there is no tag.
+     * @since 2026/10/17
+     */
+    private String getTag(final Object inOwner) {
+        String result = null;
+
+        if (inOwner instanceof IFluxStore && ((IFluxStore)inOwner).getTag() != null) {
+            result = String.valueOf(((IFluxStore)inOwner).getTag());
+        }
+
+        return result;
+    }
+
+}
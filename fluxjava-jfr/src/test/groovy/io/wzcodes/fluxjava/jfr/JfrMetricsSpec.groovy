@@ -0,0 +1,189 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava.jfr
+
+import io.wzcodes.fluxjava.FluxBus
+import io.wzcodes.fluxjava.FluxStore
+import io.wzcodes.fluxjava.IFluxMetrics
+import jdk.jfr.Recording
+import jdk.jfr.consumer.RecordedEvent
+import jdk.jfr.consumer.RecordingFile
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.time.Duration
+
+class JfrMetricsSpec extends Specification {
+
+    private static class StubStore extends FluxStore<Object> {
+
+        StubStore() {
+            super(new FluxBus())
+        }
+
+        @Override
+        Object getItem(int inIndex) {
+            return null
+        }
+
+        @Override
+        int findItem(Object inO) {
+            return 0
+        }
+
+        @Override
+        int getCount() {
+            return 0
+        }
+    }
+
+    private Recording mRecording
+
+    def cleanup() {
+        if (this.mRecording != null) {
+            this.mRecording.close()
+        }
+    }
+
+    private List<RecordedEvent> stopRecording() {
+        final Path file = Files.createTempFile("fluxjava", ".jfr")
+
+        try {
+            this.mRecording.stop()
+            this.mRecording.dump(file)
+            return RecordingFile.readAllEvents(file).findAll { event ->
+                event.eventType.name.startsWith("io.wzcodes.fluxjava.")
+            }
+        } finally {
+            Files.delete(file)
+        }
+    }
+
+    def "Test isEnabled"() {
+        given:
+        def target = new JfrMetrics()
+
+        expect: "disabled without recording"
+        !target.isEnabled()
+
+        when: "a recording disables all events of framework"
+        this.mRecording = new Recording()
+        [JfrMetrics.ActionCreateEvent, JfrMetrics.ActionSendEvent, JfrMetrics.BusDeliverEvent, JfrMetrics.StoreWaitEvent,
+         JfrMetrics.StoreHandleEvent, JfrMetrics.ChangeEmitEvent, JfrMetrics.QueueDepthEvent].each { eventClass ->
+            this.mRecording.disable(eventClass)
+        }
+        this.mRecording.start()
+
+        then:
+        !target.isEnabled()
+
+        when: "a recording enables an event of framework"
+        this.mRecording.stop()
+        this.mRecording.close()
+        this.mRecording = new Recording()
+        this.mRecording.disable(JfrMetrics.ActionCreateEvent.class)
+        this.mRecording.start()
+
+        then: "events are enabled by default"
+        target.isEnabled()
+
+        when:
+        this.mRecording.stop()
+
+        then:
+        !target.isEnabled()
+    }
+
+    def "Test onStage"() {
+        given:
+        def target = new JfrMetrics()
+        def store = new StubStore()
+        def handle
+        def send
+
+        store.tag = 3
+        this.mRecording = new Recording()
+        this.mRecording.disable(JfrMetrics.ActionSendEvent.class)
+        this.mRecording.start()
+
+        when:
+        handle = target.onStageBegin(IFluxMetrics.Stage.HANDLE, store, "Todo")
+        Thread.sleep(5)
+        target.onStage(IFluxMetrics.Stage.HANDLE, store, "Todo", 0, handle)
+        target.onStage(IFluxMetrics.Stage.EMIT, store, String.class, 0,
+                target.onStageBegin(IFluxMetrics.Stage.EMIT, store, String.class))
+        send = target.onStageBegin(IFluxMetrics.Stage.SEND, this, "Todo")
+        target.onStage(IFluxMetrics.Stage.SEND, this, "Todo", 10, send)
+        target.onStage(IFluxMetrics.Stage.EMIT, store, "Begun before enabled", 10, null)
+        def events = this.stopRecording()
+
+        then: "the disabled events are not recorded, the others are with store class and tag"
+        send == null
+        events*.eventType*.name == ["io.wzcodes.fluxjava.StoreHandle", "io.wzcodes.fluxjava.ChangeEmit"]
+        events[0].getString("type") == "Todo"
+        events[0].getClass("owner").name == StubStore.class.name
+        events[0].getString("tag") == "3"
+        events[1].getString("type") == "java.lang.String"
+
+        and: "the event lasts from the begin of stage"
+        events[0].duration.toMillis() >= 5
+        events[0].startTime.isBefore(events[1].startTime)
+    }
+
+    def "Test onStage with threshold"() {
+        given:
+        def target = new JfrMetrics()
+        def begin
+
+        this.mRecording = new Recording()
+        this.mRecording.enable(JfrMetrics.ActionSendEvent.class).withThreshold(Duration.ofMillis(5))
+        this.mRecording.start()
+
+        when:
+        target.onStage(IFluxMetrics.Stage.SEND, this, "Todo", 0,
+                target.onStageBegin(IFluxMetrics.Stage.SEND, this, "Todo"))
+        begin = target.onStageBegin(IFluxMetrics.Stage.SEND, this, "User")
+        Thread.sleep(10)
+        target.onStage(IFluxMetrics.Stage.SEND, this, "User", 0, begin)
+        def events = this.stopRecording()
+
+        then: "the shorter ones are dropped by the threshold of recording"
+        events.size() == 1
+        events[0].getString("type") == "User"
+        events[0].getString("tag") == null
+    }
+
+    def "Test onQueueDepth"() {
+        given:
+        def target = new JfrMetrics()
+        def store = new StubStore()
+
+        this.mRecording = new Recording()
+        this.mRecording.enable(JfrMetrics.QueueDepthEvent.class)
+        this.mRecording.start()
+
+        when:
+        target.onQueueDepth(store, 5)
+        def events = this.stopRecording()
+
+        then:
+        events.size() == 1
+        events[0].getClass("owner").name == StubStore.class.name
+        events[0].getInt("depth") == 5
+    }
+
+}
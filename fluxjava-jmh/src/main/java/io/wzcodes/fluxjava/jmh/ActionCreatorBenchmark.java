@@ -0,0 +1,177 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.wzcodes.fluxjava.ActionCreator;
+import io.wzcodes.fluxjava.ActionRegistry;
+import io.wzcodes.fluxjava.FluxAction;
+import io.wzcodes.fluxjava.FluxBus;
+import io.wzcodes.fluxjava.FluxContext;
+import io.wzcodes.fluxjava.IActionFactory;
+import io.wzcodes.fluxjava.IActionHelper;
+import io.wzcodes.fluxjava.IFluxBus;
+import io.wzcodes.fluxjava.IFluxRegistry;
+import io.wzcodes.fluxjava.IFluxStore;
+import io.wzcodes.fluxjava.IntAction;
+import io.wzcodes.fluxjava.RecyclableAction;
+
+/**
+ * Compare {@link ActionCreator#sendRequest(int, Object)} between the ids registered in {@link ActionRegistry}
+ * and the ones looked up by the switch in {@link IActionHelper}.
+ * The unregistered id is out of the Integer cache, so it's boxed on every request as an id from a constant.
+ * The action of one registered id has a factory like the one generated by fluxjava-compiler,
+ * and another one is an {@link IntAction} sent with int data out of the Integer cache.
+ * The pooled one is a {@link RecyclableAction} which goes back to pool after posted.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ActionCreatorBenchmark {
+
+    private static final int REGISTERED_ID = 3;
+    private static final int FACTORY_ID = 7;
+    private static final int PRIMITIVE_ID = 8;
+    private static final int POOLED_ID = 9;
+    private static final int HELPER_ID = 1003;
+
+    public static class FactoryAction extends FluxAction<Integer, String> {
+        public FactoryAction(final Integer inType, final String inData) {
+            super(inType, inData);
+        }
+    }
+
+    public static class PositionAction extends IntAction {
+        public PositionAction(final int inType, final int inData) {
+            super(inType, inData);
+        }
+    }
+
+    public static class PooledAction extends RecyclableAction<Integer, String> {
+    }
+
+    private ActionCreator mActionCreator;
+
+    @Setup
+    public void setup() {
+        final ActionRegistry registry = new ActionRegistry();
+
+        for (int i = 0; i < ActionCreatorBenchmark.FACTORY_ID; i++) {
+            registry.register(i, Buses.StubAction.class);
+        }
+        registry.register(ActionCreatorBenchmark.FACTORY_ID, FactoryAction.class);
+        registry.registerInt(ActionCreatorBenchmark.PRIMITIVE_ID, new IntAction.Factory() {
+            @Override
+            public IntAction create(final int inType, final int inData) {
+                return new PositionAction(inType, inData);
+            }
+        });
+        registry.register(ActionCreatorBenchmark.POOLED_ID, PooledAction.class);
+        // The bus has no subscriber, only the cost of creating action is left
+        this.mActionCreator = FluxContext.getBuilder()
+                .setBus(new FluxBus())
+                .setActionHelper(new IActionHelper() {
+                    @Override
+                    public Class<?> getActionClass(final Object inActionTypeId) {
+                        Class<?> result = null;
+
+                        if (inActionTypeId instanceof Integer) {
+                            switch ((int)inActionTypeId) {
+                                case ActionCreatorBenchmark.HELPER_ID:
+                                case ActionCreatorBenchmark.HELPER_ID + 1:
+                                case ActionCreatorBenchmark.HELPER_ID + 2:
+                                    result = Buses.StubAction.class;
+                                    break;
+                            }
+                        }
+
+                        return result;
+                    }
+
+                    @Override
+                    public Object wrapData(final Object inData) {
+                        return inData;
+                    }
+                })
+                .setStoreMap(new HashMap<Object, Class<?>>())
+                .setActionRegistry(registry)
+                .setRegistry(new IFluxRegistry() {
+                    private final IActionFactory mFactory = new IActionFactory() {
+                        @Override
+                        public Object create(final Object inTypeId, final Object inData) {
+                            return new FactoryAction((Integer)inTypeId, (String)inData);
+                        }
+                    };
+
+                    @Override
+                    public IFluxStore createStore(final Class<?> inStoreClass, final IFluxBus inBus) {
+                        return null;
+                    }
+
+                    @Override
+                    public IActionFactory getActionFactory(final Class<?> inActionClass) {
+                        return inActionClass == FactoryAction.class ? this.mFactory : null;
+                    }
+                })
+                .build()
+                .getActionCreator();
+    }
+
+    @Benchmark
+    public void sendRegistered() {
+        this.mActionCreator.sendRequest(ActionCreatorBenchmark.REGISTERED_ID, "");
+    }
+
+    @Benchmark
+    public void sendRegisteredWithFactory() {
+        this.mActionCreator.sendRequest(ActionCreatorBenchmark.FACTORY_ID, "");
+    }
+
+    @Benchmark
+    public void sendPrimitive() {
+        this.mActionCreator.sendRequest(ActionCreatorBenchmark.PRIMITIVE_ID, ActionCreatorBenchmark.HELPER_ID);
+    }
+
+    @Benchmark
+    public void sendPooled() {
+        this.mActionCreator.sendRequest(ActionCreatorBenchmark.POOLED_ID, "");
+    }
+
+    @Benchmark
+    public void sendByHelper() {
+        this.mActionCreator.sendRequest(ActionCreatorBenchmark.HELPER_ID, "");
+    }
+
+}
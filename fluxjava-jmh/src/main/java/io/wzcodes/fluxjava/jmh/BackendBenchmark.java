@@ -0,0 +1,341 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava.jmh;
+
+import org.greenrobot.eventbus.Subscribe;
+import org.greenrobot.eventbus.ThreadMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.wzcodes.fluxjava.FluxAction;
+import io.wzcodes.fluxjava.IFluxAction;
+import io.wzcodes.fluxjava.IFluxBus;
+import io.wzcodes.fluxjava.IFluxSubscriber;
+import io.wzcodes.fluxjava.rx.RxStore;
+
+/**
+ * Run the same workload through every backend of {@link IFluxBus}, so they are in one table.
+ * The producers post the Todo and User actions in turn, half of the stores handle the Todo actions
+ * and the others handle the User actions, like the stores in demos. Every store reads the whole payload.
+ * A producer waits until all the stores handled its action before the next post, so the time of an
+ * operation is the dispatch latency of an action, even the bus queues it for the thread emitting
+ * the actions of other producers, like RxBus does.<br />
+ * Throughput is reported with the sample time, which has the percentiles p50, p99 and p999,
+ * and the gc profiler of the jmh task adds the allocation per action.
+ * The RxBus cases run with fluxjava-rx and fluxjava-rx2 in separate JVMs, see build.gradle.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BackendBenchmark {
+
+    private static final int TODO = 0;
+    private static final int USER = 1;
+
+    private static final Executor DIRECT_EXECUTOR = new Executor() {
+        @Override
+        public void execute(final Runnable inTask) {
+            inTask.run();
+        }
+    };
+
+    public static class Todo {
+        public final int id;
+        public final String title;
+        public final boolean closed;
+
+        Todo(final int inId) {
+            this.id = inId;
+            this.title = "Todo " + inId;
+            this.closed = inId % 2 == 0;
+        }
+    }
+
+    public static class User {
+        public final String name;
+
+        User(final int inId) {
+            this.name = "User " + inId;
+        }
+    }
+
+    public static class TodoAction extends FluxAction<Integer, List<Todo>> {
+        // The number of stores not handle it yet
+        final AtomicInteger mPending = new AtomicInteger();
+
+        public TodoAction(final Integer inType, final List<Todo> inData) {
+            super(inType, inData);
+        }
+    }
+
+    public static class UserAction extends FluxAction<Integer, List<User>> {
+        final AtomicInteger mPending = new AtomicInteger();
+
+        public UserAction(final Integer inType, final List<User> inData) {
+            super(inType, inData);
+        }
+    }
+
+    /**
+     * The actions of a producer thread, they are created once and posted again after handled.
+     */
+    @State(Scope.Thread)
+    public static class Producer {
+        private TodoAction mTodoAction;
+        private UserAction mUserAction;
+        private int mSequence;
+
+        @Setup
+        public void setup(final BackendBenchmark inBenchmark) {
+            this.mTodoAction = new TodoAction(BackendBenchmark.TODO, inBenchmark.mTodoList);
+            this.mUserAction = new UserAction(BackendBenchmark.USER, inBenchmark.mUserList);
+        }
+    }
+
+    /**
+     * The work of stores, read the payload of action.
+     */
+    static final class Workload {
+        private final Blackhole mBlackhole;
+
+        Workload(final Blackhole inBlackhole) {
+            this.mBlackhole = inBlackhole;
+        }
+
+        void handle(final Object inAction) {
+            if (inAction instanceof TodoAction) {
+                int closed = 0;
+
+                for (Todo todo : ((TodoAction)inAction).getData()) {
+                    if (todo.closed) {
+                        closed++;
+                    }
+                }
+                this.mBlackhole.consume(closed);
+                ((TodoAction)inAction).mPending.decrementAndGet();
+            } else {
+                for (User user : ((UserAction)inAction).getData()) {
+                    this.mBlackhole.consume(user.name);
+                }
+                ((UserAction)inAction).mPending.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * The store of FluxBus.
+     */
+    static final class FluxSubscriber implements IFluxSubscriber {
+        private final Class<?> mActionType;
+        private final Workload mWorkload;
+
+        FluxSubscriber(final Class<?> inActionType, final Workload inWorkload) {
+            this.mActionType = inActionType;
+            this.mWorkload = inWorkload;
+        }
+
+        @Override
+        public Class<?> getEventType() {
+            return this.mActionType;
+        }
+
+        @Override
+        public void onEvent(final Object inEvent) {
+            this.mWorkload.handle(inEvent);
+        }
+    }
+
+    /**
+     * The store of RxBus, it handles the actions in the thread of post.
+     */
+    static final class WorkloadRxStore extends RxStore<Object> {
+        private final Class<? extends IFluxAction> mActionType;
+        private final Workload mWorkload;
+
+        WorkloadRxStore(final IFluxBus inBus, final Class<? extends IFluxAction> inActionType,
+                        final Workload inWorkload) {
+            super(inBus);
+            this.mActionType = inActionType;
+            this.mWorkload = inWorkload;
+        }
+
+        @Override
+        protected Executor getExecutor() {
+            return BackendBenchmark.DIRECT_EXECUTOR;
+        }
+
+        @Override
+        protected Class<? extends IFluxAction> getActionType() {
+            return this.mActionType;
+        }
+
+        @Override
+        protected <TAction extends IFluxAction> void onAction(final TAction inAction) {
+            this.mWorkload.handle(inAction);
+        }
+
+        @Override
+        protected void onError(final Throwable inThrowable) {
+            throw new IllegalStateException(inThrowable);
+        }
+
+        @Override
+        public Object getItem(final int inIndex) {
+            return null;
+        }
+
+        @Override
+        public int findItem(final Object inItem) {
+            return -1;
+        }
+
+        @Override
+        public int getCount() {
+            return 0;
+        }
+    }
+
+    /**
+     * The stores of EventBus, the type of action is declared by the subscribe method.
+     */
+    public static final class TodoEventStore {
+        private final Workload mWorkload;
+
+        TodoEventStore(final Workload inWorkload) {
+            this.mWorkload = inWorkload;
+        }
+
+        @Subscribe(threadMode = ThreadMode.POSTING)
+        public void onAction(final TodoAction inAction) {
+            this.mWorkload.handle(inAction);
+        }
+    }
+
+    public static final class UserEventStore {
+        private final Workload mWorkload;
+
+        UserEventStore(final Workload inWorkload) {
+            this.mWorkload = inWorkload;
+        }
+
+        @Subscribe(threadMode = ThreadMode.POSTING)
+        public void onAction(final UserAction inAction) {
+            this.mWorkload.handle(inAction);
+        }
+    }
+
+    @Param({"FluxBus", "RxBus", "RxBus-routing", "EventBus"})
+    public String mBusType;
+
+    @Param({"2", "20", "200"})
+    public int mStoreCount;
+
+    // The number of entities in an action
+    @Param({"1", "100"})
+    public int mPayloadSize;
+
+    private final List<Todo> mTodoList = new ArrayList<>();
+    private final List<User> mUserList = new ArrayList<>();
+    private IFluxBus mBus;
+
+    @Setup
+    public void setup(final Blackhole inBlackhole) {
+        final Workload workload = new Workload(inBlackhole);
+
+        this.mBus = Buses.create(this.mBusType);
+        for (int i = 0; i < this.mStoreCount; i++) {
+            final boolean isTodo = i % 2 == 0;
+
+            if (this.mBus instanceof EventBusAdapter) {
+                this.mBus.register(isTodo ? new TodoEventStore(workload) : new UserEventStore(workload));
+            } else if (this.mBusType.startsWith("RxBus")) {
+                this.mBus.register(new WorkloadRxStore(this.mBus,
+                        isTodo ? TodoAction.class : UserAction.class, workload));
+            } else {
+                this.mBus.register(new FluxSubscriber(isTodo ? TodoAction.class : UserAction.class, workload));
+            }
+        }
+        // The payload is shared by the actions of producers, only the dispatch is measured
+        this.mTodoList.clear();
+        this.mUserList.clear();
+        for (int i = 0; i < this.mPayloadSize; i++) {
+            this.mTodoList.add(new Todo(i));
+            this.mUserList.add(new User(i));
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void dispatch(final Producer inProducer) {
+        this.post(inProducer);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void dispatch4Producers(final Producer inProducer) {
+        this.post(inProducer);
+    }
+
+    /**
+     * Post the Todo and User actions in turn and wait until the stores handled it.
+     *
+     * @param inProducer The actions of current thread.
+     * @since 2026/10/17
+     */
+    private void post(final Producer inProducer) {
+        final AtomicInteger pending;
+        final Object action;
+
+        if ((inProducer.mSequence++ & 1) == 0) {
+            action = inProducer.mTodoAction;
+            pending = inProducer.mTodoAction.mPending;
+            // The stores of even index handle Todo
+            pending.set((this.mStoreCount + 1) / 2);
+        } else {
+            action = inProducer.mUserAction;
+            pending = inProducer.mUserAction.mPending;
+            pending.set(this.mStoreCount / 2);
+        }
+        this.mBus.post(action);
+        while (pending.get() > 0) {
+            Thread.yield();
+        }
+    }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+import io.wzcodes.fluxjava.IFluxBus;
+
+/**
+ * Compare the cost of post between the implementations of {@link IFluxBus}.
+ * Every subscriber gets the event in the thread of post.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BusBenchmark {
+
+    @Param({"FluxBus", "RxBus", "RxBus-routing"})
+    public String mBusType;
+
+    @Param({"1", "10", "100"})
+    public int mSubscriberCount;
+
+    private IFluxBus mBus;
+    private Object mAction;
+
+    @Setup
+    public void setup(final Blackhole inBlackhole) {
+        this.mBus = Buses.create(this.mBusType);
+        this.mAction = new Buses.StubAction(0, "");
+        for (int i = 0; i < this.mSubscriberCount; i++) {
+            Buses.subscribe(this.mBus, Buses.StubAction.class, inBlackhole);
+        }
+    }
+
+    @Benchmark
+    public void post() {
+        this.mBus.post(this.mAction);
+    }
+
+}
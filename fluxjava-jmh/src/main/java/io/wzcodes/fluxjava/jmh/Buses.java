@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava.jmh;
+
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.wzcodes.fluxjava.FluxAction;
+import io.wzcodes.fluxjava.FluxBus;
+import io.wzcodes.fluxjava.IFluxBus;
+import io.wzcodes.fluxjava.IFluxSubscriber;
+import io.wzcodes.fluxjava.RingBus;
+import io.wzcodes.fluxjava.rx.RxBus;
+
+/**
+ * Create the buses and subscribers used in benchmarks.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+final class Buses {
+
+    // The name of RingBus is followed by the name of wait strategy, like RingBus-PARK
+    private static final String RING_BUS_PREFIX = "RingBus-";
+
+    static class StubAction extends FluxAction<Integer, String> {
+        public StubAction(final Integer inType, final String inData) {
+            super(inType, inData);
+        }
+    }
+
+    private Buses() {
+        // Do nothing
+    }
+
+    /**
+     * Create a bus by name.
+     * The supported names are FluxBus, RxBus, RxBus-routing, EventBus and RingBus-[wait strategy].
+     *
+     * @param inBusType The name of bus.
+     * @return Instance of {@link IFluxBus}.
+     * @since 2026/10/17
+     */
+    static IFluxBus create(final String inBusType) {
+        final IFluxBus result;
+
+        switch (inBusType) {
+            case "FluxBus":
+                result = new FluxBus();
+                break;
+            case "RxBus":
+                result = new RxBus();
+                break;
+            case "RxBus-routing":
+                result = new RxBus(true);
+                break;
+            case "EventBus":
+                result = new EventBusAdapter();
+                break;
+            default:
+                if (inBusType.startsWith(Buses.RING_BUS_PREFIX)) {
+                    result = new RingBus(RingBus.DEFAULT_BUFFER_SIZE, RingBus.WaitStrategy.valueOf(
+                            inBusType.substring(Buses.RING_BUS_PREFIX.length())));
+                } else {
+                    throw new IllegalArgumentException("Unknown bus type: " + inBusType);
+                }
+        }
+
+        return result;
+    }
+
+    /**
+     * Add a subscriber that passes the events of specific type to {@link Blackhole}.
+     *
+     * @param inBus The bus to subscribe.
+     * @param inEventType The type of event.
+     * @param inBlackhole The instance of {@link Blackhole}.
+     * @since 2026/10/17
+     */
+    static void subscribe(final IFluxBus inBus, final Class<?> inEventType, final Blackhole inBlackhole) {
+        if (inBus instanceof RxBus) {
+            RxSubscribers.subscribe((RxBus)inBus, inEventType, inBlackhole);
+        } else {
+            inBus.register(new IFluxSubscriber() {
+                @Override
+                public Class<?> getEventType() {
+                    return inEventType;
+                }
+
+                @Override
+                public void onEvent(final Object inEvent) {
+                    inBlackhole.consume(inEvent);
+                }
+            });
+        }
+    }
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava.jmh;
+
+import org.greenrobot.eventbus.EventBus;
+
+import io.wzcodes.fluxjava.IFluxBus;
+
+/**
+ * The same {@link IFluxBus} as the Bus in demo-eventbus, but every instance has its own {@link EventBus},
+ * so the subscribers of previous trial are not left in the default one.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+final class EventBusAdapter implements IFluxBus {
+
+    private final EventBus mBus = EventBus.builder().logNoSubscriberMessages(false)
+            .sendNoSubscriberEvent(false).build();
+
+    @Override
+    public void register(final Object inSubscriber) {
+        this.mBus.register(inSubscriber);
+    }
+
+    @Override
+    public void unregister(final Object inSubscriber) {
+        this.mBus.unregister(inSubscriber);
+    }
+
+    @Override
+    public void post(final Object inEvent) {
+        this.mBus.post(inEvent);
+    }
+
+}
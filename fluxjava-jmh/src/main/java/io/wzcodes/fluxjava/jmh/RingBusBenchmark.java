@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.wzcodes.fluxjava.IFluxBus;
+import io.wzcodes.fluxjava.IFluxSubscriber;
+import io.wzcodes.fluxjava.rx.RxBus;
+
+/**
+ * Compare the throughput of delivering events to subscribers in other threads.
+ * Every invocation posts a burst of events and waits until all subscribers get them.
+ * The subscribers of {@link RxBus} switch thread by observeOn, which is the usual way
+ * to leave the thread of post with RxJava.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RingBusBenchmark {
+
+    private static final int BURST_SIZE = 1024;
+
+    @Param({"RingBus-BUSY_SPIN", "RingBus-YIELD", "RingBus-PARK", "RxBus"})
+    public String mBusType;
+
+    @Param({"1", "4"})
+    public int mSubscriberCount;
+
+    private IFluxBus mBus;
+    private Object mAction;
+    private final List<AtomicLong> mCounters = new ArrayList<>();
+    private final List<Object> mSubscribers = new ArrayList<>();
+    private long mExpected;
+
+    @Setup
+    public void setup() {
+        this.mBus = Buses.create(this.mBusType);
+        this.mAction = new Buses.StubAction(0, "");
+        this.mExpected = 0;
+        for (int i = 0; i < this.mSubscriberCount; i++) {
+            final AtomicLong counter = new AtomicLong(0);
+
+            if (this.mBus instanceof RxBus) {
+                this.mSubscribers.add(RxSubscribers.subscribeInNewThread(
+                        (RxBus)this.mBus, Buses.StubAction.class, counter));
+            } else {
+                final IFluxSubscriber subscriber = new IFluxSubscriber() {
+                    @Override
+                    public Class<?> getEventType() {
+                        return Buses.StubAction.class;
+                    }
+
+                    @Override
+                    public void onEvent(final Object inEvent) {
+                        counter.lazySet(counter.get() + 1);
+                    }
+                };
+
+                this.mBus.register(subscriber);
+                this.mSubscribers.add(subscriber);
+            }
+            this.mCounters.add(counter);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        for (Object subscriber : this.mSubscribers) {
+            if (RxSubscribers.dispose(subscriber) == false) {
+                this.mBus.unregister(subscriber);
+            }
+        }
+        this.mSubscribers.clear();
+        this.mCounters.clear();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BURST_SIZE)
+    public void postAndDeliver() {
+        for (int i = 0; i < RingBusBenchmark.BURST_SIZE; i++) {
+            this.mBus.post(this.mAction);
+        }
+        this.mExpected += RingBusBenchmark.BURST_SIZE;
+        for (AtomicLong counter : this.mCounters) {
+            while (counter.get() < this.mExpected) {
+                Thread.yield();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import io.wzcodes.fluxjava.IFluxAction;
+import io.wzcodes.fluxjava.IFluxBus;
+import io.wzcodes.fluxjava.rx.RxBus;
+import io.wzcodes.fluxjava.rx.RxStore;
+
+/**
+ * Measure {@link RxBus#post(Object)} to the registered {@link RxStore}.
+ * The stores handle the action in the thread of post, so the whole dispatch path is measured.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RxStoreBenchmark {
+
+    private static final Executor DIRECT_EXECUTOR = new Executor() {
+        @Override
+        public void execute(final Runnable inTask) {
+            inTask.run();
+        }
+    };
+
+    /**
+     * A store passes the actions to {@link Blackhole}.
+     */
+    static class StubStore extends RxStore<Object> {
+        private final Blackhole mBlackhole;
+
+        StubStore(final IFluxBus inBus, final Blackhole inBlackhole) {
+            super(inBus);
+            this.mBlackhole = inBlackhole;
+        }
+
+        @Override
+        protected Executor getExecutor() {
+            return RxStoreBenchmark.DIRECT_EXECUTOR;
+        }
+
+        @Override
+        protected Class<? extends IFluxAction> getActionType() {
+            return Buses.StubAction.class;
+        }
+
+        @Override
+        protected <TAction extends IFluxAction> void onAction(final TAction inAction) {
+            this.mBlackhole.consume(inAction);
+        }
+
+        @Override
+        protected void onError(final Throwable inThrowable) {
+            throw new IllegalStateException(inThrowable);
+        }
+
+        @Override
+        public Object getItem(final int inIndex) {
+            return null;
+        }
+
+        @Override
+        public int findItem(final Object inItem) {
+            return -1;
+        }
+
+        @Override
+        public int getCount() {
+            return 0;
+        }
+    }
+
+    @Param({"RxBus", "RxBus-routing"})
+    public String mBusType;
+
+    @Param({"1", "10", "100", "1000"})
+    public int mStoreCount;
+
+    private IFluxBus mBus;
+    private Object mAction;
+
+    @Setup
+    public void setup(final Blackhole inBlackhole) {
+        this.mBus = Buses.create(this.mBusType);
+        this.mAction = new Buses.StubAction(0, "");
+        for (int i = 0; i < this.mStoreCount; i++) {
+            this.mBus.register(new StubStore(this.mBus, inBlackhole));
+        }
+    }
+
+    @Benchmark
+    public void post() {
+        this.mBus.post(this.mAction);
+    }
+
+}
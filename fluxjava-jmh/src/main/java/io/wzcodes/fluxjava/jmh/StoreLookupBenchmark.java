@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.wzcodes.fluxjava.FluxBus;
+import io.wzcodes.fluxjava.FluxContext;
+import io.wzcodes.fluxjava.FluxStore;
+import io.wzcodes.fluxjava.IActionHelper;
+import io.wzcodes.fluxjava.IFluxBus;
+import io.wzcodes.fluxjava.IFluxStore;
+import io.wzcodes.fluxjava.IFluxSubscriber;
+
+/**
+ * Measure {@link FluxContext#getStore(Object, Object, Object)} with many kept stores.
+ * The store of the other class is kept last, so a scan of keep list has to pass every tagged store.
+ * The cold one creates a store of a new tag, registers it to bus and unregisters it.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StoreLookupBenchmark {
+
+    private static final int TAGGED_STORE = 0;
+    private static final int OTHER_STORE = 1;
+
+    /**
+     * A store can be registered to {@link FluxBus}.
+     */
+    abstract static class StubStore extends FluxStore<Object> implements IFluxSubscriber {
+        StubStore(final IFluxBus inBus) {
+            super(inBus);
+        }
+
+        @Override
+        public Class<?> getEventType() {
+            return Buses.StubAction.class;
+        }
+
+        @Override
+        public void onEvent(final Object inEvent) {
+            // Do nothing
+        }
+
+        @Override
+        public Object getItem(final int inIndex) {
+            return null;
+        }
+
+        @Override
+        public int findItem(final Object inItem) {
+            return -1;
+        }
+
+        @Override
+        public int getCount() {
+            return 0;
+        }
+    }
+
+    public static class TaggedStore extends StubStore {
+        public TaggedStore(final IFluxBus inBus) {
+            super(inBus);
+        }
+    }
+
+    public static class OtherStore extends StubStore {
+        public OtherStore(final IFluxBus inBus) {
+            super(inBus);
+        }
+    }
+
+    @Param({"10", "100", "1000"})
+    public int mStoreCount;
+
+    private FluxContext mContext;
+    private String mLastTag;
+
+    @Setup
+    public void setup() {
+        final Map<Object, Class<?>> storeMap = new HashMap<>();
+
+        storeMap.put(StoreLookupBenchmark.TAGGED_STORE, TaggedStore.class);
+        storeMap.put(StoreLookupBenchmark.OTHER_STORE, OtherStore.class);
+        // FluxContext is a singleton, reuse it between trials in the same fork
+        this.mContext = FluxContext.getBuilder()
+                .setBus(new FluxBus())
+                .setActionHelper(new IActionHelper() {
+                    @Override
+                    public Class<?> getActionClass(final Object inActionTypeId) {
+                        return Buses.StubAction.class;
+                    }
+
+                    @Override
+                    public Object wrapData(final Object inData) {
+                        return inData;
+                    }
+                })
+                .setStoreMap(storeMap)
+                .build();
+        this.mContext.setStoreMap(storeMap);
+        this.mContext.setKeepStore(true);
+        this.mContext.clearAllStore();
+        for (int i = 0; i < this.mStoreCount; i++) {
+            this.mLastTag = "tag-" + i;
+            this.mContext.getStore(StoreLookupBenchmark.TAGGED_STORE, this.mLastTag, null);
+        }
+        this.mContext.getStore(StoreLookupBenchmark.OTHER_STORE, "other", null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.mContext.clearAllStore();
+    }
+
+    @Benchmark
+    public IFluxStore getStoreByTag() {
+        return this.mContext.getStore(StoreLookupBenchmark.TAGGED_STORE, this.mLastTag, null);
+    }
+
+    @Benchmark
+    public IFluxStore getStoreByClass() {
+        return this.mContext.getStore(StoreLookupBenchmark.OTHER_STORE, null, null);
+    }
+
+    @Benchmark
+    public IFluxStore getStoreCold() {
+        final IFluxStore result = this.mContext.getStore(StoreLookupBenchmark.OTHER_STORE, "cold", null);
+
+        this.mContext.unregisterStore(result, null);
+
+        return result;
+    }
+
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava.jmh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+import io.wzcodes.fluxjava.FluxBus;
+import io.wzcodes.fluxjava.FluxContext;
+import io.wzcodes.fluxjava.FluxStore;
+import io.wzcodes.fluxjava.IFluxAction;
+import io.wzcodes.fluxjava.IFluxBus;
+import io.wzcodes.fluxjava.IFluxStore;
+import io.wzcodes.fluxjava.IFluxSubscriber;
+import io.wzcodes.fluxjava.rx.IRxDataChange;
+import io.wzcodes.fluxjava.rx.RxStore;
+
+/**
+ * Measure the views of a store, the change events sent to every view by emitChange
+ * and a view registered and unregistered while the others are listening, like a screen is rotated.
+ * {@link FluxStore} sends the events by {@link FluxBus}, {@link RxStore} by its own bus.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StoreViewBenchmark {
+
+    static class ChangeEvent implements FluxContext.StoreChangeEvent {
+    }
+
+    /**
+     * Expose emitChange of {@link FluxStore}.
+     */
+    static class StubFluxStore extends FluxStore<Object> {
+        StubFluxStore(final IFluxBus inBus) {
+            super(inBus);
+        }
+
+        void change(final FluxContext.StoreChangeEvent inEvent) {
+            super.emitChange(inEvent);
+        }
+
+        @Override
+        public Object getItem(final int inIndex) {
+            return null;
+        }
+
+        @Override
+        public int findItem(final Object inItem) {
+            return -1;
+        }
+
+        @Override
+        public int getCount() {
+            return 0;
+        }
+    }
+
+    /**
+     * Expose emitChange of {@link RxStore}.
+     */
+    static class StubRxStore extends RxStore<Object> {
+        StubRxStore(final IFluxBus inBus) {
+            super(inBus);
+        }
+
+        void change(final FluxContext.StoreChangeEvent inEvent) {
+            super.emitChange(inEvent);
+        }
+
+        @Override
+        protected Class<? extends IFluxAction> getActionType() {
+            return Buses.StubAction.class;
+        }
+
+        @Override
+        protected <TAction extends IFluxAction> void onAction(final TAction inAction) {
+            // Do nothing
+        }
+
+        @Override
+        protected void onError(final Throwable inThrowable) {
+            // Do nothing
+        }
+
+        @Override
+        public Object getItem(final int inIndex) {
+            return null;
+        }
+
+        @Override
+        public int findItem(final Object inItem) {
+            return -1;
+        }
+
+        @Override
+        public int getCount() {
+            return 0;
+        }
+    }
+
+    /**
+     * A view passes the change events to {@link Blackhole}, it can be registered in both stores.
+     */
+    static class StubView implements IFluxSubscriber, IRxDataChange {
+        private final Blackhole mBlackhole;
+
+        StubView(final Blackhole inBlackhole) {
+            this.mBlackhole = inBlackhole;
+        }
+
+        @Override
+        public Class<?> getEventType() {
+            return ChangeEvent.class;
+        }
+
+        @Override
+        public void onEvent(final Object inEvent) {
+            this.mBlackhole.consume(inEvent);
+        }
+
+        @Override
+        public void onDataChange(final FluxContext.StoreChangeEvent inEvent) {
+            this.mBlackhole.consume(inEvent);
+        }
+
+        @Override
+        public void onDataError(final Throwable inThrowable) {
+            this.mBlackhole.consume(inThrowable);
+        }
+    }
+
+    @Param({"FluxStore", "RxStore"})
+    public String mStoreType;
+
+    @Param({"1", "10", "100"})
+    public int mViewCount;
+
+    private IFluxStore<Object> mStore;
+    private StubView mView;
+    private ChangeEvent mEvent;
+
+    @Setup
+    public void setup(final Blackhole inBlackhole) {
+        switch (this.mStoreType) {
+            case "FluxStore":
+                this.mStore = new StubFluxStore(new FluxBus());
+                break;
+            case "RxStore":
+                this.mStore = new StubRxStore(null);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown store type: " + this.mStoreType);
+        }
+        for (int i = 0; i < this.mViewCount; i++) {
+            this.mStore.register(new StubView(inBlackhole));
+        }
+        this.mView = new StubView(inBlackhole);
+        this.mEvent = new ChangeEvent();
+    }
+
+    @Benchmark
+    public void emitChange() {
+        if (this.mStore instanceof StubFluxStore) {
+            ((StubFluxStore)this.mStore).change(this.mEvent);
+        } else {
+            ((StubRxStore)this.mStore).change(this.mEvent);
+        }
+    }
+
+    @Benchmark
+    public void registerAndUnregister() {
+        this.mStore.register(this.mView);
+        this.mStore.unregister(this.mView);
+    }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava.jmh;
+
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.wzcodes.fluxjava.rx.RxBus;
+import rx.Subscription;
+import rx.functions.Action1;
+import rx.schedulers.Schedulers;
+
+/**
+ * Subscribe {@link RxBus} of RxJava 1. The module of RxJava 1 and 2 share the same package,
+ * the one in classpath is chosen by build, see build.gradle.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+final class RxSubscribers {
+
+    private RxSubscribers() {
+        // Do nothing
+    }
+
+    /**
+     * Add a subscriber that passes the events of specific type to {@link Blackhole}.
+     *
+     * @param inBus The bus to subscribe.
+     * @param inEventType The type of event.
+     * @param inBlackhole The instance of {@link Blackhole}.
+     * @since 2026/10/17
+     */
+    static void subscribe(final RxBus inBus, final Class<?> inEventType, final Blackhole inBlackhole) {
+        inBus.toObservable(inEventType).subscribe(new Action1<Object>() {
+            @Override
+            public void call(final Object inEvent) {
+                inBlackhole.consume(inEvent);
+            }
+        });
+    }
+
+    /**
+     * Add a subscriber in a new thread by observeOn, it counts the events.
+     *
+     * @param inBus The bus to subscribe.
+     * @param inEventType The type of event.
+     * @param inCounter The counter of events.
+     * @return The subscription, pass it to {@link RxSubscribers#dispose(Object)} when done.
+     * @since 2026/10/17
+     */
+    static Object subscribeInNewThread(final RxBus inBus, final Class<?> inEventType, final AtomicLong inCounter) {
+        return inBus.toObservable(inEventType)
+                .observeOn(Schedulers.newThread())
+                .subscribe(new Action1<Object>() {
+                    @Override
+                    public void call(final Object inEvent) {
+                        inCounter.lazySet(inCounter.get() + 1);
+                    }
+                });
+    }
+
+    /**
+     * Stop the subscription.
+     *
+     * @param inSubscription The object may be a subscription.
+     * @return True if it is a subscription.
+     * @since 2026/10/17
+     */
+    static boolean dispose(final Object inSubscription) {
+        final boolean result = inSubscription instanceof Subscription;
+
+        if (result) {
+            ((Subscription)inSubscription).unsubscribe();
+        }
+
+        return result;
+    }
+
+}
@@ -0,0 +1,281 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava.rx;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.wzcodes.fluxjava.IRecyclable;
+import rx.Observable;
+import rx.Subscriber;
+import rx.subjects.SerializedSubject;
+import rx.subjects.Subject;
+
+/**
+ * Serialize the values sent to a {@link Subject} from different threads, like
+ * {@link SerializedSubject}, and also accept a list of values at once.
+ * The values in list are emitted together after taking the lock once,
+ * the values sent by other threads in the meantime are queued and emitted after them.
+ * The {@link IRecyclable} values are retained while queued, so the sender can release them after return.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+final class BatchSubject<T> extends Subject<T, T> {
+
+    private final Subject<T, T> mActual;
+    // Both only accessed with lock
+    private boolean mEmitting;
+    private List<Object> mQueue;
+
+    /**
+     * Constructor.
+     *
+     * @param inActual The {@link Subject} that is not thread-safe.
+     * @since 2026/10/17
+     */
+    BatchSubject(final Subject<T, T> inActual) {
+        super(new Observable.OnSubscribe<T>() {
+            @Override
+            public void call(final Subscriber<? super T> inSubscriber) {
+                inActual.unsafeSubscribe(inSubscriber);
+            }
+        });
+        this.mActual = inActual;
+    }
+
+    /**
+     * @since 2026/10/17
+     */
+    @Override
+    public boolean hasObservers() {
+        return this.mActual.hasObservers();
+    }
+
+    /**
+     * @since 2026/10/17
+     */
+    @Override
+    public void onNext(final T inValue) {
+        synchronized (this) {
+            if (this.mEmitting) {
+                this.enqueue(inValue);
+                return;
+            }
+            this.mEmitting = true;
+        }
+        this.mActual.onNext(inValue);
+        this.emitLoop();
+    }
+
+    /**
+     * @since 2026/10/17
+     */
+    @Override
+    public void onError(final Throwable inThrowable) {
+        this.terminate(new Terminal(inThrowable));
+    }
+
+    /**
+     * @since 2026/10/17
+     */
+    @Override
+    public void onCompleted() {
+        this.terminate(new Terminal(null));
+    }
+
+    /**
+     * Emit the values in order, no other value is emitted between them.
+     *
+     * @param inValues The values to emit.
+     * @since 2026/10/17
+     */
+    void onNextAll(final List<? extends T> inValues) {
+        synchronized (this) {
+            if (this.mEmitting) {
+                // Copy it, the caller may change the list after return
+                this.enqueue(new Batch(new ArrayList<>(inValues)));
+                return;
+            }
+            this.mEmitting = true;
+        }
+        this.emitBatch(inValues);
+        this.emitLoop();
+    }
+
+    /**
+     * Send the terminal event after the values queued before it.
+     *
+     * @param inTerminal The terminal event.
+     * @since 2026/10/17
+     */
+    private void terminate(final Terminal inTerminal) {
+        synchronized (this) {
+            if (this.mEmitting) {
+                this.enqueue(inTerminal);
+                return;
+            }
+            this.mEmitting = true;
+        }
+        inTerminal.emit(this.mActual);
+        this.emitLoop();
+    }
+
+    /**
+     * Get the number of values and batches queued for the thread that is emitting.
+     *
+     * @return The number of items in queue.
+     * @since 2026/10/17
+     */
+    synchronized int getQueueSize() {
+        return this.mQueue != null ? this.mQueue.size() : 0;
+    }
+
+    /**
+     * Keep the value for the thread that is emitting.
+     * Must be called with lock.
+     *
+     * @param inValue The value, {@link Batch} or {@link Terminal}.
+     * @since 2026/10/17
+     */
+    private void enqueue(final Object inValue) {
+        if (this.mQueue == null) {
+            this.mQueue = new ArrayList<>();
+        }
+        this.mQueue.add(inValue);
+        // The sender may release it before emitted
+        BatchSubject.retain(inValue);
+    }
+
+    /**
+     * Emit the values in batch and let {@link RxStore} handle them together.
+     *
+     * @param inValues The values to emit.
+     * @since 2026/10/17
+     */
+    private void emitBatch(final List<? extends T> inValues) {
+        final boolean isOwner = RxBatch.begin();
+
+        try {
+            for (T value : inValues) {
+                this.mActual.onNext(value);
+            }
+        } finally {
+            if (isOwner) {
+                RxBatch.end();
+            }
+        }
+    }
+
+    /**
+     * Emit the values queued by other threads until the queue is empty.
+     *
+     * @since 2026/10/17
+     */
+    @SuppressWarnings("unchecked")
+    private void emitLoop() {
+        for (;;) {
+            final List<Object> queue;
+
+            synchronized (this) {
+                queue = this.mQueue;
+                if (queue == null) {
+                    this.mEmitting = false;
+                    return;
+                }
+                this.mQueue = null;
+            }
+
+            for (Object value : queue) {
+                try {
+                    if (value instanceof Batch) {
+                        this.emitBatch((List<? extends T>)((Batch)value).mValues);
+                    } else if (value instanceof Terminal) {
+                        ((Terminal)value).emit(this.mActual);
+                    } else {
+                        this.mActual.onNext((T)value);
+                    }
+                } finally {
+                    BatchSubject.release(value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Retain the {@link IRecyclable} value, or the ones in {@link Batch}.
+     *
+     * @param inValue The value queued.
+     * @since 2026/10/17
+     */
+    private static void retain(final Object inValue) {
+        if (inValue instanceof Batch) {
+            for (Object value : ((Batch)inValue).mValues) {
+                BatchSubject.retain(value);
+            }
+        } else if (inValue instanceof IRecyclable) {
+            ((IRecyclable)inValue).retain();
+        }
+    }
+
+    /**
+     * Release the {@link IRecyclable} value, or the ones in {@link Batch}, after emitted.
+     *
+     * @param inValue The value queued.
+     * @since 2026/10/17
+     */
+    private static void release(final Object inValue) {
+        if (inValue instanceof Batch) {
+            for (Object value : ((Batch)inValue).mValues) {
+                BatchSubject.release(value);
+            }
+        } else if (inValue instanceof IRecyclable) {
+            ((IRecyclable)inValue).release();
+        }
+    }
+
+    /**
+     * The values queued by {@link BatchSubject#onNextAll(List)}.
+     */
+    private static final class Batch {
+        private final List<?> mValues;
+
+        Batch(final List<?> inValues) {
+            this.mValues = inValues;
+        }
+    }
+
+    /**
+     * The queued onError or onCompleted.
+     */
+    private static final class Terminal {
+        // Null means completed
+        private final Throwable mError;
+
+        Terminal(final Throwable inError) {
+            this.mError = inError;
+        }
+
+        void emit(final Subject<?, ?> inSubject) {
+            if (this.mError != null) {
+                inSubject.onError(this.mError);
+            } else {
+                inSubject.onCompleted();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava.rx;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.wzcodes.fluxjava.IFluxAction;
+
+/**
+ * Collect the actions emitted in a batch for each {@link RxStore}.
+ * The batch is bound to the thread that emits it, so the stores get the actions
+ * in the same call chain and hand them over together when the batch ends.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+final class RxBatch {
+
+    private static final ThreadLocal<RxBatch> sCurrent = new ThreadLocal<>();
+
+    // Keep the order of stores get their first action
+    private final Map<RxStore<?>, List<IFluxAction>> mActions = new LinkedHashMap<>();
+
+    private RxBatch() {
+        // Do nothing
+    }
+
+    /**
+     * Start a batch in current thread if there is no batch.
+     *
+     * @return True if a new batch is started, the caller has to call {@link RxBatch#end()}.
+     * @since 2026/10/17
+     */
+    static boolean begin() {
+        boolean result = false;
+
+        if (RxBatch.sCurrent.get() == null) {
+            RxBatch.sCurrent.set(new RxBatch());
+            result = true;
+        }
+
+        return result;
+    }
+
+    /**
+     * Get the batch of current thread.
+     *
+     * @return The instance of {@link RxBatch}, or null if there is no batch.
+     * @since 2026/10/17
+     */
+    static RxBatch getCurrent() {
+        return RxBatch.sCurrent.get();
+    }
+
+    /**
+     * End the batch of current thread and pass the collected actions to each store.
+     *
+     * @since 2026/10/17
+     */
+    static void end() {
+        final RxBatch batch = RxBatch.sCurrent.get();
+
+        RxBatch.sCurrent.remove();
+        if (batch != null) {
+            for (Map.Entry<RxStore<?>, List<IFluxAction>> entry : batch.mActions.entrySet()) {
+                entry.getKey().dispatchActions(entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Keep the action until the batch ends.
+     *
+     * @param inStore The store gets the action.
+     * @param inAction The action object.
+     * @since 2026/10/17
+     */
+    void add(final RxStore<?> inStore, final IFluxAction inAction) {
+        List<IFluxAction> actions = this.mActions.get(inStore);
+
+        if (actions == null) {
+            actions = new ArrayList<>();
+            this.mActions.put(inStore, actions);
+        }
+        actions.add(inAction);
+    }
+
+}
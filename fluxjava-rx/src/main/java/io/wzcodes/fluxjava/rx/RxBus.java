@@ -15,30 +15,41 @@
  */
 package io.wzcodes.fluxjava.rx;
 
-import io.wzcodes.fluxjava.IFluxBus;
+import io.wzcodes.fluxjava.FluxMetrics;
+import io.wzcodes.fluxjava.FluxTracer;
+import io.wzcodes.fluxjava.IFluxBatchBus;
+import io.wzcodes.fluxjava.IFluxMetrics;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import rx.Observable;
 import rx.Subscription;
 import rx.subjects.PublishSubject;
-import rx.subjects.SerializedSubject;
-import rx.subjects.Subject;
 
 /**
- * Use RxJava to implement {@link IFluxBus}.
+ * Use RxJava to implement {@link IFluxBatchBus}.
+ * The time of delivery and the depth of queue are reported to {@link IFluxMetrics} if it's enabled,
+ * and the delivery is recorded by {@link FluxTracer} if it's on.
  *
  * @author WZ
- * @version 20160705
+ * @version 20261017
  */
-public class RxBus implements IFluxBus {
+public class RxBus implements IFluxBatchBus {
 
     private static volatile RxBus sInstance;
-    private final Subject<Object, Object> mBus;
-    private final Map<Object, Subscription> mSubscriptionManager = new HashMap<>();
+    private final BatchSubject<Object> mBus;
+    // Registered and unregistered from different threads
+    private final ConcurrentMap<Object, Subscription> mSubscriptionManager = new ConcurrentHashMap<>();
+    private final boolean mRouting;
+    // The subject for each type of event that is subscribed in routing mode
+    private final ConcurrentMap<Class<?>, BatchSubject<Object>> mRoutes;
+    // The subjects that accept each class of event been posted in routing mode
+    private final ConcurrentMap<Class<?>, BatchSubject<Object>[]> mRouteCache;
 
     /**
      * Constructor.
@@ -46,11 +57,34 @@ public class RxBus implements IFluxBus {
      * @since 2016/7/5
      */
     public RxBus() {
+        this(false);
+    }
+
+    /**
+     * Constructor.
+     * In routing mode, there is a subject for each type of event that is subscribed.
+     * When an event is posted, only the subjects of its class and super types get the event.
+     * So the cost of post does not grow with the number of stores that don't want the event.
+     *
+     * @param inRouting Enable routing mode or not.
+     * @since 2026/10/17
+     */
+    public RxBus(final boolean inRouting) {
         // Subject that, once an Observer has subscribed,
         // emits all subsequently observed items to the subscriber.
         // PublishSubject is not thread-safe,
-        // PublishSubject need to be converted into SerializedSubject
-        this.mBus = new SerializedSubject<>(PublishSubject.create());
+        // PublishSubject need to be serialized, BatchSubject also accepts a batch at once
+        this.mBus = new BatchSubject<>(PublishSubject.create());
+        this.mRouting = inRouting;
+        if (inRouting) {
+            this.mRoutes = new ConcurrentHashMap<>();
+            this.mRouteCache = new ConcurrentHashMap<>();
+            // Who wants every event gets the main subject
+            this.mRoutes.put(Object.class, this.mBus);
+        } else {
+            this.mRoutes = null;
+            this.mRouteCache = null;
+        }
     }
 
     /**
@@ -78,9 +112,19 @@ public class RxBus implements IFluxBus {
      * @return The instance of {@link Observable}.
      * @since 2016/7/5
      */
+    @SuppressWarnings("unchecked")
     public <TEvent> Observable<TEvent> toObservable(final Class<TEvent> inEventType) {
-        // Filter events by specific type passed in
-        return this.mBus.ofType(inEventType);
+        final Observable<TEvent> result;
+
+        if (this.mRouting) {
+            // Only the events of specific type are sent to the route, no need to filter again
+            result = (Observable<TEvent>)(Observable<?>)this.getRoute(inEventType);
+        } else {
+            // Filter events by specific type passed in
+            result = this.mBus.ofType(inEventType);
+        }
+
+        return result;
     }
 
     /**
@@ -101,12 +145,12 @@ public class RxBus implements IFluxBus {
                 final Subscription subscription;
 
                 if (key == inSubscriber) {
-                    subscription = subscriber.onDispatch(this.mBus);
+                    subscription = subscriber.onDispatch(this.getDispatchSource(inSubscriber));
                 } else {
                     subscription = subscriber.onDispatch(key, this.mBus);
                 }
 
-                if (subscription != null) {
+                if (key != null && subscription != null) {
                     this.mSubscriptionManager.put(key, subscription);
                 }
             }
@@ -141,8 +185,105 @@ public class RxBus implements IFluxBus {
      */
     @Override
     public void post(final Object inEvent) {
-        if (this.mBus.hasObservers()) {
+        final IFluxMetrics metrics = FluxMetrics.get();
+        final boolean isTraced = FluxTracer.get() != null;
+        final Object type = metrics.isEnabled() || isTraced ? FluxMetrics.typeOf(inEvent) : null;
+        final Object begin = type != null && metrics.isEnabled()
+                ? metrics.onStageBegin(IFluxMetrics.Stage.DELIVER, this, type) : null;
+        final long startTime = type != null ? System.nanoTime() : 0;
+
+        if (this.mRouting) {
+            for (BatchSubject<Object> route : this.getRoutes(inEvent.getClass())) {
+                if (route.hasObservers()) {
+                    route.onNext(inEvent);
+                    if (metrics.isEnabled()) {
+                        metrics.onQueueDepth(this, route.getQueueSize());
+                    }
+                }
+            }
+        } else if (this.mBus.hasObservers()) {
             this.mBus.onNext(inEvent);
+            if (metrics.isEnabled()) {
+                metrics.onQueueDepth(this, this.mBus.getQueueSize());
+            }
+        }
+        if (type != null) {
+            this.report(metrics, isTraced, type, startTime, begin);
+        }
+    }
+
+    /**
+     * The events are emitted after taking the lock once, and the events sent by other threads
+     * wait until the whole batch is emitted. {@link RxStore} gets the actions of a batch
+     * in {@link RxStore#onActions(List)}.
+     *
+     * @since 2026/10/17
+     */
+    @Override
+    public void postAll(final List<?> inEvents) {
+        if (inEvents == null) {
+            throw new IllegalArgumentException("Events are missing.");
+        }
+
+        final IFluxMetrics metrics = FluxMetrics.get();
+        final boolean isTraced = FluxTracer.get() != null;
+        final Object type = (metrics.isEnabled() || isTraced) && inEvents.isEmpty() == false
+                ? FluxMetrics.typeOf(inEvents.get(0)) : null;
+        final Object begin = type != null && metrics.isEnabled()
+                ? metrics.onStageBegin(IFluxMetrics.Stage.DELIVER, this, type) : null;
+        final long startTime = type != null ? System.nanoTime() : 0;
+
+        if (this.mRouting) {
+            // Split the batch by routes, each route emits its part at once
+            final Map<BatchSubject<Object>, List<Object>> batches = new LinkedHashMap<>();
+
+            for (Object event : inEvents) {
+                for (BatchSubject<Object> route : this.getRoutes(event.getClass())) {
+                    if (route.hasObservers()) {
+                        List<Object> batch = batches.get(route);
+
+                        if (batch == null) {
+                            batch = new ArrayList<>();
+                            batches.put(route, batch);
+                        }
+                        batch.add(event);
+                    }
+                }
+            }
+            for (Map.Entry<BatchSubject<Object>, List<Object>> entry : batches.entrySet()) {
+                entry.getKey().onNextAll(entry.getValue());
+                if (metrics.isEnabled()) {
+                    metrics.onQueueDepth(this, entry.getKey().getQueueSize());
+                }
+            }
+        } else if (this.mBus.hasObservers()) {
+            this.mBus.onNextAll(inEvents);
+            if (metrics.isEnabled()) {
+                metrics.onQueueDepth(this, this.mBus.getQueueSize());
+            }
+        }
+        if (type != null) {
+            this.report(metrics, isTraced, type, startTime, begin);
+        }
+    }
+
+    /**
+     * Report the time of delivery to {@link IFluxMetrics} and {@link FluxTracer}.
+     *
+     * @param inMetrics The instance of {@link IFluxMetrics}.
+     * @param inTraced Record a span or not.
+     * @param inType The type of event.
+     * @param inStartTime The time starts to deliver.
+     * @param inBegin The object returned by {@link IFluxMetrics#onStageBegin(IFluxMetrics.Stage, Object, Object)}.
+     * @since 2026/10/17
+     */
+    private void report(final IFluxMetrics inMetrics, final boolean inTraced, final Object inType,
+                        final long inStartTime, final Object inBegin) {
+        if (inMetrics.isEnabled()) {
+            inMetrics.onStage(IFluxMetrics.Stage.DELIVER, this, inType, System.nanoTime() - inStartTime, inBegin);
+        }
+        if (inTraced) {
+            FluxTracer.trace("deliver", inType, inStartTime);
         }
     }
 
@@ -172,11 +313,89 @@ public class RxBus implements IFluxBus {
      * @since 2016/7/5
      */
     public void removeSubscription(final Object inKey) {
-        final Subscription subscription = this.mSubscriptionManager.remove(inKey);
+        if (inKey != null) {
+            final Subscription subscription = this.mSubscriptionManager.remove(inKey);
 
-        if (subscription != null && subscription.isUnsubscribed() == false) {
-            subscription.unsubscribe();
+            if (subscription != null && subscription.isUnsubscribed() == false) {
+                subscription.unsubscribe();
+            }
         }
     }
 
+    /**
+     * Get the {@link Observable} passed to subscriber when it is registered.
+     * In routing mode, {@link RxStore} gets the route of its action type.
+     *
+     * @param inSubscriber The subscriber to add into bus.
+     * @return The instance of {@link Observable}.
+     * @since 2026/10/17
+     */
+    private Observable<?> getDispatchSource(final Object inSubscriber) {
+        Observable<?> result = this.mBus;
+
+        if (this.mRouting && inSubscriber instanceof RxStore) {
+            final Class<?> actionType = ((RxStore<?>)inSubscriber).getActionType();
+
+            if (actionType != null) {
+                result = this.getRoute(actionType);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Get the subject that receives the events of specific type in routing mode.
+     *
+     * @param inEventType The type of event.
+     * @return The instance of {@link BatchSubject}.
+     * @since 2026/10/17
+     */
+    private BatchSubject<Object> getRoute(final Class<?> inEventType) {
+        BatchSubject<Object> result = this.mRoutes.get(inEventType);
+
+        if (result == null) {
+            synchronized (this.mRoutes) {
+                result = this.mRoutes.get(inEventType);
+                if (result == null) {
+                    result = new BatchSubject<>(PublishSubject.create());
+                    this.mRoutes.put(inEventType, result);
+                    // The new route may accept the classes been resolved
+                    this.mRouteCache.clear();
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Get all subjects that accept the class of event in routing mode.
+     * The subjects are resolved once for each class of event.
+     *
+     * @param inEventClass The class of event.
+     * @return The subjects.
+     * @since 2026/10/17
+     */
+    @SuppressWarnings("unchecked")
+    private BatchSubject<Object>[] getRoutes(final Class<?> inEventClass) {
+        BatchSubject<Object>[] result = this.mRouteCache.get(inEventClass);
+
+        if (result == null) {
+            synchronized (this.mRoutes) {
+                final List<BatchSubject<Object>> routes = new ArrayList<>();
+
+                for (Map.Entry<Class<?>, BatchSubject<Object>> entry : this.mRoutes.entrySet()) {
+                    if (entry.getKey().isAssignableFrom(inEventClass)) {
+                        routes.add(entry.getValue());
+                    }
+                }
+                result = routes.toArray(new BatchSubject[routes.size()]);
+                this.mRouteCache.put(inEventClass, result);
+            }
+        }
+
+        return result;
+    }
+
 }
@@ -19,9 +19,15 @@ import java.util.List;
 import java.util.concurrent.Executor;
 
 import io.wzcodes.fluxjava.FluxContext;
+import io.wzcodes.fluxjava.FluxMetrics;
 import io.wzcodes.fluxjava.FluxStore;
+import io.wzcodes.fluxjava.FluxTracer;
 import io.wzcodes.fluxjava.IFluxAction;
 import io.wzcodes.fluxjava.IFluxBus;
+import io.wzcodes.fluxjava.IFluxMetrics;
+import io.wzcodes.fluxjava.IRecyclable;
+import io.wzcodes.fluxjava.RecyclableChangeEvent;
+import io.wzcodes.fluxjava.SerialExecutor;
 import rx.Observable;
 import rx.Subscription;
 import rx.functions.Action1;
@@ -30,11 +36,12 @@ import rx.functions.Action1;
  * Use RxJava to extends {@link FluxStore} and use {@link RxBus} to pass data change events.
  *
  * @author WZ
- * @version 20171110
+ * @version 20261017
  */
 public abstract class RxStore<TEntity> extends FluxStore<TEntity> implements IRxDispatch {
 
     private final RxBus mRxBus = new RxBus();
+    private volatile SerialExecutor mMailbox = null;
 
     /**
      * Constructor.
@@ -66,7 +73,13 @@ public abstract class RxStore<TEntity> extends FluxStore<TEntity> implements IRx
                                 new Action1<FluxContext.StoreChangeEvent>() {
                                     @Override
                                     public void call(final FluxContext.StoreChangeEvent inEvent) {
+                                        final boolean isTraced = FluxTracer.get() != null;
+                                        final long startTime = isTraced ? System.nanoTime() : 0;
+
                                         ((IRxDataChange)inView).onDataChange(inEvent);
+                                        if (isTraced) {
+                                            FluxTracer.trace("onDataChange", FluxMetrics.typeOf(inEvent), startTime);
+                                        }
                                     }
                                 },
                                 new Action1<Throwable>() {
@@ -128,29 +141,64 @@ public abstract class RxStore<TEntity> extends FluxStore<TEntity> implements IRx
                         new Action1<IFluxAction>() {
                             @Override
                             public void call(final IFluxAction inAction) {
-                                // Due to store could access network or storage,
-                                // each action using their own thread to execute.
-                                // But RxJava use single-thread to send every action
-                                // See also:
-                                // http://tomstechnicalblog.blogspot.tw/2015/11/rxjava-achieving-parallelization.html
-                                final Runnable runnable = new Runnable() {
-                                    @Override
-                                    public void run() {
-                                        try {
-                                            RxStore.this.onAction(inAction);
-                                        } catch (Exception exGeneral) {
-                                            RxStore.this.onError(exGeneral);
-                                        }
-                                    }
-                                };
-                                final Executor executor = RxStore.this.getExecutor();
+                                final RxBatch batch = RxBatch.getCurrent();
+                                final IFluxMetrics metrics = FluxMetrics.get();
+                                final Object type = metrics.isEnabled() ? FluxMetrics.typeOf(inAction) : null;
+                                // The actions in a batch begin to wait when the batch is dispatched
+                                final Object waitBegin = type != null && batch == null
+                                        ? metrics.onStageBegin(IFluxMetrics.Stage.WAIT, RxStore.this, type) : null;
+                                final long queuedTime = type != null ? System.nanoTime() : 0;
+                                // Go on with the trace of sender in the thread handles it
+                                final long traceId = FluxTracer.get() != null ? FluxTracer.traceOf(inAction) : 0;
 
-                                if (executor != null) {
-                                    executor.execute(runnable);
+                                // Hold the pooled action until it's handled in other thread
+                                RxStore.retain(inAction);
+                                if (batch != null) {
+                                    // Sent by postAll, handle the actions together after the batch ends
+                                    batch.add(RxStore.this, inAction);
                                 } else {
-                                    final Thread thread = new Thread(runnable);
+                                    // Due to store could access network or storage,
+                                    // each action using their own thread to execute.
+                                    // But RxJava use single-thread to send every action
+                                    // See also:
+                                    // http://tomstechnicalblog.blogspot.tw/2015/11/rxjava-achieving-parallelization.html
+                                    RxStore.this.dispatch(new Runnable() {
+                                        @Override
+                                        public void run() {
+                                            final long startTime = type != null || traceId != 0 ? System.nanoTime() : 0;
+                                            final long parentTraceId = traceId != 0
+                                                    ? FluxTracer.setCurrentTraceId(traceId) : 0;
+                                            Object handleBegin = null;
+
+                                            if (type != null) {
+                                                metrics.onStage(IFluxMetrics.Stage.WAIT, RxStore.this, type,
+                                                        startTime - queuedTime, waitBegin);
+                                                handleBegin = metrics.onStageBegin(IFluxMetrics.Stage.HANDLE,
+                                                        RxStore.this, type);
+                                            }
 
-                                    thread.start();
+                                            // Coalesce the changes emitted in one action if it's on
+                                            RxStore.this.beginChanges();
+                                            try {
+                                                RxStore.this.onAction(inAction);
+                                            } catch (Exception exGeneral) {
+                                                RxStore.this.onError(exGeneral);
+                                            } finally {
+                                                if (type != null) {
+                                                    metrics.onStage(IFluxMetrics.Stage.HANDLE, RxStore.this, type,
+                                                            System.nanoTime() - startTime, handleBegin);
+                                                }
+                                                if (traceId != 0) {
+                                                    FluxTracer.trace("onAction", FluxMetrics.typeOf(inAction), startTime);
+                                                }
+                                                RxStore.this.endChanges();
+                                                if (traceId != 0) {
+                                                    FluxTracer.setCurrentTraceId(parentTraceId);
+                                                }
+                                                RxStore.release(inAction);
+                                            }
+                                        }
+                                    });
                                 }
                             }
                         },
@@ -162,8 +210,115 @@ public abstract class RxStore<TEntity> extends FluxStore<TEntity> implements IRx
                         });
     }
 
+    /**
+     * Handle the actions sent in a batch by {@link RxBus#postAll(List)} in one task.
+     *
+     * @param inActions The actions for this store in posted order.
+     * @since 2026/10/17
+     */
+    void dispatchActions(final List<IFluxAction> inActions) {
+        final IFluxMetrics metrics = FluxMetrics.get();
+        // The batch is reported by the type of first action
+        final Object type = metrics.isEnabled() && inActions.isEmpty() == false
+                ? FluxMetrics.typeOf(inActions.get(0)) : null;
+        final Object waitBegin = type != null ? metrics.onStageBegin(IFluxMetrics.Stage.WAIT, this, type) : null;
+        final long queuedTime = type != null ? System.nanoTime() : 0;
+        final long traceId = FluxTracer.get() != null && inActions.isEmpty() == false
+                ? FluxTracer.traceOf(inActions.get(0)) : 0;
+
+        this.dispatch(new Runnable() {
+            @Override
+            public void run() {
+                final long startTime = type != null || traceId != 0 ? System.nanoTime() : 0;
+                final long parentTraceId = traceId != 0 ? FluxTracer.setCurrentTraceId(traceId) : 0;
+                Object handleBegin = null;
+
+                if (type != null) {
+                    metrics.onStage(IFluxMetrics.Stage.WAIT, RxStore.this, type, startTime - queuedTime, waitBegin);
+                    handleBegin = metrics.onStageBegin(IFluxMetrics.Stage.HANDLE, RxStore.this, type);
+                }
+
+                RxStore.this.beginChanges();
+                try {
+                    RxStore.this.onActions(inActions);
+                } catch (Exception exGeneral) {
+                    RxStore.this.onError(exGeneral);
+                } finally {
+                    if (type != null) {
+                        metrics.onStage(IFluxMetrics.Stage.HANDLE, RxStore.this, type, System.nanoTime() - startTime,
+                                handleBegin);
+                    }
+                    if (traceId != 0) {
+                        FluxTracer.trace("onActions", FluxMetrics.typeOf(inActions.get(0)), startTime);
+                    }
+                    RxStore.this.endChanges();
+                    if (traceId != 0) {
+                        FluxTracer.setCurrentTraceId(parentTraceId);
+                    }
+                    for (int i = 0; i < inActions.size(); i++) {
+                        RxStore.release(inActions.get(i));
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Retain the action if it is recyclable.
+     *
+     * @param inAction The action object.
+     * @since 2026/10/17
+     */
+    private static void retain(final IFluxAction inAction) {
+        if (inAction instanceof IRecyclable) {
+            ((IRecyclable)inAction).retain();
+        }
+    }
+
+    /**
+     * Release the action if it is recyclable.
+     *
+     * @param inAction The action object.
+     * @since 2026/10/17
+     */
+    private static void release(final IFluxAction inAction) {
+        if (inAction instanceof IRecyclable) {
+            ((IRecyclable)inAction).release();
+        }
+    }
+
+    /**
+     * Run the task that handles actions in the thread decided by
+     * {@link RxStore#isSerialDispatch()} and {@link RxStore#getExecutor()}.
+     * The depth of the queue of store is reported to {@link IFluxMetrics} if it's enabled.
+     *
+     * @param inTask The task to run.
+     * @since 2026/10/17
+     */
+    private void dispatch(final Runnable inTask) {
+        final Executor executor = this.getExecutor();
+
+        if (this.isSerialDispatch()) {
+            final SerialExecutor mailbox = this.getMailbox(executor);
+            final IFluxMetrics metrics = FluxMetrics.get();
+
+            mailbox.execute(inTask);
+            if (metrics.isEnabled()) {
+                metrics.onQueueDepth(this, mailbox.getQueueSize());
+            }
+        } else if (executor != null) {
+            executor.execute(inTask);
+        } else {
+            final Thread thread = new Thread(inTask);
+
+            thread.start();
+        }
+    }
+
     /**
      * Get an instance of {@link Observable}.
+     * The events are emitted in the thread calls emitChange. A {@link RecyclableChangeEvent}
+     * is released after that, retain it before switching thread, like observeOn, and release it when done.
      *
      * @param inEventType The type of event want to receive.
      * @param <TEvent> The type of event.
@@ -185,6 +340,44 @@ public abstract class RxStore<TEntity> extends FluxStore<TEntity> implements IRx
         return null;
     }
 
+    /**
+     * Determine if the actions are handled one by one in the order they are sent.
+     * When it returns true, the actions are put in a queue of store and drained by
+     * the thread pool from {@link RxStore#getExecutor()}, or a shared thread pool if it is null.
+     * So {@link RxStore#onAction(IFluxAction)} is never called concurrently.
+     * The shared pool has a thread for each processor, return an {@link Executor} from
+     * {@link RxStore#getExecutor()} if the store blocks on network or storage.
+     *
+     * @return Handle actions serially or not.
+     * @since 2026/10/17
+     */
+    protected boolean isSerialDispatch() {
+        return false;
+    }
+
+    /**
+     * Get the queue that keeps the actions for this store.
+     *
+     * @param inExecutor The thread pool used to drain the queue, null to use the shared one.
+     * @return The instance of {@link SerialExecutor}.
+     * @since 2026/10/17
+     */
+    private SerialExecutor getMailbox(final Executor inExecutor) {
+        if (this.mMailbox == null) {
+            synchronized (this) {
+                if (this.mMailbox == null) {
+                    if (inExecutor != null) {
+                        this.mMailbox = new SerialExecutor(inExecutor);
+                    } else {
+                        this.mMailbox = new SerialExecutor();
+                    }
+                }
+            }
+        }
+
+        return this.mMailbox;
+    }
+
     /**
      * Called by ths dispatcher, it can help the dispatcher to filter action for specific store.
      * The class type of action has to implement  {@link IFluxAction}.
@@ -204,6 +397,24 @@ public abstract class RxStore<TEntity> extends FluxStore<TEntity> implements IRx
      */
     abstract protected <TAction extends IFluxAction> void onAction(TAction inAction);
 
+    /**
+     * Handle the actions sent together by {@link RxBus#postAll(List)}.
+     * Override it to update the data once and emit one change event for the whole batch.
+     * By default, each action is passed to {@link RxStore#onAction(IFluxAction)} in order.
+     *
+     * @param inActions The actions in posted order.
+     * @since 2026/10/17
+     */
+    protected void onActions(final List<IFluxAction> inActions) {
+        for (IFluxAction action : inActions) {
+            try {
+                this.onAction(action);
+            } catch (Exception exGeneral) {
+                this.onError(exGeneral);
+            }
+        }
+    }
+
     /**
      * Handle the error from the dispatcher.
      *
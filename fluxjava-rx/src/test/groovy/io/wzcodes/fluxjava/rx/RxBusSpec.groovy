@@ -15,13 +15,130 @@
  */
 package io.wzcodes.fluxjava.rx
 
+import io.wzcodes.fluxjava.FluxAction
+import io.wzcodes.fluxjava.FluxMetrics
+import io.wzcodes.fluxjava.IFluxAction
+import io.wzcodes.fluxjava.IFluxMetrics
+import io.wzcodes.fluxjava.MetricsRecorder
+import io.wzcodes.fluxjava.RecyclableAction
 import rx.Observable
 import rx.Subscription
 import rx.functions.Action1
+import rx.subscriptions.Subscriptions
 import spock.lang.Specification
 
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executor
+import java.util.concurrent.TimeUnit
+
 class RxBusSpec extends Specification {
 
+    private static class StubAction extends FluxAction<String, String> {
+        StubAction(String inType, String inData) {
+            super(inType, inData)
+        }
+    }
+
+    private static class StubOtherAction extends FluxAction<String, String> {
+        StubOtherAction(String inType, String inData) {
+            super(inType, inData)
+        }
+    }
+
+    private static class StubRecyclableAction extends RecyclableAction<String, String> {}
+
+    private static class StubRxStore extends RxStore<Object> {
+        private final List<Object> mActions = Collections.synchronizedList(new ArrayList<>())
+        private final List<List<Object>> mBatches = Collections.synchronizedList(new ArrayList<>())
+        private final Class<?> mActionType
+
+        StubRxStore(Class<?> inActionType) {
+            super(null)
+            this.mActionType = inActionType
+        }
+
+        @Override
+        protected Class<? extends IFluxAction> getActionType() {
+            return this.mActionType
+        }
+
+        @Override
+        protected Executor getExecutor() {
+            // Handle action in the thread of post
+            return { Runnable inRunnable -> inRunnable.run() } as Executor
+        }
+
+        @Override
+        protected <TAction extends IFluxAction> void onAction(TAction inAction) {
+            this.mActions.add(inAction)
+        }
+
+        @Override
+        protected void onActions(List<IFluxAction> inActions) {
+            this.mBatches.add(new ArrayList<>(inActions))
+            super.onActions(inActions)
+        }
+
+        @Override
+        protected void onError(Throwable inThrowable) {
+        }
+
+        @Override
+        Object getItem(int inIndex) {
+            return null
+        }
+
+        @Override
+        int findItem(Object inO) {
+            return 0
+        }
+
+        @Override
+        int getCount() {
+            return 0
+        }
+    }
+
+    private static class StubBlockingRxStore extends StubRxStore {
+        private final CountDownLatch mLatch
+        private final List<Object> mHandled = Collections.synchronizedList(new ArrayList<>())
+        private final List<Throwable> mErrors = Collections.synchronizedList(new ArrayList<>())
+
+        StubBlockingRxStore(CountDownLatch inLatch) {
+            super(StubRecyclableAction.class)
+            this.mLatch = inLatch
+        }
+
+        @Override
+        protected <TAction extends IFluxAction> void onAction(TAction inAction) {
+            // Hold the emitting thread, the actions from other threads are queued meanwhile
+            this.mLatch.await(10, TimeUnit.SECONDS)
+            this.mHandled.add(inAction)
+        }
+
+        @Override
+        protected void onError(Throwable inThrowable) {
+            this.mErrors.add(inThrowable)
+        }
+    }
+
+    private static class StubDispatch implements IRxDispatch {
+        @Override
+        List<Object> getKeys() {
+            return null
+        }
+
+        @Override
+        Subscription onDispatch(Object inKey, Observable<?> inObservable) {
+            return null
+        }
+
+        @Override
+        Subscription onDispatch(Observable<?> inObservable) {
+            return Subscriptions.empty()
+        }
+    }
+
     def mTarget = RxBus.getDefault()
 
     def "Test constructor"() {
@@ -155,6 +272,140 @@ class RxBusSpec extends Specification {
         expected.get(0) == expectedEvent
     }
 
+    def "Test routing mode"() {
+        given:
+        def target = new RxBus(true)
+        def store = new StubRxStore(StubAction.class)
+        def otherStore = new StubRxStore(StubOtherAction.class)
+        def actions = new ArrayList<>()
+        def events = new ArrayList<>()
+        def action = new StubAction("", null)
+        def otherAction = new StubOtherAction("", null)
+        def event = new Object()
+
+        target.register(store)
+        target.register(otherStore)
+        target.toObservable(FluxAction.class).subscribe({ actions.add(it) } as Action1)
+        target.toObservable(Object.class).subscribe({ events.add(it) } as Action1)
+
+        when:
+        target.post(action)
+        target.post(otherAction)
+        target.post(event)
+
+        then: "each store only gets the action it wants"
+        store.mActions == [action]
+        otherStore.mActions == [otherAction]
+
+        and: "subscriber of super type gets all sub types"
+        actions == [action, otherAction]
+        events == [action, otherAction, event]
+
+        and: "routes are resolved once for each class"
+        target.mRouteCache.size() == 3
+
+        when: "subscribe a new type after the classes are resolved"
+        def newActions = new ArrayList<>()
+
+        target.toObservable(IFluxAction.class).subscribe({ newActions.add(it) } as Action1)
+        target.post(action)
+
+        then: "the new route gets the event"
+        newActions == [action]
+        store.mActions == [action, action]
+
+        when: "unregister store"
+        target.unregister(store)
+        target.post(action)
+
+        then: "store won't get the event"
+        store.mActions == [action, action]
+        newActions == [action, action]
+    }
+
+    def "Test postAll"() {
+        given:
+        def target = new RxBus(routing)
+        def store = new StubRxStore(StubAction.class)
+        def events = new ArrayList<>()
+        def action = new StubAction("", null)
+        def otherAction = new StubOtherAction("", null)
+        def lastAction = new StubAction("", null)
+        def innerEvent = new Object()
+
+        target.register(store)
+        target.toObservable(Object.class).subscribe({
+            events.add(it)
+            if (it == action) {
+                // Post during the batch is emitted
+                target.post(innerEvent)
+            }
+        } as Action1)
+
+        when: "post a null list"
+        target.postAll(null)
+
+        then: "get an exception"
+        thrown(IllegalArgumentException)
+
+        when:
+        target.postAll([action, otherAction, lastAction])
+
+        then: "store gets its actions in one batch"
+        store.mBatches == [[action, lastAction]]
+        store.mActions == [action, lastAction]
+
+        and: "event posted in the meantime is emitted after the batch"
+        events == [action, otherAction, lastAction, innerEvent]
+
+        when: "post one by one"
+        target.post(action)
+
+        then: "store gets action without batch"
+        store.mBatches.size() == 1
+        store.mActions == [action, lastAction, action]
+
+        where:
+        routing << [false, true]
+    }
+
+    def "Test post with metrics"() {
+        given:
+        def recorder = new MetricsRecorder()
+        def target = new RxBus(routing)
+        def store = new StubRxStore(StubAction.class)
+        def action = new StubAction("Todo", null)
+        def innerAction = new StubAction("User", null)
+
+        FluxMetrics.set(recorder)
+        target.register(store)
+        target.toObservable(StubAction.class).subscribe({ StubAction event ->
+            if (event == action) {
+                // Queued until the action is emitted
+                target.post(innerAction)
+            }
+        } as Action1)
+
+        when:
+        target.post(action)
+
+        then: "the time of delivery and handling is recorded by action type"
+        recorder.getHistogram(IFluxMetrics.Stage.DELIVER, "Todo").count == 1
+        recorder.getHistogram(IFluxMetrics.Stage.DELIVER, "User").count == 1
+        recorder.getHistogram(IFluxMetrics.Stage.WAIT, "Todo").count == 1
+        recorder.getHistogram(IFluxMetrics.Stage.HANDLE, "User").count == 1
+
+        and: "the action posted in the meantime is in queue"
+        recorder.getMaxQueueDepth(target) == 1
+        recorder.getQueueDepth(target) == 0
+
+        cleanup:
+        FluxMetrics.set(null)
+
+        where:
+        routing << [false, true]
+    }
+
     def "Test addSubscription"() {
         given:
         def keys = new ArrayList<>()
@@ -195,6 +446,92 @@ class RxBusSpec extends Specification {
         1 * oldSubscription.unsubscribe()
     }
 
+    def "Test subscriptions from multiple threads"() {
+        given:
+        def target = new RxBus()
+        def threadCount = 8
+        def operationCount = 20000
+        def errors = Collections.synchronizedList(new ArrayList<>())
+        def startLatch = new CountDownLatch(1)
+        def doneLatch = new CountDownLatch(threadCount)
+        long startTime
+        long elapsedTime
+
+        for (int i = 0; i < threadCount; i++) {
+            final int index = i
+
+            new Thread({
+                try {
+                    final StubDispatch store = new StubDispatch()
+
+                    startLatch.await()
+                    for (int j = 0; j < operationCount; j++) {
+                        final Integer key = index * 64 + (j % 64)
+
+                        target.addSubscription(key, Subscriptions.empty())
+                        target.register(store)
+                        target.removeSubscription(key)
+                        target.unregister(store)
+                    }
+                } catch (Throwable exGeneral) {
+                    errors.add(exGeneral)
+                } finally {
+                    doneLatch.countDown()
+                }
+            }).start()
+        }
+
+        when: "add and remove subscriptions from all threads at the same time"
+        startTime = System.nanoTime()
+        startLatch.countDown()
+        doneLatch.await(60, TimeUnit.SECONDS)
+        elapsedTime = System.nanoTime() - startTime
+        println String.format("RxBus subscriptions: %,d ops/sec with %d threads",
+                (long)(threadCount * operationCount * 4 * 1000000000d / elapsedTime), threadCount)
+
+        then: "nothing is lost or left"
+        doneLatch.count == 0
+        errors.isEmpty()
+        target.mSubscriptionManager.isEmpty()
+    }
+
+    def "Test post recyclable actions from multiple threads"() {
+        given:
+        def target = new RxBus()
+        def threadCount = 4
+        def actionCount = 200
+        // The thread is emitting waits for the others
+        def sentLatch = new CountDownLatch(threadCount - 1)
+        def store = new StubBlockingRxStore(sentLatch)
+        def actions = Collections.synchronizedList(new ArrayList<>())
+
+        target.register(store)
+
+        when: "senders release the actions right after post, while another thread is emitting"
+        def threads = (0..<threadCount).collect { index ->
+            new Thread({
+                try {
+                    for (int i = 0; i < actionCount; i++) {
+                        final StubRecyclableAction action = new StubRecyclableAction()
+
+                        actions.add(action)
+                        target.post(action)
+                        action.release()
+                    }
+                } finally {
+                    sentLatch.countDown()
+                }
+            })
+        }
+        threads*.start()
+        threads*.join(30000)
+
+        then: "the queued actions are held until the store handled them"
+        store.mErrors.isEmpty()
+        store.mHandled.size() == threadCount * actionCount
+        actions.every { action -> action.referenceCount == 0 }
+    }
+
     def "Test removeSubscription"() {
         given:
         this.mTarget.removeSubscription(null)
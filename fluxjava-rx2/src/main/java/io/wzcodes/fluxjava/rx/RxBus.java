@@ -2,30 +2,42 @@ package io.wzcodes.fluxjava.rx;
 
 
 import com.jakewharton.rxrelay2.PublishRelay;
-import com.jakewharton.rxrelay2.Relay;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import io.reactivex.BackpressureStrategy;
 import io.reactivex.Flowable;
 import io.reactivex.Observable;
 import io.reactivex.disposables.Disposable;
-import io.wzcodes.fluxjava.IFluxBus;
+import io.wzcodes.fluxjava.FluxMetrics;
+import io.wzcodes.fluxjava.FluxTracer;
+import io.wzcodes.fluxjava.IFluxBatchBus;
+import io.wzcodes.fluxjava.IFluxMetrics;
 
 /**
- * Use RxJava to implement {@link IFluxBus}.
+ * Use RxJava to implement {@link IFluxBatchBus}.
+ * The time of delivery and the depth of queue are reported to {@link IFluxMetrics} if it's enabled,
+ * and the delivery is recorded by {@link FluxTracer} if it's on.
  *
  * @author WZ
- * @version 20171111
+ * @version 20261017
  */
-public class RxBus implements IFluxBus {
+public class RxBus implements IFluxBatchBus {
 
     private static volatile RxBus sInstance;
-    private final Relay<Object> mBus;
-    private final Map<Object, Disposable> mSubscriptionManager = new HashMap<>();
+    private final BatchRelay<Object> mBus;
+    // Registered and unregistered from different threads
+    private final ConcurrentMap<Object, Disposable> mSubscriptionManager = new ConcurrentHashMap<>();
+    private final boolean mRouting;
+    // The relay for each type of event that is subscribed in routing mode
+    private final ConcurrentMap<Class<?>, BatchRelay<Object>> mRoutes;
+    // The relays that accept each class of event been posted in routing mode
+    private final ConcurrentMap<Class<?>, BatchRelay<Object>[]> mRouteCache;
 
     /**
      * Constructor.
@@ -33,11 +45,34 @@ public class RxBus implements IFluxBus {
      * @since 2017/11/11
      */
     public RxBus() {
+        this(false);
+    }
+
+    /**
+     * Constructor.
+     * In routing mode, there is a relay for each type of event that is subscribed.
+     * When an event is posted, only the relays of its class and super types get the event.
+     * So the cost of post does not grow with the number of stores that don't want the event.
+     *
+     * @param inRouting Enable routing mode or not.
+     * @since 2026/10/17
+     */
+    public RxBus(final boolean inRouting) {
         // Subject that, once an Observer has subscribed,
         // emits all subsequently observed items to the subscriber.
         // PublishRelay is not thread-safe,
-        // PublishRelay need to be converted into SerializedSubject
-        this.mBus = PublishRelay.create().toSerialized();
+        // PublishRelay need to be serialized, BatchRelay also accepts a batch at once
+        this.mBus = new BatchRelay<>(PublishRelay.create());
+        this.mRouting = inRouting;
+        if (inRouting) {
+            this.mRoutes = new ConcurrentHashMap<>();
+            this.mRouteCache = new ConcurrentHashMap<>();
+            // Who wants every event gets the main relay
+            this.mRoutes.put(Object.class, this.mBus);
+        } else {
+            this.mRoutes = null;
+            this.mRouteCache = null;
+        }
     }
 
     /**
@@ -65,8 +100,18 @@ public class RxBus implements IFluxBus {
      * @return The instance of {@link Observable}.
      * @since 2017/11/11
      */
+    @SuppressWarnings("unchecked")
     public <TEvent> Observable<TEvent> toObservable(final Class<TEvent> inEventType) {
-        return this.mBus.ofType(inEventType);
+        final Observable<TEvent> result;
+
+        if (this.mRouting) {
+            // Only the events of specific type are sent to the route, no need to filter again
+            result = (Observable<TEvent>)(Observable<?>)this.getRoute(inEventType);
+        } else {
+            result = this.mBus.ofType(inEventType);
+        }
+
+        return result;
     }
 
     /**
@@ -79,7 +124,7 @@ public class RxBus implements IFluxBus {
      * @since 2017/11/11
      */
     public <TEvent> Flowable<TEvent> toFlowable(final Class<TEvent> inEventType, final BackpressureStrategy inStrategy) {
-        return this.mBus.toFlowable(inStrategy).ofType(inEventType);
+        return this.toObservable(inEventType).toFlowable(inStrategy);
     }
 
     /**
@@ -100,12 +145,12 @@ public class RxBus implements IFluxBus {
                 final Disposable subscription;
 
                 if (key == inSubscriber) {
-                    subscription = subscriber.onDispatch(this.mBus);
+                    subscription = subscriber.onDispatch(this.getDispatchSource(inSubscriber));
                 } else {
                     subscription = subscriber.onDispatch(key, this.mBus);
                 }
 
-                if (subscription != null) {
+                if (key != null && subscription != null) {
                     this.mSubscriptionManager.put(key, subscription);
                 }
             }
@@ -140,8 +185,105 @@ public class RxBus implements IFluxBus {
      */
     @Override
     public void post(final Object inEvent) {
-        if (this.mBus.hasObservers()) {
+        final IFluxMetrics metrics = FluxMetrics.get();
+        final boolean isTraced = FluxTracer.get() != null;
+        final Object type = metrics.isEnabled() || isTraced ? FluxMetrics.typeOf(inEvent) : null;
+        final Object begin = type != null && metrics.isEnabled()
+                ? metrics.onStageBegin(IFluxMetrics.Stage.DELIVER, this, type) : null;
+        final long startTime = type != null ? System.nanoTime() : 0;
+
+        if (this.mRouting) {
+            for (BatchRelay<Object> route : this.getRoutes(inEvent.getClass())) {
+                if (route.hasObservers()) {
+                    route.accept(inEvent);
+                    if (metrics.isEnabled()) {
+                        metrics.onQueueDepth(this, route.getQueueSize());
+                    }
+                }
+            }
+        } else if (this.mBus.hasObservers()) {
             this.mBus.accept(inEvent);
+            if (metrics.isEnabled()) {
+                metrics.onQueueDepth(this, this.mBus.getQueueSize());
+            }
+        }
+        if (type != null) {
+            this.report(metrics, isTraced, type, startTime, begin);
+        }
+    }
+
+    /**
+     * The events are emitted after taking the lock once, and the events sent by other threads
+     * wait until the whole batch is emitted. {@link RxStore} gets the actions of a batch
+     * in {@link RxStore#onActions(List)}.
+     *
+     * @since 2026/10/17
+     */
+    @Override
+    public void postAll(final List<?> inEvents) {
+        if (inEvents == null) {
+            throw new IllegalArgumentException("Events are missing.");
+        }
+
+        final IFluxMetrics metrics = FluxMetrics.get();
+        final boolean isTraced = FluxTracer.get() != null;
+        final Object type = (metrics.isEnabled() || isTraced) && inEvents.isEmpty() == false
+                ? FluxMetrics.typeOf(inEvents.get(0)) : null;
+        final Object begin = type != null && metrics.isEnabled()
+                ? metrics.onStageBegin(IFluxMetrics.Stage.DELIVER, this, type) : null;
+        final long startTime = type != null ? System.nanoTime() : 0;
+
+        if (this.mRouting) {
+            // Split the batch by routes, each route emits its part at once
+            final Map<BatchRelay<Object>, List<Object>> batches = new LinkedHashMap<>();
+
+            for (Object event : inEvents) {
+                for (BatchRelay<Object> route : this.getRoutes(event.getClass())) {
+                    if (route.hasObservers()) {
+                        List<Object> batch = batches.get(route);
+
+                        if (batch == null) {
+                            batch = new ArrayList<>();
+                            batches.put(route, batch);
+                        }
+                        batch.add(event);
+                    }
+                }
+            }
+            for (Map.Entry<BatchRelay<Object>, List<Object>> entry : batches.entrySet()) {
+                entry.getKey().acceptAll(entry.getValue());
+                if (metrics.isEnabled()) {
+                    metrics.onQueueDepth(this, entry.getKey().getQueueSize());
+                }
+            }
+        } else if (this.mBus.hasObservers()) {
+            this.mBus.acceptAll(inEvents);
+            if (metrics.isEnabled()) {
+                metrics.onQueueDepth(this, this.mBus.getQueueSize());
+            }
+        }
+        if (type != null) {
+            this.report(metrics, isTraced, type, startTime, begin);
+        }
+    }
+
+    /**
+     * Report the time of delivery to {@link IFluxMetrics} and {@link FluxTracer}.
+     *
+     * @param inMetrics The instance of {@link IFluxMetrics}.
+     * @param inTraced Record a span or not.
+     * @param inType The type of event.
+     * @param inStartTime The time starts to deliver.
+     * @param inBegin The object returned by {@link IFluxMetrics#onStageBegin(IFluxMetrics.Stage, Object, Object)}.
+     * @since 2026/10/17
+     */
+    private void report(final IFluxMetrics inMetrics, final boolean inTraced, final Object inType,
+                        final long inStartTime, final Object inBegin) {
+        if (inMetrics.isEnabled()) {
+            inMetrics.onStage(IFluxMetrics.Stage.DELIVER, this, inType, System.nanoTime() - inStartTime, inBegin);
+        }
+        if (inTraced) {
+            FluxTracer.trace("deliver", inType, inStartTime);
         }
     }
 
@@ -171,11 +313,89 @@ public class RxBus implements IFluxBus {
      * @since 2017/11/11
      */
     public void removeSubscription(final Object inKey) {
-        final Disposable subscription = this.mSubscriptionManager.remove(inKey);
+        if (inKey != null) {
+            final Disposable subscription = this.mSubscriptionManager.remove(inKey);
 
-        if (subscription != null && subscription.isDisposed() == false) {
-            subscription.dispose();
+            if (subscription != null && subscription.isDisposed() == false) {
+                subscription.dispose();
+            }
         }
     }
 
+    /**
+     * Get the {@link Observable} passed to subscriber when it is registered.
+     * In routing mode, {@link RxStore} gets the route of its action type.
+     *
+     * @param inSubscriber The subscriber to add into bus.
+     * @return The instance of {@link Observable}.
+     * @since 2026/10/17
+     */
+    private Observable<?> getDispatchSource(final Object inSubscriber) {
+        Observable<?> result = this.mBus;
+
+        if (this.mRouting && inSubscriber instanceof RxStore) {
+            final Class<?> actionType = ((RxStore<?>)inSubscriber).getActionType();
+
+            if (actionType != null) {
+                result = this.getRoute(actionType);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Get the relay that receives the events of specific type in routing mode.
+     *
+     * @param inEventType The type of event.
+     * @return The instance of {@link BatchRelay}.
+     * @since 2026/10/17
+     */
+    private BatchRelay<Object> getRoute(final Class<?> inEventType) {
+        BatchRelay<Object> result = this.mRoutes.get(inEventType);
+
+        if (result == null) {
+            synchronized (this.mRoutes) {
+                result = this.mRoutes.get(inEventType);
+                if (result == null) {
+                    result = new BatchRelay<>(PublishRelay.<Object>create());
+                    this.mRoutes.put(inEventType, result);
+                    // The new route may accept the classes been resolved
+                    this.mRouteCache.clear();
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Get all relays that accept the class of event in routing mode.
+     * The relays are resolved once for each class of event.
+     *
+     * @param inEventClass The class of event.
+     * @return The relays.
+     * @since 2026/10/17
+     */
+    @SuppressWarnings("unchecked")
+    private BatchRelay<Object>[] getRoutes(final Class<?> inEventClass) {
+        BatchRelay<Object>[] result = this.mRouteCache.get(inEventClass);
+
+        if (result == null) {
+            synchronized (this.mRoutes) {
+                final List<BatchRelay<Object>> routes = new ArrayList<>();
+
+                for (Map.Entry<Class<?>, BatchRelay<Object>> entry : this.mRoutes.entrySet()) {
+                    if (entry.getKey().isAssignableFrom(inEventClass)) {
+                        routes.add(entry.getValue());
+                    }
+                }
+                result = routes.toArray(new BatchRelay[routes.size()]);
+                this.mRouteCache.put(inEventClass, result);
+            }
+        }
+
+        return result;
+    }
+
 }
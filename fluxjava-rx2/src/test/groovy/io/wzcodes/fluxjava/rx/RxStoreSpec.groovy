@@ -18,13 +18,26 @@ package io.wzcodes.fluxjava.rx
 import com.jakewharton.rxrelay2.PublishRelay
 import io.reactivex.BackpressureStrategy
 import io.reactivex.functions.Consumer
+import io.wzcodes.fluxjava.ChangeEventPool
 import io.wzcodes.fluxjava.FluxAction
 import io.wzcodes.fluxjava.FluxContext
+import io.wzcodes.fluxjava.FluxMetrics
+import io.wzcodes.fluxjava.FluxTracer
 import io.wzcodes.fluxjava.IFluxAction
+import io.wzcodes.fluxjava.IFluxMetrics
+import io.wzcodes.fluxjava.IItemChangeEvent
+import io.wzcodes.fluxjava.IntAction
+import io.wzcodes.fluxjava.ItemRangeChangeEvent
+import io.wzcodes.fluxjava.MetricsRecorder
+import io.wzcodes.fluxjava.RecyclableAction
+import io.wzcodes.fluxjava.RecyclableChangeEvent
 import spock.lang.Specification
 
+import java.util.concurrent.CountDownLatch
 import java.util.concurrent.Executor
 import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
 
 class RxStoreSpec extends Specification {
 
@@ -38,6 +51,23 @@ class RxStoreSpec extends Specification {
         }
     }
 
+    private static class StubIntAction extends IntAction {
+        StubIntAction(int inType, int inData) {
+            super(inType, inData)
+        }
+    }
+
+    private static class StubRecyclableAction extends RecyclableAction<String, String> {}
+
+    private static class StubRecyclableEvent extends RecyclableChangeEvent {
+        private volatile int mValue
+
+        @Override
+        protected void reset() {
+            this.mValue = 0
+        }
+    }
+
     private static class StubRxStore extends RxStore<Object> {
         private Map<Long, ?> mActionMap
         private List<?>  mErrorList
@@ -125,6 +155,93 @@ class RxStoreSpec extends Specification {
         }
     }
 
+    private static class StubSerialRxStore extends StubRxStore {
+        private final List<Object> mHandled = Collections.synchronizedList(new ArrayList<>())
+        private final AtomicInteger mRunning = new AtomicInteger(0)
+        private volatile boolean mOverlapped = false
+
+        StubSerialRxStore() {
+            super(StubAction.class, new HashMap<Long, ?>(), new ArrayList<>())
+        }
+
+        @Override
+        protected boolean isSerialDispatch() {
+            return true
+        }
+
+        @Override
+        protected <TAction extends IFluxAction> void onAction(TAction inAction) {
+            if (this.mRunning.incrementAndGet() > 1) {
+                this.mOverlapped = true
+            }
+            Thread.sleep(1)
+            this.mHandled.add(inAction)
+            this.mRunning.decrementAndGet()
+        }
+    }
+
+    private static class StubItemEvent implements IItemChangeEvent {
+        protected int mPosition
+
+        StubItemEvent(int inPosition) {
+            this.mPosition = inPosition
+        }
+
+        @Override
+        int getPosition() {
+            return this.mPosition
+        }
+    }
+
+    private static class StubCoalesceRxStore extends RxStore<Object> {
+
+        StubCoalesceRxStore() {
+            super(null)
+        }
+
+        @Override
+        protected boolean isCoalesceChanges() {
+            return true
+        }
+
+        @Override
+        protected Class<? extends IFluxAction> getActionType() {
+            return StubAction.class
+        }
+
+        @Override
+        protected Executor getExecutor() {
+            // Run the action in the sending thread
+            return { it.run() } as Executor
+        }
+
+        @Override
+        protected <TAction extends IFluxAction> void onAction(TAction inAction) {
+            for (String position : ((StubAction)inAction).data.split(",")) {
+                this.emitChange(new StubItemEvent(Integer.parseInt(position)))
+            }
+        }
+
+        @Override
+        protected void onError(Throwable inThrowable) {
+        }
+
+        @Override
+        Object getItem(int inIndex) {
+            return null
+        }
+
+        @Override
+        int findItem(Object inO) {
+            return 0
+        }
+
+        @Override
+        int getCount() {
+            return 0
+        }
+    }
+
     def "Test register with IRxDispatch"() {
         given:
         def view = Mock(IRxDispatch)
@@ -378,6 +495,240 @@ class RxStoreSpec extends Specification {
         expectedErrors.get(0).message == "onActionError"
     }
 
+    def "Test onDispatch with primitive action"() {
+        given:
+        def expectedActions = new HashMap<Long, ?>()
+        def expectedErrors = new ArrayList<>()
+        def bus = PublishRelay.create().toSerialized()
+        def target = new StubRxStore(StubIntAction.class, expectedActions, expectedErrors)
+
+        when:
+        target.onDispatch(bus)
+        bus.accept(new StubAction("", null))
+        bus.accept(new StubIntAction(1, 2))
+        try {
+            // wait for onDispatch complete
+            Thread.sleep(100);
+        } catch (InterruptedException exInterrupted) {
+            fail("Test was interrupted for " + exInterrupted.toString());
+        }
+
+        then: "RxStore gets the primitive action as other actions"
+        expectedActions.size() == 1
+        expectedActions.values()[0].type == 1
+        expectedActions.values()[0].data == 2
+        expectedErrors.size() == 0
+    }
+
+    def "Test onDispatch with recyclable action"() {
+        given:
+        def tasks = []
+        def expectedActions = new HashMap<Long, ?>()
+        def expectedErrors = new ArrayList<>()
+        def bus = PublishRelay.create().toSerialized()
+        def target = new StubRxStore(StubRecyclableAction.class, expectedActions, expectedErrors)
+        def action = new StubRecyclableAction()
+
+        target.mockExecutor({ tasks.add(it) } as Executor)
+
+        when: "the sender releases the action after sent"
+        target.onDispatch(bus)
+        bus.accept(action)
+        action.release()
+
+        then: "action is held until handled"
+        tasks.size() == 1
+        action.referenceCount == 1
+
+        when:
+        ((Runnable)tasks[0]).run()
+
+        then: "action is released after handled"
+        expectedActions.values()[0].is(action)
+        action.referenceCount == 0
+        expectedErrors.size() == 0
+    }
+
+    def "Test emitChange recyclable events from multiple threads"() {
+        given:
+        def threadCount = 4
+        def eventCount = 200
+        // The thread is emitting waits for the others
+        def sentLatch = new CountDownLatch(threadCount - 1)
+        def target = new StubRxStore()
+        def pool = new ChangeEventPool<StubRecyclableEvent>(new ChangeEventPool.Factory<StubRecyclableEvent>() {
+            @Override
+            StubRecyclableEvent create() {
+                return new StubRecyclableEvent()
+            }
+        }, 8)
+        def values = Collections.synchronizedList(new ArrayList<>())
+
+        target.toObservable(StubRecyclableEvent.class).subscribe(new Consumer<StubRecyclableEvent>() {
+            @Override
+            void accept(StubRecyclableEvent inEvent) throws Exception {
+                // Hold the emitting thread, the events from other threads are queued meanwhile
+                sentLatch.await(10, TimeUnit.SECONDS)
+                values.add(inEvent.mValue)
+            }
+        })
+
+        when: "stores emit pooled events from several threads at the same time"
+        def threads = (0..<threadCount).collect { index ->
+            new Thread({
+                try {
+                    for (int i = 0; i < eventCount; i++) {
+                        final StubRecyclableEvent event = pool.obtain()
+
+                        event.mValue = index * eventCount + i + 1
+                        target.emitChange(event)
+                    }
+                } finally {
+                    sentLatch.countDown()
+                }
+            })
+        }
+        threads*.start()
+        threads*.join(30000)
+
+        then: "each view gets every event before it goes back to pool"
+        values.sort() == (1..threadCount * eventCount).toList()
+    }
+
+    def "Test onDispatch with serial dispatch"() {
+        given:
+        def expected = new ArrayList<>()
+        def bus = PublishRelay.create().toSerialized()
+        def target = new StubSerialRxStore()
+
+        when: "send actions continuously"
+        target.onDispatch(bus)
+        for (int i = 0; i < 20; i++) {
+            def action = new StubAction(String.valueOf(i), null)
+
+            expected.add(action)
+            bus.accept(action)
+        }
+        this.waitForHandled(target, expected.size())
+
+        then: "actions are handled one by one in order"
+        target.mHandled == expected
+        !target.mOverlapped
+
+        when: "send actions continuously with thread pool"
+        expected.clear()
+        target.mHandled.clear()
+        target.setThreadPool(3)
+        for (int i = 0; i < 20; i++) {
+            def action = new StubAction(String.valueOf(i), null)
+
+            expected.add(action)
+            bus.accept(action)
+        }
+        this.waitForHandled(target, expected.size())
+
+        then: "actions are still handled one by one in order"
+        target.mHandled == expected
+        !target.mOverlapped
+    }
+
+    def "Test onDispatch with metrics"() {
+        given:
+        def recorder = new MetricsRecorder()
+        def tasks = new ArrayList<Runnable>()
+        def bus = PublishRelay.create().toSerialized()
+        def target = new StubSerialRxStore()
+
+        FluxMetrics.set(recorder)
+        target.mockExecutor({ Runnable task -> tasks.add(task) } as Executor)
+        target.onDispatch(bus)
+
+        when: "actions wait in the queue of store"
+        for (int i = 0; i < 3; i++) {
+            bus.accept(new StubAction("Todo", null))
+        }
+
+        then:
+        recorder.getMaxQueueDepth(target) == 3
+        recorder.getHistogram(IFluxMetrics.Stage.HANDLE, "Todo") == null
+
+        when: "drain the queue"
+        tasks.remove(0).run()
+
+        then: "the time of waiting and handling is recorded by action type"
+        target.mHandled.size() == 3
+        recorder.getHistogram(IFluxMetrics.Stage.WAIT, "Todo").count == 3
+        recorder.getHistogram(IFluxMetrics.Stage.HANDLE, "Todo").count == 3
+        recorder.getHistogram(IFluxMetrics.Stage.HANDLE, "Todo").maxNanos >= 1000000
+
+        cleanup:
+        FluxMetrics.set(null)
+    }
+
+    def "Test onDispatch with tracer"() {
+        given:
+        def tracer = new FluxTracer(16)
+        def tasks = new ArrayList<Runnable>()
+        def bus = PublishRelay.create().toSerialized()
+        def target = new StubRxStore(StubAction.class, new HashMap<Long, ?>(), new ArrayList<>())
+        def action = new StubAction("Todo", null)
+
+        FluxTracer.set(tracer)
+        target.mockExecutor({ Runnable task -> tasks.add(task) } as Executor)
+        target.onDispatch(bus)
+        action.traceId = 7
+
+        when: "the action is handled in another place"
+        bus.accept(action)
+        tasks.remove(0).run()
+
+        then: "the handling goes on with the trace of action"
+        tracer.spans*.name == ["onAction"]
+        tracer.spans[0].traceId == 7
+        tracer.spans[0].type == "Todo"
+        FluxTracer.getCurrentTraceId() == 0
+
+        cleanup:
+        FluxTracer.set(null)
+    }
+
+    private void waitForHandled(final StubSerialRxStore inStore, final int inCount) {
+        final long deadline = System.currentTimeMillis() + 5000
+
+        while (inStore.mHandled.size() < inCount && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10)
+        }
+    }
+
+    def "Test onDispatch with coalesce changes"() {
+        given:
+        def events = []
+        def bus = PublishRelay.create().toSerialized()
+        def target = new StubCoalesceRxStore()
+
+        target.toObservable(FluxContext.StoreChangeEvent.class).subscribe(
+                new Consumer<FluxContext.StoreChangeEvent>() {
+                    @Override
+                    void accept(FluxContext.StoreChangeEvent inEvent) throws Exception {
+                        events.add(inEvent)
+                    }
+                })
+        target.onDispatch(bus)
+
+        when: "an action changes adjacent items"
+        bus.accept(new StubAction("", "2,0,1"))
+
+        then: "view gets one range"
+        events == [new ItemRangeChangeEvent(target, 0, 3)]
+
+        when: "an action changes separate items"
+        events.clear()
+        bus.accept(new StubAction("", "5,3"))
+
+        then: "view gets the original events"
+        events*.position == [3, 5]
+    }
+
     def "Test onDispatch with keys"() {
         given:
         def target = new StubRxStore();
@@ -15,20 +15,25 @@
  */
 package io.wzcodes.fluxjava;
 
-import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 
 /**
  * The ActionCreator in framework. It helps to create action when user input.
  *
  * @author WZ
- * @version 20160705
+ * @version 20261017
  */
 public class ActionCreator {
 
     private final IFluxBus mDispatcher;
+    private final ConcurrentMap<Class<?>, ActionDescriptor> mDescriptors = new ConcurrentHashMap<>();
 
     /**
      * Constructor.
@@ -65,6 +70,34 @@ public class ActionCreator {
         return thread;
     }
 
+    /**
+     * Send request to store async by using the {@link Executor} set in {@link FluxContext}.
+     * If there is no {@link Executor}, a new thread is created for the request.
+     *
+     * @param inTypeId The identity of action type.
+     * @param inData The data of action.
+     * @return The {@link Future} that is done after the action is sent.
+     *         The error thrown by sendRequest can be got from {@link Future#get()}.
+     * @since 2026/10/17
+     */
+    public <TTypeId, TData> Future<?> submitRequest(final TTypeId inTypeId, final TData inData) {
+        final FutureTask<Void> task = new FutureTask<>(new Runnable() {
+            @Override
+            public void run() {
+                ActionCreator.this.sendRequest(inTypeId, inData);
+            }
+        }, null);
+        final Executor executor = FluxContext.getInstance().getExecutor();
+
+        if (executor != null) {
+            executor.execute(task);
+        } else {
+            new Thread(task).start();
+        }
+
+        return task;
+    }
+
     /**
      * Send request to store.
      *
@@ -73,57 +106,455 @@ public class ActionCreator {
      * @since 2016/7/5
      */
     public <TTypeId, TData> void sendRequest(final TTypeId inTypeId, final TData inData) {
-        IActionHelper actionHelper = FluxContext.getInstance().getActionHelper();
-        Object action = null;
+        final long parentTraceId = FluxTracer.beginTrace();
 
-        if (actionHelper ==  null) {
-            throw new IllegalArgumentException("ActionBuilder is missing.");
-        } else {
-            Class<?> typeClass = inTypeId.getClass();
-            Class<?> actionClass = actionHelper.getActionClass(inTypeId);
+        try {
+            IActionHelper actionHelper = FluxContext.getInstance().getActionHelper();
 
-            if (actionClass == null) {
-                throw new IllegalStateException("Action class is missing.");
+            if (actionHelper ==  null) {
+                throw new IllegalArgumentException("ActionBuilder is missing.");
+            } else {
+                final ActionDescriptor descriptor = this.getDescriptor(actionHelper, inTypeId);
+
+                this.post(this.createAction(descriptor, inTypeId, this.wrapData(actionHelper, inData)));
+            } // actionBuilder ==  null
+        } finally {
+            FluxTracer.endTrace(parentTraceId);
+        }
+    }
+
+    /**
+     * Send request to store by int type identity.
+     * If the id is registered in {@link ActionRegistry}, the Action is created without boxing the id
+     * or asking {@link IActionHelper} for the Action class, otherwise it's the same as the generic one.
+     *
+     * @param inTypeId The identity of action type.
+     * @param inData The data of action.
+     * @since 2026/10/17
+     */
+    public <TData> void sendRequest(final int inTypeId, final TData inData) {
+        final long parentTraceId = FluxTracer.beginTrace();
+
+        try {
+            final ActionRegistry.Entry entry = this.getEntry(inTypeId);
+
+            if (entry == null) {
+                this.sendRequest(Integer.valueOf(inTypeId), inData);
             } else {
-                Class<?> dataClass;
-                Object actionData = actionHelper.wrapData(inData);
+                final IActionHelper actionHelper = FluxContext.getInstance().getActionHelper();
+
+                this.post(this.createAction(this.getDescriptor(entry), entry.getTypeId(),
+                        this.wrapData(actionHelper, inData)));
+            }
+        } finally {
+            FluxTracer.endTrace(parentTraceId);
+        }
+    }
+
+    /**
+     * Send several requests of the same action type to store.
+     * The actions are sent by {@link IFluxBatchBus#postAll(List)} if the bus supports it,
+     * or posted one by one otherwise.
+     *
+     * @param inTypeId The identity of action type.
+     * @param inDataList The data of each action.
+     * @since 2026/10/17
+     */
+    public <TTypeId, TData> void sendRequests(final TTypeId inTypeId, final List<TData> inDataList) {
+        final long parentTraceId = FluxTracer.beginTrace();
+
+        try {
+            IActionHelper actionHelper = FluxContext.getInstance().getActionHelper();
+
+            if (actionHelper ==  null) {
+                throw new IllegalArgumentException("ActionBuilder is missing.");
+            } else if (inDataList == null) {
+                throw new IllegalArgumentException("Data list is missing.");
+            } else {
+                final ActionDescriptor descriptor = this.getDescriptor(actionHelper, inTypeId);
+                final List<Object> actions = new ArrayList<>(inDataList.size());
+
+                for (TData data : inDataList) {
+                    actions.add(this.createAction(descriptor, inTypeId, this.wrapData(actionHelper, data)));
+                }
+
+                this.postAll(actions);
+            }
+        } finally {
+            FluxTracer.endTrace(parentTraceId);
+        }
+    }
+
+    /**
+     * Send request with int data to store.
+     * If the id is registered with a factory of {@link IntAction}, the Action is created by it
+     * without boxing, and the data is not passed to {@link IActionHelper#wrapData(Object)}.
+     * Otherwise the data is boxed and sent as an object.
+     *
+     * @param inTypeId The identity of action type.
+     * @param inData The data of action.
+     * @since 2026/10/17
+     */
+    public void sendRequest(final int inTypeId, final int inData) {
+        final long parentTraceId = FluxTracer.beginTrace();
+
+        try {
+            final ActionRegistry.Entry entry = this.getEntry(inTypeId);
+
+            if (entry != null && entry.getFactory() instanceof IntAction.Factory) {
+                this.post(((IntAction.Factory)entry.getFactory()).create(inTypeId, inData));
+            } else {
+                this.sendRequest(inTypeId, Integer.valueOf(inData));
+            }
+        } finally {
+            FluxTracer.endTrace(parentTraceId);
+        }
+    }
+
+    /**
+     * Send request with long data to store.
+     * If the id is registered with a factory of {@link LongAction}, the Action is created by it
+     * without boxing, and the data is not passed to {@link IActionHelper#wrapData(Object)}.
+     * Otherwise the data is boxed and sent as an object.
+     *
+     * @param inTypeId The identity of action type.
+     * @param inData The data of action.
+     * @since 2026/10/17
+     */
+    public void sendRequest(final int inTypeId, final long inData) {
+        final long parentTraceId = FluxTracer.beginTrace();
+
+        try {
+            final ActionRegistry.Entry entry = this.getEntry(inTypeId);
+
+            if (entry != null && entry.getFactory() instanceof LongAction.Factory) {
+                this.post(((LongAction.Factory)entry.getFactory()).create(inTypeId, inData));
+            } else {
+                this.sendRequest(inTypeId, Long.valueOf(inData));
+            }
+        } finally {
+            FluxTracer.endTrace(parentTraceId);
+        }
+    }
+
+    /**
+     * Send request with double data to store.
+     * If the id is registered with a factory of {@link DoubleAction}, the Action is created by it
+     * without boxing, and the data is not passed to {@link IActionHelper#wrapData(Object)}.
+     * Otherwise the data is boxed and sent as an object.
+     *
+     * @param inTypeId The identity of action type.
+     * @param inData The data of action.
+     * @since 2026/10/17
+     */
+    public void sendRequest(final int inTypeId, final double inData) {
+        final long parentTraceId = FluxTracer.beginTrace();
+
+        try {
+            final ActionRegistry.Entry entry = this.getEntry(inTypeId);
+
+            if (entry != null && entry.getFactory() instanceof DoubleAction.Factory) {
+                this.post(((DoubleAction.Factory)entry.getFactory()).create(inTypeId, inData));
+            } else {
+                this.sendRequest(inTypeId, Double.valueOf(inData));
+            }
+        } finally {
+            FluxTracer.endTrace(parentTraceId);
+        }
+    }
+
+    /**
+     * Send several requests of the same int type identity to store.
+     * If the id is registered in {@link ActionRegistry}, the Actions are created without boxing the id
+     * or asking {@link IActionHelper} for the Action class, otherwise it's the same as the generic one.
+     *
+     * @param inTypeId The identity of action type.
+     * @param inDataList The data of each action.
+     * @since 2026/10/17
+     */
+    public <TData> void sendRequests(final int inTypeId, final List<TData> inDataList) {
+        final long parentTraceId = FluxTracer.beginTrace();
+
+        try {
+            final ActionRegistry.Entry entry = this.getEntry(inTypeId);
+
+            if (entry == null) {
+                this.sendRequests(Integer.valueOf(inTypeId), inDataList);
+            } else if (inDataList == null) {
+                throw new IllegalArgumentException("Data list is missing.");
+            } else {
+                final IActionHelper actionHelper = FluxContext.getInstance().getActionHelper();
+                final ActionDescriptor descriptor = this.getDescriptor(entry);
+                final List<Object> actions = new ArrayList<>(inDataList.size());
+
+                for (int i = 0; i < inDataList.size(); i++) {
+                    actions.add(this.createAction(descriptor, entry.getTypeId(),
+                            this.wrapData(actionHelper, inDataList.get(i))));
+                }
+
+                this.postAll(actions);
+            }
+        } finally {
+            FluxTracer.endTrace(parentTraceId);
+        }
+    }
 
+    /**
+     * Post the action to bus. The {@link RecyclableAction} is released after posted,
+     * the bus and stores hold their own references if they need it later.
+     * The time of post is reported to {@link IFluxMetrics} if it's enabled.
+     *
+     * @param inAction The action object.
+     * @since 2026/10/17
+     */
+    private void post(final Object inAction) {
+        final IFluxMetrics metrics = FluxMetrics.get();
+        final boolean isTraced = this.markTrace(inAction);
+        // Got before released
+        final Object type = metrics.isEnabled() || isTraced ? FluxMetrics.typeOf(inAction) : null;
+        final Object begin = type != null && metrics.isEnabled()
+                ? metrics.onStageBegin(IFluxMetrics.Stage.SEND, this, type) : null;
+        final long startTime = type != null ? System.nanoTime() : 0;
+
+        try {
+            this.mDispatcher.post(inAction);
+        } finally {
+            if (type != null) {
+                if (metrics.isEnabled()) {
+                    metrics.onStage(IFluxMetrics.Stage.SEND, this, type, System.nanoTime() - startTime, begin);
+                }
+                if (isTraced) {
+                    FluxTracer.trace("send", type, startTime);
+                }
+            }
+            if (inAction instanceof IRecyclable) {
+                ((IRecyclable)inAction).release();
+            }
+        }
+    }
+
+    /**
+     * Post the actions to bus in one batch, or one by one if the bus isn't a {@link IFluxBatchBus},
+     * and release the {@link RecyclableAction} after posted.
+     *
+     * @param inActions The list of actions.
+     * @since 2026/10/17
+     */
+    private void postAll(final List<Object> inActions) {
+        final IFluxMetrics metrics = FluxMetrics.get();
+        boolean isTraced = false;
+
+        for (int i = 0; i < inActions.size(); i++) {
+            isTraced = this.markTrace(inActions.get(i));
+        }
+
+        final Object type = (metrics.isEnabled() || isTraced) && inActions.isEmpty() == false
+                ? FluxMetrics.typeOf(inActions.get(0)) : null;
+        final Object begin = type != null && metrics.isEnabled()
+                ? metrics.onStageBegin(IFluxMetrics.Stage.SEND, this, type) : null;
+        final long startTime = type != null ? System.nanoTime() : 0;
+
+        try {
+            if (this.mDispatcher instanceof IFluxBatchBus) {
+                ((IFluxBatchBus)this.mDispatcher).postAll(inActions);
+            } else {
+                for (Object action : inActions) {
+                    this.mDispatcher.post(action);
+                }
+            }
+        } finally {
+            if (type != null) {
+                if (metrics.isEnabled()) {
+                    metrics.onStage(IFluxMetrics.Stage.SEND, this, type, System.nanoTime() - startTime, begin);
+                }
+                if (isTraced) {
+                    FluxTracer.trace("send", type, startTime);
+                }
+            }
+            for (int i = 0; i < inActions.size(); i++) {
+                if (inActions.get(i) instanceof IRecyclable) {
+                    ((IRecyclable)inActions.get(i)).release();
+                }
+            }
+        }
+    }
+
+    /**
+     * Set the trace of current thread to the action if tracing is on.
+     *
+     * @param inAction The action object.
+     * @return True if tracing is on.
+     * @since 2026/10/17
+     */
+    private boolean markTrace(final Object inAction) {
+        boolean result = false;
+
+        if (FluxTracer.get() != null) {
+            if (inAction instanceof ITraceable) {
+                ((ITraceable)inAction).setTraceId(FluxTracer.getCurrentTraceId());
+            }
+            result = true;
+        }
+
+        return result;
+    }
+
+    /**
+     * Get the entry of type identity in {@link ActionRegistry}.
+     *
+     * @param inTypeId The identity of action type.
+     * @return The entry, or null if there is no registry or the id is not registered.
+     * @since 2026/10/17
+     */
+    private ActionRegistry.Entry getEntry(final int inTypeId) {
+        final ActionRegistry registry = FluxContext.getInstance().getActionRegistry();
+
+        return registry != null ? registry.getEntry(inTypeId) : null;
+    }
+
+    /**
+     * Get the descriptor of Action class registered in {@link ActionRegistry}.
+     * It's resolved at the first time and kept in the entry.
+     *
+     * @param inEntry The entry of type identity.
+     * @return Instance of {@link ActionDescriptor}.
+     * @since 2026/10/17
+     */
+    private ActionDescriptor getDescriptor(final ActionRegistry.Entry inEntry) {
+        ActionDescriptor result = inEntry.getDescriptor();
+
+        if (result == null) {
+            if (inEntry.getActionFactory() != null) {
+                result = ActionDescriptor.of(Integer.class, inEntry.getActionFactory());
+                inEntry.setDescriptor(result);
+            } else {
                 try {
-                    Class<?> workClass = actionClass;
-
-                    while (workClass.getSuperclass() != FluxAction.class) {
-                        workClass = workClass.getSuperclass();
-                    }
-
-                    final ParameterizedType superType = (ParameterizedType)workClass.getGenericSuperclass();
-                    final Type[] typeArguments = superType.getActualTypeArguments();
-
-                    if (typeArguments[1] instanceof ParameterizedType) {
-                        dataClass = (Class<?>)((ParameterizedType)typeArguments[1]).getRawType();
-                    } else {
-                        dataClass = (Class<?>)typeArguments[1];
-                    }
-                } catch (Exception exGeneral) {
-                    throw new IllegalStateException("Data type in Action class is not define.");
+                    result = this.getDescriptor(inEntry.getActionClass(), Integer.class);
+                    inEntry.setDescriptor(result);
+                } catch (NoSuchMethodException exNoSuchMethod) {
+                    this.handleNoSuchMethodException();
                 }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Wrap the data by {@link IActionHelper} if there is one.
+     *
+     * @param inActionHelper The instance of {@link IActionHelper}, can be null.
+     * @param inData The data of action.
+     * @return The wrapped data.
+     * @since 2026/10/17
+     */
+    private Object wrapData(final IActionHelper inActionHelper, final Object inData) {
+        Object result = inData;
+
+        if (inActionHelper != null) {
+            final boolean isTraced = FluxTracer.get() != null;
+            final long startTime = isTraced ? System.nanoTime() : 0;
 
+            result = inActionHelper.wrapData(inData);
+            if (isTraced) {
+                FluxTracer.trace("wrapData", null, startTime);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Get the descriptor of Action class for the type identity.
+     *
+     * @param inActionHelper The instance of {@link IActionHelper}.
+     * @param inTypeId The identity of action type.
+     * @return Instance of {@link ActionDescriptor}.
+     * @since 2026/10/17
+     */
+    private ActionDescriptor getDescriptor(final IActionHelper inActionHelper, final Object inTypeId) {
+        final ActionRegistry.Entry entry = inTypeId instanceof Integer ? this.getEntry((Integer)inTypeId) : null;
+        ActionDescriptor result = null;
+
+        if (entry != null) {
+            // A registered id sent by the generic version
+            result = this.getDescriptor(entry);
+        } else {
+            Class<?> typeClass = inTypeId.getClass();
+            Class<?> actionClass = inActionHelper.getActionClass(inTypeId);
+
+            if (actionClass == null) {
+                throw new IllegalStateException("Action class is missing.");
+            } else {
                 try {
-                    final Constructor<?> constructor = actionClass.getConstructor(typeClass, dataClass);
-
-                    action = constructor.newInstance(inTypeId, actionData);
-                } catch (IllegalAccessException exIllegalAccess) {
-                    this.handleIllegalAccessException();
-                } catch (InvocationTargetException exInvocationTarget) {
-                    this.handleInvocationTargetException();
-                } catch (InstantiationException exInstantiation) {
-                    this.handleInstantiationException();
+                    result = this.getDescriptor(actionClass, typeClass);
                 } catch (NoSuchMethodException exNoSuchMethod) {
                     this.handleNoSuchMethodException();
                 }
             }
+        }
+
+        return result;
+    }
+
+    /**
+     * Create an instance of Action. The time of creation is reported to {@link IFluxMetrics} if it's enabled.
+     *
+     * @param inDescriptor The descriptor of Action class.
+     * @param inTypeId The identity of action type.
+     * @param inActionData The data wrapped by {@link IActionHelper}.
+     * @return The instance of Action.
+     * @since 2026/10/17
+     */
+    private Object createAction(final ActionDescriptor inDescriptor, final Object inTypeId, final Object inActionData) {
+        final IFluxMetrics metrics = FluxMetrics.get();
+        final boolean isTraced = FluxTracer.get() != null;
+        final Object begin = metrics.isEnabled()
+                ? metrics.onStageBegin(IFluxMetrics.Stage.CREATE, this, inTypeId) : null;
+        final long startTime = metrics.isEnabled() || isTraced ? System.nanoTime() : 0;
+        Object result = null;
+
+        try {
+            result = inDescriptor.newInstance(inTypeId, inActionData);
+        } catch (IllegalAccessException exIllegalAccess) {
+            this.handleIllegalAccessException();
+        } catch (InvocationTargetException exInvocationTarget) {
+            this.handleInvocationTargetException();
+        } catch (InstantiationException exInstantiation) {
+            this.handleInstantiationException();
+        }
+        if (metrics.isEnabled()) {
+            metrics.onStage(IFluxMetrics.Stage.CREATE, this, inTypeId, System.nanoTime() - startTime, begin);
+        }
+        if (isTraced) {
+            FluxTracer.trace("createAction", inTypeId, startTime);
+        }
+
+        return result;
+    }
+
+    /**
+     * Get the descriptor of Action class. The descriptor is resolved at the first time
+     * and kept for later requests.
+     *
+     * @param inActionClass The class of Action.
+     * @param inTypeClass The class of type identity.
+     * @return Instance of {@link ActionDescriptor}.
+     * @throws NoSuchMethodException If there is no constructor matches type and data class.
+     * @since 2026/10/17
+     */
+    private ActionDescriptor getDescriptor(final Class<?> inActionClass, final Class<?> inTypeClass)
+            throws NoSuchMethodException {
+        ActionDescriptor result = this.mDescriptors.get(inActionClass);
+
+        if (result == null || result.accept(inTypeClass) == false) {
+            // Only happens when an Action class is sent first time,
+            // or the same Action class is sent with different class of type identity
+            result = ActionDescriptor.resolve(inActionClass, inTypeClass, FluxContext.getInstance().getRegistry());
+            this.mDescriptors.put(inActionClass, result);
+        }
 
-            this.mDispatcher.post(action);
-        } // actionBuilder ==  null
+        return result;
     }
 
     /**
@@ -0,0 +1,298 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
+/**
+ * The resolved information of an Action class.
+ * It is built once per Action class by {@link ActionCreator}, so the steady-state send path
+ * does not walk the class hierarchy or look up constructors again.
+ * If the Action class has a generated {@link IActionFactory}, it is used instead of reflection.
+ * The {@link RecyclableAction} classes are got from the {@link ActionPool} kept in descriptor.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+final class ActionDescriptor {
+
+    private final Class<?> mTypeClass;
+    private final Constructor<?> mConstructor;
+    private final IActionFactory mFactory;
+    // Both only for RecyclableAction
+    private final ActionPool mPool;
+    private final Class<?> mDataClass;
+
+    /**
+     * Constructor.
+     *
+     * @param inTypeClass The class of type identity.
+     * @param inConstructor The constructor matches type and data class.
+     * @param inFactory The generated factory, null to use constructor.
+     * @since 2026/10/17
+     */
+    private ActionDescriptor(final Class<?> inTypeClass, final Constructor<?> inConstructor,
+                             final IActionFactory inFactory) {
+        this(inTypeClass, inConstructor, inFactory, null, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param inTypeClass The class of type identity.
+     * @param inConstructor The constructor matches type and data class.
+     * @param inFactory The generated factory, null to use constructor.
+     * @param inPool The pool of {@link RecyclableAction}, null for other actions.
+     * @param inDataClass The class of data to check before it's set into {@link RecyclableAction}.
+     * @since 2026/10/17
+     */
+    private ActionDescriptor(final Class<?> inTypeClass, final Constructor<?> inConstructor,
+                             final IActionFactory inFactory, final ActionPool inPool, final Class<?> inDataClass) {
+        this.mTypeClass = inTypeClass;
+        this.mConstructor = inConstructor;
+        this.mFactory = inFactory;
+        this.mPool = inPool;
+        this.mDataClass = inDataClass;
+    }
+
+    /**
+     * Use the factory in registry if there is one for the Action class, or resolve by reflection.
+     *
+     * @param inActionClass The class of Action.
+     * @param inTypeClass The class of type identity.
+     * @param inRegistry The registry of generated factories, can be null.
+     * @return Instance of {@link ActionDescriptor}.
+     * @throws NoSuchMethodException If there is no constructor matches type and data class.
+     * @since 2026/10/17
+     */
+    static ActionDescriptor resolve(final Class<?> inActionClass, final Class<?> inTypeClass,
+                                    final IFluxRegistry inRegistry) throws NoSuchMethodException {
+        // The recyclable actions are always got from pool
+        final IActionFactory factory = inRegistry != null
+                && RecyclableAction.class.isAssignableFrom(inActionClass) == false
+                ? inRegistry.getActionFactory(inActionClass) : null;
+        final ActionDescriptor result;
+
+        if (factory != null) {
+            result = ActionDescriptor.of(inTypeClass, factory);
+        } else {
+            result = ActionDescriptor.resolve(inActionClass, inTypeClass);
+        }
+
+        return result;
+    }
+
+    /**
+     * Resolve the data class and constructor of an Action class.
+     *
+     * @param inActionClass The class of Action.
+     * @param inTypeClass The class of type identity.
+     * @return Instance of {@link ActionDescriptor}.
+     * @throws NoSuchMethodException If there is no constructor matches type and data class.
+     * @since 2026/10/17
+     */
+    static ActionDescriptor resolve(final Class<?> inActionClass, final Class<?> inTypeClass)
+            throws NoSuchMethodException {
+        final ActionDescriptor result;
+
+        if (RecyclableAction.class.isAssignableFrom(inActionClass)) {
+            result = ActionDescriptor.resolveRecyclable(inActionClass, inTypeClass);
+        } else {
+            final Constructor<?> constructor;
+
+            if (PrimitiveAction.class.isAssignableFrom(inActionClass)) {
+                if (inTypeClass != Integer.class) {
+                    throw new NoSuchMethodException("Type of " + inActionClass.getName() + " must be int.");
+                }
+                // The boxed arguments are unboxed by reflection
+                constructor = inActionClass.getConstructor(int.class,
+                        ActionDescriptor.resolvePrimitiveDataClass(inActionClass));
+            } else {
+                constructor = inActionClass.getConstructor(inTypeClass,
+                        ActionDescriptor.resolveDataClass(inActionClass));
+            }
+
+            try {
+                // Skip the access check on every call, the constructor is public already
+                constructor.setAccessible(true);
+            } catch (SecurityException exSecurity) {
+                // Keep the access check
+            }
+            result = new ActionDescriptor(inTypeClass, constructor, null);
+        }
+
+        return result;
+    }
+
+    /**
+     * Create a pool for the {@link RecyclableAction} class.
+     *
+     * @param inActionClass The class of Action.
+     * @param inTypeClass The class of type identity.
+     * @return Instance of {@link ActionDescriptor}.
+     * @throws NoSuchMethodException If there is no constructor without parameter or type class is wrong.
+     * @since 2026/10/17
+     */
+    private static ActionDescriptor resolveRecyclable(final Class<?> inActionClass, final Class<?> inTypeClass)
+            throws NoSuchMethodException {
+        final Class<?> typeClass = ActionDescriptor.resolveTypeArgument(inActionClass, RecyclableAction.class, 0);
+        final Class<?> dataClass = ActionDescriptor.resolveTypeArgument(inActionClass, RecyclableAction.class, 1);
+        final Constructor<?> constructor = inActionClass.getConstructor();
+
+        if (typeClass.isAssignableFrom(inTypeClass) == false) {
+            throw new NoSuchMethodException("Type of " + inActionClass.getName() + " must be " + typeClass.getName() + ".");
+        }
+        try {
+            constructor.setAccessible(true);
+        } catch (SecurityException exSecurity) {
+            // Keep the access check
+        }
+
+        return new ActionDescriptor(inTypeClass, null, null,
+                new ActionPool(constructor, ActionPool.DEFAULT_CAPACITY), dataClass);
+    }
+
+    /**
+     * Use a factory to create the Action.
+     *
+     * @param inTypeClass The class of type identity.
+     * @param inFactory The factory of Action.
+     * @return Instance of {@link ActionDescriptor}.
+     * @since 2026/10/17
+     */
+    static ActionDescriptor of(final Class<?> inTypeClass, final IActionFactory inFactory) {
+        return new ActionDescriptor(inTypeClass, null, inFactory);
+    }
+
+    /**
+     * Find the primitive class of data of a {@link PrimitiveAction} class.
+     *
+     * @param inActionClass The class of Action.
+     * @return The class of data.
+     * @since 2026/10/17
+     */
+    static Class<?> resolvePrimitiveDataClass(final Class<?> inActionClass) {
+        final Class<?> result;
+
+        if (IntAction.class.isAssignableFrom(inActionClass)) {
+            result = int.class;
+        } else if (LongAction.class.isAssignableFrom(inActionClass)) {
+            result = long.class;
+        } else if (DoubleAction.class.isAssignableFrom(inActionClass)) {
+            result = double.class;
+        } else {
+            throw new IllegalStateException("Data type in Action class is not define.");
+        }
+
+        return result;
+    }
+
+    /**
+     * Find the class of data declared in the generic parameters of {@link FluxAction}.
+     *
+     * @param inActionClass The class of Action.
+     * @return The class of data.
+     * @since 2026/10/17
+     */
+    static Class<?> resolveDataClass(final Class<?> inActionClass) {
+        return ActionDescriptor.resolveTypeArgument(inActionClass, FluxAction.class, 1);
+    }
+
+    /**
+     * Find the class declared in the generic parameters of a base class.
+     *
+     * @param inActionClass The class of Action.
+     * @param inBaseClass The generic base class, {@link FluxAction} or {@link RecyclableAction}.
+     * @param inIndex The index of generic parameter.
+     * @return The class of parameter.
+     * @since 2026/10/17
+     */
+    private static Class<?> resolveTypeArgument(final Class<?> inActionClass, final Class<?> inBaseClass,
+                                                final int inIndex) {
+        final Class<?> result;
+
+        try {
+            Class<?> workClass = inActionClass;
+
+            while (workClass.getSuperclass() != inBaseClass) {
+                workClass = workClass.getSuperclass();
+            }
+
+            final ParameterizedType superType = (ParameterizedType)workClass.getGenericSuperclass();
+            final Type[] typeArguments = superType.getActualTypeArguments();
+
+            if (typeArguments[inIndex] instanceof ParameterizedType) {
+                result = (Class<?>)((ParameterizedType)typeArguments[inIndex]).getRawType();
+            } else {
+                result = (Class<?>)typeArguments[inIndex];
+            }
+        } catch (Exception exGeneral) {
+            throw new IllegalStateException("Data type in Action class is not define.");
+        }
+
+        return result;
+    }
+
+    /**
+     * Check if this descriptor can be used for the type identity.
+     *
+     * @param inTypeClass The class of type identity.
+     * @return Check result.
+     * @since 2026/10/17
+     */
+    boolean accept(final Class<?> inTypeClass) {
+        return this.mTypeClass == inTypeClass;
+    }
+
+    /**
+     * Create a new instance of Action.
+     *
+     * @param inTypeId The identity of action type.
+     * @param inData The data of action.
+     * @return The instance of Action.
+     * @since 2026/10/17
+     */
+    Object newInstance(final Object inTypeId, final Object inData)
+            throws IllegalAccessException, InvocationTargetException, InstantiationException {
+        final Object result;
+
+        if (this.mPool != null) {
+            if (inData != null && this.mDataClass.isInstance(inData) == false) {
+                throw new InstantiationException("Data is not " + this.mDataClass.getName() + ".");
+            }
+
+            final RecyclableAction<?, ?> action = this.mPool.obtain();
+
+            action.init(inTypeId, inData);
+            result = action;
+        } else if (this.mFactory != null) {
+            try {
+                result = this.mFactory.create(inTypeId, inData);
+            } catch (ClassCastException exClassCast) {
+                // Same as the constructor gets arguments of wrong type
+                throw new InstantiationException(exClassCast.getMessage());
+            }
+        } else {
+            result = this.mConstructor.newInstance(inTypeId, inData);
+        }
+
+        return result;
+    }
+
+}
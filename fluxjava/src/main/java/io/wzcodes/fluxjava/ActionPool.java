@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * A pool of {@link RecyclableAction} for one Action class, kept by {@link ActionDescriptor}.
+ * The released actions are kept for next {@link ActionPool#obtain()}, so a steady stream
+ * of requests doesn't allocate new actions. The actions more than the capacity are left to GC.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+final class ActionPool {
+
+    static final int DEFAULT_CAPACITY = 32;
+
+    private final Constructor<?> mConstructor;
+    // Both only accessed with lock
+    private final RecyclableAction<?, ?>[] mIdle;
+    private int mIdleCount;
+
+    /**
+     * Constructor.
+     *
+     * @param inConstructor The constructor without parameter to create action.
+     * @param inCapacity The maximum number of idle actions kept in pool.
+     * @since 2026/10/17
+     */
+    ActionPool(final Constructor<?> inConstructor, final int inCapacity) {
+        this.mConstructor = inConstructor;
+        this.mIdle = new RecyclableAction<?, ?>[inCapacity];
+    }
+
+    /**
+     * Get an idle action or create one. The caller holds one reference of the action.
+     *
+     * @return The instance of action.
+     * @since 2026/10/17
+     */
+    RecyclableAction<?, ?> obtain()
+            throws IllegalAccessException, InvocationTargetException, InstantiationException {
+        RecyclableAction<?, ?> result = null;
+
+        synchronized (this.mIdle) {
+            if (this.mIdleCount > 0) {
+                this.mIdleCount--;
+                result = this.mIdle[this.mIdleCount];
+                this.mIdle[this.mIdleCount] = null;
+            }
+        }
+
+        if (result == null) {
+            result = (RecyclableAction<?, ?>)this.mConstructor.newInstance();
+            result.attach(this);
+        } else {
+            result.reuse();
+        }
+
+        return result;
+    }
+
+    /**
+     * Get the number of idle actions in pool.
+     *
+     * @return The number of actions.
+     * @since 2026/10/17
+     */
+    int getIdleCount() {
+        synchronized (this.mIdle) {
+            return this.mIdleCount;
+        }
+    }
+
+    /**
+     * Keep the released action.
+     *
+     * @param inAction The action without reference.
+     * @since 2026/10/17
+     */
+    void recycle(final RecyclableAction<?, ?> inAction) {
+        synchronized (this.mIdle) {
+            if (this.mIdleCount < this.mIdle.length) {
+                this.mIdle[this.mIdleCount] = inAction;
+                this.mIdleCount++;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava;
+
+import java.util.Arrays;
+
+/**
+ * Map the int type identities of action to Action classes by array index.
+ * The ids are expected to be dense and small, like the constants of a switch,
+ * since the array grows to the largest registered id.
+ * {@link ActionCreator} checks this registry before {@link IActionHelper#getActionClass(Object)},
+ * so sending an action of registered id needs no boxing, map or switch lookup.
+ * The {@link PrimitiveAction} classes can be registered with factories to be created without reflection.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+public final class ActionRegistry {
+
+    private final Object mLock = new Object();
+    // Replaced as a whole when an id is registered, so the read path needs no lock
+    private volatile Entry[] mEntries = new Entry[0];
+
+    /**
+     * Map a type identity to an Action class.
+     *
+     * @param inTypeId The type identity of Action, must not be negative.
+     * @param inActionClass The class of Action, its constructor takes Integer type and data,
+     *                      or int type and primitive data for {@link PrimitiveAction}.
+     * @return This registry for chaining calls.
+     * @since 2026/10/17
+     */
+    public ActionRegistry register(final int inTypeId, final Class<?> inActionClass) {
+        if (inActionClass == null) {
+            throw new IllegalArgumentException("Action class is missing.");
+        }
+        this.put(new Entry(inTypeId, inActionClass, null, null));
+
+        return this;
+    }
+
+    /**
+     * Map a type identity to the factory of an {@link IntAction} class.
+     * {@link ActionCreator#sendRequest(int, int)} creates the action by it without boxing.
+     *
+     * @param inTypeId The type identity of Action, must not be negative.
+     * @param inFactory The factory of Action.
+     * @return This registry for chaining calls.
+     * @since 2026/10/17
+     */
+    public ActionRegistry registerInt(final int inTypeId, final IntAction.Factory inFactory) {
+        if (inFactory == null) {
+            throw new IllegalArgumentException("Factory is missing.");
+        }
+        this.put(new Entry(inTypeId, IntAction.class, inFactory, new IActionFactory() {
+            @Override
+            public Object create(final Object inType, final Object inData) {
+                return inFactory.create((Integer)inType, (Integer)inData);
+            }
+        }));
+
+        return this;
+    }
+
+    /**
+     * Map a type identity to the factory of a {@link LongAction} class.
+     * {@link ActionCreator#sendRequest(int, long)} creates the action by it without boxing.
+     *
+     * @param inTypeId The type identity of Action, must not be negative.
+     * @param inFactory The factory of Action.
+     * @return This registry for chaining calls.
+     * @since 2026/10/17
+     */
+    public ActionRegistry registerLong(final int inTypeId, final LongAction.Factory inFactory) {
+        if (inFactory == null) {
+            throw new IllegalArgumentException("Factory is missing.");
+        }
+        this.put(new Entry(inTypeId, LongAction.class, inFactory, new IActionFactory() {
+            @Override
+            public Object create(final Object inType, final Object inData) {
+                return inFactory.create((Integer)inType, (Long)inData);
+            }
+        }));
+
+        return this;
+    }
+
+    /**
+     * Map a type identity to the factory of a {@link DoubleAction} class.
+     * {@link ActionCreator#sendRequest(int, double)} creates the action by it without boxing.
+     *
+     * @param inTypeId The type identity of Action, must not be negative.
+     * @param inFactory The factory of Action.
+     * @return This registry for chaining calls.
+     * @since 2026/10/17
+     */
+    public ActionRegistry registerDouble(final int inTypeId, final DoubleAction.Factory inFactory) {
+        if (inFactory == null) {
+            throw new IllegalArgumentException("Factory is missing.");
+        }
+        this.put(new Entry(inTypeId, DoubleAction.class, inFactory, new IActionFactory() {
+            @Override
+            public Object create(final Object inType, final Object inData) {
+                return inFactory.create((Integer)inType, (Double)inData);
+            }
+        }));
+
+        return this;
+    }
+
+    /**
+     * Put the entry into array, grow the array if the id is out of range.
+     *
+     * @param inEntry The entry to put.
+     * @since 2026/10/17
+     */
+    private void put(final Entry inEntry) {
+        final int typeId = inEntry.getTypeId();
+
+        if (typeId < 0) {
+            throw new IllegalArgumentException("Type id can't be negative.");
+        }
+
+        synchronized (this.mLock) {
+            final Entry[] entries = this.mEntries;
+            final Entry[] newEntries = Arrays.copyOf(entries, Math.max(entries.length, typeId + 1));
+
+            if (typeId < entries.length && entries[typeId] != null
+                    && (entries[typeId].getActionClass() != inEntry.getActionClass()
+                    || entries[typeId].getFactory() != inEntry.getFactory())) {
+                throw new IllegalArgumentException("Type id " + typeId + " is registered already.");
+            }
+            newEntries[typeId] = inEntry;
+            this.mEntries = newEntries;
+        }
+    }
+
+    /**
+     * Get the Action class of a type identity.
+     *
+     * @param inTypeId The type identity of Action.
+     * @return The class of Action, or null if the id is not registered.
+     * @since 2026/10/17
+     */
+    public Class<?> getActionClass(final int inTypeId) {
+        final Entry entry = this.getEntry(inTypeId);
+
+        return entry != null ? entry.getActionClass() : null;
+    }
+
+    /**
+     * Get the registered entry of a type identity.
+     *
+     * @param inTypeId The type identity of Action.
+     * @return The entry, or null if the id is not registered.
+     * @since 2026/10/17
+     */
+    Entry getEntry(final int inTypeId) {
+        final Entry[] entries = this.mEntries;
+
+        return inTypeId >= 0 && inTypeId < entries.length ? entries[inTypeId] : null;
+    }
+
+    /**
+     * The registered Action class and the information to create it.
+     */
+    static final class Entry {
+        // Boxed once here, so the actions share the same instance
+        private final Integer mTypeId;
+        private final Class<?> mActionClass;
+        // The factory of primitive action and the one for boxed arguments, both null for Action class
+        private final Object mFactory;
+        private final IActionFactory mActionFactory;
+        // Resolved by ActionCreator when the id is sent first time
+        private volatile ActionDescriptor mDescriptor;
+
+        Entry(final int inTypeId, final Class<?> inActionClass, final Object inFactory,
+              final IActionFactory inActionFactory) {
+            this.mTypeId = inTypeId;
+            this.mActionClass = inActionClass;
+            this.mFactory = inFactory;
+            this.mActionFactory = inActionFactory;
+        }
+
+        Integer getTypeId() {
+            return this.mTypeId;
+        }
+
+        Class<?> getActionClass() {
+            return this.mActionClass;
+        }
+
+        Object getFactory() {
+            return this.mFactory;
+        }
+
+        IActionFactory getActionFactory() {
+            return this.mActionFactory;
+        }
+
+        ActionDescriptor getDescriptor() {
+            return this.mDescriptor;
+        }
+
+        void setDescriptor(final ActionDescriptor inDescriptor) {
+            this.mDescriptor = inDescriptor;
+        }
+    }
+
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Merge the data change events emitted by a store in a window.
+ * The item changes are merged into ranges of adjacent positions,
+ * and only the last list change of each class is kept because it covers every item change.
+ * The positions of {@link ListDiffEvent} depend on the item changes before it, so they are moved
+ * ahead of it.
+ * The dropped {@link RecyclableChangeEvent} are released, the drained ones are released by caller.
+ * Not thread-safe, {@link FluxStore} keeps one in each thread and a shared one accessed with lock.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+final class ChangeCoalescer {
+
+    // The events neither list nor item change, kept in order
+    private final List<Object> mOthers = new ArrayList<>();
+    private final Map<Class<?>, IListChangeEvent> mListChanges = new LinkedHashMap<>();
+    // The last event of each changed position
+    private final TreeMap<Integer, IItemChangeEvent> mItemChanges = new TreeMap<>();
+
+    /**
+     * Keep the event until drained.
+     *
+     * @param inEvent The event object.
+     * @since 2026/10/17
+     */
+    void add(final FluxContext.StoreChangeEvent inEvent) {
+        if (inEvent instanceof IListChangeEvent) {
+            // Remove the old one to keep the order of the latest
+            RecyclableChangeEvent.release(this.mListChanges.remove(inEvent.getClass()));
+            this.mListChanges.put(inEvent.getClass(), (IListChangeEvent)inEvent);
+            this.releaseItemChanges();
+        } else if (inEvent instanceof IItemChangeEvent) {
+            if (this.mListChanges.isEmpty()) {
+                final IItemChangeEvent event = (IItemChangeEvent)inEvent;
+
+                RecyclableChangeEvent.release(this.mItemChanges.put(event.getPosition(), event));
+            } else {
+                RecyclableChangeEvent.release(inEvent);
+            }
+        } else {
+            if (inEvent instanceof ListDiffEvent) {
+                this.drainItemChanges(((ListDiffEvent<?>)inEvent).getStore(), this.mOthers);
+            }
+            this.mOthers.add(inEvent);
+        }
+    }
+
+    /**
+     * Check if there is any event kept.
+     *
+     * @return True if nothing to drain.
+     * @since 2026/10/17
+     */
+    boolean isEmpty() {
+        return this.mOthers.isEmpty() && this.mListChanges.isEmpty() && this.mItemChanges.isEmpty();
+    }
+
+    /**
+     * Get the merged events and clear.
+     * The other events come first in emitted order, then the list changes or item changes.
+     * A range of single item is kept as the original event.
+     *
+     * @param inStore The store emits the events.
+     * @return The events to send.
+     * @since 2026/10/17
+     */
+    List<Object> drain(final IFluxStore<?> inStore) {
+        final List<Object> result = new ArrayList<>(this.mOthers);
+
+        result.addAll(this.mListChanges.values());
+        this.drainItemChanges(inStore, result);
+
+        this.mOthers.clear();
+        this.mListChanges.clear();
+
+        return result;
+    }
+
+    /**
+     * Move the item changes into a list as ranges.
+     *
+     * @param inStore The store emits the events.
+     * @param inResult The list to add events.
+     * @since 2026/10/17
+     */
+    private void drainItemChanges(final IFluxStore<?> inStore, final List<Object> inResult) {
+        IItemChangeEvent first = null;
+        int start = 0;
+        int count = 0;
+
+        for (Map.Entry<Integer, IItemChangeEvent> entry : this.mItemChanges.entrySet()) {
+            final int position = entry.getKey();
+
+            if (count > 0 && position == start + count) {
+                count++;
+            } else {
+                if (count > 0) {
+                    inResult.add(this.toEvent(inStore, first, start, count));
+                }
+                first = entry.getValue();
+                start = position;
+                count = 1;
+            }
+        }
+        if (count > 0) {
+            inResult.add(this.toEvent(inStore, first, start, count));
+        }
+        this.mItemChanges.clear();
+    }
+
+    /**
+     * Create the event for a range of changed items.
+     *
+     * @param inStore The store emits the event.
+     * @param inFirst The event of the first item.
+     * @param inStart The position of the first item.
+     * @param inCount The number of items.
+     * @return The original event of single item, or a {@link ItemRangeChangeEvent}.
+     * @since 2026/10/17
+     */
+    private Object toEvent(final IFluxStore<?> inStore, final IItemChangeEvent inFirst,
+                           final int inStart, final int inCount) {
+        final Object result;
+
+        if (inCount == 1) {
+            result = inFirst;
+        } else {
+            final ItemRangeChangeEvent range = new ItemRangeChangeEvent(inStore, inStart, inCount);
+
+            if (inFirst instanceof ITraceable) {
+                // The range goes with the trace of its first item
+                range.setTraceId(((ITraceable)inFirst).getTraceId());
+            }
+            result = range;
+            // The item events are replaced by range
+            for (IItemChangeEvent event : this.mItemChanges.subMap(inStart, inStart + inCount).values()) {
+                RecyclableChangeEvent.release(event);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Drop the item changes covered by a list change.
+     *
+     * @since 2026/10/17
+     */
+    private void releaseItemChanges() {
+        for (IItemChangeEvent event : this.mItemChanges.values()) {
+            RecyclableChangeEvent.release(event);
+        }
+        this.mItemChanges.clear();
+    }
+
+}
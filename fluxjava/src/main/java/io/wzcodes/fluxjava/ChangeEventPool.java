@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava;
+
+/**
+ * A pool of {@link RecyclableChangeEvent} owned by a store.
+ * The released events are kept for next {@link ChangeEventPool#obtain()}, so a steady stream
+ * of changes doesn't allocate new events. The events more than the capacity are left to GC.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+public final class ChangeEventPool<TEvent extends RecyclableChangeEvent> {
+
+    /**
+     * Create a new event when the pool is empty.
+     */
+    public interface Factory<TEvent> {
+        TEvent create();
+    }
+
+    private final Factory<TEvent> mFactory;
+    // Both only accessed with lock
+    private final Object[] mIdle;
+    private int mIdleCount;
+
+    /**
+     * Constructor.
+     *
+     * @param inFactory The factory to create event.
+     * @param inCapacity The maximum number of idle events kept in pool.
+     * @since 2026/10/17
+     */
+    public ChangeEventPool(final Factory<TEvent> inFactory, final int inCapacity) {
+        if (inFactory == null) {
+            throw new IllegalArgumentException("Factory is missing.");
+        }
+        if (inCapacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+
+        this.mFactory = inFactory;
+        this.mIdle = new Object[inCapacity];
+    }
+
+    /**
+     * Get an idle event or create one. The caller holds one reference of the event.
+     *
+     * @return The instance of event.
+     * @since 2026/10/17
+     */
+    @SuppressWarnings("unchecked")
+    public TEvent obtain() {
+        TEvent result = null;
+
+        synchronized (this.mIdle) {
+            if (this.mIdleCount > 0) {
+                this.mIdleCount--;
+                result = (TEvent)this.mIdle[this.mIdleCount];
+                this.mIdle[this.mIdleCount] = null;
+            }
+        }
+
+        if (result == null) {
+            result = this.mFactory.create();
+            result.attach(this);
+        } else {
+            result.reuse();
+        }
+
+        return result;
+    }
+
+    /**
+     * Get the number of idle events in pool.
+     *
+     * @return The number of events.
+     * @since 2026/10/17
+     */
+    public int getIdleCount() {
+        synchronized (this.mIdle) {
+            return this.mIdleCount;
+        }
+    }
+
+    /**
+     * Keep the released event.
+     *
+     * @param inEvent The event without reference.
+     * @since 2026/10/17
+     */
+    void recycle(final RecyclableChangeEvent inEvent) {
+        synchronized (this.mIdle) {
+            if (this.mIdleCount < this.mIdle.length) {
+                this.mIdle[this.mIdleCount] = inEvent;
+                this.mIdleCount++;
+            }
+        }
+    }
+
+}
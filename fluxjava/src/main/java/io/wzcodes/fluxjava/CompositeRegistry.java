@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * Combine the registries generated for different packages.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+final class CompositeRegistry implements IFluxRegistry {
+
+    private final IFluxRegistry[] mRegistries;
+
+    /**
+     * Constructor.
+     *
+     * @param inRegistries The registries to look up in order.
+     * @since 2026/10/17
+     */
+    private CompositeRegistry(final List<IFluxRegistry> inRegistries) {
+        this.mRegistries = inRegistries.toArray(new IFluxRegistry[inRegistries.size()]);
+    }
+
+    /**
+     * Find the registries declared in META-INF/services.
+     *
+     * @param inClassLoader The class loader to find registries.
+     * @return Instance of {@link IFluxRegistry}, or null if there is no registry.
+     * @since 2026/10/17
+     */
+    static IFluxRegistry load(final ClassLoader inClassLoader) {
+        final List<IFluxRegistry> registries = new ArrayList<>();
+        final Iterator<IFluxRegistry> iterator = ServiceLoader.load(IFluxRegistry.class, inClassLoader).iterator();
+        IFluxRegistry result = null;
+
+        try {
+            while (iterator.hasNext()) {
+                registries.add(iterator.next());
+            }
+        } catch (ServiceConfigurationError exServiceConfiguration) {
+            // Stop at the broken one, the classes not found are created by reflection
+        }
+
+        if (registries.size() == 1) {
+            result = registries.get(0);
+        } else if (registries.size() > 1) {
+            result = new CompositeRegistry(registries);
+        }
+
+        return result;
+    }
+
+    /**
+     * @since 2026/10/17
+     */
+    @Override
+    public IFluxStore createStore(final Class<?> inStoreClass, final IFluxBus inBus) {
+        IFluxStore result = null;
+
+        for (IFluxRegistry registry : this.mRegistries) {
+            result = registry.createStore(inStoreClass, inBus);
+            if (result != null) {
+                break;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * @since 2026/10/17
+     */
+    @Override
+    public IActionFactory getActionFactory(final Class<?> inActionClass) {
+        IActionFactory result = null;
+
+        for (IFluxRegistry registry : this.mRegistries) {
+            result = registry.getActionFactory(inActionClass);
+            if (result != null) {
+                break;
+            }
+        }
+
+        return result;
+    }
+
+}
@@ -19,12 +19,13 @@ package io.wzcodes.fluxjava;
  * The abstract Action class in framework.
  *
  * @author WZ
- * @version 20160705
+ * @version 20261017
  */
-public abstract class FluxAction<TType, TData> implements IFluxAction {
+public abstract class FluxAction<TType, TData> implements IFluxAction, ITraceable {
 
     private final TType mType;
     private final TData mData;
+    private long mTraceId;
 
     /**
      * Constructor.
@@ -61,4 +62,20 @@ public abstract class FluxAction<TType, TData> implements IFluxAction {
         return this.mData;
     }
 
+    /**
+     * @since 2026/10/17
+     */
+    @Override
+    public long getTraceId() {
+        return this.mTraceId;
+    }
+
+    /**
+     * @since 2026/10/17
+     */
+    @Override
+    public void setTraceId(final long inTraceId) {
+        this.mTraceId = inTraceId;
+    }
+
 }
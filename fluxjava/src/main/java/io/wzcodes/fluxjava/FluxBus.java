@@ -0,0 +1,441 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * An implementation of {@link IFluxBus} without any dependency.
+ * The subscribers have to implement {@link IFluxSubscriber}.<br />
+ * The subscribers of each event class are kept in arrays which are replaced when
+ * a subscriber registers or unregisters, so {@link FluxBus#post(Object)} does not lock
+ * and does not allocate anything when the events are delivered synchronously.
+ * With an {@link Executor}, every subscriber has its own {@link SerialExecutor} on it, so a store
+ * gets its actions one by one in posted order while different subscribers run in parallel.
+ * The {@link IRecyclable} events and actions are retained until delivered,
+ * and the trace of {@link FluxTracer} goes with them to the thread of subscriber.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+public class FluxBus implements IFluxBatchBus {
+
+    private static final IFluxSubscriber[] EMPTY = new IFluxSubscriber[0];
+
+    private static volatile FluxBus sInstance;
+
+    private final Executor mExecutor;
+    private final Object mLock = new Object();
+    // The subscribers of each registered event type, only accessed with lock
+    private final Map<Class<?>, IFluxSubscriber[]> mSubscribers = new HashMap<>();
+    // The subscribers of each posted event class, never changed after published
+    private volatile Map<Class<?>, IFluxSubscriber[]> mDispatchTable = new HashMap<>();
+    // The queue of each subscriber when delivered by executor, never changed after published
+    private volatile Map<IFluxSubscriber, SerialExecutor> mMailboxes = new IdentityHashMap<>();
+
+    /**
+     * Constructor. The events are delivered in the thread calls {@link FluxBus#post(Object)}.
+     *
+     * @since 2026/10/17
+     */
+    public FluxBus() {
+        this(null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param inExecutor The {@link Executor} used to deliver events to each subscriber,
+     *                   null to deliver in the thread calls {@link FluxBus#post(Object)}.
+     *                   The events of a subscriber are never run by it at the same time.
+     * @since 2026/10/17
+     */
+    public FluxBus(final Executor inExecutor) {
+        this.mExecutor = inExecutor;
+    }
+
+    /**
+     * Get the default instance of {@link FluxBus}.
+     *
+     * @return The instance of {@link FluxBus}.
+     * @since 2026/10/17
+     */
+    public static FluxBus getDefault() {
+        if (FluxBus.sInstance == null) {
+            synchronized (FluxBus.class) {
+                if (FluxBus.sInstance == null) {
+                    FluxBus.sInstance = new FluxBus();
+                }
+            }
+        }
+        return FluxBus.sInstance;
+    }
+
+    /**
+     * @since 2026/10/17
+     */
+    @Override
+    public void register(final Object inSubscriber) {
+        if (inSubscriber instanceof IFluxSubscriber) {
+            final IFluxSubscriber subscriber = (IFluxSubscriber)inSubscriber;
+            final Class<?> eventType = subscriber.getEventType();
+
+            if (eventType == null) {
+                throw new IllegalArgumentException("Event type is missing.");
+            }
+
+            synchronized (this.mLock) {
+                final IFluxSubscriber[] subscribers = this.mSubscribers.get(eventType);
+
+                if (subscribers == null) {
+                    this.mSubscribers.put(eventType, new IFluxSubscriber[] {subscriber});
+                } else if (FluxBus.indexOf(subscribers, subscriber) < 0) {
+                    final IFluxSubscriber[] newSubscribers = new IFluxSubscriber[subscribers.length + 1];
+
+                    System.arraycopy(subscribers, 0, newSubscribers, 0, subscribers.length);
+                    newSubscribers[subscribers.length] = subscriber;
+                    this.mSubscribers.put(eventType, newSubscribers);
+                }
+                if (this.mExecutor != null && this.mMailboxes.containsKey(subscriber) == false) {
+                    final Map<IFluxSubscriber, SerialExecutor> mailboxes = new IdentityHashMap<>(this.mMailboxes);
+
+                    mailboxes.put(subscriber, new SerialExecutor(this.mExecutor));
+                    this.mMailboxes = mailboxes;
+                }
+                this.rebuildDispatchTable();
+            }
+        } else {
+            throw new IllegalArgumentException("Must implement IFluxSubscriber interface.");
+        }
+    }
+
+    /**
+     * @since 2026/10/17
+     */
+    @Override
+    public void unregister(final Object inSubscriber) {
+        if (inSubscriber instanceof IFluxSubscriber) {
+            final IFluxSubscriber subscriber = (IFluxSubscriber)inSubscriber;
+
+            synchronized (this.mLock) {
+                // The event type may change after registered, so check every type
+                for (Map.Entry<Class<?>, IFluxSubscriber[]> entry : this.mSubscribers.entrySet()) {
+                    final IFluxSubscriber[] subscribers = entry.getValue();
+                    final int index = FluxBus.indexOf(subscribers, subscriber);
+
+                    if (index >= 0) {
+                        final IFluxSubscriber[] newSubscribers = new IFluxSubscriber[subscribers.length - 1];
+
+                        System.arraycopy(subscribers, 0, newSubscribers, 0, index);
+                        System.arraycopy(subscribers, index + 1, newSubscribers, index, newSubscribers.length - index);
+                        entry.setValue(newSubscribers);
+                    }
+                }
+                if (this.mMailboxes.containsKey(subscriber)) {
+                    final Map<IFluxSubscriber, SerialExecutor> mailboxes = new IdentityHashMap<>(this.mMailboxes);
+
+                    // The tasks already in queue still run in order
+                    mailboxes.remove(subscriber);
+                    this.mMailboxes = mailboxes;
+                }
+                this.rebuildDispatchTable();
+            }
+        }
+    }
+
+    /**
+     * @since 2026/10/17
+     */
+    @Override
+    public void post(final Object inEvent) {
+        if (inEvent == null) {
+            throw new IllegalArgumentException("Event can't be null.");
+        }
+
+        IFluxSubscriber[] subscribers = this.mDispatchTable.get(inEvent.getClass());
+
+        if (subscribers == null) {
+            subscribers = this.resolve(inEvent.getClass());
+        }
+
+        for (IFluxSubscriber subscriber : subscribers) {
+            this.deliver(subscriber, inEvent);
+        }
+    }
+
+    /**
+     * Deliver the events to each subscriber in one pass.
+     * Every subscriber gets the events it wants in order, the subscribers implement
+     * {@link IFluxBatchSubscriber} get them in one call. With an {@link Executor},
+     * there is one task for each subscriber instead of each event.
+     * The batches aren't locked, the events posted by other threads at the same time
+     * may be delivered between them.
+     *
+     * @since 2026/10/17
+     */
+    @Override
+    public void postAll(final List<?> inEvents) {
+        if (inEvents == null) {
+            throw new IllegalArgumentException("Events are missing.");
+        }
+
+        final Map<IFluxSubscriber, List<Object>> batches = new IdentityHashMap<>();
+        final List<IFluxSubscriber> order = new ArrayList<>();
+
+        for (Object event : inEvents) {
+            if (event == null) {
+                throw new IllegalArgumentException("Event can't be null.");
+            }
+
+            IFluxSubscriber[] subscribers = this.mDispatchTable.get(event.getClass());
+
+            if (subscribers == null) {
+                subscribers = this.resolve(event.getClass());
+            }
+            for (IFluxSubscriber subscriber : subscribers) {
+                List<Object> batch = batches.get(subscriber);
+
+                if (batch == null) {
+                    batch = new ArrayList<>();
+                    batches.put(subscriber, batch);
+                    order.add(subscriber);
+                }
+                batch.add(event);
+            }
+        }
+
+        for (IFluxSubscriber subscriber : order) {
+            this.deliverAll(subscriber, Collections.unmodifiableList(batches.get(subscriber)));
+        }
+    }
+
+    /**
+     * Deliver the event to a subscriber.
+     *
+     * @param inSubscriber The subscriber to get the event.
+     * @param inEvent The event object.
+     * @since 2026/10/17
+     */
+    private void deliver(final IFluxSubscriber inSubscriber, final Object inEvent) {
+        if (this.mExecutor == null) {
+            inSubscriber.onEvent(inEvent);
+        } else {
+            final long traceId = FluxTracer.get() != null ? FluxTracer.traceOf(inEvent) : 0;
+
+            // Hold the recyclable event or action until the task runs
+            FluxBus.retain(inEvent);
+            this.getMailbox(inSubscriber).execute(new Runnable() {
+                @Override
+                public void run() {
+                    // Go on with the trace of sender in this thread
+                    final long parentTraceId = traceId != 0 ? FluxTracer.setCurrentTraceId(traceId) : 0;
+                    final long startTime = traceId != 0 ? System.nanoTime() : 0;
+
+                    try {
+                        inSubscriber.onEvent(inEvent);
+                    } finally {
+                        if (traceId != 0) {
+                            FluxTracer.trace("onEvent", FluxMetrics.typeOf(inEvent), startTime);
+                            FluxTracer.setCurrentTraceId(parentTraceId);
+                        }
+                        FluxBus.release(inEvent);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Deliver the events to a subscriber.
+     *
+     * @param inSubscriber The subscriber to get the events.
+     * @param inEvents The events.
+     * @since 2026/10/17
+     */
+    private void deliverAll(final IFluxSubscriber inSubscriber, final List<Object> inEvents) {
+        final Runnable runnable = new Runnable() {
+            @Override
+            public void run() {
+                if (inSubscriber instanceof IFluxBatchSubscriber) {
+                    ((IFluxBatchSubscriber)inSubscriber).onEventBatch(inEvents);
+                } else {
+                    for (Object event : inEvents) {
+                        inSubscriber.onEvent(event);
+                    }
+                }
+            }
+        };
+
+        if (this.mExecutor == null) {
+            runnable.run();
+        } else {
+            final long traceId = FluxTracer.get() != null && inEvents.isEmpty() == false
+                    ? FluxTracer.traceOf(inEvents.get(0)) : 0;
+
+            for (Object event : inEvents) {
+                FluxBus.retain(event);
+            }
+            this.getMailbox(inSubscriber).execute(new Runnable() {
+                @Override
+                public void run() {
+                    final long parentTraceId = traceId != 0 ? FluxTracer.setCurrentTraceId(traceId) : 0;
+                    final long startTime = traceId != 0 ? System.nanoTime() : 0;
+
+                    try {
+                        runnable.run();
+                    } finally {
+                        if (traceId != 0) {
+                            FluxTracer.trace("onEvent", FluxMetrics.typeOf(inEvents.get(0)), startTime);
+                            FluxTracer.setCurrentTraceId(parentTraceId);
+                        }
+                        for (Object event : inEvents) {
+                            FluxBus.release(event);
+                        }
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Get the queue of subscriber to run its events in order.
+     *
+     * @param inSubscriber The subscriber to get the events.
+     * @return The {@link Executor} of subscriber, or the one of bus if it's unregistered in the meantime.
+     * @since 2026/10/17
+     */
+    private Executor getMailbox(final IFluxSubscriber inSubscriber) {
+        Executor result = this.mMailboxes.get(inSubscriber);
+
+        if (result == null) {
+            result = this.mExecutor;
+        }
+
+        return result;
+    }
+
+    /**
+     * Retain the event if it is recyclable.
+     *
+     * @param inEvent The event object.
+     * @since 2026/10/17
+     */
+    private static void retain(final Object inEvent) {
+        if (inEvent instanceof IRecyclable) {
+            ((IRecyclable)inEvent).retain();
+        }
+    }
+
+    /**
+     * Release the event if it is recyclable.
+     *
+     * @param inEvent The event object.
+     * @since 2026/10/17
+     */
+    private static void release(final Object inEvent) {
+        if (inEvent instanceof IRecyclable) {
+            ((IRecyclable)inEvent).release();
+        }
+    }
+
+    /**
+     * Find the subscribers of an event class that is posted first time.
+     *
+     * @param inEventClass The class of event.
+     * @return The subscribers.
+     * @since 2026/10/17
+     */
+    private IFluxSubscriber[] resolve(final Class<?> inEventClass) {
+        synchronized (this.mLock) {
+            IFluxSubscriber[] result = this.mDispatchTable.get(inEventClass);
+
+            if (result == null) {
+                final Map<Class<?>, IFluxSubscriber[]> table = new HashMap<>(this.mDispatchTable);
+
+                result = this.collect(inEventClass);
+                table.put(inEventClass, result);
+                this.mDispatchTable = table;
+            }
+
+            return result;
+        }
+    }
+
+    /**
+     * Resolve every event class posted before again after the subscribers changed.
+     * Must be called with lock.
+     *
+     * @since 2026/10/17
+     */
+    private void rebuildDispatchTable() {
+        final Map<Class<?>, IFluxSubscriber[]> table = new HashMap<>();
+
+        for (Class<?> eventClass : this.mDispatchTable.keySet()) {
+            table.put(eventClass, this.collect(eventClass));
+        }
+        this.mDispatchTable = table;
+    }
+
+    /**
+     * Collect the subscribers that accept the event class.
+     * Must be called with lock.
+     *
+     * @param inEventClass The class of event.
+     * @return The subscribers.
+     * @since 2026/10/17
+     */
+    private IFluxSubscriber[] collect(final Class<?> inEventClass) {
+        final List<IFluxSubscriber> result = new ArrayList<>();
+
+        for (Map.Entry<Class<?>, IFluxSubscriber[]> entry : this.mSubscribers.entrySet()) {
+            if (entry.getKey().isAssignableFrom(inEventClass)) {
+                for (IFluxSubscriber subscriber : entry.getValue()) {
+                    result.add(subscriber);
+                }
+            }
+        }
+
+        return result.isEmpty() ? FluxBus.EMPTY : result.toArray(new IFluxSubscriber[result.size()]);
+    }
+
+    /**
+     * Find the subscriber in array.
+     *
+     * @param inSubscribers The array of subscribers.
+     * @param inSubscriber The subscriber to find.
+     * @return The index in array, or -1 if not found.
+     * @since 2026/10/17
+     */
+    private static int indexOf(final IFluxSubscriber[] inSubscribers, final IFluxSubscriber inSubscriber) {
+        int result = -1;
+
+        for (int i = 0; i < inSubscribers.length; i++) {
+            if (inSubscribers[i] == inSubscriber) {
+                result = i;
+                break;
+            }
+        }
+
+        return result;
+    }
+
+}
@@ -17,15 +17,17 @@ package io.wzcodes.fluxjava;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
 
 /**
  * This class serves as handleIllegalAccessException coordinating object in framework.
  * It is an entry point to use FluxJava and it will bring the components in framework work together.
  *
  * @author WZ
- * @version 20170523
+ * @version 20261017
  */
 public class FluxContext {
 
@@ -33,9 +35,16 @@ public class FluxContext {
 
     private final IFluxBus mBus;
     private final ActionCreator mActionCreator;
+    private final Executor mExecutor;
+    private final IFluxRegistry mRegistry;
+    private final ActionRegistry mActionRegistry;
     private IActionHelper mActionHelper = null;
-    private Map<Object, Class<?>> mStoreMap = null;
-    private Map<Object, IFluxStore> mStoreKeepList = null;
+    private volatile Map<Object, Class<?>> mStoreMap = null;
+    // The kept stores by tag and one of them for each store class,
+    // read without lock and only changed with mKeepLock
+    private final Object mKeepLock = new Object();
+    private volatile ConcurrentMap<Object, IFluxStore> mStoreKeepList = null;
+    private volatile ConcurrentMap<Class<?>, IFluxStore> mStoreClassIndex = null;
 
     public interface StoreChangeEvent {}
 
@@ -45,6 +54,11 @@ public class FluxContext {
         private IActionHelper mActionHelper = null;
         private Map<Object, Class<?>> mStoreMap = null;
         private boolean mKeepStore = false;
+        private Executor mExecutor = null;
+        private IFluxRegistry mRegistry = null;
+        private boolean mLoadRegistry = false;
+        private ActionRegistry mActionRegistry = null;
+        private IFluxMetrics mMetrics = null;
 
         Builder() {
             // Do nothing
@@ -95,6 +109,51 @@ public class FluxContext {
             return this;
         }
 
+        private Executor getExecutor() {
+            return this.mExecutor;
+        }
+
+        public Builder setExecutor(final Executor inExecutor) {
+            this.mExecutor = inExecutor;
+            return this;
+        }
+
+        private IFluxRegistry getRegistry() {
+            return this.mRegistry;
+        }
+
+        public Builder setRegistry(final IFluxRegistry inRegistry) {
+            this.mRegistry = inRegistry;
+            return this;
+        }
+
+        private boolean getLoadRegistry() {
+            return this.mLoadRegistry;
+        }
+
+        public Builder setLoadRegistry(final boolean inLoadRegistry) {
+            this.mLoadRegistry = inLoadRegistry;
+            return this;
+        }
+
+        private ActionRegistry getActionRegistry() {
+            return this.mActionRegistry;
+        }
+
+        public Builder setActionRegistry(final ActionRegistry inActionRegistry) {
+            this.mActionRegistry = inActionRegistry;
+            return this;
+        }
+
+        private IFluxMetrics getMetrics() {
+            return this.mMetrics;
+        }
+
+        public Builder setMetrics(final IFluxMetrics inMetrics) {
+            this.mMetrics = inMetrics;
+            return this;
+        }
+
         public FluxContext build() {
             if (this.mBus == null) {
                 throw new IllegalArgumentException("Flux bus is missing.");
@@ -127,6 +186,19 @@ public class FluxContext {
             this.mActionCreator = new ActionCreator(this.mBus);
             this.mActionHelper = inBuilder.getActionHelper();
         }
+        this.mExecutor = inBuilder.getExecutor();
+        if (inBuilder.getRegistry() != null) {
+            this.mRegistry = inBuilder.getRegistry();
+        } else if (inBuilder.getLoadRegistry()) {
+            // Scanning the class path takes time, only do it when asked
+            this.mRegistry = CompositeRegistry.load(FluxContext.class.getClassLoader());
+        } else {
+            this.mRegistry = null;
+        }
+        this.mActionRegistry = inBuilder.getActionRegistry();
+        if (inBuilder.getMetrics() != null) {
+            FluxMetrics.set(inBuilder.getMetrics());
+        }
         this.mStoreMap = inBuilder.getStoreMap();
         this.setKeepStore(inBuilder.getKeepStore());
     }
@@ -189,13 +261,17 @@ public class FluxContext {
      * @since 2016/7/5
      */
     public void setKeepStore(final boolean inKeepStore) {
-        if (inKeepStore) {
-            if (this.mStoreKeepList == null) {
-                this.mStoreKeepList = new HashMap<>();
+        synchronized (this.mKeepLock) {
+            if (inKeepStore) {
+                if (this.mStoreKeepList == null) {
+                    this.mStoreClassIndex = new ConcurrentHashMap<>();
+                    this.mStoreKeepList = new ConcurrentHashMap<>();
+                }
+            } else {
+                this.clearAllStore();
+                this.mStoreKeepList = null;
+                this.mStoreClassIndex = null;
             }
-        } else {
-            this.clearAllStore();
-            this.mStoreKeepList = null;
         }
     }
 
@@ -219,10 +295,41 @@ public class FluxContext {
         return this.mActionCreator;
     }
 
+    /**
+     * Get the {@link Executor} used to send requests async.
+     *
+     * @return Instance of {@link Executor}, or null if every request uses a new thread.
+     * @since 2026/10/17
+     */
+    public Executor getExecutor() {
+        return this.mExecutor;
+    }
+
+    /**
+     * Get the factories generated for stores and actions.
+     *
+     * @return Instance of {@link IFluxRegistry}, or null if everything is created by reflection.
+     * @since 2026/10/17
+     */
+    IFluxRegistry getRegistry() {
+        return this.mRegistry;
+    }
+
+    /**
+     * Get the registry of Action classes by int type identity.
+     *
+     * @return Instance of {@link ActionRegistry}, or null if Action classes are got from {@link IActionHelper}.
+     * @since 2026/10/17
+     */
+    public ActionRegistry getActionRegistry() {
+        return this.mActionRegistry;
+    }
+
     /**
      * Get an instance of Store by store type identity.
      * When tag is null, it will return the same type of store in keep list
      * or create new one if not found.
+     * The kept stores are found by tag or by class in constant time without lock.
      *
      * @param inStoreTypeId The store type identity to match in the map.
      * @param inTag The tag to match in the store keep list.
@@ -232,10 +339,13 @@ public class FluxContext {
      * @since 2016/7/5
      */
     public <TStoreId, TTag, TView> IFluxStore getStore(final TStoreId inStoreTypeId, final TTag inTag, final TView inView) {
+        final Map<Object, IFluxStore> keepList = this.mStoreKeepList;
+        final Map<Class<?>, IFluxStore> classIndex = this.mStoreClassIndex;
+        final Map<Object, Class<?>> storeMap = this.mStoreMap;
         IFluxStore result = null;
 
-        if (this.mStoreKeepList != null && inTag != null) {
-            result = this.mStoreKeepList.get(inTag);
+        if (keepList != null && inTag != null) {
+            result = keepList.get(inTag);
         }
 
         if (result != null) {
@@ -243,18 +353,13 @@ public class FluxContext {
                 result.register(inView);
             }
         } else {
-            if (this.mStoreMap != null) {
-                final Class<?> storeType = this.mStoreMap.get(inStoreTypeId);
+            if (storeMap != null) {
+                final Class<?> storeType = storeMap.get(inStoreTypeId);
 
                 if (storeType != null) {
-                    if (inTag == null && this.mStoreKeepList != null) {
+                    if (inTag == null && classIndex != null) {
                         // If the tag is null and keep list is not null, find the same type in list first
-                        for (Map.Entry<Object, IFluxStore> entry : this.mStoreKeepList.entrySet()) {
-                            if (entry.getValue().getClass() == storeType) {
-                                result = entry.getValue();
-                                break;
-                            }
-                        }
+                        result = classIndex.get(storeType);
                     }
 
                     if (result != null) {
@@ -263,14 +368,12 @@ public class FluxContext {
                         }
                     } else {
                         try {
-                            final Constructor<?> constructor = storeType.getConstructor(IFluxBus.class);
-
-                            result = (IFluxStore)constructor.newInstance(this.mBus);
+                            result = this.createStore(storeType);
                             this.registerStore(result, inView);
                             if (inTag != null) {
                                 result.setTag(inTag);
-                                if (this.mStoreKeepList != null) {
-                                    this.mStoreKeepList.put(inTag, result);
+                                if (keepList != null) {
+                                    result = this.keepStore(inTag, result, inView);
                                 }
                             }
                         } catch (IllegalAccessException exIllegalAccess) {
@@ -284,12 +387,74 @@ public class FluxContext {
                         }
                     }
                 } // storeType != null
-            } // this.mStoreMap != null
+            } // storeMap != null
         } // result == null
 
         return result;
     }
 
+    /**
+     * Create a store by the factory in registry, or by reflection if it's not in registry.
+     *
+     * @param inStoreType The class of store.
+     * @return The instance of store.
+     * @since 2026/10/17
+     */
+    private IFluxStore createStore(final Class<?> inStoreType) throws IllegalAccessException,
+            InvocationTargetException, InstantiationException, NoSuchMethodException {
+        IFluxStore result = null;
+
+        if (this.mRegistry != null) {
+            result = this.mRegistry.createStore(inStoreType, this.mBus);
+        }
+        if (result == null) {
+            final Constructor<?> constructor = inStoreType.getConstructor(IFluxBus.class);
+
+            result = (IFluxStore)constructor.newInstance(this.mBus);
+        }
+
+        return result;
+    }
+
+    /**
+     * Put a new store into keep list and index.
+     * If another thread kept a store with the same tag first, the new store is dropped.
+     *
+     * @param inTag The tag of store.
+     * @param inStore The new store.
+     * @param inView Optional, the object registered in the new store.
+     * @return The store kept in list.
+     * @since 2026/10/17
+     */
+    private <TTag, TView> IFluxStore keepStore(final TTag inTag, final IFluxStore inStore, final TView inView) {
+        IFluxStore result;
+
+        synchronized (this.mKeepLock) {
+            if (this.mStoreKeepList == null) {
+                // Keep store is turned off in the meantime
+                result = inStore;
+            } else {
+                result = this.mStoreKeepList.putIfAbsent(inTag, inStore);
+                if (result == null) {
+                    result = inStore;
+                    if (this.mStoreClassIndex.containsKey(inStore.getClass()) == false) {
+                        this.mStoreClassIndex.put(inStore.getClass(), inStore);
+                    }
+                }
+            }
+        }
+
+        if (result != inStore) {
+            if (inView != null) {
+                inStore.unregister(inView);
+                result.register(inView);
+            }
+            this.mBus.unregister(inStore);
+        }
+
+        return result;
+    }
+
     /**
      * Get the instance of ActionHelper.
      *
@@ -336,22 +501,47 @@ public class FluxContext {
             inStore.unregister(inView);
         }
         if (inStore.getTag() != null) {
-            this.mStoreKeepList.remove(inStore.getTag());
+            synchronized (this.mKeepLock) {
+                if (this.mStoreKeepList != null && this.mStoreKeepList.remove(inStore.getTag(), inStore)) {
+                    this.removeFromClassIndex(inStore);
+                }
+            }
         }
         this.mBus.unregister(inStore);
     }
 
+    /**
+     * Replace the store in class index by another kept store of the same class.
+     * Must be called with lock.
+     *
+     * @param inStore The store removed from keep list.
+     * @since 2026/10/17
+     */
+    private void removeFromClassIndex(final IFluxStore inStore) {
+        if (this.mStoreClassIndex.remove(inStore.getClass(), inStore)) {
+            for (IFluxStore store : this.mStoreKeepList.values()) {
+                if (store.getClass() == inStore.getClass()) {
+                    this.mStoreClassIndex.put(store.getClass(), store);
+                    break;
+                }
+            }
+        }
+    }
+
     /**
      * Purge all the stores from keep list.
      *
      * @since 2016/7/5
      */
     public void clearAllStore() {
-        if (this.mStoreKeepList != null) {
-            for (Map.Entry entry : this.mStoreKeepList.entrySet()) {
-                this.mBus.unregister(entry.getValue());
+        synchronized (this.mKeepLock) {
+            if (this.mStoreKeepList != null) {
+                for (Map.Entry entry : this.mStoreKeepList.entrySet()) {
+                    this.mBus.unregister(entry.getValue());
+                }
+                this.mStoreKeepList.clear();
+                this.mStoreClassIndex.clear();
             }
-            this.mStoreKeepList.clear();
         }
     }
 
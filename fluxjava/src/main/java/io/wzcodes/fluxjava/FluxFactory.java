@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Mark a store or an Action class to generate its factory at compile time.
+ * The annotation processor in fluxjava-compiler generates an {@link IFluxRegistry}
+ * for each package, so {@link FluxContext} and {@link ActionCreator} create the instances
+ * by calling the constructors directly instead of reflection.<br />
+ * A store needs a non-private constructor with an {@link IFluxBus} parameter,
+ * an Action needs a non-private constructor with the type and data parameters.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface FluxFactory {
+}
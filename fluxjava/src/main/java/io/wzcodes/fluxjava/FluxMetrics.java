@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava;
+
+/**
+ * Keep the {@link IFluxMetrics} used by all components.
+ * By default it is a no-op instance that is never enabled, so nothing is measured.
+ * The check still costs a volatile read and a call of {@link IFluxMetrics#isEnabled()} at each stage,
+ * which is cheap but not free.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+public final class FluxMetrics {
+
+    private static final IFluxMetrics NONE = new NoMetrics();
+
+    private static volatile IFluxMetrics sMetrics = FluxMetrics.NONE;
+
+    /**
+     * Constructor.
+     *
+     * @since 2026/10/17
+     */
+    private FluxMetrics() {
+        // Do nothing
+    }
+
+    /**
+     * Get the instance of {@link IFluxMetrics} in use.
+     *
+     * @return The instance of {@link IFluxMetrics}, never null.
+     * @since 2026/10/17
+     */
+    public static IFluxMetrics get() {
+        return FluxMetrics.sMetrics;
+    }
+
+    /**
+     * Set the instance of {@link IFluxMetrics} used by all components.
+     *
+     * @param inMetrics The instance of {@link IFluxMetrics}, null to turn off.
+     * @since 2026/10/17
+     */
+    public static void set(final IFluxMetrics inMetrics) {
+        FluxMetrics.sMetrics = inMetrics != null ? inMetrics : FluxMetrics.NONE;
+    }
+
+    /**
+     * Get the type of an action or event to report.
+     * It's the type of {@link FluxAction}, {@link PrimitiveAction} or {@link RecyclableAction},
+     * or the class of others.
+     *
+     * @param inObject The action or event.
+     * @return The type.
+     * @since 2026/10/17
+     */
+    public static Object typeOf(final Object inObject) {
+        Object result = null;
+
+        if (inObject instanceof FluxAction) {
+            result = ((FluxAction<?, ?>)inObject).getType();
+        } else if (inObject instanceof PrimitiveAction) {
+            result = ((PrimitiveAction)inObject).getType();
+        } else if (inObject instanceof RecyclableAction) {
+            result = ((RecyclableAction<?, ?>)inObject).getType();
+        }
+        if (result == null && inObject != null) {
+            result = inObject.getClass();
+        }
+
+        return result;
+    }
+
+    /**
+     * The default instance that reports nothing.
+     */
+    private static final class NoMetrics implements IFluxMetrics {
+
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+
+        @Override
+        public Object onStageBegin(final Stage inStage, final Object inOwner, final Object inType) {
+            return null;
+        }
+
+        @Override
+        public void onStage(final Stage inStage, final Object inOwner, final Object inType, final long inNanos,
+                            final Object inBegin) {
+            // Do nothing
+        }
+
+        @Override
+        public void onQueueDepth(final Object inOwner, final int inDepth) {
+            // Do nothing
+        }
+    }
+
+}
@@ -15,14 +15,39 @@
  */
 package io.wzcodes.fluxjava;
 
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
 /**
  * The abstract Store class in framework.
  *
  * @author WZ
- * @version 20160705
+ * @version 20261017
  */
 public abstract class FluxStore<TEntity> implements IFluxStore<TEntity> {
 
+    /**
+     * The changes begun in a thread, the actions handled in other threads at the same time
+     * don't hold or merge them.
+     */
+    private static final class ChangeScope {
+        private final ChangeCoalescer mCoalescer = new ChangeCoalescer();
+        private int mDepth;
+    }
+
+    // Shared by all stores to flush the changes coalesced in a time window
+    private static volatile ScheduledExecutorService sFlushScheduler;
+
+    // Only accessed by the thread owns it
+    private final ThreadLocal<ChangeScope> mChangeScope = new ThreadLocal<>();
+    private final Object mChangeLock = new Object();
+    // All below only accessed with mChangeLock, keep the changes of time window
+    private final ChangeCoalescer mCoalescer = new ChangeCoalescer();
+    private boolean mFlushScheduled;
+
     private IFluxBus mBus;
     private Object mTag;
 
@@ -89,12 +114,254 @@ public abstract class FluxStore<TEntity> implements IFluxStore<TEntity> {
 
     /**
      * Send a data change event.
+     * A {@link RecyclableChangeEvent} is released after posted to bus, the bus retains it
+     * if it's queued or delivered in another thread. The caller must not use it after this call.
+     * The time of delivery is reported to {@link IFluxMetrics} if it's enabled.
+     * When {@link FluxTracer} is on, the event implements {@link ITraceable} gets the trace of current thread.
      *
      * @param inEvent The event object.
      * @since 2016/7/5
      */
     protected void emitChange(final FluxContext.StoreChangeEvent inEvent) {
-        this.mBus.post(inEvent);
+        final boolean isTraced = FluxTracer.get() != null;
+        boolean isKept = false;
+
+        if (isTraced && inEvent instanceof ITraceable && ((ITraceable)inEvent).getTraceId() == 0) {
+            // The event belongs to the action handled in this thread
+            ((ITraceable)inEvent).setTraceId(FluxTracer.getCurrentTraceId());
+        }
+
+        if (this.isCoalesceChanges()) {
+            final ChangeScope scope = this.mChangeScope.get();
+
+            if (scope != null && scope.mDepth > 0) {
+                scope.mCoalescer.add(inEvent);
+                isKept = true;
+            } else if (this.getCoalesceWindow() > 0) {
+                synchronized (this.mChangeLock) {
+                    this.mCoalescer.add(inEvent);
+                    this.scheduleFlush();
+                }
+                isKept = true;
+            }
+        }
+        if (isKept == false) {
+            final IFluxMetrics metrics = FluxMetrics.get();
+            // Got before released
+            final Object type = metrics.isEnabled() || isTraced ? FluxMetrics.typeOf(inEvent) : null;
+            final Object begin = type != null && metrics.isEnabled()
+                    ? metrics.onStageBegin(IFluxMetrics.Stage.EMIT, this, type) : null;
+            final long startTime = type != null ? System.nanoTime() : 0;
+
+            try {
+                this.mBus.post(inEvent);
+            } finally {
+                if (type != null) {
+                    this.reportEmit(metrics, isTraced, inEvent, type, startTime, begin);
+                }
+                RecyclableChangeEvent.release(inEvent);
+            }
+        }
+    }
+
+    /**
+     * Check if the change events should be coalesced.
+     * When true, the events emitted between {@link FluxStore#beginChanges()} and
+     * {@link FluxStore#endChanges()}, or in the time window, are merged before sent:
+     * the {@link IItemChangeEvent} of adjacent positions are merged into one {@link ItemRangeChangeEvent},
+     * and the item changes are dropped if a {@link IListChangeEvent} is emitted.
+     * Override it to turn on, the default is false.
+     *
+     * @return True if coalescing is on.
+     * @since 2026/10/17
+     */
+    protected boolean isCoalesceChanges() {
+        return false;
+    }
+
+    /**
+     * Get the time window in milliseconds to coalesce change events.
+     * The events are sent when the window is closed, a value about 16 lets the views
+     * be notified once a frame. The default is 0, only coalesce the events emitted between
+     * {@link FluxStore#beginChanges()} and {@link FluxStore#endChanges()}.
+     *
+     * @return The time window in milliseconds.
+     * @since 2026/10/17
+     */
+    protected long getCoalesceWindow() {
+        return 0;
+    }
+
+    /**
+     * Start to keep the change events, like at the beginning of processing an action.
+     * The calls can be nested, must be paired with {@link FluxStore#endChanges()} in the same thread.
+     * Only the events emitted by this thread are kept, the actions handled in other threads
+     * at the same time are not affected.
+     *
+     * @since 2026/10/17
+     */
+    protected void beginChanges() {
+        ChangeScope scope = this.mChangeScope.get();
+
+        if (scope == null) {
+            scope = new ChangeScope();
+            this.mChangeScope.set(scope);
+        }
+        scope.mDepth++;
+    }
+
+    /**
+     * Stop keeping the change events. The coalesced events are sent when the outermost call ends,
+     * or join the time window and are sent when it's closed.
+     *
+     * @since 2026/10/17
+     */
+    protected void endChanges() {
+        final ChangeScope scope = this.mChangeScope.get();
+        List<Object> events = null;
+
+        if (scope == null || scope.mDepth == 0) {
+            throw new IllegalStateException("Changes are not begun.");
+        }
+        scope.mDepth--;
+        if (scope.mDepth == 0 && scope.mCoalescer.isEmpty() == false) {
+            events = scope.mCoalescer.drain(this);
+            if (this.getCoalesceWindow() > 0) {
+                synchronized (this.mChangeLock) {
+                    for (Object event : events) {
+                        this.mCoalescer.add((FluxContext.StoreChangeEvent)event);
+                    }
+                    this.scheduleFlush();
+                }
+                events = null;
+            }
+        }
+        if (events != null) {
+            this.postChanges(events);
+        }
+    }
+
+    /**
+     * Send the coalesced change events right now.
+     *
+     * @since 2026/10/17
+     */
+    protected void flushChanges() {
+        final List<Object> events;
+
+        synchronized (this.mChangeLock) {
+            this.mFlushScheduled = false;
+            events = this.mCoalescer.drain(this);
+        }
+        this.postChanges(events);
+    }
+
+    /**
+     * Flush the changes when the time window is closed.
+     * Must be called with lock.
+     *
+     * @since 2026/10/17
+     */
+    private void scheduleFlush() {
+        if (this.mFlushScheduled == false) {
+            this.mFlushScheduled = true;
+            FluxStore.getFlushScheduler().schedule(new Runnable() {
+                @Override
+                public void run() {
+                    FluxStore.this.flushChanges();
+                }
+            }, this.getCoalesceWindow(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Send the events to bus and release the {@link RecyclableChangeEvent} after posted.
+     *
+     * @param inEvents The events to send.
+     * @since 2026/10/17
+     */
+    private void postChanges(final List<Object> inEvents) {
+        final IFluxMetrics metrics = FluxMetrics.get();
+        final boolean isTraced = FluxTracer.get() != null;
+        final Object type = (metrics.isEnabled() || isTraced) && inEvents.isEmpty() == false
+                ? FluxMetrics.typeOf(inEvents.get(0)) : null;
+        final Object begin = type != null && metrics.isEnabled()
+                ? metrics.onStageBegin(IFluxMetrics.Stage.EMIT, this, type) : null;
+        final long startTime = type != null ? System.nanoTime() : 0;
+
+        try {
+            if (inEvents.size() == 1) {
+                this.mBus.post(inEvents.get(0));
+            } else if (this.mBus instanceof IFluxBatchBus) {
+                ((IFluxBatchBus)this.mBus).postAll(inEvents);
+            } else {
+                for (Object event : inEvents) {
+                    this.mBus.post(event);
+                }
+            }
+        } finally {
+            if (type != null) {
+                this.reportEmit(metrics, isTraced, inEvents.get(0), type, startTime, begin);
+            }
+            for (Object event : inEvents) {
+                RecyclableChangeEvent.release(event);
+            }
+        }
+    }
+
+    /**
+     * Report the time of sending change events to {@link IFluxMetrics} and {@link FluxTracer}.
+     *
+     * @param inMetrics The instance of {@link IFluxMetrics}.
+     * @param inTraced Record a span or not.
+     * @param inEvent The event, or the first one of a batch.
+     * @param inType The type of event.
+     * @param inStartTime The time starts to send.
+     * @param inBegin The object returned by {@link IFluxMetrics#onStageBegin(IFluxMetrics.Stage, Object, Object)}.
+     * @since 2026/10/17
+     */
+    private void reportEmit(final IFluxMetrics inMetrics, final boolean inTraced, final Object inEvent,
+                            final Object inType, final long inStartTime, final Object inBegin) {
+        final FluxTracer tracer = FluxTracer.get();
+
+        if (inMetrics.isEnabled()) {
+            inMetrics.onStage(IFluxMetrics.Stage.EMIT, this, inType, System.nanoTime() - inStartTime, inBegin);
+        }
+        if (inTraced && tracer != null) {
+            // The coalesced events may be sent in another thread
+            tracer.record("emitChange", inType, FluxTracer.traceOf(inEvent), inStartTime, System.nanoTime());
+        }
+    }
+
+    /**
+     * Get the scheduler to flush changes, create it in first time.
+     *
+     * @return The instance of {@link ScheduledExecutorService}.
+     * @since 2026/10/17
+     */
+    private static ScheduledExecutorService getFlushScheduler() {
+        if (FluxStore.sFlushScheduler == null) {
+            synchronized (FluxStore.class) {
+                if (FluxStore.sFlushScheduler == null) {
+                    final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1,
+                            new ThreadFactory() {
+                                @Override
+                                public Thread newThread(final Runnable inRunnable) {
+                                    final Thread thread = new Thread(inRunnable, "FluxJava-coalesce");
+
+                                    thread.setDaemon(true);
+
+                                    return thread;
+                                }
+                            });
+
+                    scheduler.setRemoveOnCancelPolicy(true);
+                    FluxStore.sFlushScheduler = scheduler;
+                }
+            }
+        }
+
+        return FluxStore.sFlushScheduler;
     }
 
     /**
@@ -0,0 +1,491 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Trace an action from {@link ActionCreator} to the views get the change events.
+ * A trace starts when a request is sent, the identity of trace is kept in the thread that
+ * sends it and set to the action and change events as {@link ITraceable}, so it goes with them
+ * when they are handled in other threads. The spans of each step, like wrapping data, creating action,
+ * delivering by bus, handling in store and notifying views, are recorded in a ring buffer
+ * that keeps the latest ones and can be written as a timeline of Chrome trace format,
+ * to be opened by chrome://tracing or Perfetto.<br />
+ * Recording does not lock and does not allocate. When the buffer is overrun by concurrent writers,
+ * the spans being written are dropped from the dump.
+ * Turn it on by {@link FluxTracer#set(FluxTracer)}, when it's off nothing is recorded.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+public final class FluxTracer {
+
+    public static final int DEFAULT_CAPACITY = 16384;
+
+    private static volatile FluxTracer sTracer;
+    private static final AtomicLong sTraceIds = new AtomicLong();
+    // The trace of the request handled in each thread
+    private static final ThreadLocal<long[]> sCurrentTraceId = new ThreadLocal<long[]>() {
+        @Override
+        protected long[] initialValue() {
+            return new long[1];
+        }
+    };
+
+    private final int mMask;
+    private final long mOriginTime = System.nanoTime();
+    private final AtomicLong mSequence = new AtomicLong();
+    // The sequence + 1 of the span in each slot, 0 when it's written
+    private final AtomicLongArray mSlots;
+    private final String[] mNames;
+    private final Object[] mTypes;
+    private final long[] mTraceIds;
+    private final long[] mStartTimes;
+    private final long[] mDurations;
+    private final long[] mThreadIds;
+    private final ConcurrentMap<Long, String> mThreadNames = new ConcurrentHashMap<>();
+    // The threads have put their names, so the map is not read for each span
+    private final ThreadLocal<Boolean> mNamedThreads = new ThreadLocal<Boolean>() {
+        @Override
+        protected Boolean initialValue() {
+            return Boolean.FALSE;
+        }
+    };
+
+    /**
+     * A step of trace recorded.
+     */
+    public static final class Span {
+
+        private final String mName;
+        private final Object mType;
+        private final long mTraceId;
+        private final long mStartTime;
+        private final long mDuration;
+        private final long mThreadId;
+
+        /**
+         * Constructor.
+         *
+         * @since 2026/10/17
+         */
+        Span(final String inName, final Object inType, final long inTraceId,
+             final long inStartTime, final long inDuration, final long inThreadId) {
+            this.mName = inName;
+            this.mType = inType;
+            this.mTraceId = inTraceId;
+            this.mStartTime = inStartTime;
+            this.mDuration = inDuration;
+            this.mThreadId = inThreadId;
+        }
+
+        /**
+         * @return The name of span.
+         * @since 2026/10/17
+         */
+        public String getName() {
+            return this.mName;
+        }
+
+        /**
+         * @return The type of action or event, can be null.
+         * @since 2026/10/17
+         */
+        public Object getType() {
+            return this.mType;
+        }
+
+        /**
+         * @return The identity of trace, 0 if it's not in a trace.
+         * @since 2026/10/17
+         */
+        public long getTraceId() {
+            return this.mTraceId;
+        }
+
+        /**
+         * @return The time span starts got from {@link System#nanoTime()}.
+         * @since 2026/10/17
+         */
+        public long getStartTime() {
+            return this.mStartTime;
+        }
+
+        /**
+         * @return The duration in nanoseconds.
+         * @since 2026/10/17
+         */
+        public long getDuration() {
+            return this.mDuration;
+        }
+
+        /**
+         * @return The identity of thread records it.
+         * @since 2026/10/17
+         */
+        public long getThreadId() {
+            return this.mThreadId;
+        }
+
+        /**
+         * @since 2026/10/17
+         */
+        @Override
+        public String toString() {
+            return this.mName + "(" + this.mType + ", trace " + this.mTraceId + ")";
+        }
+    }
+
+    /**
+     * Constructor with default capacity.
+     *
+     * @since 2026/10/17
+     */
+    public FluxTracer() {
+        this(FluxTracer.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param inCapacity The number of latest spans to keep, rounded up to a power of two.
+     * @since 2026/10/17
+     */
+    public FluxTracer(final int inCapacity) {
+        if (inCapacity <= 0 || inCapacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be in (0, 2^30].");
+        }
+
+        final int capacity = Integer.highestOneBit(inCapacity) == inCapacity
+                ? inCapacity : Integer.highestOneBit(inCapacity) << 1;
+
+        this.mMask = capacity - 1;
+        this.mSlots = new AtomicLongArray(capacity);
+        this.mNames = new String[capacity];
+        this.mTypes = new Object[capacity];
+        this.mTraceIds = new long[capacity];
+        this.mStartTimes = new long[capacity];
+        this.mDurations = new long[capacity];
+        this.mThreadIds = new long[capacity];
+    }
+
+    /**
+     * Get the instance of {@link FluxTracer} in use.
+     *
+     * @return The instance of {@link FluxTracer}, or null if tracing is off.
+     * @since 2026/10/17
+     */
+    public static FluxTracer get() {
+        return FluxTracer.sTracer;
+    }
+
+    /**
+     * Set the instance of {@link FluxTracer} used by all components.
+     *
+     * @param inTracer The instance of {@link FluxTracer}, null to turn off.
+     * @since 2026/10/17
+     */
+    public static void set(final FluxTracer inTracer) {
+        FluxTracer.sTracer = inTracer;
+    }
+
+    /**
+     * Start a trace in current thread if there isn't one, the requests sent in it share the trace.
+     * Must be paired with {@link FluxTracer#endTrace(long)}.
+     *
+     * @return The trace before, pass it to {@link FluxTracer#endTrace(long)}.
+     * @since 2026/10/17
+     */
+    public static long beginTrace() {
+        long result = -1;
+
+        if (FluxTracer.sTracer != null) {
+            final long[] current = FluxTracer.sCurrentTraceId.get();
+
+            result = current[0];
+            if (result == 0) {
+                current[0] = FluxTracer.sTraceIds.incrementAndGet();
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * End the trace started by {@link FluxTracer#beginTrace()} and restore the one before.
+     *
+     * @param inParentTraceId The value returned by {@link FluxTracer#beginTrace()}.
+     * @since 2026/10/17
+     */
+    public static void endTrace(final long inParentTraceId) {
+        if (inParentTraceId >= 0) {
+            FluxTracer.sCurrentTraceId.get()[0] = inParentTraceId;
+        }
+    }
+
+    /**
+     * Get the trace of current thread.
+     *
+     * @return The identity of trace, 0 if there isn't one.
+     * @since 2026/10/17
+     */
+    public static long getCurrentTraceId() {
+        return FluxTracer.sCurrentTraceId.get()[0];
+    }
+
+    /**
+     * Set the trace of current thread, like when handling an action in another thread.
+     *
+     * @param inTraceId The identity of trace, 0 to clear.
+     * @return The trace before, set it back when done.
+     * @since 2026/10/17
+     */
+    public static long setCurrentTraceId(final long inTraceId) {
+        final long[] current = FluxTracer.sCurrentTraceId.get();
+        final long result = current[0];
+
+        current[0] = inTraceId;
+
+        return result;
+    }
+
+    /**
+     * Get the trace of an action or event, or the trace of current thread if it doesn't carry one.
+     *
+     * @param inObject The action or event.
+     * @return The identity of trace, 0 if there isn't one.
+     * @since 2026/10/17
+     */
+    public static long traceOf(final Object inObject) {
+        long result = 0;
+
+        if (inObject instanceof ITraceable) {
+            result = ((ITraceable)inObject).getTraceId();
+        }
+        if (result == 0) {
+            result = FluxTracer.getCurrentTraceId();
+        }
+
+        return result;
+    }
+
+    /**
+     * Record a span ends now in the trace of current thread, if tracing is on.
+     * It can be used by views to add the time of notifying to the timeline.
+     *
+     * @param inName The name of span.
+     * @param inType The type of action or event, can be null.
+     * @param inStartTime The time span starts got from {@link System#nanoTime()}.
+     * @since 2026/10/17
+     */
+    public static void trace(final String inName, final Object inType, final long inStartTime) {
+        final FluxTracer tracer = FluxTracer.sTracer;
+
+        if (tracer != null) {
+            tracer.record(inName, inType, FluxTracer.getCurrentTraceId(), inStartTime, System.nanoTime());
+        }
+    }
+
+    /**
+     * Record a span.
+     *
+     * @param inName The name of span.
+     * @param inType The type of action or event, can be null.
+     * @param inTraceId The identity of trace.
+     * @param inStartTime The time span starts got from {@link System#nanoTime()}.
+     * @param inEndTime The time span ends got from {@link System#nanoTime()}.
+     * @since 2026/10/17
+     */
+    public void record(final String inName, final Object inType, final long inTraceId,
+                       final long inStartTime, final long inEndTime) {
+        if (inName == null) {
+            throw new IllegalArgumentException("Name can't be null.");
+        }
+
+        final long sequence = this.mSequence.getAndIncrement();
+        final int slot = (int)sequence & this.mMask;
+        final Thread thread = Thread.currentThread();
+
+        // Mark the slot is being written, the readers skip it.
+        // It's read and written at once, so the fields below are not written before the mark
+        this.mSlots.getAndSet(slot, 0);
+        this.mNames[slot] = inName;
+        this.mTypes[slot] = inType;
+        this.mTraceIds[slot] = inTraceId;
+        this.mStartTimes[slot] = inStartTime;
+        this.mDurations[slot] = inEndTime - inStartTime;
+        this.mThreadIds[slot] = thread.getId();
+        this.mSlots.set(slot, sequence + 1);
+        if (this.mNamedThreads.get() == false) {
+            this.mThreadNames.putIfAbsent(thread.getId(), thread.getName());
+            this.mNamedThreads.set(Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Get the number of spans can be kept.
+     *
+     * @return The capacity of buffer.
+     * @since 2026/10/17
+     */
+    public int getCapacity() {
+        return this.mMask + 1;
+    }
+
+    /**
+     * Get the number of spans have been recorded, including the ones overwritten.
+     *
+     * @return The number of spans.
+     * @since 2026/10/17
+     */
+    public long getRecordCount() {
+        return this.mSequence.get();
+    }
+
+    /**
+     * Get the spans kept in buffer in recorded order.
+     *
+     * @return The copy of spans.
+     * @since 2026/10/17
+     */
+    public List<Span> getSpans() {
+        final long end = this.mSequence.get();
+        final List<Span> result = new ArrayList<>();
+
+        for (long sequence = Math.max(0, end - this.mMask - 1); sequence < end; sequence++) {
+            final int slot = (int)sequence & this.mMask;
+
+            if (this.mSlots.get(slot) == sequence + 1) {
+                final Span span = new Span(this.mNames[slot], this.mTypes[slot], this.mTraceIds[slot],
+                        this.mStartTimes[slot], this.mDurations[slot], this.mThreadIds[slot]);
+
+                // Drop it if the slot is written again in the meantime.
+                // Unlike a plain get, compare and set is not run before the reads of fields
+                if (this.mSlots.compareAndSet(slot, sequence + 1, sequence + 1)) {
+                    result.add(span);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Write the spans kept in buffer as JSON of Chrome trace format.
+     * Each span is a complete event with the identity of trace and the type in args,
+     * the time is in microseconds from the tracer is created.
+     *
+     * @param inOut The output, like a {@link java.io.Writer}.
+     * @throws IOException If the output fails.
+     * @since 2026/10/17
+     */
+    public void writeChromeTrace(final Appendable inOut) throws IOException {
+        boolean isFirst = true;
+
+        inOut.append("{\"displayTimeUnit\":\"ns\",\"traceEvents\":[");
+        for (Map.Entry<Long, String> entry : this.mThreadNames.entrySet()) {
+            inOut.append(isFirst ? "\n" : ",\n");
+            inOut.append("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":")
+                    .append(String.valueOf(entry.getKey()))
+                    .append(",\"args\":{\"name\":");
+            FluxTracer.appendString(inOut, entry.getValue());
+            inOut.append("}}");
+            isFirst = false;
+        }
+        for (Span span : this.getSpans()) {
+            inOut.append(isFirst ? "\n" : ",\n");
+            inOut.append("{\"name\":");
+            FluxTracer.appendString(inOut, span.getName());
+            inOut.append(",\"cat\":\"fluxjava\",\"ph\":\"X\",\"pid\":1,\"tid\":")
+                    .append(String.valueOf(span.getThreadId()))
+                    .append(",\"ts\":");
+            FluxTracer.appendMicros(inOut, span.getStartTime() - this.mOriginTime);
+            inOut.append(",\"dur\":");
+            FluxTracer.appendMicros(inOut, span.getDuration());
+            inOut.append(",\"args\":{\"trace\":").append(String.valueOf(span.getTraceId()));
+            if (span.getType() != null) {
+                inOut.append(",\"type\":");
+                FluxTracer.appendString(inOut, FluxTracer.nameOf(span.getType()));
+            }
+            inOut.append("}}");
+            isFirst = false;
+        }
+        inOut.append("\n]}\n");
+    }
+
+    /**
+     * Get the name of type to write.
+     *
+     * @param inType The type of action or event.
+     * @return The name.
+     * @since 2026/10/17
+     */
+    private static String nameOf(final Object inType) {
+        return inType instanceof Class ? ((Class<?>)inType).getName() : String.valueOf(inType);
+    }
+
+    /**
+     * Write nanoseconds as microseconds with three decimal places.
+     *
+     * @param inOut The output.
+     * @param inNanos The time in nanoseconds, written as 0 if it's negative.
+     * @throws IOException If the output fails.
+     * @since 2026/10/17
+     */
+    private static void appendMicros(final Appendable inOut, final long inNanos) throws IOException {
+        final long nanos = Math.max(inNanos, 0);
+        final long fraction = nanos % 1000;
+
+        inOut.append(String.valueOf(nanos / 1000)).append('.');
+        if (fraction < 100) {
+            inOut.append(fraction < 10 ? "00" : "0");
+        }
+        inOut.append(String.valueOf(fraction));
+    }
+
+    /**
+     * Write a string of JSON.
+     *
+     * @param inOut The output.
+     * @param inValue The string.
+     * @throws IOException If the output fails.
+     * @since 2026/10/17
+     */
+    private static void appendString(final Appendable inOut, final String inValue) throws IOException {
+        inOut.append('"');
+        for (int i = 0; i < inValue.length(); i++) {
+            final char c = inValue.charAt(i);
+
+            if (c == '"' || c == '\\') {
+                inOut.append('\\').append(c);
+            } else if (c < 0x20) {
+                inOut.append(String.format("\\u%04x", (int)c));
+            } else {
+                inOut.append(c);
+            }
+        }
+        inOut.append('"');
+    }
+
+}
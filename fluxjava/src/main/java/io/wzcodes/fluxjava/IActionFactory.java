@@ -0,0 +1,37 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava;
+
+/**
+ * Create an instance of Action without reflection.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+public interface IActionFactory {
+
+    /**
+     * Create a new instance of Action.
+     *
+     * @param inTypeId The identity of action type.
+     * @param inData The data of action.
+     * @return The instance of Action.
+     * @throws ClassCastException If the type or data doesn't match the constructor.
+     * @since 2026/10/17
+     */
+    Object create(Object inTypeId, Object inData);
+
+}
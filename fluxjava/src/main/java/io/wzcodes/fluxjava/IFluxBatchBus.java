@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava;
+
+import java.util.List;
+
+/**
+ * A {@link IFluxBus} that sends several messages in one call.
+ * The framework checks for it before sending a batch, other buses get the messages
+ * by {@link IFluxBus#post(Object)} one after another, so an existing bus keeps working
+ * without implementing this.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+public interface IFluxBatchBus extends IFluxBus {
+
+    /**
+     * Send several messages to all subscribers.
+     * Each subscriber gets the messages in order, but the messages posted by other threads
+     * at the same time may arrive between them unless the bus says otherwise.
+     * The same retain rule of {@link IFluxBus#post(Object)} applies to every message.
+     *
+     * @param inEvents The messages need to be sent.
+     * @since 2026/10/17
+     */
+    void postAll(final List<?> inEvents);
+
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava;
+
+import java.util.List;
+
+/**
+ * A {@link IFluxSubscriber} that handles the events arrived together at once.
+ * {@link RingBus} passes every event published since last call in one batch,
+ * and {@link FluxBus} passes the events sent by {@link IFluxBatchBus#postAll(List)},
+ * so a store can update its data and emit only one change event for the whole batch.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+public interface IFluxBatchSubscriber extends IFluxSubscriber {
+
+    /**
+     * Handle the events sent from bus in posted order.
+     * The list is reused by bus, don't keep it after return.
+     *
+     * @param inEvents The read only list of events.
+     * @since 2026/10/17
+     */
+    void onEventBatch(List<Object> inEvents);
+
+}
@@ -17,9 +17,10 @@ package io.wzcodes.fluxjava;
 
 /**
  * Send the messages by request in framework.
+ * A bus can implement {@link IFluxBatchBus} to send a batch of messages in one call.
  *
  * @author WZ
- * @version 20160705
+ * @version 20261017
  */
 public interface IFluxBus {
 
@@ -41,6 +42,8 @@ public interface IFluxBus {
 
     /**
      * Send a message to all subscribers.
+     * The sender releases an {@link IRecyclable} message after this returns, a bus that still
+     * keeps it then, queued or for another thread, has to retain it until delivered.
      *
      * @param inEvent The message need to be sent.
      * @since 2016/7/5
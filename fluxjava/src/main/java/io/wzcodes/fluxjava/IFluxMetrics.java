@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava;
+
+/**
+ * Instrumentation of the way an action goes through framework.
+ * The components report the time they spent in each {@link Stage} by the type of action or event,
+ * and the depth of the queues where actions wait. Install an implementation by
+ * {@link FluxMetrics#set(IFluxMetrics)} or {@link FluxContext.Builder#setMetrics(IFluxMetrics)},
+ * {@link MetricsRecorder} keeps counters and latency histograms.<br />
+ * The methods are called in the threads of framework and must be thread-safe and quick.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+public interface IFluxMetrics {
+
+    enum Stage {
+        /** {@link ActionCreator} creates an action. */
+        CREATE,
+        /** {@link ActionCreator} posts an action until the bus returned. */
+        SEND,
+        /** A bus delivers an event to the subscribers in the thread of post. */
+        DELIVER,
+        /** An action waits in a store from delivered until handled. */
+        WAIT,
+        /** A store handles an action. */
+        HANDLE,
+        /** A store sends a change event to the views. */
+        EMIT
+    }
+
+    /**
+     * Check if anything should be reported. When false, the components don't read the clock
+     * and don't call the other methods.
+     *
+     * @return True if the metrics are recorded.
+     * @since 2026/10/17
+     */
+    boolean isEnabled();
+
+    /**
+     * Called when a stage starts, so a timed record like an event of Java Flight Recorder can begin here.
+     * The returned object is passed back to {@link #onStage(Stage, Object, Object, long, Object)}
+     * when the stage ends, which may be in another thread like {@link Stage#WAIT}.
+     *
+     * @param inStage The stage.
+     * @param inOwner The action creator, bus or store runs the stage.
+     * @param inType The type of action or event, see {@link FluxMetrics#typeOf(Object)}.
+     * @return Anything to get back at the end of stage, or null.
+     * @since 2026/10/17
+     */
+    Object onStageBegin(Stage inStage, Object inOwner, Object inType);
+
+    /**
+     * Report the time spent in a stage when it ends.
+     * The actions or events handled in a batch are reported once by the type of the first one.
+     *
+     * @param inStage The stage.
+     * @param inOwner The action creator, bus or store runs the stage.
+     * @param inType The type of action or event, see {@link FluxMetrics#typeOf(Object)}.
+     * @param inNanos The time in nanoseconds.
+     * @param inBegin The object returned by {@link #onStageBegin(Stage, Object, Object)} of this stage,
+     *                or null if it was disabled when the stage started.
+     * @since 2026/10/17
+     */
+    void onStage(Stage inStage, Object inOwner, Object inType, long inNanos, Object inBegin);
+
+    /**
+     * Report the number of items waiting in a queue after something is put in it.
+     *
+     * @param inOwner The bus or store owns the queue.
+     * @param inDepth The number of items in queue.
+     * @since 2026/10/17
+     */
+    void onQueueDepth(Object inOwner, int inDepth);
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava;
+
+/**
+ * The factories of stores and actions generated for the classes annotated with {@link FluxFactory}.
+ * The registries generated by fluxjava-compiler are found by {@link java.util.ServiceLoader}
+ * when {@link FluxContext} is built with {@link FluxContext.Builder#setLoadRegistry(boolean)},
+ * or set one by {@link FluxContext.Builder#setRegistry(IFluxRegistry)}.
+ * The classes not in registry are still created by reflection.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+public interface IFluxRegistry {
+
+    /**
+     * Create a new instance of store.
+     *
+     * @param inStoreClass The class of store.
+     * @param inBus The instance of {@link IFluxBus} passed to constructor.
+     * @return The instance of store, or null if the class is not in registry.
+     * @since 2026/10/17
+     */
+    IFluxStore createStore(Class<?> inStoreClass, IFluxBus inBus);
+
+    /**
+     * Get the factory of an Action class.
+     *
+     * @param inActionClass The class of Action.
+     * @return The instance of {@link IActionFactory}, or null if the class is not in registry.
+     * @since 2026/10/17
+     */
+    IActionFactory getActionFactory(Class<?> inActionClass);
+
+}
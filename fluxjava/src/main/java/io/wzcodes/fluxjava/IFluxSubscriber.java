@@ -0,0 +1,44 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava;
+
+/**
+ * An interface used to register to {@link FluxBus}.
+ * Both stores and views implement this interface to get actions or data change events.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+public interface IFluxSubscriber {
+
+    /**
+     * Get the type of event that subscriber wants.
+     * The subscriber gets the events of this type and its sub types.
+     *
+     * @return The type of event.
+     * @since 2026/10/17
+     */
+    Class<?> getEventType();
+
+    /**
+     * Handle the event sent from bus.
+     *
+     * @param inEvent The event object.
+     * @since 2026/10/17
+     */
+    void onEvent(Object inEvent);
+
+}
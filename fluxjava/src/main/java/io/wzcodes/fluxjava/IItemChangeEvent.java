@@ -0,0 +1,36 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava;
+
+/**
+ * A data change event tells an item of store is changed in place.
+ * When the changes are coalesced by {@link FluxStore}, the changes of adjacent items
+ * are merged into an {@link ItemRangeChangeEvent}.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+public interface IItemChangeEvent extends FluxContext.StoreChangeEvent {
+
+    /**
+     * Get the position of changed item.
+     *
+     * @return The position in store.
+     * @since 2026/10/17
+     */
+    int getPosition();
+
+}
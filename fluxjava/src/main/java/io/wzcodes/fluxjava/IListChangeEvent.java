@@ -0,0 +1,27 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava;
+
+/**
+ * A data change event tells the whole list of store is changed.
+ * When the changes are coalesced by {@link FluxStore}, it covers every item change
+ * emitted in the same window, so the item changes are dropped.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+public interface IListChangeEvent extends FluxContext.StoreChangeEvent {
+}
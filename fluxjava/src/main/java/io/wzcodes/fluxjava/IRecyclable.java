@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava;
+
+/**
+ * An object can be reused after everyone holds it releases it.
+ * The creator holds the first reference. Anyone keeps it after a callback returns,
+ * or handles it in another thread, has to call {@link IRecyclable#retain()} first
+ * and {@link IRecyclable#release()} when done.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+public interface IRecyclable {
+
+    /**
+     * Add a reference to keep the object from being recycled.
+     *
+     * @since 2026/10/17
+     */
+    void retain();
+
+    /**
+     * Remove a reference. The object is recycled when no one holds it.
+     *
+     * @since 2026/10/17
+     */
+    void release();
+
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava;
+
+/**
+ * An action or event that carries the identity of trace it belongs to.
+ * {@link ActionCreator} sets it to the actions when {@link FluxTracer} is on,
+ * and {@link FluxStore} sets it to the change events emitted while handling the action.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+public interface ITraceable {
+
+    /**
+     * Get the identity of trace.
+     *
+     * @return The identity of trace, 0 if it's not traced.
+     * @since 2026/10/17
+     */
+    long getTraceId();
+
+    /**
+     * Set the identity of trace.
+     *
+     * @param inTraceId The identity of trace.
+     * @since 2026/10/17
+     */
+    void setTraceId(long inTraceId);
+
+}
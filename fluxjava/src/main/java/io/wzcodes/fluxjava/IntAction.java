@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava;
+
+/**
+ * The Action class with an int type and int data.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+public abstract class IntAction extends PrimitiveAction {
+
+    private final int mData;
+
+    /**
+     * Create the instances of a {@link IntAction} class without reflection,
+     * register it by {@link ActionRegistry#registerInt(int, IntAction.Factory)}.
+     */
+    public interface Factory {
+
+        /**
+         * Create a new instance of Action.
+         *
+         * @param inType The type of action.
+         * @param inData The data of action.
+         * @return The instance of Action.
+         * @since 2026/10/17
+         */
+        IntAction create(int inType, int inData);
+
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param inType The type of action.
+     * @param inData The data of action.
+     * @since 2026/10/17
+     */
+    protected IntAction(final int inType, final int inData) {
+        super(inType);
+        this.mData = inData;
+    }
+
+    /**
+     * Get the data of action.
+     *
+     * @return The data of action.
+     * @since 2026/10/17
+     */
+    public int getData() {
+        return this.mData;
+    }
+
+}
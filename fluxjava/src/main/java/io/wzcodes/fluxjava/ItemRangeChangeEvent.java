@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava;
+
+/**
+ * The items in a range of positions are changed in place.
+ * It is emitted by {@link FluxStore} when the {@link IItemChangeEvent} of adjacent items
+ * are coalesced.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+public class ItemRangeChangeEvent implements FluxContext.StoreChangeEvent, ITraceable {
+
+    private final IFluxStore<?> mStore;
+    private final int mPositionStart;
+    private final int mItemCount;
+    private long mTraceId;
+
+    /**
+     * Constructor.
+     *
+     * @param inStore The store emits this event.
+     * @param inPositionStart The position of the first changed item.
+     * @param inItemCount The number of changed items.
+     * @since 2026/10/17
+     */
+    public ItemRangeChangeEvent(final IFluxStore<?> inStore, final int inPositionStart, final int inItemCount) {
+        this.mStore = inStore;
+        this.mPositionStart = inPositionStart;
+        this.mItemCount = inItemCount;
+    }
+
+    /**
+     * Get the store emits this event. It can be used to filter events when stores share a bus.
+     *
+     * @return The instance of store.
+     * @since 2026/10/17
+     */
+    public IFluxStore<?> getStore() {
+        return this.mStore;
+    }
+
+    /**
+     * Get the position of the first changed item.
+     *
+     * @return The position in store.
+     * @since 2026/10/17
+     */
+    public int getPositionStart() {
+        return this.mPositionStart;
+    }
+
+    /**
+     * Get the number of changed items.
+     *
+     * @return The number of items.
+     * @since 2026/10/17
+     */
+    public int getItemCount() {
+        return this.mItemCount;
+    }
+
+    /**
+     * @since 2026/10/17
+     */
+    @Override
+    public boolean equals(final Object inObject) {
+        boolean result = false;
+
+        if (this == inObject) {
+            result = true;
+        } else if (inObject instanceof ItemRangeChangeEvent) {
+            final ItemRangeChangeEvent other = (ItemRangeChangeEvent)inObject;
+
+            result = this.mStore == other.mStore
+                    && this.mPositionStart == other.mPositionStart
+                    && this.mItemCount == other.mItemCount;
+        }
+
+        return result;
+    }
+
+    /**
+     * @since 2026/10/17
+     */
+    @Override
+    public int hashCode() {
+        return (System.identityHashCode(this.mStore) * 31 + this.mPositionStart) * 31 + this.mItemCount;
+    }
+
+    /**
+     * @since 2026/10/17
+     */
+    @Override
+    public String toString() {
+        return "ItemRangeChangeEvent{start=" + this.mPositionStart + ", count=" + this.mItemCount + "}";
+    }
+
+    /**
+     * @since 2026/10/17
+     */
+    @Override
+    public long getTraceId() {
+        return this.mTraceId;
+    }
+
+    /**
+     * @since 2026/10/17
+     */
+    @Override
+    public void setTraceId(final long inTraceId) {
+        this.mTraceId = inTraceId;
+    }
+
+}
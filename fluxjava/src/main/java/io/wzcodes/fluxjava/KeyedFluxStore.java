@@ -0,0 +1,278 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A store keeps the entities in insertion order with a hash index on the key of entity,
+ * so {@link KeyedFluxStore#getItem(int)} and {@link KeyedFluxStore#findItem(Object)} don't scan the list.
+ * The subclass tells the key of entity by {@link KeyedFluxStore#getKey(Object)}, the keys must be unique
+ * and must not change while the entity is in store.<br />
+ * Update the entities by {@link KeyedFluxStore#setItems(Collection)}, {@link KeyedFluxStore#mergeItems(Collection)}
+ * and {@link KeyedFluxStore#removeItems(Collection)} in the handler of action, they emit the change events
+ * created by the subclass.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+public abstract class KeyedFluxStore<TKey, TEntity> extends FluxStore<TEntity> {
+
+    private final Object mLock = new Object();
+    // Both only accessed with lock
+    private final List<TEntity> mList = new ArrayList<>();
+    private final Map<TKey, Integer> mIndex = new HashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param inBus The instance of {@link IFluxBus}.
+     * @since 2026/10/17
+     */
+    protected KeyedFluxStore(final IFluxBus inBus) {
+        super(inBus);
+    }
+
+    /**
+     * @since 2026/10/17
+     */
+    @Override
+    public TEntity getItem(final int inIndex) {
+        synchronized (this.mLock) {
+            return this.mList.get(inIndex);
+        }
+    }
+
+    /**
+     * Find the entity by the key of it.
+     *
+     * @since 2026/10/17
+     */
+    @Override
+    public int findItem(final TEntity inEntity) {
+        if (inEntity == null) {
+            throw new IllegalArgumentException("Entity can't be null.");
+        }
+
+        return this.findKey(this.getKey(inEntity));
+    }
+
+    /**
+     * Get the index of entity by key.
+     *
+     * @param inKey The key of entity.
+     * @return If the key exists then return index, or return -1.
+     * @since 2026/10/17
+     */
+    public int findKey(final TKey inKey) {
+        final Integer result;
+
+        synchronized (this.mLock) {
+            result = this.mIndex.get(inKey);
+        }
+
+        return result != null ? result : -1;
+    }
+
+    /**
+     * @since 2026/10/17
+     */
+    @Override
+    public int getCount() {
+        synchronized (this.mLock) {
+            return this.mList.size();
+        }
+    }
+
+    /**
+     * Replace all the entities and emit the event of whole list.
+     * The later one wins if there are entities with the same key.
+     *
+     * @param inEntities The new entities.
+     * @since 2026/10/17
+     */
+    protected void setItems(final Collection<? extends TEntity> inEntities) {
+        this.checkItems(inEntities);
+        synchronized (this.mLock) {
+            this.mList.clear();
+            this.mIndex.clear();
+            this.upsert(inEntities, null);
+        }
+        super.emitChange(this.createListChangeEvent());
+    }
+
+    /**
+     * Update the entities with the same key in place and append the others.
+     * When there are new entities, the event of whole list is emitted. Otherwise the event
+     * of each changed position is emitted in order, and the entities equal to the existing ones
+     * are skipped. The events are coalesced together if {@link FluxStore#isCoalesceChanges()} is true.
+     *
+     * @param inEntities The entities to merge.
+     * @since 2026/10/17
+     */
+    protected void mergeItems(final Collection<? extends TEntity> inEntities) {
+        final boolean[] changed;
+        final boolean isAppended;
+
+        this.checkItems(inEntities);
+        synchronized (this.mLock) {
+            final int count = this.mList.size();
+
+            changed = new boolean[count];
+            this.upsert(inEntities, changed);
+            isAppended = this.mList.size() > count;
+        }
+
+        if (isAppended) {
+            super.emitChange(this.createListChangeEvent());
+        } else {
+            super.beginChanges();
+            try {
+                for (int i = 0; i < changed.length; i++) {
+                    if (changed[i]) {
+                        super.emitChange(this.createItemChangeEvent(i));
+                    }
+                }
+            } finally {
+                super.endChanges();
+            }
+        }
+    }
+
+    /**
+     * Remove the entities by key and emit the event of whole list if any is removed.
+     * The positions of entities after the removed ones are updated in one pass.
+     *
+     * @param inKeys The keys of entities to remove.
+     * @since 2026/10/17
+     */
+    protected void removeItems(final Collection<? extends TKey> inKeys) {
+        boolean isRemoved = false;
+
+        if (inKeys == null) {
+            throw new IllegalArgumentException("Keys are missing.");
+        }
+        synchronized (this.mLock) {
+            final Set<TKey> keys = new HashSet<>(inKeys);
+            int first = this.mList.size();
+
+            for (TKey key : keys) {
+                final Integer position = this.mIndex.remove(key);
+
+                if (position != null && position < first) {
+                    first = position;
+                }
+            }
+            if (first < this.mList.size()) {
+                int next = first;
+
+                for (int i = first; i < this.mList.size(); i++) {
+                    final TEntity entity = this.mList.get(i);
+                    final TKey key = this.getKey(entity);
+
+                    if (keys.contains(key) == false) {
+                        this.mList.set(next, entity);
+                        this.mIndex.put(key, next);
+                        next++;
+                    }
+                }
+                this.mList.subList(next, this.mList.size()).clear();
+                isRemoved = true;
+            }
+        }
+
+        if (isRemoved) {
+            super.emitChange(this.createListChangeEvent());
+        }
+    }
+
+    /**
+     * Get the key of entity. It's called often, don't create a new object for the key if possible.
+     *
+     * @param inEntity The entity in store.
+     * @return The key of entity, can't be null.
+     * @since 2026/10/17
+     */
+    protected abstract TKey getKey(final TEntity inEntity);
+
+    /**
+     * Create the event emitted when the whole list is changed.
+     *
+     * @return The change event, usually an {@link IListChangeEvent}.
+     * @since 2026/10/17
+     */
+    protected abstract FluxContext.StoreChangeEvent createListChangeEvent();
+
+    /**
+     * Create the event emitted when an entity is updated in place.
+     *
+     * @param inPosition The position of entity.
+     * @return The change event, usually an {@link IItemChangeEvent} to let adjacent ones be coalesced.
+     * @since 2026/10/17
+     */
+    protected abstract FluxContext.StoreChangeEvent createItemChangeEvent(final int inPosition);
+
+    /**
+     * Update or append the entities. Must be called with lock.
+     *
+     * @param inEntities The entities to put.
+     * @param inChanged Mark the positions of updated entities, can be null.
+     * @since 2026/10/17
+     */
+    private void upsert(final Collection<? extends TEntity> inEntities, final boolean[] inChanged) {
+        for (TEntity entity : inEntities) {
+            final TKey key = this.getKey(entity);
+            final Integer position = this.mIndex.get(key);
+
+            if (position == null) {
+                this.mIndex.put(key, this.mList.size());
+                this.mList.add(entity);
+            } else if (entity.equals(this.mList.get(position)) == false) {
+                this.mList.set(position, entity);
+                if (inChanged != null && position < inChanged.length) {
+                    inChanged[position] = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Check the entities and their keys before any of them is put into store.
+     *
+     * @param inEntities The entities to put.
+     * @since 2026/10/17
+     */
+    private void checkItems(final Collection<? extends TEntity> inEntities) {
+        if (inEntities == null) {
+            throw new IllegalArgumentException("Entities are missing.");
+        }
+        for (TEntity entity : inEntities) {
+            if (entity == null) {
+                throw new IllegalArgumentException("Entity can't be null.");
+            }
+            if (this.getKey(entity) == null) {
+                throw new IllegalArgumentException("Key can't be null.");
+            }
+        }
+    }
+
+}
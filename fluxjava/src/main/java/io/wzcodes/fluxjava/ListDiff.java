@@ -0,0 +1,541 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Calculate the changes to turn an old list into a new one.
+ * The items kept in place are found by the linear space Myers algorithm on the keys of items,
+ * then the removed and inserted items with the same key are paired as moves.
+ * The changes are applied in order, removes first, then inserts and moves,
+ * at last the changes of content in the positions of new list.
+ * It takes O((N + M) * D) time, where D is the number of removed and inserted items,
+ * so it should be run in the thread of store instead of the main thread.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+public final class ListDiff {
+
+    /**
+     * Compare the items of old and new list.
+     */
+    public interface Callback<T> {
+        /**
+         * Get the identity of item. The items with equal keys are the same item,
+         * the keys should be unique in a list.
+         */
+        Object getKey(T inItem);
+
+        /**
+         * Check if the same item is changed, only called when keys are equal.
+         */
+        boolean isSameContent(T inOldItem, T inNewItem);
+    }
+
+    /**
+     * A change of list.
+     */
+    public static final class Change {
+
+        public enum Type {
+            INSERT, REMOVE, MOVE, CHANGE
+        }
+
+        private final Type mType;
+        private final int mPosition;
+        private final int mToPosition;
+        private int mCount;
+
+        /**
+         * Constructor.
+         *
+         * @param inType The type of change.
+         * @param inPosition The position of the first item.
+         * @param inCount The number of items.
+         * @param inToPosition The position moved to, only for {@link Type#MOVE}.
+         * @since 2026/10/17
+         */
+        public Change(final Type inType, final int inPosition, final int inCount, final int inToPosition) {
+            if (inType == null) {
+                throw new IllegalArgumentException("Type can't be null.");
+            }
+
+            this.mType = inType;
+            this.mPosition = inPosition;
+            this.mCount = inCount;
+            this.mToPosition = inToPosition;
+        }
+
+        /**
+         * @return The type of change.
+         * @since 2026/10/17
+         */
+        public Type getType() {
+            return this.mType;
+        }
+
+        /**
+         * Get the position of the first item when the change is applied.
+         *
+         * @return The position in list.
+         * @since 2026/10/17
+         */
+        public int getPosition() {
+            return this.mPosition;
+        }
+
+        /**
+         * @return The number of items, always 1 for {@link Type#MOVE}.
+         * @since 2026/10/17
+         */
+        public int getCount() {
+            return this.mCount;
+        }
+
+        /**
+         * Get the position of the moved item after the change is applied.
+         *
+         * @return The position in list, -1 if it's not {@link Type#MOVE}.
+         * @since 2026/10/17
+         */
+        public int getToPosition() {
+            return this.mToPosition;
+        }
+
+        /**
+         * @since 2026/10/17
+         */
+        @Override
+        public boolean equals(final Object inObject) {
+            boolean result = false;
+
+            if (this == inObject) {
+                result = true;
+            } else if (inObject instanceof Change) {
+                final Change other = (Change)inObject;
+
+                result = this.mType == other.mType
+                        && this.mPosition == other.mPosition
+                        && this.mCount == other.mCount
+                        && this.mToPosition == other.mToPosition;
+            }
+
+            return result;
+        }
+
+        /**
+         * @since 2026/10/17
+         */
+        @Override
+        public int hashCode() {
+            return ((this.mType.hashCode() * 31 + this.mPosition) * 31 + this.mCount) * 31 + this.mToPosition;
+        }
+
+        /**
+         * @since 2026/10/17
+         */
+        @Override
+        public String toString() {
+            return this.mType == Type.MOVE
+                    ? "MOVE{from=" + this.mPosition + ", to=" + this.mToPosition + "}"
+                    : this.mType + "{start=" + this.mPosition + ", count=" + this.mCount + "}";
+        }
+
+    }
+
+    /**
+     * Only static methods.
+     */
+    private ListDiff() {}
+
+    /**
+     * Calculate the changes from old list to new list.
+     *
+     * @param inOldList The old list.
+     * @param inNewList The new list.
+     * @param inCallback The callback to compare items.
+     * @return The changes to be applied in order, empty if lists are the same.
+     * @since 2026/10/17
+     */
+    public static <T> List<Change> calculate(final List<? extends T> inOldList, final List<? extends T> inNewList,
+                                             final Callback<? super T> inCallback) {
+        if (inOldList == null || inNewList == null) {
+            throw new IllegalArgumentException("List can't be null.");
+        }
+        if (inCallback == null) {
+            throw new IllegalArgumentException("Callback is missing.");
+        }
+
+        final Object[] oldKeys = ListDiff.getKeys(inOldList, inCallback);
+        final Object[] newKeys = ListDiff.getKeys(inNewList, inCallback);
+        final int[] oldToNew = new int[oldKeys.length];
+        final int[] newToOld = new int[newKeys.length];
+        final boolean[] moved = new boolean[oldKeys.length];
+        final List<Change> result = new ArrayList<>();
+
+        ListDiff.match(oldKeys, newKeys, oldToNew, newToOld);
+        ListDiff.pairMoves(oldKeys, newKeys, oldToNew, newToOld, moved);
+        ListDiff.addRemoves(oldToNew, result);
+        ListDiff.addInsertsAndMoves(oldToNew, newToOld, moved, result);
+
+        for (int i = 0; i < newToOld.length; i++) {
+            if (newToOld[i] >= 0
+                    && inCallback.isSameContent(inOldList.get(newToOld[i]), inNewList.get(i)) == false) {
+                ListDiff.addRange(result, Change.Type.CHANGE, i);
+            }
+        }
+
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Get the keys of items.
+     *
+     * @param inList The list of items.
+     * @param inCallback The callback to get key.
+     * @return The keys in order.
+     * @since 2026/10/17
+     */
+    private static <T> Object[] getKeys(final List<? extends T> inList, final Callback<? super T> inCallback) {
+        final Object[] result = new Object[inList.size()];
+
+        for (int i = 0; i < result.length; i++) {
+            result[i] = inCallback.getKey(inList.get(i));
+            if (result[i] == null) {
+                throw new IllegalArgumentException("Key of item can't be null.");
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Find the longest common subsequence of keys. The ranges are divided by the middle snake
+     * and kept in a stack instead of recursion.
+     *
+     * @param inOldKeys The keys of old list.
+     * @param inNewKeys The keys of new list.
+     * @param inOldToNew The position in new list of each old item, -1 if not matched.
+     * @param inNewToOld The position in old list of each new item, -1 if not matched.
+     * @since 2026/10/17
+     */
+    private static void match(final Object[] inOldKeys, final Object[] inNewKeys,
+                              final int[] inOldToNew, final int[] inNewToOld) {
+        final int offset = inOldKeys.length + inNewKeys.length + 1;
+        final int[] forward = new int[offset * 2 + 1];
+        final int[] backward = new int[offset * 2 + 1];
+        final Deque<int[]> ranges = new ArrayDeque<>();
+
+        Arrays.fill(inOldToNew, -1);
+        Arrays.fill(inNewToOld, -1);
+        ranges.push(new int[] {0, inOldKeys.length, 0, inNewKeys.length});
+        while (ranges.isEmpty() == false) {
+            final int[] range = ranges.pop();
+            int oldStart = range[0];
+            int oldEnd = range[1];
+            int newStart = range[2];
+            int newEnd = range[3];
+
+            // Common prefix and suffix, the rest has 2 changes at least if both are not empty
+            while (oldStart < oldEnd && newStart < newEnd && inOldKeys[oldStart].equals(inNewKeys[newStart])) {
+                inOldToNew[oldStart] = newStart;
+                inNewToOld[newStart] = oldStart;
+                oldStart++;
+                newStart++;
+            }
+            while (oldStart < oldEnd && newStart < newEnd && inOldKeys[oldEnd - 1].equals(inNewKeys[newEnd - 1])) {
+                oldEnd--;
+                newEnd--;
+                inOldToNew[oldEnd] = newEnd;
+                inNewToOld[newEnd] = oldEnd;
+            }
+            if (oldStart == oldEnd || newStart == newEnd) {
+                continue;
+            }
+
+            final int[] snake = ListDiff.findMiddleSnake(inOldKeys, inNewKeys,
+                    oldStart, oldEnd, newStart, newEnd, forward, backward, offset);
+
+            for (int x = snake[0], y = snake[1]; x < snake[2]; x++, y++) {
+                inOldToNew[x] = y;
+                inNewToOld[y] = x;
+            }
+            ranges.push(new int[] {oldStart, snake[0], newStart, snake[1]});
+            ranges.push(new int[] {snake[2], oldEnd, snake[3], newEnd});
+        }
+    }
+
+    /**
+     * Find the snake in the middle of the shortest edit path of a range.
+     * The forward and backward paths are extended by turns until they overlap.
+     *
+     * @return The start and end positions of snake, in the order of old start, new start, old end, new end.
+     * @since 2026/10/17
+     */
+    private static int[] findMiddleSnake(final Object[] inOldKeys, final Object[] inNewKeys,
+                                         final int inOldStart, final int inOldEnd,
+                                         final int inNewStart, final int inNewEnd,
+                                         final int[] inForward, final int[] inBackward, final int inOffset) {
+        final int oldSize = inOldEnd - inOldStart;
+        final int newSize = inNewEnd - inNewStart;
+        final int delta = oldSize - newSize;
+        final boolean odd = (delta & 1) != 0;
+
+        inForward[inOffset + 1] = 0;
+        inBackward[inOffset + 1] = 0;
+        for (int d = 0; d <= (oldSize + newSize + 1) / 2; d++) {
+            for (int k = -d; k <= d; k += 2) {
+                int x;
+
+                if (k == -d || (k != d && inForward[inOffset + k - 1] < inForward[inOffset + k + 1])) {
+                    x = inForward[inOffset + k + 1];
+                } else {
+                    x = inForward[inOffset + k - 1] + 1;
+                }
+
+                int y = x - k;
+                final int startX = x;
+                final int startY = y;
+
+                while (x < oldSize && y < newSize
+                        && inOldKeys[inOldStart + x].equals(inNewKeys[inNewStart + y])) {
+                    x++;
+                    y++;
+                }
+                inForward[inOffset + k] = x;
+                if (odd && k >= delta - d + 1 && k <= delta + d - 1
+                        && x >= oldSize - inBackward[inOffset + delta - k]) {
+                    return new int[] {inOldStart + startX, inNewStart + startY, inOldStart + x, inNewStart + y};
+                }
+            }
+            // The backward path is on the reversed lists, diagonal k is delta - k in forward
+            for (int k = -d; k <= d; k += 2) {
+                int x;
+
+                if (k == -d || (k != d && inBackward[inOffset + k - 1] < inBackward[inOffset + k + 1])) {
+                    x = inBackward[inOffset + k + 1];
+                } else {
+                    x = inBackward[inOffset + k - 1] + 1;
+                }
+
+                int y = x - k;
+                final int startX = x;
+                final int startY = y;
+
+                while (x < oldSize && y < newSize
+                        && inOldKeys[inOldEnd - x - 1].equals(inNewKeys[inNewEnd - y - 1])) {
+                    x++;
+                    y++;
+                }
+                inBackward[inOffset + k] = x;
+                if (odd == false && delta - k >= -d && delta - k <= d
+                        && oldSize - x <= inForward[inOffset + delta - k]) {
+                    return new int[] {inOldEnd - x, inNewEnd - y, inOldEnd - startX, inNewEnd - startY};
+                }
+            }
+        }
+
+        throw new IllegalStateException("Middle snake is not found.");
+    }
+
+    /**
+     * Pair the removed and inserted items with the same key as moved items.
+     *
+     * @param inMoved Set true for the old items are moved.
+     * @since 2026/10/17
+     */
+    private static void pairMoves(final Object[] inOldKeys, final Object[] inNewKeys,
+                                  final int[] inOldToNew, final int[] inNewToOld, final boolean[] inMoved) {
+        final Map<Object, Integer> inserted = new HashMap<>();
+
+        for (int i = inNewKeys.length - 1; i >= 0; i--) {
+            if (inNewToOld[i] < 0) {
+                // The first one is kept for duplicated keys
+                inserted.put(inNewKeys[i], i);
+            }
+        }
+        if (inserted.isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < inOldKeys.length; i++) {
+            if (inOldToNew[i] < 0) {
+                final Integer position = inserted.remove(inOldKeys[i]);
+
+                if (position != null) {
+                    inOldToNew[i] = position;
+                    inNewToOld[position] = i;
+                    inMoved[i] = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Add the removed items from the end, so the positions are the same as in old list.
+     *
+     * @since 2026/10/17
+     */
+    private static void addRemoves(final int[] inOldToNew, final List<Change> inChanges) {
+        int end = inOldToNew.length;
+
+        while (end > 0) {
+            if (inOldToNew[end - 1] >= 0) {
+                end--;
+            } else {
+                int start = end - 1;
+
+                while (start > 0 && inOldToNew[start - 1] < 0) {
+                    start--;
+                }
+                inChanges.add(new Change(Change.Type.REMOVE, start, end - start, -1));
+                end = start;
+            }
+        }
+    }
+
+    /**
+     * Add the inserted and moved items in the order of new list.
+     * Every item has a slot in the order of final list, the kept items stay in their slots and
+     * the others are put before the next kept item. So the position of an item is the number of
+     * filled slots before it, counted by a binary indexed tree.
+     *
+     * @since 2026/10/17
+     */
+    private static void addInsertsAndMoves(final int[] inOldToNew, final int[] inNewToOld,
+                                           final boolean[] inMoved, final List<Change> inChanges) {
+        // The index of old items left after removes
+        final int[] leftIndex = new int[inOldToNew.length];
+        int leftCount = 0;
+
+        for (int i = 0; i < inOldToNew.length; i++) {
+            leftIndex[i] = leftCount;
+            if (inOldToNew[i] >= 0) {
+                leftCount++;
+            }
+        }
+
+        // The left item which the inserted or moved item is put before, leftCount for the end
+        final int[] anchor = new int[inNewToOld.length];
+        final int[] slotStart = new int[leftCount + 2];
+        int next = leftCount;
+        int placedCount = 0;
+
+        for (int i = inNewToOld.length - 1; i >= 0; i--) {
+            final int oldPosition = inNewToOld[i];
+
+            if (oldPosition >= 0 && inMoved[oldPosition] == false) {
+                next = leftIndex[oldPosition];
+                anchor[i] = -1;
+            } else {
+                anchor[i] = next;
+                slotStart[next + 1]++;
+                placedCount++;
+            }
+        }
+        if (placedCount == 0) {
+            return;
+        }
+        // Slots of anchor n: the items put before it, then itself
+        for (int i = 0; i <= leftCount; i++) {
+            slotStart[i + 1] += slotStart[i] + 1;
+        }
+
+        final int[] tree = new int[leftCount + placedCount + 1];
+        final int[] leftSlot = new int[leftCount];
+        final int[] nextSlot = new int[leftCount + 1];
+
+        for (int i = 0; i < leftCount; i++) {
+            leftSlot[i] = slotStart[i + 1] - 1;
+            ListDiff.update(tree, leftSlot[i], 1);
+        }
+        System.arraycopy(slotStart, 0, nextSlot, 0, leftCount + 1);
+        for (int i = 0; i < inNewToOld.length; i++) {
+            if (anchor[i] >= 0) {
+                final int slot = nextSlot[anchor[i]]++;
+
+                if (inNewToOld[i] < 0) {
+                    final int position = ListDiff.count(tree, slot);
+
+                    ListDiff.update(tree, slot, 1);
+                    ListDiff.addRange(inChanges, Change.Type.INSERT, position);
+                } else {
+                    final int from = leftSlot[leftIndex[inNewToOld[i]]];
+                    final int fromPosition = ListDiff.count(tree, from);
+
+                    ListDiff.update(tree, from, -1);
+
+                    final int toPosition = ListDiff.count(tree, slot);
+
+                    ListDiff.update(tree, slot, 1);
+                    if (fromPosition != toPosition) {
+                        inChanges.add(new Change(Change.Type.MOVE, fromPosition, 1, toPosition));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Add a change of one item, merge it into the last change if they are adjacent.
+     *
+     * @since 2026/10/17
+     */
+    private static void addRange(final List<Change> inChanges, final Change.Type inType, final int inPosition) {
+        final Change last = inChanges.isEmpty() ? null : inChanges.get(inChanges.size() - 1);
+
+        if (last != null && last.mType == inType && last.mPosition + last.mCount == inPosition) {
+            last.mCount++;
+        } else {
+            inChanges.add(new Change(inType, inPosition, 1, -1));
+        }
+    }
+
+    /**
+     * Add value to a slot of binary indexed tree.
+     *
+     * @since 2026/10/17
+     */
+    private static void update(final int[] inTree, final int inSlot, final int inValue) {
+        for (int i = inSlot + 1; i < inTree.length; i += i & -i) {
+            inTree[i] += inValue;
+        }
+    }
+
+    /**
+     * Get the sum of slots before a slot of binary indexed tree.
+     *
+     * @since 2026/10/17
+     */
+    private static int count(final int[] inTree, final int inSlot) {
+        int result = 0;
+
+        for (int i = inSlot; i > 0; i -= i & -i) {
+            result += inTree[i];
+        }
+
+        return result;
+    }
+
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava;
+
+import java.util.List;
+
+/**
+ * The list in store is changed by the ranges of inserted, removed, moved and changed items.
+ * The changes are calculated by {@link ListDiff} before the event is emitted,
+ * so the views only apply them in order instead of refreshing the whole list.
+ * The item changes emitted before it are sent before it when coalesced.<br />
+ * The event emitted by {@link SnapshotFluxStore} carries the version the changes are applied to
+ * and the version after, a view keeps the version it has applied and reads the items from it.
+ * The events emitted from different threads may arrive out of order, apply the changes
+ * only if {@link ListDiffEvent#getBase()} is the version the view shows, otherwise reload
+ * the current version of store.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+public class ListDiffEvent<TEntity> implements FluxContext.StoreChangeEvent, ITraceable {
+
+    private final IFluxStore<?> mStore;
+    private final PersistentVector<TEntity> mBase;
+    private final PersistentVector<TEntity> mSnapshot;
+    private final List<ListDiff.Change> mChanges;
+    private long mTraceId;
+
+    /**
+     * Constructor.
+     *
+     * @param inStore The store emits this event.
+     * @param inChanges The changes calculated by {@link ListDiff}.
+     * @since 2026/10/17
+     */
+    public ListDiffEvent(final IFluxStore<?> inStore, final List<ListDiff.Change> inChanges) {
+        this(inStore, null, null, inChanges);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param inStore The store emits this event.
+     * @param inBase The version the changes are applied to.
+     * @param inSnapshot The version after the changes are applied.
+     * @param inChanges The changes calculated by {@link ListDiff}.
+     * @since 2026/10/17
+     */
+    public ListDiffEvent(final IFluxStore<?> inStore, final PersistentVector<TEntity> inBase,
+                         final PersistentVector<TEntity> inSnapshot, final List<ListDiff.Change> inChanges) {
+        if (inChanges == null) {
+            throw new IllegalArgumentException("Changes can't be null.");
+        }
+
+        this.mStore = inStore;
+        this.mBase = inBase;
+        this.mSnapshot = inSnapshot;
+        this.mChanges = inChanges;
+    }
+
+    /**
+     * Get the store emits this event. It can be used to filter events when stores share a bus.
+     *
+     * @return The instance of store.
+     * @since 2026/10/17
+     */
+    public IFluxStore<?> getStore() {
+        return this.mStore;
+    }
+
+    /**
+     * Get the version the changes are applied to.
+     *
+     * @return The version before, or null if the event is not emitted with versions.
+     * @since 2026/10/17
+     */
+    public PersistentVector<TEntity> getBase() {
+        return this.mBase;
+    }
+
+    /**
+     * Get the version after the changes are applied. It's never changed after emitted.
+     *
+     * @return The version after, or null if the event is not emitted with versions.
+     * @since 2026/10/17
+     */
+    public PersistentVector<TEntity> getSnapshot() {
+        return this.mSnapshot;
+    }
+
+    /**
+     * Get the changes to be applied in order.
+     *
+     * @return The list of changes.
+     * @since 2026/10/17
+     */
+    public List<ListDiff.Change> getChanges() {
+        return this.mChanges;
+    }
+
+    /**
+     * @since 2026/10/17
+     */
+    @Override
+    public String toString() {
+        return "ListDiffEvent" + this.mChanges;
+    }
+
+    /**
+     * @since 2026/10/17
+     */
+    @Override
+    public long getTraceId() {
+        return this.mTraceId;
+    }
+
+    /**
+     * @since 2026/10/17
+     */
+    @Override
+    public void setTraceId(final long inTraceId) {
+        this.mTraceId = inTraceId;
+    }
+
+}
@@ -0,0 +1,415 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * An implementation of {@link IFluxMetrics} keeps a {@link Histogram} of latency
+ * for each type of action or event in each stage, and the last and maximum depth of each queue.
+ * Recording does not lock and does not allocate after the first time a type or a queue is seen.
+ * The queues are kept by weak references, so the stores are not held after released.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+public class MetricsRecorder implements IFluxMetrics {
+
+    private final Map<Stage, ConcurrentMap<Object, Histogram>> mHistograms = new EnumMap<>(Stage.class);
+    private final ConcurrentMap<Object, QueueDepth> mQueueDepths = new ConcurrentHashMap<>();
+    // The keys of released owners to be removed
+    private final ReferenceQueue<Object> mReleasedOwners = new ReferenceQueue<>();
+    // Reused to find the depth of an owner without creating a key
+    private final ThreadLocal<LookupKey> mLookupKey = new ThreadLocal<LookupKey>() {
+        @Override
+        protected LookupKey initialValue() {
+            return new LookupKey();
+        }
+    };
+
+    /**
+     * The latency recorded in buckets of powers of two, the percentiles are accurate to a factor of two.
+     */
+    public static final class Histogram {
+        private static final int BUCKET_COUNT = 64;
+
+        private final AtomicLongArray mBuckets = new AtomicLongArray(Histogram.BUCKET_COUNT);
+        private final AtomicLong mCount = new AtomicLong();
+        private final AtomicLong mTotal = new AtomicLong();
+        private final AtomicLong mMax = new AtomicLong();
+
+        /**
+         * Constructor.
+         *
+         * @since 2026/10/17
+         */
+        Histogram() {
+            // Do nothing
+        }
+
+        /**
+         * Add a value to histogram.
+         *
+         * @param inNanos The time in nanoseconds.
+         * @since 2026/10/17
+         */
+        void record(final long inNanos) {
+            final long nanos = Math.max(inNanos, 0);
+            long max = this.mMax.get();
+
+            // Bucket i keeps the values from 2^(i-1) to 2^i - 1
+            this.mBuckets.incrementAndGet(Histogram.BUCKET_COUNT - Long.numberOfLeadingZeros(nanos));
+            this.mCount.incrementAndGet();
+            this.mTotal.addAndGet(nanos);
+            while (nanos > max && this.mMax.compareAndSet(max, nanos) == false) {
+                max = this.mMax.get();
+            }
+        }
+
+        /**
+         * @return The number of values recorded.
+         * @since 2026/10/17
+         */
+        public long getCount() {
+            return this.mCount.get();
+        }
+
+        /**
+         * @return The sum of values in nanoseconds.
+         * @since 2026/10/17
+         */
+        public long getTotalNanos() {
+            return this.mTotal.get();
+        }
+
+        /**
+         * @return The maximum value in nanoseconds.
+         * @since 2026/10/17
+         */
+        public long getMaxNanos() {
+            return this.mMax.get();
+        }
+
+        /**
+         * @return The average of values in nanoseconds, or 0 if nothing is recorded.
+         * @since 2026/10/17
+         */
+        public double getMeanNanos() {
+            final long count = this.mCount.get();
+
+            return count > 0 ? (double)this.mTotal.get() / count : 0;
+        }
+
+        /**
+         * Get the value that the given fraction of recorded values are less than or equal to.
+         * It is the upper bound of the bucket, but never larger than the maximum.
+         *
+         * @param inPercentile The fraction, like 0.99 for p99.
+         * @return The time in nanoseconds, or 0 if nothing is recorded.
+         * @since 2026/10/17
+         */
+        public long getPercentileNanos(final double inPercentile) {
+            if (inPercentile <= 0 || inPercentile > 1) {
+                throw new IllegalArgumentException("Percentile must be in (0, 1].");
+            }
+
+            final long rank = (long)Math.ceil(this.mCount.get() * inPercentile);
+            long count = 0;
+            long result = 0;
+
+            for (int i = 0; i < Histogram.BUCKET_COUNT && rank > 0; i++) {
+                count += this.mBuckets.get(i);
+                if (count >= rank) {
+                    result = i == 0 ? 0 : Math.min((1L << i) - 1, this.mMax.get());
+                    break;
+                }
+            }
+
+            return result;
+        }
+    }
+
+    /**
+     * The last and maximum depth of a queue.
+     */
+    private static final class QueueDepth {
+        private final AtomicInteger mLast = new AtomicInteger();
+        private final AtomicInteger mMax = new AtomicInteger();
+
+        /**
+         * Keep the depth reported.
+         *
+         * @param inDepth The number of items in queue.
+         * @since 2026/10/17
+         */
+        void record(final int inDepth) {
+            int max = this.mMax.get();
+
+            this.mLast.set(inDepth);
+            while (inDepth > max && this.mMax.compareAndSet(max, inDepth) == false) {
+                max = this.mMax.get();
+            }
+        }
+    }
+
+    /**
+     * The key of queue that does not hold the owner, compared by identity of owner.
+     */
+    private static final class OwnerKey extends WeakReference<Object> {
+        private final int mHash;
+
+        /**
+         * Constructor.
+         *
+         * @param inOwner The bus or store owns the queue.
+         * @param inQueue The queue to receive the key after the owner is released.
+         * @since 2026/10/17
+         */
+        OwnerKey(final Object inOwner, final ReferenceQueue<Object> inQueue) {
+            super(inOwner, inQueue);
+            this.mHash = System.identityHashCode(inOwner);
+        }
+
+        /**
+         * @since 2026/10/17
+         */
+        @Override
+        public int hashCode() {
+            return this.mHash;
+        }
+
+        /**
+         * @since 2026/10/17
+         */
+        @Override
+        public boolean equals(final Object inObject) {
+            boolean result = inObject == this;
+
+            if (result == false && inObject instanceof OwnerKey) {
+                final Object owner = super.get();
+
+                result = owner != null && owner == ((OwnerKey)inObject).get();
+            } else if (result == false && inObject instanceof LookupKey) {
+                result = ((LookupKey)inObject).equals(this);
+            }
+
+            return result;
+        }
+    }
+
+    /**
+     * The key to find the depth of an owner, it's only passed to the lookups and never kept in map.
+     */
+    private static final class LookupKey {
+        private Object mOwner;
+
+        /**
+         * @since 2026/10/17
+         */
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this.mOwner);
+        }
+
+        /**
+         * @since 2026/10/17
+         */
+        @Override
+        public boolean equals(final Object inObject) {
+            return inObject instanceof OwnerKey && ((OwnerKey)inObject).get() == this.mOwner;
+        }
+    }
+
+    /**
+     * Constructor.
+     *
+     * @since 2026/10/17
+     */
+    public MetricsRecorder() {
+        for (Stage stage : Stage.values()) {
+            this.mHistograms.put(stage, new ConcurrentHashMap<Object, Histogram>());
+        }
+    }
+
+    /**
+     * @since 2026/10/17
+     */
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Nothing is kept at the start, the time is recorded when the stage ends.
+     *
+     * @since 2026/10/17
+     */
+    @Override
+    public Object onStageBegin(final Stage inStage, final Object inOwner, final Object inType) {
+        return null;
+    }
+
+    /**
+     * @since 2026/10/17
+     */
+    @Override
+    public void onStage(final Stage inStage, final Object inOwner, final Object inType, final long inNanos,
+                        final Object inBegin) {
+        if (inStage != null && inType != null) {
+            final ConcurrentMap<Object, Histogram> histograms = this.mHistograms.get(inStage);
+            Histogram histogram = histograms.get(inType);
+
+            if (histogram == null) {
+                final Histogram newHistogram = new Histogram();
+
+                histogram = histograms.putIfAbsent(inType, newHistogram);
+                if (histogram == null) {
+                    histogram = newHistogram;
+                }
+            }
+            histogram.record(inNanos);
+        }
+    }
+
+    /**
+     * @since 2026/10/17
+     */
+    @Override
+    public void onQueueDepth(final Object inOwner, final int inDepth) {
+        if (inOwner != null) {
+            QueueDepth depth = this.findQueueDepth(inOwner);
+
+            if (depth == null) {
+                final QueueDepth newDepth = new QueueDepth();
+
+                this.removeReleasedOwners();
+                depth = this.mQueueDepths.putIfAbsent(new OwnerKey(inOwner, this.mReleasedOwners), newDepth);
+                if (depth == null) {
+                    depth = newDepth;
+                }
+            }
+            depth.record(inDepth);
+        }
+    }
+
+    /**
+     * Get the histogram of a type in a stage.
+     *
+     * @param inStage The stage.
+     * @param inType The type of action or event.
+     * @return The instance of {@link Histogram}, or null if nothing is recorded.
+     * @since 2026/10/17
+     */
+    public Histogram getHistogram(final Stage inStage, final Object inType) {
+        return inType != null ? this.mHistograms.get(inStage).get(inType) : null;
+    }
+
+    /**
+     * Get the types have been recorded in a stage.
+     *
+     * @param inStage The stage.
+     * @return A copy of types.
+     * @since 2026/10/17
+     */
+    public Set<Object> getTypes(final Stage inStage) {
+        return Collections.unmodifiableSet(new HashSet<>(this.mHistograms.get(inStage).keySet()));
+    }
+
+    /**
+     * Get the depth of a queue last reported.
+     *
+     * @param inOwner The bus or store owns the queue.
+     * @return The depth, 0 if nothing is reported.
+     * @since 2026/10/17
+     */
+    public int getQueueDepth(final Object inOwner) {
+        final QueueDepth depth = inOwner != null ? this.findQueueDepth(inOwner) : null;
+
+        return depth != null ? depth.mLast.get() : 0;
+    }
+
+    /**
+     * Get the maximum depth of a queue reported.
+     *
+     * @param inOwner The bus or store owns the queue.
+     * @return The maximum depth, 0 if nothing is reported.
+     * @since 2026/10/17
+     */
+    public int getMaxQueueDepth(final Object inOwner) {
+        final QueueDepth depth = inOwner != null ? this.findQueueDepth(inOwner) : null;
+
+        return depth != null ? depth.mMax.get() : 0;
+    }
+
+    /**
+     * Clear everything recorded.
+     *
+     * @since 2026/10/17
+     */
+    public void reset() {
+        for (ConcurrentMap<Object, Histogram> histograms : this.mHistograms.values()) {
+            histograms.clear();
+        }
+        this.mQueueDepths.clear();
+    }
+
+    /**
+     * Find the depth of a queue.
+     *
+     * @param inOwner The bus or store owns the queue.
+     * @return The instance of {@link QueueDepth}, or null if nothing is reported.
+     * @since 2026/10/17
+     */
+    private QueueDepth findQueueDepth(final Object inOwner) {
+        final LookupKey key = this.mLookupKey.get();
+        final QueueDepth result;
+
+        key.mOwner = inOwner;
+        try {
+            result = this.mQueueDepths.get(key);
+        } finally {
+            key.mOwner = null;
+        }
+
+        return result;
+    }
+
+    /**
+     * Remove the depths of the owners have been released.
+     *
+     * @since 2026/10/17
+     */
+    private void removeReleasedOwners() {
+        Reference<?> key;
+
+        while ((key = this.mReleasedOwners.poll()) != null) {
+            this.mQueueDepths.remove(key);
+        }
+    }
+
+}
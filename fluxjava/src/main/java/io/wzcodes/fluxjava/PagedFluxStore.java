@@ -0,0 +1,495 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A store only keeps a window of the entities for a very large list.
+ * The entities are split into pages of fixed size, only the recently read pages are kept,
+ * the least recently used page is dropped when there are too many.
+ * Reading an entity of a page not loaded returns null and asks the subclass to load the page by
+ * {@link PagedFluxStore#requestPage(int, int, int, int)}, like sending an action to load it in background.
+ * The handler of the action gives the entities back by {@link PagedFluxStore#setPage(int, int, List)},
+ * and the {@link ItemRangeChangeEvent} of the page is emitted to let views rebind it.<br />
+ * The total number of entities is set by {@link PagedFluxStore#setCount(int)}, it drops all pages
+ * and starts a new generation. The request carries the generation and it's passed back with the entities,
+ * so a page loaded for the count before is dropped even if the page is requested again.<br />
+ * With a {@link PrefetchPolicy} returned by {@link PagedFluxStore#getPrefetchPolicy()}, the pages ahead of
+ * the reader are requested before they are read, within the maximum number of pages. The prefetches
+ * out of the new window are cancelled by {@link PagedFluxStore#cancelPage(int)} when the reader turns
+ * or jumps. The hits and misses of reading are counted in {@link PageStats}.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+public abstract class PagedFluxStore<TEntity> extends FluxStore<TEntity> {
+
+    /**
+     * The counters of reading pages.
+     */
+    public static final class PageStats {
+
+        private final long mHitCount;
+        private final long mMissCount;
+        private final long mPrefetchCount;
+        private final long mPrefetchHitCount;
+        private final long mCancelCount;
+
+        /**
+         * Constructor.
+         *
+         * @since 2026/10/17
+         */
+        PageStats(final long inHitCount, final long inMissCount, final long inPrefetchCount,
+                  final long inPrefetchHitCount, final long inCancelCount) {
+            this.mHitCount = inHitCount;
+            this.mMissCount = inMissCount;
+            this.mPrefetchCount = inPrefetchCount;
+            this.mPrefetchHitCount = inPrefetchHitCount;
+            this.mCancelCount = inCancelCount;
+        }
+
+        /**
+         * @return The number of reads the entity is loaded.
+         * @since 2026/10/17
+         */
+        public long getHitCount() {
+            return this.mHitCount;
+        }
+
+        /**
+         * @return The number of reads returned null because the page is not loaded.
+         * @since 2026/10/17
+         */
+        public long getMissCount() {
+            return this.mMissCount;
+        }
+
+        /**
+         * @return The number of pages requested ahead of the reader.
+         * @since 2026/10/17
+         */
+        public long getPrefetchCount() {
+            return this.mPrefetchCount;
+        }
+
+        /**
+         * @return The number of prefetched pages read before they are dropped.
+         * @since 2026/10/17
+         */
+        public long getPrefetchHitCount() {
+            return this.mPrefetchHitCount;
+        }
+
+        /**
+         * @return The number of prefetches cancelled.
+         * @since 2026/10/17
+         */
+        public long getCancelCount() {
+            return this.mCancelCount;
+        }
+
+        /**
+         * @return The ratio of hits in all reads, 0 if nothing is read.
+         * @since 2026/10/17
+         */
+        public double getHitRate() {
+            final long total = this.mHitCount + this.mMissCount;
+
+            return total == 0 ? 0 : (double)this.mHitCount / total;
+        }
+
+        /**
+         * @since 2026/10/17
+         */
+        @Override
+        public String toString() {
+            return "PageStats{hit=" + this.mHitCount + ", miss=" + this.mMissCount
+                    + ", prefetch=" + this.mPrefetchCount + ", prefetchHit=" + this.mPrefetchHitCount
+                    + ", cancel=" + this.mCancelCount + "}";
+        }
+
+    }
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int DEFAULT_MAX_PAGES = 10;
+
+    private final Object mLock = new Object();
+    private final int mPageSize;
+    private final int mMaxPages;
+    // All only accessed with lock
+    private final LinkedHashMap<Integer, List<TEntity>> mPages;
+    private final Set<Integer> mPending = new HashSet<>();
+    // The pending pages requested by prefetch, they can be cancelled
+    private final Set<Integer> mPrefetching = new HashSet<>();
+    // The loaded pages by prefetch not read yet
+    private final Set<Integer> mPrefetched = new HashSet<>();
+    private int mCount;
+    // Increased when the count is set, the pages loaded before are out of date
+    private int mGeneration;
+    private long mHitCount;
+    private long mMissCount;
+    private long mPrefetchCount;
+    private long mPrefetchHitCount;
+    private long mCancelCount;
+
+    /**
+     * Constructor.
+     *
+     * @param inBus The instance of {@link IFluxBus}.
+     * @since 2026/10/17
+     */
+    protected PagedFluxStore(final IFluxBus inBus) {
+        this(inBus, PagedFluxStore.DEFAULT_PAGE_SIZE, PagedFluxStore.DEFAULT_MAX_PAGES);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param inBus The instance of {@link IFluxBus}.
+     * @param inPageSize The number of entities in a page.
+     * @param inMaxPages The maximum number of pages kept in store.
+     * @since 2026/10/17
+     */
+    protected PagedFluxStore(final IFluxBus inBus, final int inPageSize, final int inMaxPages) {
+        super(inBus);
+        if (inPageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive.");
+        }
+        if (inMaxPages <= 0) {
+            throw new IllegalArgumentException("Max pages must be positive.");
+        }
+
+        this.mPageSize = inPageSize;
+        this.mMaxPages = inMaxPages;
+        // Access order to find the least recently used page
+        this.mPages = new LinkedHashMap<Integer, List<TEntity>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Integer, List<TEntity>> inEldest) {
+                final boolean result = this.size() > PagedFluxStore.this.mMaxPages;
+
+                if (result) {
+                    PagedFluxStore.this.mPrefetched.remove(inEldest.getKey());
+                }
+
+                return result;
+            }
+        };
+    }
+
+    /**
+     * Get the entity if its page is loaded, or request to load the page.
+     * It doesn't wait for the loading, so it can be called in the main thread.
+     *
+     * @return The entity, null if the page is not loaded yet.
+     * @since 2026/10/17
+     */
+    @Override
+    public TEntity getItem(final int inIndex) {
+        final PrefetchPolicy policy = this.getPrefetchPolicy();
+        final int page = inIndex / this.mPageSize;
+        final List<Integer> requests = new ArrayList<>(0);
+        final List<Integer> cancels = new ArrayList<>(0);
+        TEntity result = null;
+        int count;
+        int generation;
+
+        synchronized (this.mLock) {
+            if (inIndex < 0 || inIndex >= this.mCount) {
+                throw new IndexOutOfBoundsException("Index: " + inIndex + ", Size: " + this.mCount);
+            }
+
+            final List<TEntity> entities = this.mPages.get(page);
+
+            if (entities != null) {
+                result = entities.get(inIndex - page * this.mPageSize);
+                this.mHitCount++;
+                if (this.mPrefetched.remove(page)) {
+                    this.mPrefetchHitCount++;
+                }
+            } else {
+                this.mMissCount++;
+                // Read now, it's not a prefetch can be cancelled
+                this.mPrefetching.remove(page);
+                if (this.mPending.add(page)) {
+                    requests.add(page);
+                }
+            }
+            if (policy != null) {
+                this.prefetch(page, policy.onRead(inIndex, this.mPageSize, System.nanoTime()), requests, cancels);
+            }
+            count = this.mCount;
+            generation = this.mGeneration;
+        }
+        // The subclass may send an action, don't hold lock
+        for (int cancel : cancels) {
+            this.cancelPage(cancel);
+        }
+        for (int request : requests) {
+            this.requestPage(request, request * this.mPageSize, this.getPageCount(request, count), generation);
+        }
+
+        return result;
+    }
+
+    /**
+     * Find the pages to prefetch and the prefetches out of window. Called with lock.
+     *
+     * @param inPage The page read.
+     * @param inAhead The number of pages ahead from {@link PrefetchPolicy}.
+     * @param inRequests Add the pages to request.
+     * @param inCancels Add the pages to cancel.
+     * @since 2026/10/17
+     */
+    private void prefetch(final int inPage, final int inAhead,
+                          final List<Integer> inRequests, final List<Integer> inCancels) {
+        // Keep the page read in budget
+        final int ahead = Math.max(-(this.mMaxPages - 1), Math.min(inAhead, this.mMaxPages - 1));
+        final int lastPage = (this.mCount - 1) / this.mPageSize;
+        final int first = Math.max(Math.min(inPage, inPage + ahead), 0);
+        final int last = Math.min(Math.max(inPage, inPage + ahead), lastPage);
+
+        for (Iterator<Integer> iterator = this.mPrefetching.iterator(); iterator.hasNext(); ) {
+            final int page = iterator.next();
+
+            if (page < first || page > last) {
+                iterator.remove();
+                this.mPending.remove(page);
+                inCancels.add(page);
+                this.mCancelCount++;
+            }
+        }
+        for (int i = 1; i <= Math.abs(ahead); i++) {
+            final int page = ahead > 0 ? inPage + i : inPage - i;
+
+            if (page >= first && page <= last
+                    && this.mPages.containsKey(page) == false && this.mPending.add(page)) {
+                this.mPrefetching.add(page);
+                inRequests.add(page);
+                this.mPrefetchCount++;
+            }
+        }
+    }
+
+    /**
+     * Find the entity in the loaded pages.
+     *
+     * @return The position of entity, -1 if it's not in the loaded pages.
+     * @since 2026/10/17
+     */
+    @Override
+    public int findItem(final TEntity inEntity) {
+        int result = -1;
+
+        synchronized (this.mLock) {
+            for (Map.Entry<Integer, List<TEntity>> entry : this.mPages.entrySet()) {
+                final int index = entry.getValue().indexOf(inEntity);
+
+                if (index >= 0) {
+                    result = entry.getKey() * this.mPageSize + index;
+                    break;
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Get the total number of entities, includes the ones not loaded.
+     *
+     * @since 2026/10/17
+     */
+    @Override
+    public int getCount() {
+        synchronized (this.mLock) {
+            return this.mCount;
+        }
+    }
+
+    /**
+     * Get the number of entities in a page.
+     *
+     * @return The size of page.
+     * @since 2026/10/17
+     */
+    public int getPageSize() {
+        return this.mPageSize;
+    }
+
+    /**
+     * Check if the entity is loaded, it doesn't request to load the page.
+     *
+     * @param inIndex The position of entity.
+     * @return True if the page of entity is kept in store.
+     * @since 2026/10/17
+     */
+    public boolean isLoaded(final int inIndex) {
+        synchronized (this.mLock) {
+            return inIndex >= 0 && inIndex < this.mCount && this.mPages.containsKey(inIndex / this.mPageSize);
+        }
+    }
+
+    /**
+     * Set the total number of entities. The loaded pages and the pages in loading are dropped,
+     * so the pages are loaded again when they are read.
+     *
+     * @param inCount The number of entities.
+     * @since 2026/10/17
+     */
+    protected void setCount(final int inCount) {
+        if (inCount < 0) {
+            throw new IllegalArgumentException("Count can't be negative.");
+        }
+
+        synchronized (this.mLock) {
+            this.mCount = inCount;
+            this.mGeneration++;
+            this.mPages.clear();
+            this.mPending.clear();
+            this.mPrefetching.clear();
+            this.mPrefetched.clear();
+        }
+        super.emitChange(this.createListChangeEvent());
+    }
+
+    /**
+     * Keep the loaded entities of a page and emit the change of its range.
+     * The page is dropped if it's not requested, or it's requested before the count is set.
+     *
+     * @param inPage The index of page.
+     * @param inGeneration The generation passed to {@link PagedFluxStore#requestPage(int, int, int, int)}.
+     * @param inEntities The entities of the page.
+     * @return True if the page is kept.
+     * @since 2026/10/17
+     */
+    protected boolean setPage(final int inPage, final int inGeneration, final List<? extends TEntity> inEntities) {
+        if (inEntities == null) {
+            throw new IllegalArgumentException("Entities can't be null.");
+        }
+
+        final int start = inPage * this.mPageSize;
+        boolean result = false;
+
+        synchronized (this.mLock) {
+            if (inGeneration == this.mGeneration && this.mPending.remove(inPage)) {
+                if (inEntities.size() != this.getPageCount(inPage, this.mCount)) {
+                    throw new IllegalArgumentException("Entities of page " + inPage + " must be "
+                            + this.getPageCount(inPage, this.mCount) + ".");
+                }
+                this.mPages.put(inPage, Collections.unmodifiableList(new ArrayList<TEntity>(inEntities)));
+                if (this.mPrefetching.remove(inPage)) {
+                    this.mPrefetched.add(inPage);
+                }
+                result = true;
+            }
+        }
+        if (result) {
+            super.emitChange(new ItemRangeChangeEvent(this, start, inEntities.size()));
+        }
+
+        return result;
+    }
+
+    /**
+     * Give up a requested page, like the loading is failed. It is requested again when it's read.
+     * Nothing is done if it's requested before the count is set.
+     *
+     * @param inPage The index of page.
+     * @param inGeneration The generation passed to {@link PagedFluxStore#requestPage(int, int, int, int)}.
+     * @since 2026/10/17
+     */
+    protected void failPage(final int inPage, final int inGeneration) {
+        synchronized (this.mLock) {
+            if (inGeneration == this.mGeneration) {
+                this.mPending.remove(inPage);
+                this.mPrefetching.remove(inPage);
+            }
+        }
+    }
+
+    /**
+     * Get the counters of reading pages.
+     *
+     * @return The copy of counters.
+     * @since 2026/10/17
+     */
+    public PageStats getPageStats() {
+        synchronized (this.mLock) {
+            return new PageStats(this.mHitCount, this.mMissCount,
+                    this.mPrefetchCount, this.mPrefetchHitCount, this.mCancelCount);
+        }
+    }
+
+    /**
+     * Get the policy to load pages ahead of the reader. Override it to return a policy kept by subclass,
+     * the same instance must be returned every time because it tracks the reads.
+     *
+     * @return The instance of policy, null to load pages only when they are read.
+     * @since 2026/10/17
+     */
+    protected PrefetchPolicy getPrefetchPolicy() {
+        return null;
+    }
+
+    /**
+     * Stop loading a prefetched page, it's out of the window of reader now.
+     * The page is dropped if it's still set later. Nothing is done by default.
+     *
+     * @param inPage The index of page.
+     * @since 2026/10/17
+     */
+    protected void cancelPage(final int inPage) {
+    }
+
+    /**
+     * Get the number of entities in a page, the last page may be not full.
+     *
+     * @since 2026/10/17
+     */
+    private int getPageCount(final int inPage, final int inCount) {
+        return Math.max(0, Math.min(this.mPageSize, inCount - inPage * this.mPageSize));
+    }
+
+    /**
+     * Start to load a page asynchronously, like sending an action.
+     * It's called once until the page is set or failed, and must not block.
+     *
+     * @param inPage The index of page.
+     * @param inStart The position of the first entity in page.
+     * @param inCount The number of entities in page.
+     * @param inGeneration The generation of count, pass it back to {@link PagedFluxStore#setPage(int, int, List)}.
+     * @since 2026/10/17
+     */
+    protected abstract void requestPage(final int inPage, final int inStart, final int inCount, final int inGeneration);
+
+    /**
+     * Create the event emitted when the count is changed.
+     *
+     * @return The event object.
+     * @since 2026/10/17
+     */
+    protected abstract FluxContext.StoreChangeEvent createListChangeEvent();
+
+}
@@ -0,0 +1,387 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable list shares structure between versions.
+ * The elements are kept in a tree of 32-slot arrays with the last ones in a tail array,
+ * {@link PersistentVector#plus(Object)} and {@link PersistentVector#set(int, Object)} only copy
+ * the arrays on the path to the element and return a new version, the old one is never changed.
+ * So a version can be read by any thread without lock after it's published.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+public final class PersistentVector<E> implements Iterable<E> {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << PersistentVector.BITS;
+    private static final int MASK = PersistentVector.WIDTH - 1;
+    private static final Object[] EMPTY_NODE = new Object[PersistentVector.WIDTH];
+    private static final PersistentVector<?> EMPTY =
+            new PersistentVector<>(0, PersistentVector.BITS, PersistentVector.EMPTY_NODE, new Object[0]);
+
+    private final int mCount;
+    private final int mShift;
+    private final Object[] mRoot;
+    private final Object[] mTail;
+
+    /**
+     * Constructor.
+     *
+     * @param inCount The number of elements.
+     * @param inShift The bits to shift the index at root level.
+     * @param inRoot The root of tree.
+     * @param inTail The last elements not in tree.
+     * @since 2026/10/17
+     */
+    private PersistentVector(final int inCount, final int inShift, final Object[] inRoot, final Object[] inTail) {
+        this.mCount = inCount;
+        this.mShift = inShift;
+        this.mRoot = inRoot;
+        this.mTail = inTail;
+    }
+
+    /**
+     * Get the empty vector.
+     *
+     * @return The shared empty instance.
+     * @since 2026/10/17
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentVector<E> empty() {
+        return (PersistentVector<E>)PersistentVector.EMPTY;
+    }
+
+    /**
+     * Create a vector with the elements in order. The tree is built bottom-up at once,
+     * it's faster than adding them one by one.
+     *
+     * @param inElements The elements.
+     * @return The instance of vector.
+     * @since 2026/10/17
+     */
+    public static <E> PersistentVector<E> from(final Collection<? extends E> inElements) {
+        if (inElements == null) {
+            throw new IllegalArgumentException("Elements are missing.");
+        }
+
+        final PersistentVector<E> result;
+        final Object[] elements = inElements.toArray();
+        final int count = elements.length;
+
+        if (count == 0) {
+            result = PersistentVector.empty();
+        } else {
+            final int tailOffset = PersistentVector.tailOffset(count);
+            final Object[] tail = new Object[count - tailOffset];
+            Object[] nodes = new Object[tailOffset >>> PersistentVector.BITS];
+            int shift = PersistentVector.BITS;
+
+            System.arraycopy(elements, tailOffset, tail, 0, tail.length);
+            for (int i = 0; i < nodes.length; i++) {
+                final Object[] leaf = new Object[PersistentVector.WIDTH];
+
+                System.arraycopy(elements, i << PersistentVector.BITS, leaf, 0, PersistentVector.WIDTH);
+                nodes[i] = leaf;
+            }
+            // Group the nodes level by level until they fit in root
+            while (nodes.length > PersistentVector.WIDTH) {
+                final Object[] parents = new Object[(nodes.length + PersistentVector.MASK) >>> PersistentVector.BITS];
+
+                for (int i = 0; i < parents.length; i++) {
+                    final Object[] parent = new Object[PersistentVector.WIDTH];
+                    final int start = i << PersistentVector.BITS;
+
+                    System.arraycopy(nodes, start, parent, 0, Math.min(PersistentVector.WIDTH, nodes.length - start));
+                    parents[i] = parent;
+                }
+                nodes = parents;
+                shift += PersistentVector.BITS;
+            }
+
+            final Object[] root = new Object[PersistentVector.WIDTH];
+
+            System.arraycopy(nodes, 0, root, 0, nodes.length);
+            result = new PersistentVector<>(count, shift, root, tail);
+        }
+
+        return result;
+    }
+
+    /**
+     * Get the number of elements.
+     *
+     * @return The number of elements.
+     * @since 2026/10/17
+     */
+    public int size() {
+        return this.mCount;
+    }
+
+    /**
+     * Get the element by index.
+     *
+     * @param inIndex The index of element.
+     * @return The element.
+     * @since 2026/10/17
+     */
+    @SuppressWarnings("unchecked")
+    public E get(final int inIndex) {
+        return (E)this.arrayFor(inIndex)[inIndex & PersistentVector.MASK];
+    }
+
+    /**
+     * Create a new version with the element added at the end.
+     *
+     * @param inElement The element to add.
+     * @return The new version.
+     * @since 2026/10/17
+     */
+    public PersistentVector<E> plus(final E inElement) {
+        final PersistentVector<E> result;
+
+        if (this.mCount - PersistentVector.tailOffset(this.mCount) < PersistentVector.WIDTH) {
+            final Object[] tail = new Object[this.mTail.length + 1];
+
+            System.arraycopy(this.mTail, 0, tail, 0, this.mTail.length);
+            tail[this.mTail.length] = inElement;
+            result = new PersistentVector<>(this.mCount + 1, this.mShift, this.mRoot, tail);
+        } else {
+            // The tail is full, push it into tree
+            final Object[] root;
+            int shift = this.mShift;
+
+            if ((this.mCount >>> PersistentVector.BITS) > (1 << this.mShift)) {
+                root = new Object[PersistentVector.WIDTH];
+                root[0] = this.mRoot;
+                root[1] = PersistentVector.newPath(this.mShift, this.mTail);
+                shift += PersistentVector.BITS;
+            } else {
+                root = this.pushTail(this.mShift, this.mRoot, this.mTail);
+            }
+            result = new PersistentVector<>(this.mCount + 1, shift, root, new Object[] { inElement });
+        }
+
+        return result;
+    }
+
+    /**
+     * Create a new version with the element replaced.
+     *
+     * @param inIndex The index of element.
+     * @param inElement The new element.
+     * @return The new version.
+     * @since 2026/10/17
+     */
+    public PersistentVector<E> set(final int inIndex, final E inElement) {
+        final PersistentVector<E> result;
+
+        this.checkIndex(inIndex);
+        if (inIndex >= PersistentVector.tailOffset(this.mCount)) {
+            final Object[] tail = this.mTail.clone();
+
+            tail[inIndex & PersistentVector.MASK] = inElement;
+            result = new PersistentVector<>(this.mCount, this.mShift, this.mRoot, tail);
+        } else {
+            result = new PersistentVector<>(this.mCount, this.mShift,
+                    PersistentVector.assoc(this.mShift, this.mRoot, inIndex, inElement), this.mTail);
+        }
+
+        return result;
+    }
+
+    /**
+     * Get a read-only {@link List} view of this version, nothing is copied.
+     *
+     * @return The view of list.
+     * @since 2026/10/17
+     */
+    public List<E> asList() {
+        return new AbstractList<E>() {
+            @Override
+            public E get(final int inIndex) {
+                return PersistentVector.this.get(inIndex);
+            }
+
+            @Override
+            public int size() {
+                return PersistentVector.this.mCount;
+            }
+        };
+    }
+
+    /**
+     * Iterate the elements in order, one leaf array at a time.
+     *
+     * @since 2026/10/17
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private int mIndex = 0;
+            private Object[] mArray = null;
+
+            @Override
+            public boolean hasNext() {
+                return this.mIndex < PersistentVector.this.mCount;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (this.mIndex >= PersistentVector.this.mCount) {
+                    throw new NoSuchElementException();
+                }
+                if ((this.mIndex & PersistentVector.MASK) == 0 || this.mArray == null) {
+                    this.mArray = PersistentVector.this.arrayFor(this.mIndex);
+                }
+
+                return (E)this.mArray[this.mIndex++ & PersistentVector.MASK];
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException("Vector is immutable.");
+            }
+        };
+    }
+
+    /**
+     * Get the leaf array or tail that keeps the element of index.
+     *
+     * @param inIndex The index of element.
+     * @return The array.
+     * @since 2026/10/17
+     */
+    private Object[] arrayFor(final int inIndex) {
+        Object[] result;
+
+        this.checkIndex(inIndex);
+        if (inIndex >= PersistentVector.tailOffset(this.mCount)) {
+            result = this.mTail;
+        } else {
+            result = this.mRoot;
+            for (int level = this.mShift; level > 0; level -= PersistentVector.BITS) {
+                result = (Object[])result[(inIndex >>> level) & PersistentVector.MASK];
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Copy the path to the last leaf and put the full tail there.
+     *
+     * @param inLevel The bits to shift at this level.
+     * @param inParent The node at this level.
+     * @param inTail The full tail.
+     * @return The new node.
+     * @since 2026/10/17
+     */
+    private Object[] pushTail(final int inLevel, final Object[] inParent, final Object[] inTail) {
+        final int subIndex = ((this.mCount - 1) >>> inLevel) & PersistentVector.MASK;
+        final Object[] result = inParent.clone();
+
+        if (inLevel == PersistentVector.BITS) {
+            result[subIndex] = inTail;
+        } else {
+            final Object[] child = (Object[])inParent[subIndex];
+
+            result[subIndex] = child != null
+                    ? this.pushTail(inLevel - PersistentVector.BITS, child, inTail)
+                    : PersistentVector.newPath(inLevel - PersistentVector.BITS, inTail);
+        }
+
+        return result;
+    }
+
+    /**
+     * Check the index is in range.
+     *
+     * @param inIndex The index of element.
+     * @since 2026/10/17
+     */
+    private void checkIndex(final int inIndex) {
+        if (inIndex < 0 || inIndex >= this.mCount) {
+            throw new IndexOutOfBoundsException("Index: " + inIndex + ", Size: " + this.mCount);
+        }
+    }
+
+    /**
+     * Create the nodes from a level down to the leaf.
+     *
+     * @param inLevel The bits to shift at this level.
+     * @param inLeaf The leaf array.
+     * @return The node of this level.
+     * @since 2026/10/17
+     */
+    private static Object[] newPath(final int inLevel, final Object[] inLeaf) {
+        Object[] result = inLeaf;
+
+        for (int level = inLevel; level > 0; level -= PersistentVector.BITS) {
+            final Object[] node = new Object[PersistentVector.WIDTH];
+
+            node[0] = result;
+            result = node;
+        }
+
+        return result;
+    }
+
+    /**
+     * Copy the path to the element and replace it.
+     *
+     * @param inLevel The bits to shift at this level.
+     * @param inNode The node at this level.
+     * @param inIndex The index of element.
+     * @param inElement The new element.
+     * @return The new node.
+     * @since 2026/10/17
+     */
+    private static Object[] assoc(final int inLevel, final Object[] inNode, final int inIndex, final Object inElement) {
+        final Object[] result = inNode.clone();
+
+        if (inLevel == 0) {
+            result[inIndex & PersistentVector.MASK] = inElement;
+        } else {
+            final int subIndex = (inIndex >>> inLevel) & PersistentVector.MASK;
+
+            result[subIndex] = PersistentVector.assoc(inLevel - PersistentVector.BITS,
+                    (Object[])inNode[subIndex], inIndex, inElement);
+        }
+
+        return result;
+    }
+
+    /**
+     * Get the index of the first element in tail.
+     *
+     * @param inCount The number of elements.
+     * @return The index.
+     * @since 2026/10/17
+     */
+    private static int tailOffset(final int inCount) {
+        return inCount < PersistentVector.WIDTH ? 0 : ((inCount - 1) >>> PersistentVector.BITS) << PersistentVector.BITS;
+    }
+
+}
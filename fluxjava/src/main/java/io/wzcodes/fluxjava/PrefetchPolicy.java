@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava;
+
+/**
+ * Decide how many pages to load ahead of the reader of an index-based store.
+ * The velocity of reading is averaged from the positions read by {@link IFluxStore#getItem(int)},
+ * the pages covering the positions to be read in the lookahead time are loaded before they are read,
+ * at least the next page when the reader is moving. A jump of reading, like scrolling to a position,
+ * or turning back resets the velocity.<br />
+ * Not thread-safe, the store calls it with lock.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+public class PrefetchPolicy {
+
+    public static final int DEFAULT_MAX_AHEAD_PAGES = 2;
+    public static final long DEFAULT_LOOKAHEAD_MILLIS = 500;
+
+    // The weight of the latest velocity in average
+    private static final double SMOOTHING = 0.5;
+
+    private final int mMaxAheadPages;
+    private final long mLookaheadMillis;
+    private int mLastIndex = -1;
+    private long mLastTime;
+    // Positions per millisecond, negative for backward
+    private double mVelocity;
+    private int mDirection;
+
+    /**
+     * Constructor with default values.
+     *
+     * @since 2026/10/17
+     */
+    public PrefetchPolicy() {
+        this(PrefetchPolicy.DEFAULT_MAX_AHEAD_PAGES, PrefetchPolicy.DEFAULT_LOOKAHEAD_MILLIS);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param inMaxAheadPages The maximum number of pages loaded ahead.
+     * @param inLookaheadMillis The time in milliseconds the pages are loaded before read.
+     * @since 2026/10/17
+     */
+    public PrefetchPolicy(final int inMaxAheadPages, final long inLookaheadMillis) {
+        if (inMaxAheadPages <= 0) {
+            throw new IllegalArgumentException("Max ahead pages must be positive.");
+        }
+        if (inLookaheadMillis < 0) {
+            throw new IllegalArgumentException("Lookahead time can't be negative.");
+        }
+
+        this.mMaxAheadPages = inMaxAheadPages;
+        this.mLookaheadMillis = inLookaheadMillis;
+    }
+
+    /**
+     * Record a read and get the pages to be loaded ahead.
+     *
+     * @param inIndex The position read.
+     * @param inPageSize The number of entities in a page.
+     * @param inTimeNanos The time of reading by {@link System#nanoTime()}.
+     * @return The number of pages after the page read, negative for the pages before it, 0 for none.
+     * @since 2026/10/17
+     */
+    public int onRead(final int inIndex, final int inPageSize, final long inTimeNanos) {
+        final int distance = this.mLastIndex < 0 ? 0 : inIndex - this.mLastIndex;
+
+        if (Math.abs(distance) > inPageSize * this.mMaxAheadPages) {
+            // Jumped, the old velocity is meaningless
+            this.mVelocity = 0;
+            this.mDirection = 0;
+        } else if (distance != 0) {
+            final double elapsed = Math.max(inTimeNanos - this.mLastTime, 1000L) / 1000000.0;
+
+            if (distance > 0 != this.mDirection > 0) {
+                // Turned back, don't average with the other direction
+                this.mVelocity = 0;
+            }
+            this.mVelocity = this.mVelocity * (1 - PrefetchPolicy.SMOOTHING)
+                    + distance / elapsed * PrefetchPolicy.SMOOTHING;
+            this.mDirection = distance > 0 ? 1 : -1;
+        }
+        this.mLastIndex = inIndex;
+        this.mLastTime = inTimeNanos;
+
+        int result = 0;
+
+        if (this.mDirection != 0) {
+            final double ahead = Math.abs(this.mVelocity) * this.mLookaheadMillis / inPageSize;
+
+            result = (int)Math.min(Math.max(Math.ceil(ahead), 1), this.mMaxAheadPages) * this.mDirection;
+        }
+
+        return result;
+    }
+
+    /**
+     * Get the direction of reading.
+     *
+     * @return 1 for forward, -1 for backward, 0 if not moving.
+     * @since 2026/10/17
+     */
+    public int getDirection() {
+        return this.mDirection;
+    }
+
+    /**
+     * Get the average velocity of reading.
+     *
+     * @return The positions per millisecond, negative for backward.
+     * @since 2026/10/17
+     */
+    public double getVelocity() {
+        return this.mVelocity;
+    }
+
+}
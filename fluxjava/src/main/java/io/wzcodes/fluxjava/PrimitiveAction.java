@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava;
+
+/**
+ * The base of Action classes with an int type and a primitive data.
+ * Unlike {@link FluxAction}, neither of them is boxed when the action is created and read.
+ * Extend {@link IntAction}, {@link LongAction} or {@link DoubleAction} to use it.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+public abstract class PrimitiveAction implements IFluxAction, ITraceable {
+
+    private final int mType;
+    private long mTraceId;
+
+    /**
+     * Constructor.
+     *
+     * @param inType The type of action.
+     * @since 2026/10/17
+     */
+    PrimitiveAction(final int inType) {
+        this.mType = inType;
+    }
+
+    /**
+     * Get the type of action.
+     *
+     * @return The type of action.
+     * @since 2026/10/17
+     */
+    public int getType() {
+        return this.mType;
+    }
+
+    /**
+     * @since 2026/10/17
+     */
+    @Override
+    public long getTraceId() {
+        return this.mTraceId;
+    }
+
+    /**
+     * @since 2026/10/17
+     */
+    @Override
+    public void setTraceId(final long inTraceId) {
+        this.mTraceId = inTraceId;
+    }
+
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An Action that is reused to avoid allocating an action for each request.
+ * {@link ActionCreator} gets the instances from a pool of each class, sets the type and data,
+ * and releases its reference after the bus returns. The buses in framework that deliver
+ * actions in other threads, and RxStore that handles actions in other threads,
+ * retain the action until the subscriber is done, so it goes back to pool after every store handled it.<br />
+ * The subclass needs a public constructor without parameter. Don't keep the action after
+ * the store handled it or the callback of subscriber returns, call {@link RecyclableAction#retain()}
+ * to keep it and {@link RecyclableAction#release()} when done.
+ * Turn on {@link RecyclableAction#setDebug(boolean)} to find the actions used after released.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+public abstract class RecyclableAction<TType, TData> implements IFluxAction, IRecyclable, ITraceable {
+
+    // Read without lock, set it before any action is sent
+    private static boolean sDebug = false;
+
+    // A new action is held by the creator
+    private final AtomicInteger mReferences = new AtomicInteger(1);
+    private ActionPool mPool;
+    private TType mType;
+    private TData mData;
+    private long mTraceId;
+
+    /**
+     * Turn on or off the debug mode. In debug mode, the released actions are not reused,
+     * and reading type or data of them throws {@link IllegalStateException}.
+     *
+     * @param inDebug Debug or not.
+     * @since 2026/10/17
+     */
+    public static void setDebug(final boolean inDebug) {
+        RecyclableAction.sDebug = inDebug;
+    }
+
+    /**
+     * @return True if it's in debug mode.
+     * @since 2026/10/17
+     */
+    public static boolean isDebug() {
+        return RecyclableAction.sDebug;
+    }
+
+    /**
+     * Get the type of action.
+     *
+     * @return The type of action.
+     * @since 2026/10/17
+     */
+    public TType getType() {
+        this.checkAlive();
+        return this.mType;
+    }
+
+    /**
+     * Get the data of action.
+     *
+     * @return The data of action.
+     * @since 2026/10/17
+     */
+    public TData getData() {
+        this.checkAlive();
+        return this.mData;
+    }
+
+    /**
+     * @since 2026/10/17
+     */
+    @Override
+    public void retain() {
+        for (;;) {
+            final int references = this.mReferences.get();
+
+            if (references <= 0) {
+                throw new IllegalStateException("Action is recycled.");
+            }
+            if (this.mReferences.compareAndSet(references, references + 1)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * @since 2026/10/17
+     */
+    @Override
+    public void release() {
+        final int references = this.mReferences.decrementAndGet();
+
+        if (references == 0) {
+            this.mType = null;
+            this.mData = null;
+            this.mTraceId = 0;
+            this.reset();
+            if (this.mPool != null && RecyclableAction.sDebug == false) {
+                this.mPool.recycle(this);
+            }
+        } else if (references < 0) {
+            this.mReferences.incrementAndGet();
+            throw new IllegalStateException("Action is recycled.");
+        }
+    }
+
+    /**
+     * Get the number of references.
+     *
+     * @return Zero if the action is recycled.
+     * @since 2026/10/17
+     */
+    public int getReferenceCount() {
+        return this.mReferences.get();
+    }
+
+    /**
+     * Clear the other data kept in subclass before the action is reused.
+     *
+     * @since 2026/10/17
+     */
+    protected void reset() {
+        // Do nothing
+    }
+
+    /**
+     * Set the type and data of action.
+     *
+     * @param inType The type of action.
+     * @param inData The data of action.
+     * @since 2026/10/17
+     */
+    @SuppressWarnings("unchecked")
+    void init(final Object inType, final Object inData) {
+        if (inType == null) {
+            throw new IllegalArgumentException("Type can't be null.");
+        }
+        this.mType = (TType)inType;
+        this.mData = (TData)inData;
+    }
+
+    /**
+     * Bind the action to the pool creates it.
+     *
+     * @param inPool The pool that the action goes back.
+     * @since 2026/10/17
+     */
+    void attach(final ActionPool inPool) {
+        this.mPool = inPool;
+    }
+
+    /**
+     * Mark the action is held by the one gets it from pool.
+     *
+     * @since 2026/10/17
+     */
+    void reuse() {
+        this.mReferences.set(1);
+    }
+
+    /**
+     * Check if the action is used after released in debug mode.
+     *
+     * @since 2026/10/17
+     */
+    private void checkAlive() {
+        if (RecyclableAction.sDebug && this.mReferences.get() <= 0) {
+            throw new IllegalStateException("Action is recycled.");
+        }
+    }
+
+    /**
+     * @since 2026/10/17
+     */
+    @Override
+    public long getTraceId() {
+        return this.mTraceId;
+    }
+
+    /**
+     * @since 2026/10/17
+     */
+    @Override
+    public void setTraceId(final long inTraceId) {
+        this.mTraceId = inTraceId;
+    }
+
+}
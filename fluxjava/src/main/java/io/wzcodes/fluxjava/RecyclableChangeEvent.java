@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A data change event that can be reused to avoid allocating an event for each change.
+ * Get an instance from {@link ChangeEventPool#obtain()} and pass it to
+ * {@link FluxStore#emitChange(FluxContext.StoreChangeEvent)}, the store releases it after
+ * posted to bus and it goes back to pool when delivered.<br />
+ * The event is only valid in the callback of subscriber. A subscriber keeps the event
+ * or handles it in another thread has to call {@link RecyclableChangeEvent#retain()} in the callback
+ * and {@link RecyclableChangeEvent#release()} when done. The buses in framework that deliver
+ * events in other threads, like {@link RingBus}, or queue them while another thread is emitting,
+ * like RxBus, retain the events for their subscribers.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+public abstract class RecyclableChangeEvent implements FluxContext.StoreChangeEvent, IRecyclable, ITraceable {
+
+    // A new event is held by the creator
+    private final AtomicInteger mReferences = new AtomicInteger(1);
+    private ChangeEventPool<?> mPool;
+    private long mTraceId;
+
+    /**
+     * Add a reference to keep the event from being recycled.
+     *
+     * @since 2026/10/17
+     */
+    @Override
+    public void retain() {
+        for (;;) {
+            final int references = this.mReferences.get();
+
+            if (references <= 0) {
+                throw new IllegalStateException("Event is recycled.");
+            }
+            if (this.mReferences.compareAndSet(references, references + 1)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Remove a reference. The event is reset and put back to pool when no one holds it.
+     *
+     * @since 2026/10/17
+     */
+    @Override
+    public void release() {
+        final int references = this.mReferences.decrementAndGet();
+
+        if (references == 0) {
+            this.mTraceId = 0;
+            this.reset();
+            if (this.mPool != null) {
+                this.mPool.recycle(this);
+            }
+        } else if (references < 0) {
+            this.mReferences.incrementAndGet();
+            throw new IllegalStateException("Event is recycled.");
+        }
+    }
+
+    /**
+     * Get the number of references.
+     *
+     * @return Zero if the event is recycled.
+     * @since 2026/10/17
+     */
+    public int getReferenceCount() {
+        return this.mReferences.get();
+    }
+
+    /**
+     * Clear the data in event before it is reused.
+     *
+     * @since 2026/10/17
+     */
+    protected abstract void reset();
+
+    /**
+     * Bind the event to the pool creates it.
+     *
+     * @param inPool The pool that the event goes back.
+     * @since 2026/10/17
+     */
+    void attach(final ChangeEventPool<?> inPool) {
+        this.mPool = inPool;
+    }
+
+    /**
+     * Mark the event is held by the one gets it from pool.
+     *
+     * @since 2026/10/17
+     */
+    void reuse() {
+        this.mReferences.set(1);
+    }
+
+    /**
+     * Release the event if it is recyclable.
+     *
+     * @param inEvent The event object.
+     * @since 2026/10/17
+     */
+    static void release(final Object inEvent) {
+        if (inEvent instanceof RecyclableChangeEvent) {
+            ((RecyclableChangeEvent)inEvent).release();
+        }
+    }
+
+    /**
+     * @since 2026/10/17
+     */
+    @Override
+    public long getTraceId() {
+        return this.mTraceId;
+    }
+
+    /**
+     * @since 2026/10/17
+     */
+    @Override
+    public void setTraceId(final long inTraceId) {
+        this.mTraceId = inTraceId;
+    }
+
+}
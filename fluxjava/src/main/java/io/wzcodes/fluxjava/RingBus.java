@@ -0,0 +1,753 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * An implementation of {@link IFluxBus} built on a preallocated ring buffer.
+ * The subscribers have to implement {@link IFluxSubscriber}.<br />
+ * Producers claim slots by a CAS sequence and publish the events without lock.
+ * Every subscriber runs in its own thread and follows the producers with its own sequence,
+ * the producers wait when the slowest subscriber is a whole ring behind.
+ * The events arrived together are handled in one batch if the subscriber implements
+ * {@link IFluxBatchSubscriber}.<br />
+ * A subscriber may post in its own thread, like a store emits changes when handling an action.
+ * It never waits for the ring, the events are held by the subscriber when the ring is full
+ * and published in order after it moves on.<br />
+ * An exception thrown by subscriber is passed to {@link ErrorHandler}, the subscriber keeps getting
+ * the events after it.<br />
+ * An {@link IRecyclable} event or action is retained for each subscriber wants it and released after delivered.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+public class RingBus implements IFluxBatchBus {
+
+    /**
+     * How the threads wait for the sequence they need.
+     */
+    public enum WaitStrategy {
+        /**
+         * Keep checking, lowest latency and uses a whole core for each thread.
+         */
+        BUSY_SPIN,
+        /**
+         * Spin a while then yield to other threads.
+         */
+        YIELD,
+        /**
+         * Spin a while then park the thread until an event is published, uses least CPU.
+         */
+        PARK
+    }
+
+    /**
+     * Handle the exceptions thrown by subscribers.
+     */
+    public interface ErrorHandler {
+        /**
+         * Called in the thread of subscriber after it failed to handle the events.
+         *
+         * @param inSubscriber The subscriber throws the exception.
+         * @param inThrowable The exception.
+         * @since 2026/10/17
+         */
+        void onError(IFluxSubscriber inSubscriber, Throwable inThrowable);
+    }
+
+    public static final int DEFAULT_BUFFER_SIZE = 1024;
+
+    private static final int SPIN_TRIES = 100;
+    private static final long PENDING_PARK_NANOS = 100000L;
+    // The start of consumer is not known until it's in the array of consumers
+    private static final long UNASSIGNED = Long.MIN_VALUE;
+    private static final Consumer[] EMPTY = new Consumer[0];
+    private static final AtomicInteger sThreadCount = new AtomicInteger(0);
+
+    private final Object[] mEntries;
+    // The round of sequence published in each slot
+    private final AtomicIntegerArray mPublished;
+    private final int mMask;
+    private final int mShift;
+    private final WaitStrategy mWaitStrategy;
+    // The last sequence claimed by producers
+    private final Sequence mClaimed = new Sequence(-1);
+    private final Object mLock = new Object();
+    private volatile Consumer[] mConsumers = RingBus.EMPTY;
+    // The consumer runs in current thread
+    private final ThreadLocal<Consumer> mCurrentConsumer = new ThreadLocal<>();
+    private volatile ErrorHandler mErrorHandler;
+
+    /**
+     * Constructor. Use a ring of {@link RingBus#DEFAULT_BUFFER_SIZE} slots and
+     * {@link WaitStrategy#PARK}.
+     *
+     * @since 2026/10/17
+     */
+    public RingBus() {
+        this(RingBus.DEFAULT_BUFFER_SIZE, WaitStrategy.PARK);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param inBufferSize The number of slots in ring, must be a power of 2.
+     * @param inWaitStrategy How the producers and subscribers wait.
+     * @since 2026/10/17
+     */
+    public RingBus(final int inBufferSize, final WaitStrategy inWaitStrategy) {
+        if (inBufferSize < 1 || Integer.bitCount(inBufferSize) != 1) {
+            throw new IllegalArgumentException("Buffer size must be a power of 2.");
+        }
+        if (inWaitStrategy == null) {
+            throw new IllegalArgumentException("Wait strategy is missing.");
+        }
+        this.mEntries = new Object[inBufferSize];
+        this.mPublished = new AtomicIntegerArray(inBufferSize);
+        for (int i = 0; i < inBufferSize; i++) {
+            this.mPublished.set(i, -1);
+        }
+        this.mMask = inBufferSize - 1;
+        this.mShift = Integer.numberOfTrailingZeros(inBufferSize);
+        this.mWaitStrategy = inWaitStrategy;
+    }
+
+    /**
+     * Get the number of slots in ring.
+     *
+     * @return The number of slots.
+     * @since 2026/10/17
+     */
+    public int getBufferSize() {
+        return this.mEntries.length;
+    }
+
+    /**
+     * Set the handler of the exceptions thrown by subscribers.
+     * Without a handler, the exception is passed to the uncaught exception handler of the thread
+     * of subscriber, and the thread keeps running.
+     *
+     * @param inHandler The instance of {@link ErrorHandler}, null to use the default.
+     * @since 2026/10/17
+     */
+    public void setErrorHandler(final ErrorHandler inHandler) {
+        this.mErrorHandler = inHandler;
+    }
+
+    /**
+     * Register a subscriber and start a thread to deliver events to it.
+     * The subscriber gets the events posted after registered.
+     *
+     * @since 2026/10/17
+     */
+    @Override
+    public void register(final Object inSubscriber) {
+        if (inSubscriber instanceof IFluxSubscriber) {
+            final IFluxSubscriber subscriber = (IFluxSubscriber)inSubscriber;
+            final Class<?> eventType = subscriber.getEventType();
+
+            if (eventType == null) {
+                throw new IllegalArgumentException("Event type is missing.");
+            }
+
+            synchronized (this.mLock) {
+                if (this.indexOf(subscriber) < 0) {
+                    final Consumer consumer = new Consumer(subscriber, eventType, this.mClaimed.get());
+                    final Consumer[] consumers = new Consumer[this.mConsumers.length + 1];
+
+                    System.arraycopy(this.mConsumers, 0, consumers, 0, this.mConsumers.length);
+                    consumers[this.mConsumers.length] = consumer;
+                    this.mConsumers = consumers;
+                    // Read after the consumer is visible to producers, the sequences claimed
+                    // before it are not read by it, and the producers claim later see it
+                    consumer.mSequence.set(this.mClaimed.get());
+                    consumer.mStart = consumer.mSequence.get();
+                    consumer.mThread.start();
+                }
+            }
+        } else {
+            throw new IllegalArgumentException("Must implement IFluxSubscriber interface.");
+        }
+    }
+
+    /**
+     * Unregister a subscriber and stop its thread.
+     * The events already taken by the thread are still delivered.
+     *
+     * @since 2026/10/17
+     */
+    @Override
+    public void unregister(final Object inSubscriber) {
+        if (inSubscriber instanceof IFluxSubscriber) {
+            synchronized (this.mLock) {
+                final int index = this.indexOf((IFluxSubscriber)inSubscriber);
+
+                if (index >= 0) {
+                    // Stop before removed, so the thread never reads the slots not gated
+                    this.mConsumers[index].stop();
+                    this.removeConsumer(index);
+                }
+            }
+        }
+    }
+
+    /**
+     * Put the event in ring, wait if the ring is full.
+     * In the thread of a subscriber, the event is held by it instead of waiting.
+     *
+     * @since 2026/10/17
+     */
+    @Override
+    public void post(final Object inEvent) {
+        if (inEvent == null) {
+            throw new IllegalArgumentException("Event can't be null.");
+        }
+
+        final Consumer consumer = this.mCurrentConsumer.get();
+
+        if (consumer != null) {
+            consumer.postLater(inEvent);
+        } else {
+            final long sequence = this.mClaimed.incrementAndGet();
+
+            this.waitForCapacity(sequence);
+            this.retain(inEvent, sequence);
+            this.mEntries[(int)sequence & this.mMask] = inEvent;
+            this.publish(sequence, true);
+        }
+    }
+
+    /**
+     * Put the events in ring, the slots are claimed together and
+     * the subscribers get them in one batch if possible.
+     * The events more than the size of ring are put in several rounds.
+     *
+     * @since 2026/10/17
+     */
+    @Override
+    public void postAll(final List<?> inEvents) {
+        if (inEvents == null) {
+            throw new IllegalArgumentException("Events are missing.");
+        }
+        // Check before claimed, a claimed slot that is never published blocks the subscribers
+        for (Object event : inEvents) {
+            if (event == null) {
+                throw new IllegalArgumentException("Event can't be null.");
+            }
+        }
+
+        final Consumer consumer = this.mCurrentConsumer.get();
+
+        if (consumer != null) {
+            // Don't wait for the slots in the thread of subscriber
+            for (Object event : inEvents) {
+                consumer.postLater(event);
+            }
+        } else {
+            int offset = 0;
+
+            while (offset < inEvents.size()) {
+                final int count = Math.min(inEvents.size() - offset, this.mEntries.length);
+                final long last = this.mClaimed.addAndGet(count);
+                final long first = last - count + 1;
+
+                this.waitForCapacity(last);
+                for (long sequence = first; sequence <= last; sequence++) {
+                    final Object event = inEvents.get(offset++);
+
+                    this.retain(event, sequence);
+                    this.mEntries[(int)sequence & this.mMask] = event;
+                }
+                for (long sequence = first; sequence <= last; sequence++) {
+                    this.publish(sequence, sequence == last);
+                }
+            }
+        }
+    }
+
+    /**
+     * Retain a recyclable event for each subscriber will read it.
+     * Must be called after the slot is claimed, the consumers added after that start from
+     * the sequence or later. The ones added before but start later are not counted either.
+     *
+     * @param inEvent The event to be published.
+     * @param inSequence The claimed sequence.
+     * @since 2026/10/17
+     */
+    private void retain(final Object inEvent, final long inSequence) {
+        if (inEvent instanceof IRecyclable) {
+            for (Consumer consumer : this.mConsumers) {
+                if (consumer.mEventType.isInstance(inEvent) && this.getStart(consumer) < inSequence) {
+                    ((IRecyclable)inEvent).retain();
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the sequence a consumer starts after, wait if it's still being registered.
+     *
+     * @param inConsumer The consumer in array.
+     * @return The last sequence not read by consumer.
+     * @since 2026/10/17
+     */
+    private long getStart(final Consumer inConsumer) {
+        long result = inConsumer.mStart;
+
+        if (result == RingBus.UNASSIGNED) {
+            // It's assigned with lock in register
+            synchronized (this.mLock) {
+                result = inConsumer.mStart;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Put the event in ring if there is a free slot now.
+     *
+     * @param inEvent The event to be published.
+     * @return True if the event is published.
+     * @since 2026/10/17
+     */
+    private boolean tryPublish(final Object inEvent) {
+        boolean result = false;
+        long sequence = this.mClaimed.get() + 1;
+
+        while (sequence - this.mEntries.length <= this.getMinimumSequence(sequence - this.mEntries.length)) {
+            if (this.mClaimed.compareAndSet(sequence - 1, sequence)) {
+                this.retain(inEvent, sequence);
+                this.mEntries[(int)sequence & this.mMask] = inEvent;
+                this.publish(sequence, true);
+                result = true;
+                break;
+            }
+            sequence = this.mClaimed.get() + 1;
+        }
+
+        return result;
+    }
+
+    /**
+     * Release the reference of an event held by consumer.
+     *
+     * @param inEvent The event published.
+     * @since 2026/10/17
+     */
+    private static void releaseHeld(final Object inEvent) {
+        if (inEvent instanceof IRecyclable) {
+            ((IRecyclable)inEvent).release();
+        }
+    }
+
+    /**
+     * Pass the exception of subscriber to the handler.
+     *
+     * @param inSubscriber The subscriber throws the exception.
+     * @param inThrowable The exception.
+     * @since 2026/10/17
+     */
+    private void onError(final IFluxSubscriber inSubscriber, final Throwable inThrowable) {
+        final ErrorHandler handler = this.mErrorHandler;
+
+        if (handler != null) {
+            handler.onError(inSubscriber, inThrowable);
+        } else {
+            final Thread thread = Thread.currentThread();
+
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, inThrowable);
+        }
+    }
+
+    /**
+     * Wait until the slowest subscriber leaves the slot of sequence.
+     *
+     * @param inSequence The claimed sequence.
+     * @since 2026/10/17
+     */
+    private void waitForCapacity(final long inSequence) {
+        final long wrapPoint = inSequence - this.mEntries.length;
+        int tries = 0;
+
+        while (wrapPoint > this.getMinimumSequence(wrapPoint)) {
+            tries = this.idle(tries);
+        }
+    }
+
+    /**
+     * Mark the slot of sequence as published.
+     *
+     * @param inSequence The sequence to publish.
+     * @param inWakeUp Wake up the waiting subscribers or not.
+     * @since 2026/10/17
+     */
+    private void publish(final long inSequence, final boolean inWakeUp) {
+        final int index = (int)inSequence & this.mMask;
+        final int round = (int)(inSequence >>> this.mShift);
+
+        if (this.mWaitStrategy == WaitStrategy.PARK && inWakeUp) {
+            // Need a full fence here, otherwise the check of waiting subscribers may be reordered
+            this.mPublished.set(index, round);
+            for (Consumer consumer : this.mConsumers) {
+                consumer.wakeUp();
+            }
+        } else {
+            this.mPublished.lazySet(index, round);
+        }
+    }
+
+    /**
+     * Get the sequence of the slowest subscriber.
+     *
+     * @param inDefault The value returned when there is no subscriber.
+     * @return The smallest sequence handled by subscribers.
+     * @since 2026/10/17
+     */
+    private long getMinimumSequence(final long inDefault) {
+        long result = inDefault;
+
+        for (Consumer consumer : this.mConsumers) {
+            final long sequence = consumer.mSequence.get();
+
+            if (sequence < result) {
+                result = sequence;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Find the highest sequence that every sequence from the start is published.
+     *
+     * @param inStart The first sequence to check.
+     * @return The highest published sequence, or inStart - 1 if the start is not published.
+     * @since 2026/10/17
+     */
+    private long getPublishedSequence(final long inStart) {
+        final long claimed = this.mClaimed.get();
+        long sequence = inStart;
+
+        while (sequence <= claimed
+                && this.mPublished.get((int)sequence & this.mMask) == (int)(sequence >>> this.mShift)) {
+            sequence++;
+        }
+
+        return sequence - 1;
+    }
+
+    /**
+     * Let the producer wait for a while by the wait strategy.
+     *
+     * @param inTries The number of times have tried.
+     * @return The number of times have tried after waiting.
+     * @since 2026/10/17
+     */
+    private int idle(final int inTries) {
+        int result = inTries;
+
+        if (this.mWaitStrategy != WaitStrategy.BUSY_SPIN) {
+            if (result < RingBus.SPIN_TRIES) {
+                result++;
+            } else if (this.mWaitStrategy == WaitStrategy.YIELD) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(1L);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Find the consumer of subscriber.
+     * Must be called with lock.
+     *
+     * @param inSubscriber The subscriber to find.
+     * @return The index in array, or -1 if not found.
+     * @since 2026/10/17
+     */
+    private int indexOf(final IFluxSubscriber inSubscriber) {
+        final Consumer[] consumers = this.mConsumers;
+        int result = -1;
+
+        for (int i = 0; i < consumers.length; i++) {
+            if (consumers[i].mSubscriber == inSubscriber) {
+                result = i;
+                break;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Remove the consumer, so the producers don't wait for it anymore.
+     * Must be called with lock.
+     *
+     * @param inIndex The index of consumer.
+     * @since 2026/10/17
+     */
+    private void removeConsumer(final int inIndex) {
+        final Consumer[] consumers = new Consumer[this.mConsumers.length - 1];
+
+        System.arraycopy(this.mConsumers, 0, consumers, 0, inIndex);
+        System.arraycopy(this.mConsumers, inIndex + 1, consumers, inIndex, consumers.length - inIndex);
+        this.mConsumers = consumers;
+    }
+
+    /**
+     * A sequence padded to keep it away from the cache line of other sequences.
+     */
+    @SuppressWarnings("unused")
+    private static final class Sequence extends AtomicLong {
+        private static final long serialVersionUID = 1L;
+
+        private long mP1, mP2, mP3, mP4, mP5, mP6, mP7;
+
+        Sequence(final long inInitialValue) {
+            super(inInitialValue);
+        }
+    }
+
+    /**
+     * The thread delivers events to a subscriber.
+     */
+    private final class Consumer implements Runnable {
+        private final IFluxSubscriber mSubscriber;
+        private final Class<?> mEventType;
+        // The last sequence handled by subscriber
+        private final Sequence mSequence;
+        private final Thread mThread;
+        private final List<Object> mBatch = new ArrayList<>();
+        private final List<Object> mReadOnlyBatch = Collections.unmodifiableList(this.mBatch);
+        // The events posted by subscriber when the ring is full, only accessed in the thread of consumer
+        private final Queue<Object> mPending = new ArrayDeque<>();
+        private volatile boolean mRunning = true;
+        private volatile boolean mWaiting = false;
+        // The sequence before the first one read, assigned with lock after added to array
+        private volatile long mStart = RingBus.UNASSIGNED;
+
+        Consumer(final IFluxSubscriber inSubscriber, final Class<?> inEventType, final long inSequence) {
+            this.mSubscriber = inSubscriber;
+            this.mEventType = inEventType;
+            this.mSequence = new Sequence(inSequence);
+            this.mThread = new Thread(this, "FluxJava-ring-" + RingBus.sThreadCount.incrementAndGet());
+            this.mThread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            RingBus.this.mCurrentConsumer.set(this);
+            try {
+                this.consume();
+            } finally {
+                RingBus.this.mCurrentConsumer.remove();
+                // Not gating the producers anymore, wait for the ring like other threads
+                this.postPending();
+            }
+        }
+
+        /**
+         * Deliver the events until the consumer is stopped.
+         *
+         * @since 2026/10/17
+         */
+        private void consume() {
+            long next = this.mSequence.get() + 1;
+
+            while (this.mRunning) {
+                final long available = this.waitFor(next);
+
+                if (available >= next) {
+                    for (long sequence = next; sequence <= available; sequence++) {
+                        final Object event = RingBus.this.mEntries[(int)sequence & RingBus.this.mMask];
+
+                        if (this.mEventType.isInstance(event)) {
+                            this.mBatch.add(event);
+                        }
+                    }
+                    if (this.mRunning == false) {
+                        // The slots may be overwritten after unregistered,
+                        // the events are not released and left to GC
+                        this.mBatch.clear();
+                        break;
+                    }
+                    try {
+                        this.deliver();
+                    } catch (RuntimeException | Error exGeneral) {
+                        // Thrown by error handler or an error of VM,
+                        // stop gating the producers before the thread dies
+                        RingBus.this.unregister(this.mSubscriber);
+                        throw exGeneral;
+                    } finally {
+                        for (int i = 0; i < this.mBatch.size(); i++) {
+                            if (this.mBatch.get(i) instanceof IRecyclable) {
+                                ((IRecyclable)this.mBatch.get(i)).release();
+                            }
+                        }
+                        this.mBatch.clear();
+                    }
+                    this.mSequence.lazySet(available);
+                    next = available + 1;
+                    this.flushPending();
+                }
+            }
+        }
+
+        /**
+         * Publish the event now, or hold it if the ring is full or there are events held before it.
+         * Called in the thread of consumer.
+         *
+         * @param inEvent The event posted by subscriber.
+         * @since 2026/10/17
+         */
+        void postLater(final Object inEvent) {
+            if (this.mPending.isEmpty() == false || RingBus.this.tryPublish(inEvent) == false) {
+                // The sender may release it before published
+                if (inEvent instanceof IRecyclable) {
+                    ((IRecyclable)inEvent).retain();
+                }
+                this.mPending.offer(inEvent);
+            }
+        }
+
+        /**
+         * Publish the held events in order until the ring is full.
+         *
+         * @since 2026/10/17
+         */
+        private void flushPending() {
+            while (this.mPending.isEmpty() == false && RingBus.this.tryPublish(this.mPending.peek())) {
+                RingBus.releaseHeld(this.mPending.poll());
+            }
+        }
+
+        /**
+         * Publish the held events and wait for the ring. Called after the consumer is removed.
+         *
+         * @since 2026/10/17
+         */
+        private void postPending() {
+            Object event;
+
+            while ((event = this.mPending.poll()) != null) {
+                try {
+                    RingBus.this.post(event);
+                } finally {
+                    RingBus.releaseHeld(event);
+                }
+            }
+        }
+
+        /**
+         * Pass the events in batch to subscriber.
+         *
+         * @since 2026/10/17
+         */
+        private void deliver() {
+            if (this.mBatch.isEmpty() == false) {
+                if (this.mSubscriber instanceof IFluxBatchSubscriber) {
+                    try {
+                        ((IFluxBatchSubscriber)this.mSubscriber).onEventBatch(this.mReadOnlyBatch);
+                    } catch (RuntimeException exRuntime) {
+                        RingBus.this.onError(this.mSubscriber, exRuntime);
+                    }
+                } else {
+                    for (Object event : this.mBatch) {
+                        try {
+                            this.mSubscriber.onEvent(event);
+                        } catch (RuntimeException exRuntime) {
+                            // Go on with the other events
+                            RingBus.this.onError(this.mSubscriber, exRuntime);
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Wait until the sequence is published or the consumer is stopped.
+         *
+         * @param inSequence The sequence to wait for.
+         * @return The highest published sequence, less than inSequence if stopped.
+         * @since 2026/10/17
+         */
+        private long waitFor(final long inSequence) {
+            long result = RingBus.this.getPublishedSequence(inSequence);
+            int tries = 0;
+
+            while (result < inSequence && this.mRunning) {
+                if (this.mPending.isEmpty() == false) {
+                    // The other subscribers may have left the slots
+                    this.flushPending();
+                }
+                if (RingBus.this.mWaitStrategy == WaitStrategy.BUSY_SPIN || tries < RingBus.SPIN_TRIES) {
+                    tries++;
+                } else if (RingBus.this.mWaitStrategy == WaitStrategy.YIELD) {
+                    Thread.yield();
+                } else {
+                    this.mWaiting = true;
+                    // Check again after the flag is visible to producers
+                    if (RingBus.this.getPublishedSequence(inSequence) < inSequence && this.mRunning) {
+                        if (this.mPending.isEmpty()) {
+                            LockSupport.park(this);
+                        } else {
+                            // Nobody wakes it up when the slots are left, check again later
+                            LockSupport.parkNanos(this, RingBus.PENDING_PARK_NANOS);
+                        }
+                    }
+                    this.mWaiting = false;
+                }
+                result = RingBus.this.getPublishedSequence(inSequence);
+            }
+
+            return result;
+        }
+
+        /**
+         * Unpark the thread if it is waiting for events.
+         *
+         * @since 2026/10/17
+         */
+        void wakeUp() {
+            if (this.mWaiting) {
+                LockSupport.unpark(this.mThread);
+            }
+        }
+
+        /**
+         * Stop the thread after the current batch.
+         *
+         * @since 2026/10/17
+         */
+        void stop() {
+            this.mRunning = false;
+            LockSupport.unpark(this.mThread);
+        }
+    }
+
+}
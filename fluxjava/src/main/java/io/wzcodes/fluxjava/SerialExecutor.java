@@ -0,0 +1,187 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An {@link Executor} runs tasks one by one in submitted order.
+ * The tasks are kept in a queue and drained by a shared {@link Executor},
+ * so there is no thread created for each task and no two tasks run at the same time.
+ * It can be used as a mailbox of store to keep the data of store accessed by single writer.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+public class SerialExecutor implements Executor {
+
+    // The number of tasks run in one turn, then give the thread back to other queues
+    private static final int DRAIN_LIMIT = 64;
+    // The idle threads of default pool end after this
+    private static final long KEEP_ALIVE_SECONDS = 60L;
+
+    private static volatile ExecutorService sDefaultExecutor;
+
+    private final Executor mExecutor;
+    private final Queue<Runnable> mQueue = new ConcurrentLinkedQueue<>();
+    // The size of queue is O(n), count the tasks instead
+    private final AtomicInteger mSize = new AtomicInteger(0);
+    private final AtomicBoolean mScheduled = new AtomicBoolean(false);
+    private final Runnable mDrainTask = new Runnable() {
+        @Override
+        public void run() {
+            SerialExecutor.this.drain();
+        }
+    };
+
+    /**
+     * Constructor. The tasks will be drained by the default shared thread pool.
+     *
+     * @since 2026/10/17
+     */
+    public SerialExecutor() {
+        this(SerialExecutor.getDefaultExecutor());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param inExecutor The {@link Executor} used to drain the queue.
+     * @since 2026/10/17
+     */
+    public SerialExecutor(final Executor inExecutor) {
+        if (inExecutor == null) {
+            throw new IllegalArgumentException("Executor is missing.");
+        }
+        this.mExecutor = inExecutor;
+    }
+
+    /**
+     * Get the thread pool shared by every {@link SerialExecutor} created without executor.
+     * The threads in pool are daemon threads and will be reused after the task is done.
+     * The pool has a thread for each processor at most, so the stores don't start a thread each
+     * when many of them get actions at once. The queues beyond it wait, and each queue runs
+     * {@code DRAIN_LIMIT} tasks in a turn before giving the thread to others. A queue whose tasks
+     * block on network or storage should have its own {@link Executor}, or it holds a thread of pool.
+     *
+     * @return Instance of {@link ExecutorService}.
+     * @since 2026/10/17
+     */
+    public static ExecutorService getDefaultExecutor() {
+        if (SerialExecutor.sDefaultExecutor == null) {
+            synchronized (SerialExecutor.class) {
+                if (SerialExecutor.sDefaultExecutor == null) {
+                    final int threadCount = Runtime.getRuntime().availableProcessors();
+                    final ThreadPoolExecutor executor = new ThreadPoolExecutor(threadCount, threadCount,
+                            SerialExecutor.KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+                            new ThreadFactory() {
+                                private final AtomicInteger mCount = new AtomicInteger(0);
+
+                                @Override
+                                public Thread newThread(final Runnable inRunnable) {
+                                    final Thread thread = new Thread(inRunnable,
+                                            "FluxJava-serial-" + this.mCount.incrementAndGet());
+
+                                    thread.setDaemon(true);
+
+                                    return thread;
+                                }
+                            });
+
+                    // Don't keep the threads when nothing is sent
+                    executor.allowCoreThreadTimeOut(true);
+                    SerialExecutor.sDefaultExecutor = executor;
+                }
+            }
+        }
+
+        return SerialExecutor.sDefaultExecutor;
+    }
+
+    /**
+     * @since 2026/10/17
+     */
+    @Override
+    public void execute(final Runnable inTask) {
+        if (inTask == null) {
+            throw new IllegalArgumentException("Task is missing.");
+        }
+        // Count it before offered and after polled, so the size is never less than the tasks in queue
+        this.mSize.incrementAndGet();
+        this.mQueue.offer(inTask);
+        this.schedule();
+    }
+
+    /**
+     * Get the number of tasks waiting in queue. It's O(1) and can be called for each task.
+     *
+     * @return The number of tasks.
+     * @since 2026/10/17
+     */
+    public int getQueueSize() {
+        return this.mSize.get();
+    }
+
+    /**
+     * Ask the shared {@link Executor} to drain the queue if no one is doing it.
+     *
+     * @since 2026/10/17
+     */
+    private void schedule() {
+        if (this.mScheduled.compareAndSet(false, true)) {
+            try {
+                this.mExecutor.execute(this.mDrainTask);
+            } catch (RuntimeException exRuntime) {
+                // Let next task try again
+                this.mScheduled.set(false);
+                throw exRuntime;
+            }
+        }
+    }
+
+    /**
+     * Run the tasks in queue.
+     *
+     * @since 2026/10/17
+     */
+    private void drain() {
+        try {
+            Runnable task;
+            int count = 0;
+
+            while (count < SerialExecutor.DRAIN_LIMIT && (task = this.mQueue.poll()) != null) {
+                this.mSize.decrementAndGet();
+                task.run();
+                count++;
+            }
+        } finally {
+            this.mScheduled.set(false);
+            if (this.mQueue.isEmpty() == false) {
+                this.schedule();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A store keeps the entities in {@link PersistentVector}.
+ * Readers take the current version by {@link SnapshotFluxStore#getSnapshot()} in O(1) and read it
+ * as long as they want, like in one pass of binding views, the entities are returned without copying.
+ * Writers create a new version from the snapshot in the handler of action and publish it at once,
+ * the readers never see a half-updated list. If the actions may be handled in different threads
+ * at the same time, publish the version with the one it's created from, and create it again
+ * from the new snapshot if another writer published first.<br />
+ * The entities in store are shared with readers, they should be treated as immutable.
+ * Replace an entity by {@link PersistentVector#set(int, Object)} instead of changing its fields.
+ * A new version can be published by {@link SnapshotFluxStore#publishChanges(PersistentVector, ListDiff.Callback)}
+ * to emit the differences from current version, instead of a change of whole list.
+ * The views keep the version the event carries and read it instead of the store,
+ * their items always match the changes they have applied.
+ *
+ * @author WZ
+ * @version 20261017
+ */
+public abstract class SnapshotFluxStore<TEntity> extends FluxStore<TEntity> {
+
+    private final AtomicReference<PersistentVector<TEntity>> mSnapshot =
+            new AtomicReference<>(PersistentVector.<TEntity>empty());
+
+    /**
+     * Constructor.
+     *
+     * @param inBus The instance of {@link IFluxBus}.
+     * @since 2026/10/17
+     */
+    protected SnapshotFluxStore(final IFluxBus inBus) {
+        super(inBus);
+    }
+
+    /**
+     * Get the current version of entities. It's never changed after returned.
+     *
+     * @return The version of entities.
+     * @since 2026/10/17
+     */
+    public PersistentVector<TEntity> getSnapshot() {
+        return this.mSnapshot.get();
+    }
+
+    /**
+     * Get the entity from current version. Use {@link SnapshotFluxStore#getSnapshot()} if
+     * several entities have to be read from the same version.
+     *
+     * @since 2026/10/17
+     */
+    @Override
+    public TEntity getItem(final int inIndex) {
+        return this.mSnapshot.get().get(inIndex);
+    }
+
+    /**
+     * @since 2026/10/17
+     */
+    @Override
+    public int getCount() {
+        return this.mSnapshot.get().size();
+    }
+
+    /**
+     * Replace the current version.
+     * Only for the version not created from current one, or the actions are handled serially.
+     * Otherwise a version published by another thread in the meantime is lost,
+     * use {@link SnapshotFluxStore#publish(PersistentVector, PersistentVector)} and try again if it fails.
+     *
+     * @param inSnapshot The new version.
+     * @since 2026/10/17
+     */
+    protected void publish(final PersistentVector<TEntity> inSnapshot) {
+        if (inSnapshot == null) {
+            throw new IllegalArgumentException("Snapshot can't be null.");
+        }
+        this.mSnapshot.set(inSnapshot);
+    }
+
+    /**
+     * Replace the current version if it is still the expected one.
+     * It's for the writers in different threads, like the actions are not dispatched serially.
+     *
+     * @param inExpected The version the new one is created from.
+     * @param inSnapshot The new version.
+     * @return True if the new version is published.
+     * @since 2026/10/17
+     */
+    protected boolean publish(final PersistentVector<TEntity> inExpected, final PersistentVector<TEntity> inSnapshot) {
+        if (inSnapshot == null) {
+            throw new IllegalArgumentException("Snapshot can't be null.");
+        }
+
+        return this.mSnapshot.compareAndSet(inExpected, inSnapshot);
+    }
+
+    /**
+     * Replace the current version and emit the changes between the versions.
+     * The changes are calculated by {@link ListDiff} in the calling thread, call it in the handler
+     * of action, which is not run in the main thread, so the views only apply the changes.
+     * The new version replaces whatever is current, use
+     * {@link SnapshotFluxStore#publishChanges(PersistentVector, PersistentVector, ListDiff.Callback)}
+     * if it's created from current version. Nothing is emitted if the versions have no difference.
+     *
+     * @param inSnapshot The new version.
+     * @param inCallback The callback to compare entities.
+     * @return The changes emitted.
+     * @since 2026/10/17
+     */
+    protected List<ListDiff.Change> publishChanges(final PersistentVector<TEntity> inSnapshot,
+                                                   final ListDiff.Callback<? super TEntity> inCallback) {
+        List<ListDiff.Change> result;
+
+        do {
+            result = this.publishChanges(this.mSnapshot.get(), inSnapshot, inCallback);
+        } while (result == null);
+
+        return result;
+    }
+
+    /**
+     * Replace the current version if it is still the expected one, and emit the changes between them.
+     * The event carries both versions, so the views apply the changes to the version they show.
+     * If another writer published first, nothing is emitted and the new version has to be
+     * created again from current one.
+     *
+     * @param inExpected The version the new one is created from.
+     * @param inSnapshot The new version.
+     * @param inCallback The callback to compare entities.
+     * @return The changes emitted, or null if the new version is not published.
+     * @since 2026/10/17
+     */
+    protected List<ListDiff.Change> publishChanges(final PersistentVector<TEntity> inExpected,
+                                                   final PersistentVector<TEntity> inSnapshot,
+                                                   final ListDiff.Callback<? super TEntity> inCallback) {
+        if (inExpected == null) {
+            throw new IllegalArgumentException("Expected snapshot can't be null.");
+        }
+        if (inSnapshot == null) {
+            throw new IllegalArgumentException("Snapshot can't be null.");
+        }
+
+        List<ListDiff.Change> result = ListDiff.calculate(inExpected.asList(), inSnapshot.asList(), inCallback);
+
+        if (this.mSnapshot.compareAndSet(inExpected, inSnapshot) == false) {
+            result = null;
+        } else if (result.isEmpty() == false) {
+            super.emitChange(this.createDiffEvent(inExpected, inSnapshot, result));
+        }
+
+        return result;
+    }
+
+    /**
+     * Create the event for the changes between versions.
+     * Override it to emit a subclass of {@link ListDiffEvent} the views subscribe.
+     *
+     * @param inBase The version the changes are applied to.
+     * @param inSnapshot The version after the changes are applied.
+     * @param inChanges The changes calculated by {@link ListDiff}.
+     * @return The event to emit.
+     * @since 2026/10/17
+     */
+    protected FluxContext.StoreChangeEvent createDiffEvent(final PersistentVector<TEntity> inBase,
+                                                           final PersistentVector<TEntity> inSnapshot,
+                                                           final List<ListDiff.Change> inChanges) {
+        return new ListDiffEvent<>(this, inBase, inSnapshot, inChanges);
+    }
+
+}
@@ -18,6 +18,8 @@ package io.wzcodes.fluxjava
 import spock.lang.Specification
 
 import java.lang.reflect.Field
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executors
 
 class ActionCreatorSpec extends Specification {
 
@@ -58,6 +60,30 @@ class ActionCreatorSpec extends Specification {
         }
     }
 
+    private static class StubIntAction extends FluxAction<Integer, String> {
+        public StubIntAction(Integer inType, String inData) {
+            super(inType, inData);
+        }
+    }
+
+    private static class StubIntAction2 extends IntAction {
+        public StubIntAction2(int inType, int inData) {
+            super(inType, inData);
+        }
+    }
+
+    private static class StubLongAction extends LongAction {
+        StubLongAction(int inType, long inData) {
+            super(inType, inData);
+        }
+    }
+
+    private static class StubDoubleAction extends DoubleAction {
+        StubDoubleAction(int inType, double inData) {
+            super(inType, inData);
+        }
+    }
+
     private static class FakeAction extends FluxAction<String, String> {
         FakeAction(String inType) {
             super(inType, null);
@@ -173,6 +199,84 @@ class ActionCreatorSpec extends Specification {
         thrown(IllegalArgumentException)
     }
 
+    def "Test sendRequests"() {
+        given:
+        def bus = Mock(IFluxBatchBus);
+        def builder = FluxContext.getBuilder()
+        def actionHelper = Mock(IActionHelper)
+        def context
+        def target
+
+        builder.bus = bus
+        builder.actionHelper = actionHelper
+        builder.storeMap = [0:FluxContextSpec.StubStore.class]
+        context = builder.build()
+        target = context.actionCreator
+
+        when: "ActionHelper is null"
+        context.setActionHelper(null)
+        target.sendRequests("", [""])
+
+        then:
+        thrown(IllegalArgumentException)
+
+        when: "data list is null"
+        context.setActionHelper(actionHelper)
+        target.sendRequests("", null)
+
+        then:
+        thrown(IllegalArgumentException)
+
+        when: "action class is null"
+        target.sendRequests("", [""])
+
+        then:
+        thrown(IllegalStateException)
+
+        when: "constructor of Action class throw exception"
+        actionHelper.getActionClass("1") >> StubErrorAction.class
+        target.sendRequests("1", [""])
+
+        then: "nothing is sent"
+        thrown(IllegalStateException)
+        0 * bus.postAll(_)
+
+        when: "normal condition"
+        actionHelper.getActionClass("2") >> StubAction.class
+        actionHelper.wrapData(_) >> { String inData -> inData }
+        target.sendRequests("2", ["a", "b", "c"])
+
+        then: "all actions are sent in one batch"
+        1 * bus.postAll({ List inActions ->
+            inActions.size() == 3 && inActions*.data == ["a", "b", "c"] && inActions.every { it instanceof StubAction }
+        })
+        0 * bus.post(_)
+    }
+
+    def "Test sendRequests to bus without batch"() {
+        given:
+        def bus = Mock(IFluxBus);
+        def builder = FluxContext.getBuilder()
+        def actionHelper = Mock(IActionHelper)
+        def target
+
+        builder.bus = bus
+        builder.actionHelper = actionHelper
+        builder.storeMap = [0:FluxContextSpec.StubStore.class]
+        target = builder.build().actionCreator
+        actionHelper.getActionClass(_) >> StubAction.class
+        actionHelper.wrapData(_) >> { String inData -> inData }
+
+        when:
+        target.sendRequests("1", ["a", "b"])
+
+        then: "the actions are posted one by one in order"
+        1 * bus.post({ it.data == "a" })
+
+        then:
+        1 * bus.post({ it.data == "b" })
+    }
+
     def "Test sendRequestAsync"() {
         given:
         def bus = Mock(IFluxBus);
@@ -197,4 +301,313 @@ class ActionCreatorSpec extends Specification {
         1 * bus.post(_ as StubAction)
     }
 
-}
\ No newline at end of file
+    def "Test submitRequest"() {
+        given:
+        def bus = Mock(IFluxBus);
+        def builder = FluxContext.getBuilder()
+        def actionHelper = Mock(IActionHelper)
+        def executor = Executors.newSingleThreadExecutor()
+        def context
+        def target
+        def expected
+
+        builder.bus = bus
+        builder.actionHelper = actionHelper
+        builder.storeMap = [0:FluxContextSpec.StubStore.class]
+        builder.executor = executor
+        context = builder.build()
+        target = context.actionCreator
+
+        when: "send request by using executor"
+        actionHelper.getActionClass("0") >> StubAction.class
+        expected = target.submitRequest("0", "");
+        expected.get()
+
+        then:
+        1 * bus.post(_ as StubAction)
+
+        when: "something go wrong in sendRequest"
+        expected = target.submitRequest("1", "");
+        expected.get()
+
+        then: "get the error from future"
+        def exception = thrown(ExecutionException)
+        exception.cause instanceof IllegalStateException
+
+        cleanup:
+        executor.shutdown()
+    }
+
+    def "Test submitRequest without executor"() {
+        given:
+        def bus = Mock(IFluxBus);
+        def builder = FluxContext.getBuilder()
+        def actionHelper = Mock(IActionHelper)
+        def target
+        def expected
+
+        builder.bus = bus
+        builder.actionHelper = actionHelper
+        builder.storeMap = [0:FluxContextSpec.StubStore.class]
+        target = builder.build().actionCreator
+
+        when:
+        actionHelper.getActionClass(_) >> StubAction.class
+        expected = target.submitRequest("", "");
+        expected.get()
+
+        then:
+        1 * bus.post(_ as StubAction)
+    }
+
+    def "Test sendRequest with cached descriptor"() {
+        given:
+        def bus = Mock(IFluxBus);
+        def builder = FluxContext.getBuilder()
+        def actionHelper = Mock(IActionHelper)
+        def target
+
+        builder.bus = bus
+        builder.actionHelper = actionHelper
+        builder.storeMap = [0:FluxContextSpec.StubStore.class]
+        target = builder.build().actionCreator
+        actionHelper.getActionClass(_) >> StubAction.class
+
+        when: "send the same Action class several times"
+        target.sendRequest("0", "")
+        target.sendRequest("1", "")
+        target.sendRequest("2", "")
+
+        then: "Action class is resolved once"
+        3 * bus.post(_ as StubAction)
+        target.mDescriptors.size() == 1
+
+        when: "send the same Action class with different type class"
+        target.sendRequest(0, "")
+
+        then: "constructor can't be found"
+        thrown(IllegalStateException)
+
+        when: "send the same Action class again"
+        target.sendRequest("3", "")
+
+        then: "Action is created by descriptor"
+        1 * bus.post(_ as StubAction)
+        target.mDescriptors.size() == 1
+    }
+
+    def "Test sendRequest with registry"() {
+        given:
+        def bus = Mock(IFluxBus);
+        def builder = FluxContext.getBuilder()
+        def actionHelper = Mock(IActionHelper)
+        def registry = Mock(IFluxRegistry)
+        def factory = Mock(IActionFactory)
+        def expected = new StubAction("0", "")
+        def target
+
+        builder.bus = bus
+        builder.actionHelper = actionHelper
+        builder.storeMap = [0:FluxContextSpec.StubStore.class]
+        builder.registry = registry
+        target = builder.build().actionCreator
+        actionHelper.getActionClass(_) >> StubAction.class
+        actionHelper.wrapData(_) >> { it[0] }
+
+        when: "Action class is in registry"
+        target.sendRequest("0", "")
+        target.sendRequest("1", "")
+
+        then: "Action is created by factory"
+        1 * registry.getActionFactory(StubAction.class) >> factory
+        1 * factory.create("0", "") >> expected
+        1 * factory.create("1", "") >> new StubAction("1", "")
+        1 * bus.post(expected)
+        1 * bus.post(_ as StubAction)
+
+        when: "factory gets wrong arguments"
+        target.sendRequest("2", "")
+
+        then:
+        1 * factory.create("2", "") >> { throw new ClassCastException() }
+        thrown(IllegalStateException)
+    }
+
+    def "Test sendRequest with action registry"() {
+        given:
+        def bus = Mock(IFluxBatchBus);
+        def builder = FluxContext.getBuilder()
+        def actionHelper = Mock(IActionHelper)
+        def registry = new ActionRegistry()
+        def target
+        def actual = []
+
+        registry.register(1000, StubIntAction.class)
+        builder.bus = bus
+        builder.actionHelper = actionHelper
+        builder.storeMap = [0:FluxContextSpec.StubStore.class]
+        builder.actionRegistry = registry
+        target = builder.build().actionCreator
+        actionHelper.wrapData(_) >> { it[0] + "!" }
+
+        when: "id is registered"
+        target.sendRequest(1000 as int, "a")
+        target.sendRequest(1000 as int, "b")
+        target.sendRequests(1000 as int, ["c", "d"])
+
+        then: "Action class is got from registry and type id is boxed once"
+        0 * actionHelper.getActionClass(_)
+        2 * bus.post(_ as StubIntAction) >> { actual << it[0] }
+        1 * bus.postAll(_) >> { actual.addAll(it[0]) }
+        actual*.data == ["a!", "b!", "c!", "d!"]
+        actual*.type.every { it.is(actual[0].type) }
+
+        when: "boxed id is registered"
+        target.sendRequest(Integer.valueOf(1000), "e")
+
+        then:
+        0 * actionHelper.getActionClass(_)
+        1 * bus.post({ it instanceof StubIntAction && it.data == "e!" })
+
+        when: "id is not registered"
+        target.sendRequest(1 as int, "f")
+
+        then: "Action class is got from helper"
+        1 * actionHelper.getActionClass(1) >> StubIntAction.class
+        1 * bus.post({ it instanceof StubIntAction && it.type == 1 })
+    }
+
+    def "Test sendRequest with primitive action"() {
+        given:
+        def bus = Mock(IFluxBus);
+        def builder = FluxContext.getBuilder()
+        def actionHelper = Mock(IActionHelper)
+        def registry = new ActionRegistry()
+        def intFactory = Mock(IntAction.Factory)
+        def target
+
+        registry.registerInt(1, intFactory)
+                .registerLong(2, new LongAction.Factory() {
+                    @Override
+                    LongAction create(int inType, long inData) {
+                        return new StubLongAction(inType, inData)
+                    }
+                })
+                .registerDouble(3, new DoubleAction.Factory() {
+                    @Override
+                    DoubleAction create(int inType, double inData) {
+                        return new StubDoubleAction(inType, inData)
+                    }
+                })
+                .register(4, StubIntAction2.class)
+        builder.bus = bus
+        builder.actionHelper = actionHelper
+        builder.storeMap = [0:FluxContextSpec.StubStore.class]
+        builder.actionRegistry = registry
+        target = builder.build().actionCreator
+        actionHelper.wrapData(_) >> { it[0] }
+
+        when: "id is registered with factory"
+        target.sendRequest(1 as int, 10 as int)
+        target.sendRequest(2 as int, 20L)
+        target.sendRequest(3 as int, 0.5d)
+
+        then: "Action is created by factory without helper"
+        1 * intFactory.create(1, 10) >> new StubIntAction2(1, 10)
+        1 * bus.post({ it instanceof StubIntAction2 && it.data == 10 })
+        1 * bus.post({ it instanceof StubLongAction && it.type == 2 && it.data == 20L })
+        1 * bus.post({ it instanceof StubDoubleAction && it.type == 3 && it.data == 0.5d })
+        0 * actionHelper._
+
+        when: "id is registered with factory and sent with boxed data"
+        target.sendRequest(2 as int, Long.valueOf(21L))
+
+        then:
+        1 * bus.post({ it instanceof StubLongAction && it.data == 21L })
+
+        when: "id is registered with primitive Action class"
+        target.sendRequest(4 as int, 40 as int)
+
+        then: "Action is created by reflection"
+        1 * bus.post({ it instanceof StubIntAction2 && it.type == 4 && it.data == 40 })
+
+        when: "data doesn't match the factory"
+        target.sendRequest(1 as int, 10L)
+
+        then:
+        thrown(IllegalStateException)
+    }
+
+    def "Test sendRequest with metrics"() {
+        given:
+        def bus = Mock(IFluxBus);
+        def builder = FluxContext.getBuilder()
+        def actionHelper = Mock(IActionHelper)
+        def recorder = new MetricsRecorder()
+        def target
+
+        builder.bus = bus
+        builder.actionHelper = actionHelper
+        builder.storeMap = [0:FluxContextSpec.StubStore.class]
+        builder.metrics = recorder
+        target = builder.build().actionCreator
+        actionHelper.getActionClass(_) >> StubAction.class
+        actionHelper.wrapData(_) >> { it[0] }
+
+        when: "send requests"
+        target.sendRequest("Todo", "1")
+        target.sendRequest("Todo", "2")
+        target.sendRequests("User", ["1", "2"])
+
+        then: "the time of post is recorded by action type, a batch is recorded once"
+        recorder.getHistogram(IFluxMetrics.Stage.SEND, "Todo").count == 2
+        recorder.getHistogram(IFluxMetrics.Stage.SEND, "User").count == 1
+
+        and: "the time of creation is recorded for each action"
+        recorder.getHistogram(IFluxMetrics.Stage.CREATE, "Todo").count == 2
+        recorder.getHistogram(IFluxMetrics.Stage.CREATE, "User").count == 2
+
+        cleanup:
+        FluxMetrics.set(null)
+    }
+
+    def "Test sendRequest with tracer"() {
+        given:
+        def bus = Mock(IFluxBus);
+        def builder = FluxContext.getBuilder()
+        def actionHelper = Mock(IActionHelper)
+        def tracer = new FluxTracer(16)
+        def actions = []
+        def target
+
+        builder.bus = bus
+        builder.actionHelper = actionHelper
+        builder.storeMap = [0:FluxContextSpec.StubStore.class]
+        target = builder.build().actionCreator
+        actionHelper.getActionClass(_) >> StubAction.class
+        actionHelper.wrapData(_) >> { it[0] }
+        bus.post(_) >> { args -> actions.add(args[0]) }
+        FluxTracer.set(tracer)
+
+        when: "send two requests"
+        target.sendRequest("Todo", "1")
+        target.sendRequest("Todo", "2")
+
+        then: "each request is a trace carried by action"
+        actions.size() == 2
+        actions[0].traceId > 0
+        actions[1].traceId > actions[0].traceId
+
+        and: "the steps are recorded in the trace"
+        tracer.spans*.name == ["wrapData", "createAction", "send", "wrapData", "createAction", "send"]
+        tracer.spans[0..2]*.traceId.unique() == [actions[0].traceId]
+        tracer.spans[2].type == "Todo"
+
+        and: "the trace ends with the request"
+        FluxTracer.currentTraceId == 0
+
+        cleanup:
+        FluxTracer.set(null)
+    }
+
+}
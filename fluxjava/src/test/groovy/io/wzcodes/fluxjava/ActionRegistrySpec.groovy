@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava
+
+import spock.lang.Specification
+
+class ActionRegistrySpec extends Specification {
+
+    private static class StubAction extends FluxAction<Integer, String> {
+        StubAction(Integer inType, String inData) {
+            super(inType, inData);
+        }
+    }
+
+    private static class StubOtherAction extends FluxAction<Integer, String> {
+        StubOtherAction(Integer inType, String inData) {
+            super(inType, inData);
+        }
+    }
+
+    def "Test register"() {
+        given:
+        def target = new ActionRegistry()
+
+        when:
+        target.register(3, StubAction.class).register(0, StubOtherAction.class).register(3, StubAction.class)
+
+        then:
+        target.getActionClass(0) == StubOtherAction.class
+        target.getActionClass(3) == StubAction.class
+        target.getActionClass(1) == null
+        target.getActionClass(4) == null
+        target.getActionClass(-1) == null
+        target.getEntry(3).typeId == 3
+        target.getEntry(3).is(target.getEntry(3))
+    }
+
+    def "Test register with error"() {
+        given:
+        def target = new ActionRegistry()
+
+        target.register(1, StubAction.class)
+
+        when:
+        target.register(typeId, (Class)actionClass)
+
+        then:
+        thrown(IllegalArgumentException)
+        target.getActionClass(1) == StubAction.class
+
+        where:
+        typeId | actionClass
+        -1     | StubAction.class
+        0      | null
+        1      | StubOtherAction.class
+    }
+
+    def "Test register factory"() {
+        given:
+        def target = new ActionRegistry()
+        def intFactory = Mock(IntAction.Factory)
+        def longFactory = Mock(LongAction.Factory)
+        def doubleFactory = Mock(DoubleAction.Factory)
+
+        when:
+        target.registerInt(0, intFactory).registerLong(1, longFactory).registerDouble(2, doubleFactory).registerInt(0, intFactory)
+
+        then:
+        target.getActionClass(0) == IntAction.class
+        target.getActionClass(1) == LongAction.class
+        target.getActionClass(2) == DoubleAction.class
+        target.getEntry(1).factory.is(longFactory)
+
+        when: "create by the factory for boxed arguments"
+        target.getEntry(1).actionFactory.create(1, 5L)
+
+        then:
+        1 * longFactory.create(1, 5L)
+
+        when: "register another factory with the same id"
+        target.registerInt(0, Mock(IntAction.Factory))
+
+        then:
+        thrown(IllegalArgumentException)
+
+        when: "factory is null"
+        target.registerInt(3, null)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+}
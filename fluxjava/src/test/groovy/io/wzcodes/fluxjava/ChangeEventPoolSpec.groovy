@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava
+
+import spock.lang.Specification
+
+class ChangeEventPoolSpec extends Specification {
+
+    private static class StubEvent extends RecyclableChangeEvent {
+        protected int mPosition = -1
+        protected int mResetCount
+
+        @Override
+        protected void reset() {
+            this.mPosition = -1
+            this.mResetCount++
+        }
+    }
+
+    private static final ChangeEventPool.Factory<StubEvent> FACTORY = new ChangeEventPool.Factory<StubEvent>() {
+        @Override
+        StubEvent create() {
+            return new StubEvent()
+        }
+    }
+
+    def "Test constructor"() {
+        when: "factory is null"
+        new ChangeEventPool<StubEvent>(null, 1)
+
+        then: "get an exception"
+        thrown(IllegalArgumentException)
+
+        when: "capacity is not positive"
+        new ChangeEventPool<StubEvent>(FACTORY, 0)
+
+        then: "get an exception"
+        thrown(IllegalArgumentException)
+    }
+
+    def "Test obtain"() {
+        given:
+        def target = new ChangeEventPool<StubEvent>(FACTORY, 1)
+
+        when:
+        def first = target.obtain()
+        first.mPosition = 3
+        first.release()
+
+        then: "event is reset and back to pool"
+        first.referenceCount == 0
+        first.mPosition == -1
+        target.idleCount == 1
+
+        when:
+        def second = target.obtain()
+
+        then: "the same instance is reused"
+        second.is(first)
+        second.referenceCount == 1
+        target.idleCount == 0
+
+        when: "release more events than capacity"
+        def third = target.obtain()
+        second.release()
+        third.release()
+
+        then: "the extra one is left"
+        !third.is(second)
+        target.idleCount == 1
+    }
+
+    def "Test retain and release"() {
+        given:
+        def target = new ChangeEventPool<StubEvent>(FACTORY, 4)
+        def event = target.obtain()
+
+        when:
+        event.retain()
+        event.release()
+
+        then: "event is held by the other reference"
+        event.referenceCount == 1
+        event.mResetCount == 0
+        target.idleCount == 0
+
+        when:
+        event.release()
+
+        then:
+        event.mResetCount == 1
+        target.idleCount == 1
+
+        when: "retain a recycled event"
+        event.retain()
+
+        then: "get an exception"
+        thrown(IllegalStateException)
+
+        when: "release a recycled event"
+        event.release()
+
+        then: "get an exception and nothing changed"
+        thrown(IllegalStateException)
+        event.referenceCount == 0
+        target.idleCount == 1
+    }
+
+    def "Test event without pool"() {
+        given:
+        def event = new StubEvent()
+
+        when:
+        event.release()
+
+        then:
+        event.referenceCount == 0
+        event.mResetCount == 1
+    }
+
+}
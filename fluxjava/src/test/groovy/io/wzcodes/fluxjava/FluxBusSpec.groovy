@@ -0,0 +1,410 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava
+
+import spock.lang.Specification
+
+import java.lang.reflect.Field
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executor
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicInteger
+
+class FluxBusSpec extends Specification {
+
+    private static class StubAction extends FluxAction<String, String> {
+        StubAction(String inType, String inData) {
+            super(inType, inData)
+        }
+    }
+
+    private static class StubChangeEvent implements FluxContext.StoreChangeEvent {}
+
+    private static class StubRecyclableEvent extends RecyclableChangeEvent {
+        @Override
+        protected void reset() {
+        }
+    }
+
+    private static class StubSubscriber implements IFluxSubscriber {
+        private final Class<?> mEventType
+        private final List<Object> mEvents = new ArrayList<>()
+
+        StubSubscriber(Class<?> inEventType) {
+            this.mEventType = inEventType
+        }
+
+        @Override
+        Class<?> getEventType() {
+            return this.mEventType
+        }
+
+        @Override
+        void onEvent(Object inEvent) {
+            this.mEvents.add(inEvent)
+        }
+    }
+
+    private static class StubBatchSubscriber extends StubSubscriber implements IFluxBatchSubscriber {
+        private final List<List<Object>> mBatches = new ArrayList<>()
+
+        StubBatchSubscriber(Class<?> inEventType) {
+            super(inEventType)
+        }
+
+        @Override
+        void onEventBatch(List<Object> inEvents) {
+            this.mBatches.add(new ArrayList<>(inEvents))
+        }
+    }
+
+    private static class StubStore extends FluxStore<Object> implements IFluxSubscriber {
+        private final List<Object> mActions = new ArrayList<>()
+
+        StubStore(IFluxBus inBus) {
+            super(inBus)
+        }
+
+        @Override
+        Class<?> getEventType() {
+            return StubAction.class
+        }
+
+        @Override
+        void onEvent(Object inEvent) {
+            this.mActions.add(inEvent)
+            super.emitChange(new StubChangeEvent())
+        }
+
+        @Override
+        Object getItem(int inIndex) {
+            return null
+        }
+
+        @Override
+        int findItem(Object inO) {
+            return 0
+        }
+
+        @Override
+        int getCount() {
+            return 0
+        }
+    }
+
+    def "Test getDefault"() {
+        expect:
+        FluxBus.getDefault() != null
+        FluxBus.getDefault() == FluxBus.getDefault()
+    }
+
+    def "Test register"() {
+        given:
+        def target = new FluxBus()
+
+        when: "register a wrong type"
+        target.register(new Object())
+
+        then: "get an exception"
+        thrown(IllegalArgumentException)
+
+        when: "register a subscriber without event type"
+        target.register(new StubSubscriber(null))
+
+        then: "get an exception"
+        thrown(IllegalArgumentException)
+
+        when: "post without subscribers"
+        target.post(new Object())
+
+        then:
+        noExceptionThrown()
+
+        when: "post a null event"
+        target.post(null)
+
+        then: "get an exception"
+        thrown(IllegalArgumentException)
+    }
+
+    def "Test post"() {
+        given:
+        def target = new FluxBus()
+        def actionSubscriber = new StubSubscriber(StubAction.class)
+        def allSubscriber = new StubSubscriber(IFluxAction.class)
+        def eventSubscriber = new StubSubscriber(FluxContext.StoreChangeEvent.class)
+        def action = new StubAction("", null)
+        def event = new StubChangeEvent()
+
+        when: "subscribers get the event of their type and sub types"
+        target.register(actionSubscriber)
+        target.register(allSubscriber)
+        target.register(eventSubscriber)
+        target.post(action)
+        target.post(event)
+
+        then:
+        actionSubscriber.mEvents == [action]
+        allSubscriber.mEvents == [action]
+        eventSubscriber.mEvents == [event]
+
+        when: "register the same subscriber twice"
+        target.register(actionSubscriber)
+        target.post(action)
+
+        then: "subscriber gets event once"
+        actionSubscriber.mEvents == [action, action]
+
+        when: "register a new subscriber after the event class is resolved"
+        def newSubscriber = new StubSubscriber(Object.class)
+
+        target.register(newSubscriber)
+        target.post(action)
+
+        then: "new subscriber gets the event"
+        newSubscriber.mEvents == [action]
+
+        when: "unregister subscribers"
+        target.unregister(actionSubscriber)
+        target.unregister(newSubscriber)
+        target.unregister(new Object())
+        target.post(action)
+
+        then: "only the registered one gets the event"
+        actionSubscriber.mEvents == [action, action, action]
+        allSubscriber.mEvents == [action, action, action, action]
+        newSubscriber.mEvents == [action]
+    }
+
+    def "Test post with executor"() {
+        given:
+        def executor = Mock(Executor)
+        def target = new FluxBus(executor)
+        def subscriber = new StubSubscriber(StubAction.class)
+        def action = new StubAction("", null)
+
+        target.register(subscriber)
+
+        when:
+        target.post(action)
+
+        then: "event is delivered by executor"
+        1 * executor.execute(_) >> { Runnable inRunnable -> inRunnable.run() }
+        subscriber.mEvents == [action]
+    }
+
+    def "Test post with executor in order"() {
+        given:
+        def executor = Executors.newFixedThreadPool(4)
+        def target = new FluxBus(executor)
+        def count = 200
+        def running = new AtomicInteger(0)
+        def overlapped = new AtomicBoolean(false)
+        def done = new CountDownLatch(2)
+        def received = Collections.synchronizedList([])
+        def subscriber = new StubSubscriber(Integer.class) {
+            @Override
+            void onEvent(Object inEvent) {
+                if (running.incrementAndGet() > 1) {
+                    overlapped.set(true)
+                }
+                received.add(inEvent)
+                Thread.yield()
+                running.decrementAndGet()
+                if (received.size() == count) {
+                    done.countDown()
+                }
+            }
+        }
+        def otherSubscriber = new StubSubscriber(Integer.class) {
+            @Override
+            void onEvent(Object inEvent) {
+                if (inEvent == count - 1) {
+                    done.countDown()
+                }
+            }
+        }
+
+        target.register(subscriber)
+        target.register(otherSubscriber)
+
+        when:
+        (0..<count).each { int inValue -> target.post(inValue) }
+
+        then: "subscriber gets the events one by one in posted order"
+        done.await(5, TimeUnit.SECONDS)
+        !overlapped.get()
+        received == (0..<count).toList()
+
+        cleanup:
+        executor.shutdown()
+    }
+
+    def "Test post recyclable event with executor"() {
+        given:
+        def tasks = []
+        def executor = { tasks.add(it) } as Executor
+        def target = new FluxBus(executor)
+        def pool = new ChangeEventPool<StubRecyclableEvent>(new ChangeEventPool.Factory<StubRecyclableEvent>() {
+            @Override
+            StubRecyclableEvent create() {
+                return new StubRecyclableEvent()
+            }
+        }, 1)
+        def subscriber = new StubSubscriber(StubRecyclableEvent.class)
+        def event = pool.obtain()
+
+        target.register(subscriber)
+        target.register(new StubSubscriber(FluxContext.StoreChangeEvent.class))
+
+        when: "post and release by sender"
+        target.post(event)
+        event.release()
+
+        then: "event is held until delivered"
+        tasks.size() == 2
+        event.referenceCount == 2
+        pool.idleCount == 0
+
+        when:
+        tasks.each { ((Runnable)it).run() }
+
+        then: "event is back to pool after delivered"
+        subscriber.mEvents == [event]
+        event.referenceCount == 0
+        pool.idleCount == 1
+    }
+
+    def "Test post with executor and tracer"() {
+        given:
+        def tasks = []
+        def executor = { tasks.add(it) } as Executor
+        def target = new FluxBus(executor)
+        def tracer = new FluxTracer(16)
+        def traceIds = []
+        def subscriber = new StubSubscriber(StubAction.class) {
+            @Override
+            void onEvent(Object inEvent) {
+                traceIds.add(FluxTracer.getCurrentTraceId())
+            }
+        }
+        def action = new StubAction("1", "test")
+
+        FluxTracer.set(tracer)
+        action.traceId = 5
+        target.register(subscriber)
+
+        when:
+        target.post(action)
+        tasks.each { ((Runnable)it).run() }
+
+        then: "subscriber runs under the trace of action"
+        traceIds == [5L]
+        FluxTracer.getCurrentTraceId() == 0
+        tracer.spans*.name == ["onEvent"]
+        tracer.spans[0].traceId == 5
+        tracer.spans[0].type == "1"
+
+        cleanup:
+        FluxTracer.set(null)
+    }
+
+    def "Test postAll"() {
+        given:
+        def executor = Mock(Executor)
+        def target = new FluxBus()
+        def asyncTarget = new FluxBus(executor)
+        def subscriber = new StubSubscriber(StubAction.class)
+        def batchSubscriber = new StubBatchSubscriber(Object.class)
+        def action = new StubAction("", null)
+        def otherAction = new StubAction("", null)
+        def event = new StubChangeEvent()
+
+        target.register(subscriber)
+        target.register(batchSubscriber)
+        asyncTarget.register(subscriber)
+        asyncTarget.register(batchSubscriber)
+
+        when: "post a null list or a list with null"
+        target.postAll(null)
+
+        then: "get an exception"
+        thrown(IllegalArgumentException)
+
+        when:
+        target.postAll([action, null])
+
+        then: "get an exception"
+        thrown(IllegalArgumentException)
+
+        when: "post a batch"
+        subscriber.mEvents.clear()
+        batchSubscriber.mBatches.clear()
+        target.postAll([action, event, otherAction])
+
+        then: "subscriber gets the events it wants in order"
+        subscriber.mEvents == [action, otherAction]
+
+        and: "batch subscriber gets all events in one call"
+        batchSubscriber.mBatches == [[action, event, otherAction]]
+
+        when: "post a batch with executor"
+        subscriber.mEvents.clear()
+        batchSubscriber.mBatches.clear()
+        asyncTarget.postAll([action, event, otherAction])
+
+        then: "one task for each subscriber"
+        2 * executor.execute(_) >> { Runnable inRunnable -> inRunnable.run() }
+        subscriber.mEvents == [action, otherAction]
+        batchSubscriber.mBatches == [[action, event, otherAction]]
+    }
+
+    def "Test work with FluxContext"() {
+        given:
+        Field field = FluxContext.class.getDeclaredField("sInstance")
+        def target = new FluxBus()
+        def view = new StubSubscriber(StubChangeEvent.class)
+        def context
+        def store
+
+        field.setAccessible(true)
+        field.set(null, null)
+        context = FluxContext.getBuilder()
+                .setBus(target)
+                .setActionHelper(Mock(IActionHelper))
+                .setStoreMap([0:StubStore.class])
+                .build()
+
+        when: "get store with view and send action"
+        store = context.getStore(0, null, view)
+        target.post(new StubAction("", null))
+
+        then: "store gets action and view gets change event"
+        store.mActions.size() == 1
+        view.mEvents.size() == 1
+
+        when: "unregister store"
+        context.unregisterStore(store, view)
+        target.post(new StubAction("", null))
+
+        then: "nobody gets anything"
+        store.mActions.size() == 1
+        view.mEvents.size() == 1
+    }
+
+}
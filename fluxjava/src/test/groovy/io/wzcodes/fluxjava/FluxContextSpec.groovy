@@ -18,6 +18,10 @@ package io.wzcodes.fluxjava
 import spock.lang.Specification
 
 import java.lang.reflect.Field
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executor
+import java.util.concurrent.Executors
 
 class FluxContextSpec extends Specification {
 
@@ -72,6 +76,25 @@ class FluxContextSpec extends Specification {
         }
     }
 
+    static class StubOtherStore extends StubAbsStore {
+        StubOtherStore(IFluxBus inBus) {
+            super(inBus)
+        }
+    }
+
+    // Listed in META-INF/services of test resources
+    static class StubRegistry implements IFluxRegistry {
+        @Override
+        IFluxStore createStore(Class<?> inStoreClass, IFluxBus inBus) {
+            return null
+        }
+
+        @Override
+        IActionFactory getActionFactory(Class<?> inActionClass) {
+            return null
+        }
+    }
+
     def setup() {
         Field field = FluxContext.class.getDeclaredField("sInstance");
 
@@ -164,6 +187,23 @@ class FluxContextSpec extends Specification {
         FluxContext.getInstance().getBus() == bus
     }
 
+    def "Test getExecutor"() {
+        given:
+        def builder = FluxContext.getBuilder()
+        def executor = Mock(Executor)
+
+        builder.bus = Mock(IFluxBus)
+        builder.actionHelper = Mock(IActionHelper)
+        builder.storeMap = [0:String.class]
+        builder.executor = executor
+
+        when:
+        builder.build()
+
+        then:
+        FluxContext.getInstance().getExecutor() == executor
+    }
+
     def "Test getStore"() {
         given:
         def storeKeyFail = new Object()
@@ -270,6 +310,132 @@ class FluxContextSpec extends Specification {
         actual != preActual
     }
 
+    def "Test getStore by class index"() {
+        given:
+        def builder = FluxContext.getBuilder()
+        def target
+
+        builder.bus = Mock(IFluxBus)
+        builder.actionHelper = Mock(IActionHelper)
+        builder.storeMap = [0:StubStore.class, 1:StubOtherStore.class]
+        builder.keepStore = true
+        target = builder.build()
+
+        when: "keep many stores"
+        def stores = (0..<100).collect { target.getStore(0, it, null) }
+        def other = target.getStore(1, "other", null)
+
+        then: "get kept store of the class without tag"
+        target.getStore(1, null, null).is(other)
+        target.getStore(0, null, null).is(stores[0])
+
+        when: "unregister the store found by class"
+        target.unregisterStore(stores[0], null)
+
+        then: "another kept store of the class is found"
+        def actual = target.getStore(0, null, null)
+        stores.indexOf(actual) > 0
+        target.getStore(0, 0, null) != stores[0]
+
+        when: "unregister all stores of the class"
+        target.unregisterStore(other, null)
+
+        then: "new store is created"
+        !target.getStore(1, null, null).is(other)
+
+        when: "clear all stores"
+        target.clearAllStore()
+
+        then: "no store is kept"
+        stores.every { !target.getStore(0, null, null).is(it) }
+    }
+
+    def "Test getStore with same tag concurrently"() {
+        given:
+        def builder = FluxContext.getBuilder()
+        def executor = Executors.newFixedThreadPool(4)
+        def start = new CountDownLatch(1)
+        def target
+
+        builder.bus = Mock(IFluxBus)
+        builder.actionHelper = Mock(IActionHelper)
+        builder.storeMap = [0:StubStore.class]
+        builder.keepStore = true
+        target = builder.build()
+
+        when:
+        def futures = (0..<8).collect {
+            executor.submit({
+                start.await()
+                target.getStore(0, "tag", null)
+            } as Callable)
+        }
+        start.countDown()
+        def actual = futures.collect { it.get() }
+
+        then: "every thread gets the kept store"
+        actual.every { it.is(actual[0]) }
+        target.mStoreKeepList.size() == 1
+
+        cleanup:
+        executor.shutdown()
+    }
+
+    def "Test getStore with registry"() {
+        given:
+        def builder = FluxContext.getBuilder()
+        def bus = Mock(IFluxBus)
+        def registry = Mock(IFluxRegistry)
+        def expected = new StubStore(bus)
+        def target
+        def actual
+
+        builder.bus = bus
+        builder.actionHelper = Mock(IActionHelper)
+        builder.storeMap = [0:StubStore.class, 1:StubOtherStore.class]
+        builder.registry = registry
+        target = builder.build()
+
+        when: "store is in registry"
+        actual = target.getStore(0, null, null)
+
+        then: "created by registry"
+        1 * registry.createStore(StubStore.class, bus) >> expected
+        actual.is(expected)
+
+        when: "store is not in registry"
+        actual = target.getStore(1, null, null)
+
+        then: "created by reflection"
+        1 * registry.createStore(StubOtherStore.class, bus) >> null
+        actual instanceof StubOtherStore
+        target.getRegistry().is(registry)
+    }
+
+    def "Test load registry"() {
+        given:
+        def builder = FluxContext.getBuilder()
+        def field = FluxContext.class.getDeclaredField("sInstance")
+
+        builder.bus = Mock(IFluxBus)
+        builder.actionHelper = Mock(IActionHelper)
+        builder.storeMap = [:]
+        field.setAccessible(true)
+
+        when: "not asked to load"
+        def target = builder.build()
+
+        then: "class path is not scanned"
+        target.getRegistry() == null
+
+        when: "asked to load"
+        field.set(null, null)
+        target = builder.setLoadRegistry(true).build()
+
+        then: "registry is found by ServiceLoader"
+        target.getRegistry() instanceof StubRegistry
+    }
+
     def "Test getStore with error"() {
         given:
         def builder = FluxContext.getBuilder()
@@ -18,11 +18,16 @@ package io.wzcodes.fluxjava
 import io.wzcodes.fluxjava.FluxContext
 import io.wzcodes.fluxjava.FluxStore
 import io.wzcodes.fluxjava.IFluxBus
+import groovy.transform.CompileStatic
 import spock.lang.Specification
 
+import java.lang.management.ManagementFactory
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
 class FluxStoreSpec extends Specification {
 
-    def mBus = Mock(IFluxBus)
+    def mBus = Mock(IFluxBatchBus)
     def mTarget = new FluxStore(mBus) {
         @Override
         Object getItem(int inIndex) {
@@ -98,6 +103,332 @@ class FluxStoreSpec extends Specification {
         1 * this.mBus.post(expected)
     }
 
+    def "Test emitChange with metrics"() {
+        given:
+        def recorder = new MetricsRecorder()
+        def target = new StubCoalesceStore(this.mBus, 0)
+        FluxMetrics.set(recorder)
+
+        when: "emit directly and coalesced"
+        this.mTarget.emitChange(new StubListEvent())
+        target.beginChanges()
+        target.emitChange(new StubItemEvent(1))
+        target.emitChange(new StubItemEvent(5))
+        target.endChanges()
+
+        then: "the time of delivery is recorded by event class, a batch is recorded once"
+        recorder.getHistogram(IFluxMetrics.Stage.EMIT, StubListEvent.class).count == 1
+        recorder.getHistogram(IFluxMetrics.Stage.EMIT, StubItemEvent.class).count == 1
+
+        cleanup:
+        FluxMetrics.set(null)
+    }
+
+    def "Test emitChange with tracer"() {
+        given:
+        def tracer = new FluxTracer(16)
+        def target = new StubCoalesceStore(this.mBus, 0)
+        def event = new ListDiffEvent(target, [])
+
+        FluxTracer.set(tracer)
+        FluxTracer.setCurrentTraceId(9)
+
+        when: "emit in the trace of an action"
+        this.mTarget.emitChange(event)
+        target.beginChanges()
+        target.emitChange(new StubItemEvent(1))
+        target.emitChange(new StubItemEvent(2))
+        target.emitChange(new StubListEvent())
+        target.endChanges()
+
+        then: "the event carries the trace"
+        event.traceId == 9
+        tracer.spans*.name == ["emitChange", "emitChange"]
+        tracer.spans*.traceId == [9, 9]
+        tracer.spans[0].type == ListDiffEvent.class
+
+        cleanup:
+        FluxTracer.set(null)
+        FluxTracer.setCurrentTraceId(0)
+    }
+
+    def "Test coalesce with tracer"() {
+        given:
+        def target = new StubCoalesceStore(this.mBus, 0)
+        def first = new StubTraceableItemEvent(1)
+        def second = new StubTraceableItemEvent(2)
+        def events = []
+
+        this.mBus.post(_) >> { args -> events.add(args[0]) }
+        FluxTracer.set(new FluxTracer(16))
+
+        when: "the item changes of two actions are coalesced"
+        target.beginChanges()
+        FluxTracer.setCurrentTraceId(3)
+        target.emitChange(first)
+        FluxTracer.setCurrentTraceId(4)
+        target.emitChange(second)
+        target.endChanges()
+
+        then: "the range goes with the trace of first item"
+        second.traceId == 4
+        events == [new ItemRangeChangeEvent(target, 1, 2)]
+        events[0].traceId == 3
+
+        cleanup:
+        FluxTracer.set(null)
+        FluxTracer.setCurrentTraceId(0)
+    }
+
+    def "Test coalesce changes"() {
+        given:
+        def target = new StubCoalesceStore(this.mBus, 0)
+        def other = new FluxContext.StoreChangeEvent() {}
+        def single = new StubItemEvent(7)
+        def plainBus = Mock(IFluxBus)
+
+        when:
+        target.beginChanges()
+        target.emitChange(new StubItemEvent(3))
+        target.emitChange(new StubItemEvent(1))
+        target.beginChanges()
+        target.emitChange(new StubItemEvent(2))
+        target.emitChange(new StubItemEvent(2))
+        target.endChanges()
+        target.emitChange(other)
+        target.emitChange(single)
+
+        then:
+        0 * this.mBus._
+
+        when:
+        target.endChanges()
+
+        then:
+        1 * this.mBus.postAll([other, new ItemRangeChangeEvent(target, 1, 3), single])
+
+        when: "bus can't send a batch"
+        target = new StubCoalesceStore(plainBus, 0)
+        target.beginChanges()
+        target.emitChange(other)
+        target.emitChange(single)
+        target.endChanges()
+
+        then: "the changes are posted one by one"
+        1 * plainBus.post(other)
+
+        then:
+        1 * plainBus.post(single)
+    }
+
+    def "Test coalesce changes in multiple threads"() {
+        given:
+        def target = new StubCoalesceStore(this.mBus, 0)
+        def begun = new CountDownLatch(1)
+        def ended = new CountDownLatch(1)
+        def first = new StubItemEvent(1)
+        def second = new StubItemEvent(2)
+        def posted = Collections.synchronizedList(new ArrayList<>())
+        def thread = new Thread({
+            target.beginChanges()
+            target.emitChange(first)
+            begun.countDown()
+            // Still handling the action while the other thread handles another one
+            ended.await(5, TimeUnit.SECONDS)
+            target.endChanges()
+        })
+
+        this.mBus.post(_) >> { args -> posted.add(args[0]) }
+
+        when: "another thread handles an action at the same time"
+        thread.start()
+        begun.await(5, TimeUnit.SECONDS)
+        target.beginChanges()
+        target.emitChange(second)
+        target.endChanges()
+
+        then: "the changes of this thread are sent without waiting for or merging with the other"
+        posted == [second]
+
+        when:
+        ended.countDown()
+        thread.join(5000)
+
+        then:
+        posted == [second, first]
+
+        when:
+        target.endChanges()
+
+        then: "the changes are begun in another thread"
+        thrown(IllegalStateException)
+    }
+
+    def "Test coalesce list changes"() {
+        given:
+        def target = new StubCoalesceStore(this.mBus, 0)
+        def expected = new StubListEvent()
+
+        when:
+        target.beginChanges()
+        target.emitChange(new StubItemEvent(1))
+        target.emitChange(new StubListEvent())
+        target.emitChange(new StubItemEvent(2))
+        target.emitChange(expected)
+        target.endChanges()
+
+        then:
+        1 * this.mBus.post(expected)
+        0 * this.mBus.postAll(_)
+    }
+
+    def "Test coalesce diff changes"() {
+        given:
+        def target = new StubCoalesceStore(this.mBus, 0)
+        def diff = new ListDiffEvent(target, [new ListDiff.Change(ListDiff.Change.Type.INSERT, 0, 1, -1)])
+        def single = new StubItemEvent(4)
+
+        when:
+        target.beginChanges()
+        target.emitChange(new StubItemEvent(1))
+        target.emitChange(new StubItemEvent(2))
+        target.emitChange(diff)
+        target.emitChange(single)
+        target.endChanges()
+
+        then: "the item changes before diff keep their order"
+        1 * this.mBus.postAll([new ItemRangeChangeEvent(target, 1, 2), diff, single])
+    }
+
+    def "Test coalesce without changes"() {
+        given:
+        def target = new StubCoalesceStore(this.mBus, 0)
+        def expected = new StubItemEvent(1)
+
+        when:
+        target.beginChanges()
+        target.endChanges()
+        target.emitChange(expected)
+
+        then:
+        1 * this.mBus.post(expected)
+        0 * this.mBus.postAll(_)
+    }
+
+    def "Test coalesce in time window"() {
+        given:
+        def latch = new CountDownLatch(1)
+        def posted = []
+        def target = new StubCoalesceStore(new FluxBus(), 100)
+        target.register(new IFluxSubscriber() {
+            @Override
+            Class<?> getEventType() {
+                return ItemRangeChangeEvent.class
+            }
+
+            @Override
+            void onEvent(Object inEvent) {
+                posted.add(inEvent)
+                latch.countDown()
+            }
+        })
+
+        when:
+        target.emitChange(new StubItemEvent(0))
+        target.beginChanges()
+        target.emitChange(new StubItemEvent(1))
+        target.endChanges()
+        target.emitChange(new StubItemEvent(2))
+
+        then:
+        latch.await(5, TimeUnit.SECONDS)
+        posted == [new ItemRangeChangeEvent(target, 0, 3)]
+    }
+
+    def "Test emitChange with recyclable event"() {
+        given:
+        def target = new StubRecyclableStore(this.mBus, false)
+        def event = target.mPool.obtain()
+
+        when:
+        this.mTarget.emitChange(event)
+
+        then: "event is released after posted"
+        1 * this.mBus.post(event) >> { assert event.referenceCount == 1 }
+        event.referenceCount == 0
+        target.mPool.idleCount == 1
+    }
+
+    def "Test coalesce recyclable events"() {
+        given:
+        def target = new StubRecyclableStore(this.mBus, true)
+        def list = new StubRecyclableListEvent()
+        def events = []
+
+        when:
+        target.beginChanges()
+        for (int i = 0; i < 3; i++) {
+            def event = target.mPool.obtain()
+
+            event.mPosition = i
+            events.add(event)
+            target.emitChange(event)
+        }
+        target.endChanges()
+
+        then: "events merged into range are released"
+        1 * this.mBus.post(new ItemRangeChangeEvent(target, 0, 3))
+        events.every { it.referenceCount == 0 }
+
+        when:
+        events.clear()
+        target.beginChanges()
+        events.add(target.mPool.obtain())
+        target.emitChange(events[0])
+        target.emitChange(list)
+        events.add(target.mPool.obtain())
+        target.emitChange(events[1])
+        target.endChanges()
+
+        then: "item events dropped by list event are released"
+        1 * this.mBus.post(list) >> { assert list.referenceCount == 1 }
+        events.every { it.referenceCount == 0 }
+        list.referenceCount == 0
+    }
+
+    def "Test emitChange with recyclable events allocates nothing"() {
+        given:
+        def bus = new FluxBus()
+        def subscriber = new StubCountSubscriber()
+        def target = new StubRecyclableStore(bus, false)
+        def count = 100000
+
+        bus.register(subscriber)
+        // Warm up to load classes, resolve the dispatch table and let JIT compile the loop
+        for (int i = 0; i < 5; i++) {
+            StubRecyclableStore.emitItems(target, count)
+        }
+
+        when:
+        def allocated = StubRecyclableStore.measureEmitItems(target, count)
+
+        then: "every event is delivered and less than one byte allocated for each"
+        subscriber.mCount == count * 6
+        allocated < count
+        target.mPool.idleCount == 1
+    }
+
+    def "Test endChanges without beginChanges"() {
+        given:
+        def target = new StubCoalesceStore(this.mBus, 0)
+
+        when:
+        target.endChanges()
+
+        then:
+        thrown(IllegalStateException)
+    }
+
     def "Test matchTag with not null"() {
         given:
         def expected = "expected"
@@ -120,4 +451,165 @@ class FluxStoreSpec extends Specification {
         !this.mTarget.matchTag(expected)
     }
 
-}
\ No newline at end of file
+    static class StubCoalesceStore extends FluxStore {
+        protected long mWindow
+
+        StubCoalesceStore(IFluxBus inBus, long inWindow) {
+            super(inBus)
+            this.mWindow = inWindow
+        }
+
+        @Override
+        protected boolean isCoalesceChanges() {
+            return true
+        }
+
+        @Override
+        protected long getCoalesceWindow() {
+            return this.mWindow
+        }
+
+        @Override
+        Object getItem(int inIndex) {
+            return null
+        }
+
+        @Override
+        int findItem(Object inIndex) {
+            return 0
+        }
+
+        @Override
+        int getCount() {
+            return 0
+        }
+    }
+
+    static class StubItemEvent implements IItemChangeEvent {
+        protected int mPosition
+
+        StubItemEvent(int inPosition) {
+            this.mPosition = inPosition
+        }
+
+        @Override
+        int getPosition() {
+            return this.mPosition
+        }
+    }
+
+    static class StubTraceableItemEvent extends StubItemEvent implements ITraceable {
+        long traceId
+
+        StubTraceableItemEvent(int inPosition) {
+            super(inPosition)
+        }
+    }
+
+    static class StubListEvent implements IListChangeEvent {
+    }
+
+    @CompileStatic
+    static class StubRecyclableItemEvent extends RecyclableChangeEvent implements IItemChangeEvent {
+        protected int mPosition
+
+        @Override
+        int getPosition() {
+            return this.mPosition
+        }
+
+        void setPosition(int inPosition) {
+            this.mPosition = inPosition
+        }
+
+        @Override
+        protected void reset() {
+            this.mPosition = 0
+        }
+    }
+
+    static class StubRecyclableListEvent extends RecyclableChangeEvent implements IListChangeEvent {
+        @Override
+        protected void reset() {
+        }
+    }
+
+    // Compiled statically to keep Groovy from allocating in the measured calls
+    @CompileStatic
+    static class StubRecyclableStore extends FluxStore {
+        protected final ChangeEventPool<StubRecyclableItemEvent> mPool = new ChangeEventPool<>(
+                new ChangeEventPool.Factory<StubRecyclableItemEvent>() {
+                    @Override
+                    StubRecyclableItemEvent create() {
+                        return new StubRecyclableItemEvent()
+                    }
+                }, 8)
+        protected final boolean mCoalesce
+
+        StubRecyclableStore(IFluxBus inBus, boolean inCoalesce) {
+            super(inBus)
+            this.mCoalesce = inCoalesce
+        }
+
+        @Override
+        protected boolean isCoalesceChanges() {
+            return this.mCoalesce
+        }
+
+        @Override
+        Object getItem(int inIndex) {
+            return null
+        }
+
+        @Override
+        int findItem(Object inIndex) {
+            return 0
+        }
+
+        @Override
+        int getCount() {
+            return 0
+        }
+
+        static long measureEmitItems(StubRecyclableStore inStore, int inCount) {
+            final com.sun.management.ThreadMXBean threadBean =
+                    (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean()
+            final long threadId = Thread.currentThread().getId()
+
+            if (threadBean.isThreadAllocatedMemorySupported() == false) {
+                throw new UnsupportedOperationException("Allocation measurement is not supported.")
+            }
+
+            final long before = threadBean.getThreadAllocatedBytes(threadId)
+
+            emitItems(inStore, inCount)
+
+            return threadBean.getThreadAllocatedBytes(threadId) - before
+        }
+
+        static void emitItems(StubRecyclableStore inStore, int inCount) {
+            for (int i = 0; i < inCount; i++) {
+                final StubRecyclableItemEvent event = (StubRecyclableItemEvent)inStore.mPool.obtain()
+
+                event.setPosition(i)
+                inStore.emitChange(event)
+            }
+        }
+    }
+
+    @CompileStatic
+    static class StubCountSubscriber implements IFluxSubscriber {
+        protected int mCount
+
+        @Override
+        Class<?> getEventType() {
+            return StubRecyclableItemEvent.class
+        }
+
+        @Override
+        void onEvent(Object inEvent) {
+            this.mCount++
+        }
+    }
+
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava
+
+import groovy.json.JsonSlurper
+import spock.lang.Specification
+
+class FluxTracerSpec extends Specification {
+
+    private static class StubAction extends FluxAction<String, String> {
+        StubAction(String inType) {
+            super(inType, null)
+        }
+    }
+
+    def cleanup() {
+        FluxTracer.set(null)
+        FluxTracer.setCurrentTraceId(0)
+    }
+
+    def "Test constructor"() {
+        expect: "capacity is rounded up to a power of two"
+        new FluxTracer(1000).capacity == 1024
+        new FluxTracer(16).capacity == 16
+        new FluxTracer().capacity == FluxTracer.DEFAULT_CAPACITY
+
+        when:
+        new FluxTracer(0)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "Test beginTrace and endTrace"() {
+        when: "tracing is off"
+        def parent = FluxTracer.beginTrace()
+
+        then: "nothing is started"
+        parent == -1
+        FluxTracer.currentTraceId == 0
+
+        when: "tracing is on"
+        FluxTracer.set(new FluxTracer(16))
+        parent = FluxTracer.beginTrace()
+        def traceId = FluxTracer.currentTraceId
+        def nestedParent = FluxTracer.beginTrace()
+
+        then: "the nested one shares the trace"
+        parent == 0
+        traceId > 0
+        nestedParent == traceId
+        FluxTracer.currentTraceId == traceId
+
+        when:
+        FluxTracer.endTrace(nestedParent)
+
+        then:
+        FluxTracer.currentTraceId == traceId
+
+        when:
+        FluxTracer.endTrace(parent)
+        FluxTracer.beginTrace()
+
+        then: "a new trace is started next time"
+        FluxTracer.currentTraceId > traceId
+    }
+
+    def "Test traceOf"() {
+        given:
+        def action = new StubAction("Todo")
+
+        when:
+        FluxTracer.setCurrentTraceId(5)
+
+        then: "the trace of thread is used if the action doesn't carry one"
+        FluxTracer.traceOf(action) == 5
+        FluxTracer.traceOf(new Object()) == 5
+
+        when:
+        action.traceId = 3
+
+        then:
+        FluxTracer.traceOf(action) == 3
+    }
+
+    def "Test record"() {
+        given:
+        def target = new FluxTracer(4)
+
+        when: "record more than capacity"
+        for (int i = 0; i < 6; i++) {
+            target.record("span" + i, "Todo", i, 1000L * i, 1000L * i + 10)
+        }
+
+        then: "the latest ones are kept in order"
+        target.recordCount == 6
+        target.spans*.name == ["span2", "span3", "span4", "span5"]
+        target.spans[0].traceId == 2
+        target.spans[0].duration == 10
+        target.spans[0].threadId == Thread.currentThread().id
+
+        when:
+        target.record(null, null, 0, 0, 0)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "Test trace"() {
+        given:
+        def target = new FluxTracer(16)
+        def startTime = System.nanoTime()
+
+        when: "tracing is off"
+        FluxTracer.trace("notify", null, startTime)
+
+        then:
+        target.recordCount == 0
+
+        when:
+        FluxTracer.set(target)
+        FluxTracer.setCurrentTraceId(7)
+        FluxTracer.trace("notify", String.class, startTime)
+
+        then: "the span is in the trace of thread"
+        target.spans.size() == 1
+        target.spans[0].traceId == 7
+        target.spans[0].startTime == startTime
+        target.spans[0].duration >= 0
+    }
+
+    def "Test writeChromeTrace"() {
+        given:
+        def target = new FluxTracer(16)
+        def writer = new StringWriter()
+        def startTime = System.nanoTime()
+
+        target.record("wrap\"Data", null, 1, startTime, startTime + 1500)
+        target.record("onAction", StubAction.class, 1, startTime + 2000, startTime + 2001)
+
+        when:
+        target.writeChromeTrace(writer)
+        def json = new JsonSlurper().parseText(writer.toString())
+        def spans = json.traceEvents.findAll { event -> event.ph == "X" }
+
+        then: "it is valid JSON with thread names and complete events"
+        json.traceEvents.find { event -> event.ph == "M" }.args.name == Thread.currentThread().name
+        spans*.name == ["wrap\"Data", "onAction"]
+        spans[0].dur == 1.5
+        spans[0].args.trace == 1
+        spans[0].args.type == null
+        spans[1].args.type == StubAction.class.name
+        spans[1].ts - spans[0].ts == 2.0
+        spans[1].dur == 0.001
+    }
+
+    def "Test getSpans while recording in multiple threads"() {
+        given:
+        def target = new FluxTracer(8)
+        def names = (0..<16).collect { "span" + it }
+        def running = true
+        def threads = (0..<4).collect { thread ->
+            Thread.start {
+                long i = 0
+
+                while (running) {
+                    // All fields of a span are derived from the same number
+                    final int n = (int)(i++ % names.size())
+
+                    target.record(names[n], n, n, n, n * 2)
+                }
+            }
+        }
+        def torn = []
+
+        when: "the spans are read while the slots are overwritten"
+        for (int i = 0; i < 2000; i++) {
+            target.getSpans().each { span ->
+                final int n = names.indexOf(span.name)
+
+                if (span.type != n || span.traceId != n || span.startTime != n || span.duration != n) {
+                    torn.add(span)
+                }
+            }
+        }
+        running = false
+        threads*.join()
+
+        then: "no span is mixed with the fields of another"
+        torn.isEmpty()
+        target.getSpans().size() <= 8
+    }
+
+}
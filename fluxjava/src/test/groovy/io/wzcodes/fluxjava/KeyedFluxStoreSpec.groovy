@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava
+
+import spock.lang.Specification
+
+class KeyedFluxStoreSpec extends Specification {
+
+    private static class StubListEvent implements IListChangeEvent {}
+
+    private static class StubItemEvent implements IItemChangeEvent {
+        private final int mPosition
+
+        StubItemEvent(int inPosition) {
+            this.mPosition = inPosition
+        }
+
+        @Override
+        int getPosition() {
+            return this.mPosition
+        }
+    }
+
+    private static class StubKeyedStore extends KeyedFluxStore<Integer, Map<String, Object>> {
+        boolean mCoalesce
+
+        StubKeyedStore(IFluxBus inBus) {
+            super(inBus)
+        }
+
+        @Override
+        protected boolean isCoalesceChanges() {
+            return this.mCoalesce
+        }
+
+        @Override
+        protected Integer getKey(Map<String, Object> inEntity) {
+            return (Integer)inEntity.id
+        }
+
+        @Override
+        protected FluxContext.StoreChangeEvent createListChangeEvent() {
+            return new StubListEvent()
+        }
+
+        @Override
+        protected FluxContext.StoreChangeEvent createItemChangeEvent(int inPosition) {
+            return new StubItemEvent(inPosition)
+        }
+    }
+
+    def "Test setItems"() {
+        given:
+        def bus = Mock(IFluxBus)
+        def target = new StubKeyedStore(bus)
+
+        when:
+        target.setItems([[id: 3, v: "a"], [id: 1, v: "b"], [id: 3, v: "c"]])
+
+        then: "entities are in insertion order and the later one wins"
+        1 * bus.post({ it instanceof StubListEvent })
+        target.count == 2
+        target.getItem(0) == [id: 3, v: "c"]
+        target.getItem(1) == [id: 1, v: "b"]
+        target.findItem([id: 1]) == 1
+        target.findKey(3) == 0
+        target.findKey(2) == -1
+
+        when: "replace all"
+        target.setItems([[id: 2, v: "d"]])
+
+        then:
+        1 * bus.post({ it instanceof StubListEvent })
+        target.count == 1
+        target.findKey(3) == -1
+        target.findKey(2) == 0
+    }
+
+    def "Test mergeItems"() {
+        given:
+        def bus = Mock(IFluxBus)
+        def target = new StubKeyedStore(bus)
+
+        target.setItems((0..<5).collect { [id: it, v: "a"] })
+
+        when: "update in place"
+        target.mergeItems([[id: 3, v: "b"], [id: 1, v: "b"], [id: 2, v: "a"]])
+
+        then: "only the changed positions are emitted in order"
+        1 * bus.post({ it instanceof StubItemEvent && it.position == 1 })
+
+        then:
+        1 * bus.post({ it instanceof StubItemEvent && it.position == 3 })
+        0 * bus._
+        target.getItem(1).v == "b"
+        target.getItem(3).v == "b"
+        target.count == 5
+
+        when: "update and append"
+        target.mergeItems([[id: 4, v: "c"], [id: 9, v: "c"]])
+
+        then: "the whole list is changed"
+        1 * bus.post({ it instanceof StubListEvent })
+        0 * bus._
+        target.count == 6
+        target.findKey(9) == 5
+        target.getItem(4).v == "c"
+
+        when: "nothing changed"
+        target.mergeItems([[id: 4, v: "c"]])
+
+        then:
+        0 * bus._
+    }
+
+    def "Test mergeItems with coalesce changes"() {
+        given:
+        def bus = Mock(IFluxBus)
+        def target = new StubKeyedStore(bus)
+
+        target.setItems((0..<5).collect { [id: it, v: "a"] })
+        target.mCoalesce = true
+
+        when:
+        target.mergeItems([[id: 3, v: "b"], [id: 1, v: "b"], [id: 2, v: "b"]])
+
+        then: "adjacent positions are merged"
+        1 * bus.post(new ItemRangeChangeEvent(target, 1, 3))
+        0 * bus._
+    }
+
+    def "Test removeItems"() {
+        given:
+        def bus = Mock(IFluxBus)
+        def target = new StubKeyedStore(bus)
+
+        target.setItems((0..<5).collect { [id: it, v: "a"] })
+
+        when:
+        target.removeItems([3, 1, 7])
+
+        then: "the positions after removed entities are updated"
+        1 * bus.post({ it instanceof StubListEvent })
+        target.count == 3
+        (0..<3).collect { target.getItem(it).id } == [0, 2, 4]
+        target.findKey(1) == -1
+        target.findKey(2) == 1
+        target.findKey(4) == 2
+
+        when: "no key exists"
+        target.removeItems([8])
+
+        then:
+        0 * bus._
+        target.count == 3
+    }
+
+    def "Test wrong arguments"() {
+        given:
+        def target = new StubKeyedStore(Mock(IFluxBus))
+
+        target.setItems([[id: 1, v: "a"]])
+
+        when:
+        target.setItems(null)
+
+        then:
+        thrown(IllegalArgumentException)
+
+        when:
+        target.mergeItems([[id: 2], null])
+
+        then:
+        thrown(IllegalArgumentException)
+
+        when: "key is null"
+        target.mergeItems([[id: 2], [v: "b"]])
+
+        then: "nothing is changed"
+        thrown(IllegalArgumentException)
+        target.count == 1
+
+        when:
+        target.removeItems(null)
+
+        then:
+        thrown(IllegalArgumentException)
+
+        when:
+        target.findItem(null)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava
+
+import spock.lang.Specification
+
+import static io.wzcodes.fluxjava.ListDiff.Change.Type.CHANGE
+import static io.wzcodes.fluxjava.ListDiff.Change.Type.INSERT
+import static io.wzcodes.fluxjava.ListDiff.Change.Type.MOVE
+import static io.wzcodes.fluxjava.ListDiff.Change.Type.REMOVE
+
+class ListDiffSpec extends Specification {
+
+    private static final ListDiff.Callback CALLBACK = [
+            getKey       : { it.key },
+            isSameContent: { a, b -> a.value == b.value }
+    ] as ListDiff.Callback
+
+    private static List items(String inKeys) {
+        return inKeys.collect { [key: it, value: 0] }
+    }
+
+    private static ListDiff.Change change(ListDiff.Change.Type inType, int inPosition, int inCount) {
+        return new ListDiff.Change(inType, inPosition, inCount, -1)
+    }
+
+    def "Test calculate"() {
+        expect:
+        ListDiff.calculate(items(oldKeys), items(newKeys), CALLBACK) == expected
+
+        where:
+        oldKeys   | newKeys   | expected
+        ""        | ""        | []
+        "abc"     | "abc"     | []
+        ""        | "abc"     | [change(INSERT, 0, 3)]
+        "abc"     | ""        | [change(REMOVE, 0, 3)]
+        "abcde"   | "ade"     | [change(REMOVE, 1, 2)]
+        "abcdef"  | "bcf"     | [change(REMOVE, 3, 2), change(REMOVE, 0, 1)]
+        "ae"      | "abcde"   | [change(INSERT, 1, 3)]
+        "abc"     | "xabcy"   | [change(INSERT, 0, 1), change(INSERT, 4, 1)]
+        "abcd"    | "bcda"    | [new ListDiff.Change(MOVE, 0, 1, 3)]
+        "abcd"    | "dabc"    | [new ListDiff.Change(MOVE, 3, 1, 0)]
+        "abcde"   | "xbedy"   | [change(REMOVE, 2, 1), change(REMOVE, 0, 1),
+                                 change(INSERT, 0, 1), new ListDiff.Change(MOVE, 3, 1, 2), change(INSERT, 4, 1)]
+    }
+
+    def "Test calculate content changes"() {
+        given:
+        def oldList = items("abcd")
+        def newList = items("dabc")
+
+        when:
+        newList[1].value = 1
+        newList[2].value = 1
+        newList[0].value = 1
+        def result = ListDiff.calculate(oldList, newList, CALLBACK)
+
+        then: "the changes of content are in positions of new list"
+        result == [new ListDiff.Change(MOVE, 3, 1, 0), change(CHANGE, 0, 3)]
+    }
+
+    def "Test calculate random lists"() {
+        given:
+        def random = new Random(42)
+
+        expect:
+        (0..<500).every {
+            def oldList = randomItems(random, random.nextInt(30))
+            def newList = random.nextBoolean() ? editItems(random, oldList) : randomItems(random, random.nextInt(30))
+            def result = ListDiff.calculate(oldList, newList, CALLBACK)
+
+            assert apply(oldList, newList, result)
+            def moves = result.count { it.type == MOVE }
+            def edits = result.findAll { it.type == INSERT || it.type == REMOVE }.sum(0) { it.count }
+            assert edits + moves * 2 <= oldList.size() + newList.size() - 2 * lcs(oldList, newList)
+            true
+        }
+    }
+
+    def "Test calculate with wrong arguments"() {
+        when:
+        ListDiff.calculate(oldList, newList, callback)
+
+        then:
+        thrown(IllegalArgumentException)
+
+        where:
+        oldList      | newList      | callback
+        null         | items("a")   | CALLBACK
+        items("a")   | null         | CALLBACK
+        items("a")   | items("a")   | null
+        [[key: null]] | items("a")  | CALLBACK
+    }
+
+    private static List randomItems(Random inRandom, int inSize) {
+        def keys = (0..<40).toList()
+
+        Collections.shuffle(keys, inRandom)
+        return keys.take(inSize).collect { [key: it, value: inRandom.nextInt(2)] }
+    }
+
+    private static List editItems(Random inRandom, List inItems) {
+        def result = inItems.collect { [key: it.key, value: it.value] }
+        def nextKey = 100
+
+        (0..<inRandom.nextInt(6)).each {
+            def action = inRandom.nextInt(4)
+
+            if (action == 0 || result.isEmpty()) {
+                result.add(inRandom.nextInt(result.size() + 1), [key: nextKey++, value: 0])
+            } else if (action == 1) {
+                result.remove(inRandom.nextInt(result.size()))
+            } else if (action == 2) {
+                result.add(inRandom.nextInt(result.size()), result.remove(inRandom.nextInt(result.size())))
+            } else {
+                result[inRandom.nextInt(result.size())].value++
+            }
+        }
+        return result
+    }
+
+    // Apply the changes to old list with null as inserted item, then compare to new list
+    private static boolean apply(List inOldList, List inNewList, List<ListDiff.Change> inChanges) {
+        def work = new ArrayList(inOldList)
+        def changed = new HashSet()
+
+        inChanges.each { change ->
+            switch (change.type) {
+                case INSERT:
+                    change.count.times { work.add(change.position, null) }
+                    break
+                case REMOVE:
+                    change.count.times { work.remove(change.position) }
+                    break
+                case MOVE:
+                    work.add(change.toPosition, work.remove(change.position))
+                    break
+                case CHANGE:
+                    changed.addAll(change.position..<(change.position + change.count))
+                    break
+            }
+        }
+        assert work.size() == inNewList.size()
+        work.eachWithIndex { item, index ->
+            if (item != null) {
+                assert item.key == inNewList[index].key
+                assert changed.contains(index) == (item.value != inNewList[index].value)
+            } else {
+                assert changed.contains(index) == false
+            }
+        }
+        return true
+    }
+
+    private static int lcs(List inOldList, List inNewList) {
+        def table = new int[inOldList.size() + 1][inNewList.size() + 1]
+
+        for (int i = 1; i <= inOldList.size(); i++) {
+            for (int j = 1; j <= inNewList.size(); j++) {
+                table[i][j] = inOldList[i - 1].key == inNewList[j - 1].key
+                        ? table[i - 1][j - 1] + 1 : Math.max(table[i - 1][j], table[i][j - 1])
+            }
+        }
+        return table[inOldList.size()][inNewList.size()]
+    }
+
+}
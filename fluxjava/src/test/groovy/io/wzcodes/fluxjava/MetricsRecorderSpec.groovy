@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava
+
+import spock.lang.Specification
+
+class MetricsRecorderSpec extends Specification {
+
+    private static class StubAction extends FluxAction<String, String> {
+        StubAction(String inType) {
+            super(inType, null)
+        }
+    }
+
+    private static class StubIntAction extends IntAction {
+        StubIntAction(int inType) {
+            super(inType, 0)
+        }
+    }
+
+    def cleanup() {
+        FluxMetrics.set(null)
+    }
+
+    def "Test onStage"() {
+        given:
+        def target = new MetricsRecorder()
+
+        when: "values are recorded"
+        [1L, 2L, 3L, 100L, 1000L].each { nanos -> target.onStage(IFluxMetrics.Stage.HANDLE, null, "Todo", nanos, null) }
+        target.onStage(IFluxMetrics.Stage.HANDLE, null, "User", 5, null)
+        target.onStage(IFluxMetrics.Stage.SEND, null, "Todo", -1, null)
+
+        then: "each type in each stage has own histogram"
+        def histogram = target.getHistogram(IFluxMetrics.Stage.HANDLE, "Todo")
+        histogram.count == 5
+        histogram.totalNanos == 1106
+        histogram.maxNanos == 1000
+        histogram.meanNanos == 1106d / 5
+        target.getHistogram(IFluxMetrics.Stage.HANDLE, "User").count == 1
+        target.getHistogram(IFluxMetrics.Stage.SEND, "Todo").maxNanos == 0
+        target.getHistogram(IFluxMetrics.Stage.EMIT, "Todo") == null
+        target.getTypes(IFluxMetrics.Stage.HANDLE) == ["Todo", "User"] as Set
+
+        and: "percentile is the upper bound of bucket but not larger than maximum"
+        histogram.getPercentileNanos(0.2) == 1
+        histogram.getPercentileNanos(0.6) == 3
+        histogram.getPercentileNanos(0.8) == 127
+        histogram.getPercentileNanos(1) == 1000
+
+        when:
+        histogram.getPercentileNanos(0)
+
+        then:
+        thrown(IllegalArgumentException)
+
+        when: "nothing is recorded"
+        def empty = new MetricsRecorder.Histogram()
+
+        then:
+        empty.getPercentileNanos(0.99) == 0
+        empty.meanNanos == 0
+    }
+
+    def "Test onQueueDepth"() {
+        given:
+        def target = new MetricsRecorder()
+        def owner = new Object()
+
+        when:
+        target.onQueueDepth(owner, 3)
+        target.onQueueDepth(owner, 7)
+        target.onQueueDepth(owner, 2)
+
+        then: "last and maximum depth are kept"
+        target.getQueueDepth(owner) == 2
+        target.getMaxQueueDepth(owner) == 7
+        target.getQueueDepth(new Object()) == 0
+
+        when:
+        target.onStage(IFluxMetrics.Stage.SEND, null, "Todo", 1, null)
+        target.reset()
+
+        then:
+        target.getMaxQueueDepth(owner) == 0
+        target.getTypes(IFluxMetrics.Stage.SEND).isEmpty()
+    }
+
+    def "Test onQueueDepth from multiple threads"() {
+        given:
+        def target = new MetricsRecorder()
+        def owners = [new String("bus"), new String("bus")]
+        def threads = (0..<4).collect { thread ->
+            Thread.start {
+                for (int i = 1; i <= 1000; i++) {
+                    target.onQueueDepth(owners[thread % 2], thread % 2 == 0 ? i : i * 2)
+                }
+            }
+        }
+
+        when:
+        threads*.join()
+
+        then: "the owners are kept by identity and the maximum is not lost"
+        target.getMaxQueueDepth(owners[0]) == 1000
+        target.getMaxQueueDepth(owners[1]) == 2000
+        target.getQueueDepth("bus") == 0
+    }
+
+    def "Test set and typeOf"() {
+        when: "nothing is set"
+        def metrics = FluxMetrics.get()
+
+        then: "the default instance is never enabled"
+        !metrics.isEnabled()
+
+        when:
+        def recorder = new MetricsRecorder()
+        FluxMetrics.set(recorder)
+
+        then:
+        FluxMetrics.get() == recorder
+
+        when:
+        FluxMetrics.set(null)
+
+        then:
+        !FluxMetrics.get().isEnabled()
+
+        expect: "type of action or class of others"
+        FluxMetrics.typeOf(new StubAction("Todo")) == "Todo"
+        FluxMetrics.typeOf(new StubIntAction(3)) == 3
+        FluxMetrics.typeOf("event") == String.class
+        FluxMetrics.typeOf(null) == null
+    }
+
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava
+
+import spock.lang.Specification
+
+class PagedFluxStoreSpec extends Specification {
+
+    private IFluxBus mBus = Mock(IFluxBus)
+
+    static class StubListEvent implements FluxContext.StoreChangeEvent {
+    }
+
+    static class StubPagedStore extends PagedFluxStore<String> {
+        List<List<Integer>> mRequests = []
+        Map<Integer, Integer> mGenerations = [:]
+
+        List<Integer> mCancels = []
+        PrefetchPolicy mPolicy
+
+        StubPagedStore(IFluxBus inBus, int inPageSize, int inMaxPages) {
+            super(inBus, inPageSize, inMaxPages)
+        }
+
+        @Override
+        protected PrefetchPolicy getPrefetchPolicy() {
+            return this.mPolicy
+        }
+
+        @Override
+        protected void cancelPage(int inPage) {
+            this.mCancels.add(inPage)
+        }
+
+        @Override
+        protected void requestPage(int inPage, int inStart, int inCount, int inGeneration) {
+            this.mRequests.add([inPage, inStart, inCount])
+            this.mGenerations[inPage] = inGeneration
+        }
+
+        @Override
+        protected FluxContext.StoreChangeEvent createListChangeEvent() {
+            return new StubListEvent()
+        }
+
+        boolean load(int inPage) {
+            return this.load(inPage, this.mGenerations[inPage])
+        }
+
+        boolean load(int inPage, int inGeneration) {
+            def start = inPage * this.pageSize
+
+            return this.setPage(inPage, inGeneration,
+                    (start..<Math.min(start + this.pageSize, this.count)).collect { "item" + it })
+        }
+    }
+
+    def "Test getItem requests page once"() {
+        given:
+        def target = new StubPagedStore(this.mBus, 10, 3)
+
+        when:
+        target.setCount(25)
+
+        then:
+        1 * this.mBus.post({ it instanceof StubListEvent })
+        target.count == 25
+
+        when:
+        def first = target.getItem(21)
+        def second = target.getItem(22)
+
+        then: "the last page is not full"
+        first == null
+        second == null
+        target.mRequests == [[2, 20, 5]]
+
+        when:
+        target.load(2)
+
+        then:
+        1 * this.mBus.post(new ItemRangeChangeEvent(target, 20, 5))
+        target.getItem(22) == "item22"
+        target.isLoaded(24)
+        target.isLoaded(0) == false
+        target.findItem("item23") == 23
+        target.findItem("item3") == -1
+        target.mRequests.size() == 1
+
+        when:
+        target.getItem(25)
+
+        then:
+        thrown(IndexOutOfBoundsException)
+    }
+
+    def "Test pages are evicted by least recently used"() {
+        given:
+        def target = new StubPagedStore(this.mBus, 10, 2)
+
+        when:
+        target.setCount(100)
+        [0, 1].each {
+            target.getItem(it * 10)
+            target.load(it)
+        }
+        target.getItem(0)
+        target.getItem(20)
+        target.load(2)
+
+        then: "page 1 is used least recently"
+        target.isLoaded(0)
+        target.isLoaded(10) == false
+        target.isLoaded(20)
+
+        when:
+        target.getItem(10)
+
+        then:
+        target.mRequests.last() == [1, 10, 10]
+    }
+
+    def "Test page not requested is dropped"() {
+        given:
+        def target = new StubPagedStore(this.mBus, 10, 2)
+
+        when:
+        target.setCount(30)
+        target.getItem(0)
+        target.setCount(40)
+
+        then: "the request before count changed is out of date"
+        target.load(0) == false
+        target.isLoaded(0) == false
+
+        when:
+        target.getItem(0)
+        target.failPage(0, target.mGenerations[0])
+        target.getItem(0)
+
+        then: "the failed page is requested again"
+        target.mRequests == [[0, 0, 10], [0, 0, 10], [0, 0, 10]]
+        0 * this.mBus.post({ it instanceof ItemRangeChangeEvent })
+    }
+
+    def "Test page requested again after count changed"() {
+        given:
+        def target = new StubPagedStore(this.mBus, 10, 2)
+
+        when:
+        target.setCount(30)
+        target.getItem(0)
+        def oldGeneration = target.mGenerations[0]
+        target.setCount(40)
+        target.getItem(0)
+
+        then: "the same page is requested in a new generation"
+        target.mRequests == [[0, 0, 10], [0, 0, 10]]
+        target.mGenerations[0] != oldGeneration
+
+        when: "the load started before count changed completes"
+        target.failPage(0, oldGeneration)
+        def stale = target.load(0, oldGeneration)
+
+        then: "it's dropped and the new request is still pending"
+        stale == false
+        target.isLoaded(0) == false
+        0 * this.mBus.post({ it instanceof ItemRangeChangeEvent })
+
+        when:
+        target.getItem(1)
+        def fresh = target.load(0)
+
+        then: "the page is not requested again, and the new load is kept"
+        target.mRequests.size() == 2
+        fresh
+        target.getItem(1) == "item1"
+    }
+
+    def "Test setPage with wrong entities"() {
+        given:
+        def target = new StubPagedStore(this.mBus, 10, 2)
+
+        when:
+        target.setCount(30)
+        target.getItem(0)
+        target.setPage(0, target.mGenerations[0], entities)
+
+        then:
+        thrown(IllegalArgumentException)
+
+        where:
+        entities << [null, ["a"]]
+    }
+
+    def "Test constructor with wrong arguments"() {
+        when:
+        new StubPagedStore(this.mBus, pageSize, maxPages)
+
+        then:
+        thrown(IllegalArgumentException)
+
+        where:
+        pageSize | maxPages
+        0        | 1
+        1        | 0
+    }
+
+    def "Test prefetch ahead of reader"() {
+        given:
+        def target = new StubPagedStore(this.mBus, 10, 3)
+        def ahead = 1
+
+        target.mPolicy = Stub(PrefetchPolicy) {
+            onRead(*_) >> { ahead }
+        }
+
+        when:
+        target.setCount(100)
+        target.getItem(0)
+
+        then: "the page read is requested before prefetch"
+        target.mRequests == [[0, 0, 10], [1, 10, 10]]
+
+        when:
+        target.load(0)
+        target.load(1)
+        ahead = 5
+        target.getItem(5)
+
+        then: "the pages ahead are limited by the maximum pages"
+        target.mRequests.collect { it[0] } == [0, 1, 2]
+
+        when: "reader turns back"
+        ahead = -1
+        target.getItem(10)
+
+        then: "the prefetch out of window is cancelled"
+        target.mCancels == [2]
+        target.load(2) == false
+
+        when:
+        def stats = target.getPageStats()
+
+        then:
+        stats.hitCount == 2
+        stats.missCount == 1
+        stats.prefetchCount == 2
+        stats.prefetchHitCount == 1
+        stats.cancelCount == 1
+        stats.hitRate == 2d / 3
+    }
+
+    def "Test read converts prefetch into request"() {
+        given:
+        def target = new StubPagedStore(this.mBus, 10, 3)
+        def ahead = 1
+
+        target.mPolicy = Stub(PrefetchPolicy) {
+            onRead(*_) >> { ahead }
+        }
+
+        when:
+        target.setCount(100)
+        target.getItem(0)
+        target.getItem(10)
+        ahead = 0
+        target.getItem(50)
+
+        then: "the page read is not cancelled"
+        target.mCancels == [2]
+        target.mRequests.collect { it[0] } == [0, 1, 2, 5]
+        target.load(1)
+    }
+
+}
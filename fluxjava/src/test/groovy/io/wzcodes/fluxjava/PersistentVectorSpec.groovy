@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava
+
+import spock.lang.Specification
+
+class PersistentVectorSpec extends Specification {
+
+    def "Test plus and get"() {
+        given:
+        def target = PersistentVector.<Integer>empty()
+        def versions = []
+
+        when: "add elements across the levels of tree"
+        for (int i = 0; i < count; i++) {
+            target = target.plus(i)
+            if (i % 997 == 0) {
+                versions.add(target)
+            }
+        }
+
+        then:
+        target.size() == count
+        (0..<count).every { target.get(it) == it }
+
+        and: "old versions are not changed"
+        versions.eachWithIndex { version, index ->
+            assert version.size() == index * 997 + 1
+            assert version.get(version.size() - 1) == index * 997
+        }
+
+        where:
+        count << [1, 32, 33, 1024, 1057, 32 * 32 * 32 + 33]
+    }
+
+    def "Test from"() {
+        given:
+        def elements = (0..<count).collect { "e" + it }
+
+        when:
+        def target = PersistentVector.from(elements)
+        def expected = PersistentVector.<String>empty()
+
+        elements.each { expected = expected.plus(it) }
+
+        then: "the same as adding one by one"
+        target.size() == count
+        target.asList() == elements
+        (0..<count).every { target.get(it) == expected.get(it) }
+
+        when: "add to the built one"
+        target = target.plus("last")
+
+        then:
+        target.size() == count + 1
+        target.get(count) == "last"
+        target.asList().subList(0, count) == elements
+
+        where:
+        count << [0, 1, 31, 32, 33, 64, 65, 1024, 1056, 1057, 32 * 32 * 33 + 7]
+    }
+
+    def "Test set"() {
+        given:
+        def original = PersistentVector.from((0..<2000).collect { it })
+        def target
+
+        when:
+        target = original.set(0, -1).set(1500, -2).set(1999, -3)
+
+        then: "only the new version is changed"
+        target.get(0) == -1
+        target.get(1500) == -2
+        target.get(1999) == -3
+        target.get(1) == 1
+        original.get(0) == 0
+        original.get(1500) == 1500
+        original.get(1999) == 1999
+        target.size() == original.size()
+    }
+
+    def "Test iterator"() {
+        given:
+        def elements = (0..<100).collect { it }
+        def target = PersistentVector.from(elements)
+        def actual = []
+
+        when:
+        for (Integer element : target) {
+            actual.add(element)
+        }
+
+        then:
+        actual == elements
+
+        when:
+        target.iterator().remove()
+
+        then:
+        thrown(UnsupportedOperationException)
+
+        when:
+        def iterator = PersistentVector.empty().iterator()
+
+        iterator.next()
+
+        then:
+        iterator.hasNext() == false
+        thrown(NoSuchElementException)
+    }
+
+    def "Test wrong index"() {
+        given:
+        def target = PersistentVector.from([1, 2, 3])
+
+        when:
+        target.get(index)
+
+        then:
+        thrown(IndexOutOfBoundsException)
+
+        when:
+        target.set(index, 0)
+
+        then:
+        thrown(IndexOutOfBoundsException)
+
+        where:
+        index << [-1, 3]
+    }
+
+    def "Test from null"() {
+        when:
+        PersistentVector.from(null)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava
+
+import spock.lang.Specification
+
+class PrefetchPolicySpec extends Specification {
+
+    private static final long MILLIS = 1000000L
+
+    def "Test onRead follows direction and velocity"() {
+        given:
+        def target = new PrefetchPolicy(3, 500)
+
+        expect: "nothing ahead before moving"
+        target.onRead(100, 10, 0) == 0
+        target.direction == 0
+
+        and: "slow reading loads the next page"
+        target.onRead(101, 10, 100 * MILLIS) == 1
+        target.direction == 1
+        target.velocity > 0
+
+        and: "fast reading loads more pages within the maximum"
+        target.onRead(111, 10, 101 * MILLIS) == 3
+
+        and: "turning back doesn't keep the old velocity"
+        target.onRead(110, 10, 201 * MILLIS) == -1
+        target.direction == -1
+
+        and: "jumping resets the velocity"
+        target.onRead(1000, 10, 202 * MILLIS) == 0
+        target.velocity == 0
+    }
+
+    def "Test constructor with wrong arguments"() {
+        when:
+        new PrefetchPolicy(maxAhead, lookahead)
+
+        then:
+        thrown(IllegalArgumentException)
+
+        where:
+        maxAhead | lookahead
+        0        | 100
+        1        | -1
+    }
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava
+
+import spock.lang.Specification
+
+class PrimitiveActionSpec extends Specification {
+
+    private static class StubIntAction extends IntAction {
+        StubIntAction(int inType, int inData) {
+            super(inType, inData)
+        }
+    }
+
+    private static class StubLongAction extends LongAction {
+        StubLongAction(int inType, long inData) {
+            super(inType, inData)
+        }
+    }
+
+    private static class StubDoubleAction extends DoubleAction {
+        StubDoubleAction(int inType, double inData) {
+            super(inType, inData)
+        }
+    }
+
+    def "Test getType and getData"() {
+        expect:
+        target.getType() == expectedType
+        target.getData() == expectedData
+        target instanceof IFluxAction
+
+        where:
+        target                                    | expectedType | expectedData
+        new StubIntAction(1, -2)                  | 1            | -2
+        new StubLongAction(3, Long.MAX_VALUE)     | 3            | Long.MAX_VALUE
+        new StubDoubleAction(-4, 0.5d)            | -4           | 0.5d
+    }
+
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava
+
+import spock.lang.Specification
+
+import java.lang.reflect.Field
+import java.util.concurrent.Executor
+
+class RecyclableActionSpec extends Specification {
+
+    private static class StubRecyclableAction extends RecyclableAction<String, String> {
+        int mResetCount
+
+        @Override
+        protected void reset() {
+            this.mResetCount++
+        }
+    }
+
+    private static class StubNoParamAction extends RecyclableAction<String, String> {
+        StubNoParamAction(String inValue) {
+        }
+    }
+
+    private static class StubSubscriber implements IFluxSubscriber {
+        private final List<Object> mEvents = new ArrayList<>()
+
+        @Override
+        Class<?> getEventType() {
+            return StubRecyclableAction.class
+        }
+
+        @Override
+        void onEvent(Object inEvent) {
+            this.mEvents.add(inEvent)
+        }
+    }
+
+    def cleanup() {
+        RecyclableAction.setDebug(false)
+    }
+
+    private ActionCreator createActionCreator(final IFluxBus inBus, final Class<?> inActionClass) {
+        Field field = FluxContext.class.getDeclaredField("sInstance");
+        def builder = FluxContext.getBuilder()
+        def actionHelper = [getActionClass: { inActionClass }, wrapData: { it }] as IActionHelper
+
+        field.setAccessible(true);
+        // Reset the instance of FluxContext
+        field.set(null, null);
+        builder.bus = inBus
+        builder.actionHelper = actionHelper
+        builder.storeMap = [0:FluxContextSpec.StubStore.class]
+
+        return builder.build().actionCreator
+    }
+
+    def "Test sendRequest with pooled action"() {
+        given:
+        def bus = Mock(IFluxBus)
+        def target = createActionCreator(bus, StubRecyclableAction.class)
+        def actions = []
+        def types = []
+        def references = []
+
+        bus.post(_) >> {
+            actions.add(it[0])
+            types.add(it[0].type)
+            references.add(it[0].referenceCount)
+        }
+
+        when:
+        target.sendRequest("1", "a")
+        target.sendRequest("2", "b")
+
+        then: "the action is released after posted and reused"
+        types == ["1", "2"]
+        references == [1, 1]
+        actions[0].is(actions[1])
+        actions[0].referenceCount == 0
+        actions[0].type == null
+        actions[0].data == null
+        actions[0].mResetCount == 2
+    }
+
+    def "Test sendRequest with retained action"() {
+        given:
+        def bus = Mock(IFluxBus)
+        def target = createActionCreator(bus, StubRecyclableAction.class)
+        def actions = []
+
+        bus.post(_) >> {
+            ((IRecyclable)it[0]).retain()
+            actions.add(it[0])
+        }
+
+        when:
+        target.sendRequest("1", "a")
+        target.sendRequest("2", "b")
+
+        then: "the held action is not reused"
+        actions[0].is(actions[1]) == false
+        actions[0].type == "1"
+        actions[0].data == "a"
+        actions[0].referenceCount == 1
+
+        when:
+        actions.each { ((IRecyclable)it).release() }
+        actions.clear()
+        target.sendRequest("3", "c")
+
+        then: "the released action goes back to pool"
+        actions[0].type == "3"
+        actions[0].data == "c"
+    }
+
+    def "Test sendRequests with pooled action"() {
+        given:
+        def bus = Mock(IFluxBatchBus)
+        def target = createActionCreator(bus, StubRecyclableAction.class)
+        def actions = []
+
+        bus.postAll(_) >> {
+            actions.addAll(it[0])
+            assert it[0]*.data == ["a", "b"]
+        }
+
+        when:
+        target.sendRequests("1", ["a", "b"])
+
+        then:
+        actions.size() == 2
+        actions.every { it.referenceCount == 0 }
+    }
+
+    def "Test sendRequest with wrong action"() {
+        given:
+        def bus = Mock(IFluxBus)
+        def target
+
+        when: "data class doesn't match"
+        target = createActionCreator(bus, StubRecyclableAction.class)
+        target.sendRequest("1", 1)
+
+        then:
+        thrown(IllegalStateException)
+        0 * bus.post(_)
+
+        when: "type class doesn't match"
+        target.sendRequest(1, "a")
+
+        then:
+        thrown(IllegalStateException)
+
+        when: "no constructor without parameter"
+        target = createActionCreator(bus, StubNoParamAction.class)
+        target.sendRequest("1", "a")
+
+        then:
+        thrown(IllegalStateException)
+    }
+
+    def "Test post pooled action with executor"() {
+        given:
+        def tasks = []
+        def executor = { tasks.add(it) } as Executor
+        def bus = new FluxBus(executor)
+        def target = createActionCreator(bus, StubRecyclableAction.class)
+        def subscriber1 = new StubSubscriber()
+        def subscriber2 = new StubSubscriber()
+
+        bus.register(subscriber1)
+        bus.register(subscriber2)
+
+        when:
+        target.sendRequest("1", "a")
+
+        then: "action is held for each subscriber"
+        tasks.size() == 2
+
+        when:
+        tasks[0].run()
+
+        then:
+        subscriber1.mEvents.size() == 1
+        subscriber1.mEvents[0].referenceCount == 1
+        subscriber1.mEvents[0].type == "1"
+
+        when:
+        tasks[1].run()
+
+        then: "action is released after all subscribers get it"
+        subscriber2.mEvents[0].is(subscriber1.mEvents[0])
+        subscriber1.mEvents[0].referenceCount == 0
+    }
+
+    def "Test retain and release in debug mode"() {
+        given:
+        def bus = Mock(IFluxBus)
+        def target = createActionCreator(bus, StubRecyclableAction.class)
+        def actions = []
+
+        bus.post(_) >> { actions.add(it[0]) }
+        RecyclableAction.setDebug(true)
+
+        when:
+        target.sendRequest("1", "a")
+        target.sendRequest("2", "b")
+
+        then: "released action is not reused"
+        RecyclableAction.isDebug()
+        actions.size() == 2
+        actions[0].is(actions[1]) == false
+
+        when: "use after released"
+        actions[0].getType()
+
+        then:
+        thrown(IllegalStateException)
+
+        when:
+        actions[0].getData()
+
+        then:
+        thrown(IllegalStateException)
+
+        when:
+        ((IRecyclable)actions[0]).retain()
+
+        then:
+        thrown(IllegalStateException)
+
+        when: "release twice"
+        ((IRecyclable)actions[0]).release()
+
+        then:
+        thrown(IllegalStateException)
+        actions[0].referenceCount == 0
+    }
+
+}
@@ -0,0 +1,407 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+class RingBusSpec extends Specification {
+
+    private static class StubSubscriber implements IFluxSubscriber {
+        protected final Class<?> mEventType
+        protected final List<Object> mEvents = Collections.synchronizedList(new ArrayList<>())
+        protected final CountDownLatch mLatch
+
+        StubSubscriber(Class<?> inEventType, int inCount) {
+            this.mEventType = inEventType
+            this.mLatch = new CountDownLatch(inCount)
+        }
+
+        @Override
+        Class<?> getEventType() {
+            return this.mEventType
+        }
+
+        @Override
+        void onEvent(Object inEvent) {
+            this.mEvents.add(inEvent)
+            this.mLatch.countDown()
+        }
+    }
+
+    private static class StubBatchSubscriber extends StubSubscriber implements IFluxBatchSubscriber {
+        private int mBatchCount
+
+        StubBatchSubscriber(Class<?> inEventType, int inCount) {
+            super(inEventType, inCount)
+        }
+
+        @Override
+        void onEventBatch(List<Object> inEvents) {
+            this.mBatchCount++
+            for (Object event : inEvents) {
+                this.onEvent(event)
+            }
+        }
+    }
+
+    private static class StubRecyclableEvent extends RecyclableChangeEvent {
+        @Override
+        protected void reset() {
+        }
+    }
+
+    private static class StubReferenceSubscriber extends StubSubscriber {
+        protected volatile boolean mRecycled
+
+        StubReferenceSubscriber(int inCount) {
+            super(StubRecyclableEvent.class, inCount)
+        }
+
+        @Override
+        void onEvent(Object inEvent) {
+            if (((RecyclableChangeEvent)inEvent).referenceCount <= 0) {
+                this.mRecycled = true
+            }
+            super.onEvent(inEvent)
+        }
+    }
+
+    def "Test constructor"() {
+        when: "buffer size is not a power of 2"
+        new RingBus(10, RingBus.WaitStrategy.PARK)
+
+        then: "get an exception"
+        thrown(IllegalArgumentException)
+
+        when: "wait strategy is missing"
+        new RingBus(8, null)
+
+        then: "get an exception"
+        thrown(IllegalArgumentException)
+
+        expect:
+        new RingBus().getBufferSize() == RingBus.DEFAULT_BUFFER_SIZE
+    }
+
+    def "Test register"() {
+        given:
+        def target = new RingBus(8, RingBus.WaitStrategy.PARK)
+
+        when: "register a wrong type"
+        target.register(new Object())
+
+        then: "get an exception"
+        thrown(IllegalArgumentException)
+
+        when: "register a subscriber without event type"
+        target.register(new StubSubscriber(null, 0))
+
+        then: "get an exception"
+        thrown(IllegalArgumentException)
+
+        when: "post a null event"
+        target.post(null)
+
+        then: "get an exception"
+        thrown(IllegalArgumentException)
+
+        when: "post more events than the ring without subscribers"
+        for (int i = 0; i < 20; i++) {
+            target.post(i)
+        }
+
+        then: "never wait"
+        noExceptionThrown()
+    }
+
+    @Unroll
+    def "Test post with #strategy"() {
+        given:
+        def count = 1000
+        def target = new RingBus(8, strategy)
+        def subscriber = new StubSubscriber(Integer.class, count)
+        def batchSubscriber = new StubBatchSubscriber(Number.class, count)
+        def stringSubscriber = new StubSubscriber(String.class, 1)
+        def producers = []
+
+        target.register(subscriber)
+        target.register(batchSubscriber)
+        target.register(stringSubscriber)
+        target.register(subscriber)
+
+        when: "post from several threads through a small ring"
+        for (int i = 0; i < 4; i++) {
+            def start = i * count.intdiv(4)
+            producers.add(Thread.start {
+                for (int j = start; j < start + count.intdiv(4); j++) {
+                    target.post(j)
+                }
+            })
+        }
+        producers.each { it.join() }
+
+        then: "every subscriber gets the events of its type once"
+        subscriber.mLatch.await(10, TimeUnit.SECONDS)
+        batchSubscriber.mLatch.await(10, TimeUnit.SECONDS)
+        subscriber.mEvents.sort() == (0..<count).toList()
+        batchSubscriber.mEvents.sort() == (0..<count).toList()
+        batchSubscriber.mBatchCount <= count
+        stringSubscriber.mEvents.isEmpty()
+
+        when: "unregister subscribers"
+        target.unregister(subscriber)
+        target.unregister(batchSubscriber)
+        target.unregister(new Object())
+        for (int i = 0; i < 20; i++) {
+            target.post(i)
+        }
+        target.post("done")
+
+        then: "only the registered one gets the event"
+        stringSubscriber.mLatch.await(10, TimeUnit.SECONDS)
+        stringSubscriber.mEvents == ["done"]
+        subscriber.mEvents.size() == count
+        batchSubscriber.mEvents.size() == count
+
+        cleanup:
+        target.unregister(stringSubscriber)
+
+        where:
+        strategy << RingBus.WaitStrategy.values()
+    }
+
+    def "Test post in order"() {
+        given:
+        def count = 100
+        def target = new RingBus(16, RingBus.WaitStrategy.PARK)
+        def subscriber = new StubBatchSubscriber(Integer.class, count)
+
+        target.register(subscriber)
+
+        when:
+        for (int i = 0; i < count; i++) {
+            target.post(i)
+        }
+
+        then: "events from the same thread keep the posted order"
+        subscriber.mLatch.await(10, TimeUnit.SECONDS)
+        subscriber.mEvents == (0..<count).toList()
+
+        cleanup:
+        target.unregister(subscriber)
+    }
+
+    def "Test post recyclable event"() {
+        given:
+        def count = 100
+        def target = new RingBus(16, RingBus.WaitStrategy.PARK)
+        def pool = new ChangeEventPool<StubRecyclableEvent>(new ChangeEventPool.Factory<StubRecyclableEvent>() {
+            @Override
+            StubRecyclableEvent create() {
+                return new StubRecyclableEvent()
+            }
+        }, 4)
+        def subscriber = new StubReferenceSubscriber(count)
+        def other = new StubSubscriber(Integer.class, 0)
+
+        target.register(subscriber)
+        target.register(other)
+
+        when: "sender releases the event right after posted"
+        for (int i = 0; i < count; i++) {
+            def event = pool.obtain()
+
+            target.post(event)
+            event.release()
+        }
+
+        then: "subscriber always gets the event held"
+        subscriber.mLatch.await(10, TimeUnit.SECONDS)
+        !subscriber.mRecycled
+
+        and: "events are back to pool"
+        this.waitForIdle(pool, Math.min(subscriber.mEvents.toSet().size(), 4))
+
+        cleanup:
+        target.unregister(subscriber)
+        target.unregister(other)
+    }
+
+    def "Test register while posting recyclable events"() {
+        given:
+        def count = 5000
+        def target = new RingBus(64, RingBus.WaitStrategy.YIELD)
+        def events = Collections.synchronizedList([])
+        def subscribers = Collections.synchronizedList([new StubReferenceSubscriber(0)])
+        def marker = new StubRecyclableEvent()
+
+        target.register(subscribers[0])
+
+        when: "subscribers are registered while the events are posted and released by sender"
+        def producer = Thread.start {
+            for (int i = 0; i < count; i++) {
+                def event = new StubRecyclableEvent()
+
+                events.add(event)
+                target.post(event)
+                event.release()
+            }
+        }
+        def registrar = Thread.start {
+            while (producer.isAlive()) {
+                def subscriber = new StubReferenceSubscriber(0)
+
+                subscribers.add(subscriber)
+                target.register(subscriber)
+                Thread.yield()
+            }
+        }
+        producer.join()
+        registrar.join()
+        target.post(marker)
+        marker.release()
+
+        then: "every subscriber gets the marker"
+        subscribers.every { subscriber -> this.waitForEvent(subscriber, marker) }
+
+        and: "no event is retained for a subscriber never reads it, or released before read"
+        events.findAll { event -> event.referenceCount != 0 }.isEmpty()
+        subscribers.every { subscriber -> subscriber.mRecycled == false }
+
+        cleanup:
+        subscribers.each { subscriber -> target.unregister(subscriber) }
+    }
+
+    def "Test postAll"() {
+        given:
+        def count = 100
+        def target = new RingBus(16, RingBus.WaitStrategy.PARK)
+        def subscriber = new StubBatchSubscriber(Integer.class, count)
+
+        target.register(subscriber)
+
+        when: "post a list with null"
+        target.postAll([1, null])
+
+        then: "get an exception and nothing is claimed"
+        thrown(IllegalArgumentException)
+        target.mClaimed.get() == -1
+
+        when: "post more events than the ring"
+        target.postAll((0..<count).toList())
+
+        then: "events keep the posted order"
+        subscriber.mLatch.await(10, TimeUnit.SECONDS)
+        subscriber.mEvents == (0..<count).toList()
+        subscriber.mBatchCount <= count
+
+        cleanup:
+        target.unregister(subscriber)
+    }
+
+    def "Test subscriber throws exception"() {
+        given:
+        def target = new RingBus(4, RingBus.WaitStrategy.PARK)
+        def errors = Collections.synchronizedList([])
+        def subscriber = new StubSubscriber(Integer.class, 20) {
+            @Override
+            void onEvent(Object inEvent) {
+                super.onEvent(inEvent)
+                if (inEvent == 0) {
+                    throw new IllegalStateException("Test")
+                }
+            }
+        }
+
+        target.setErrorHandler(new RingBus.ErrorHandler() {
+            @Override
+            void onError(IFluxSubscriber inSubscriber, Throwable inThrowable) {
+                errors.add([inSubscriber, inThrowable.message])
+            }
+        })
+        target.register(subscriber)
+
+        when: "subscriber failed on the first event"
+        for (int i = 0; i < 20; i++) {
+            target.post(i)
+        }
+
+        then: "the error is reported and subscriber keeps getting events"
+        subscriber.mLatch.await(10, TimeUnit.SECONDS)
+        subscriber.mEvents == (0..<20).toList()
+        errors == [[subscriber, "Test"]]
+
+        cleanup:
+        target.unregister(subscriber)
+    }
+
+    def "Test post in thread of subscriber to a full ring"() {
+        given:
+        def count = 200
+        def target = new RingBus(4, RingBus.WaitStrategy.PARK)
+        def view = new StubSubscriber(String.class, count)
+        def store = new StubSubscriber(Integer.class, count) {
+            @Override
+            void onEvent(Object inEvent) {
+                // Emit a change for each action like a store
+                target.post("change" + inEvent)
+                super.onEvent(inEvent)
+            }
+        }
+
+        target.register(store)
+        target.register(view)
+
+        when:
+        for (int i = 0; i < count; i++) {
+            target.post(i)
+        }
+
+        then: "the store never waits for itself and the changes are in order"
+        store.mLatch.await(10, TimeUnit.SECONDS)
+        view.mLatch.await(10, TimeUnit.SECONDS)
+        view.mEvents == (0..<count).collect { "change" + it }
+
+        cleanup:
+        target.unregister(store)
+        target.unregister(view)
+    }
+
+    private boolean waitForEvent(final StubSubscriber inSubscriber, final Object inEvent) {
+        final long deadline = System.currentTimeMillis() + 10000
+
+        while (inSubscriber.mEvents.contains(inEvent) == false && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10)
+        }
+
+        return inSubscriber.mEvents.contains(inEvent)
+    }
+
+    private boolean waitForIdle(final ChangeEventPool<?> inPool, final int inCount) {
+        final long deadline = System.currentTimeMillis() + 5000
+
+        while (inPool.idleCount < inCount && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10)
+        }
+
+        return inPool.idleCount == inCount
+    }
+
+}
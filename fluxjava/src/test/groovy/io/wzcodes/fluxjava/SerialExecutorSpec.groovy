@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava
+
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executor
+import java.util.concurrent.Executors
+import java.util.concurrent.ThreadPoolExecutor
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class SerialExecutorSpec extends Specification {
+
+    def "Test constructor"() {
+        when:
+        new SerialExecutor(null)
+
+        then:
+        thrown(IllegalArgumentException)
+
+        expect:
+        new SerialExecutor() != null
+        SerialExecutor.getDefaultExecutor() == SerialExecutor.getDefaultExecutor()
+    }
+
+    def "Test default executor"() {
+        given:
+        def target = (ThreadPoolExecutor)SerialExecutor.getDefaultExecutor()
+        def latch = new CountDownLatch(1)
+        def daemon = false
+
+        when:
+        target.execute(new Runnable() {
+            @Override
+            void run() {
+                daemon = Thread.currentThread().isDaemon()
+                latch.countDown()
+            }
+        })
+        latch.await(5, TimeUnit.SECONDS)
+
+        then: "a thread for each processor at most, and the idle ones end"
+        target.maximumPoolSize == Runtime.getRuntime().availableProcessors()
+        target.allowsCoreThreadTimeOut()
+        daemon
+    }
+
+    def "Test execute"() {
+        given:
+        def pool = Executors.newFixedThreadPool(4)
+        def target = new SerialExecutor(pool)
+        def expected = new ArrayList<Integer>()
+        def actual = Collections.synchronizedList(new ArrayList<Integer>())
+        def running = new AtomicInteger(0)
+        def overlapped = false
+        def latch = new CountDownLatch(200)
+
+        when: "submit tasks continuously"
+        for (int i = 0; i < 200; i++) {
+            final int index = i
+
+            expected.add(index)
+            target.execute(new Runnable() {
+                @Override
+                void run() {
+                    if (running.incrementAndGet() > 1) {
+                        overlapped = true
+                    }
+                    actual.add(index)
+                    running.decrementAndGet()
+                    latch.countDown()
+                }
+            })
+        }
+        latch.await(5, TimeUnit.SECONDS)
+
+        then: "tasks run one by one in order"
+        actual == expected
+        !overlapped
+        target.getQueueSize() == 0
+
+        cleanup:
+        pool.shutdown()
+    }
+
+    def "Test execute with error"() {
+        given:
+        def executor = Mock(Executor)
+        def target = new SerialExecutor(executor)
+
+        when: "task is null"
+        target.execute(null)
+
+        then:
+        thrown(IllegalArgumentException)
+
+        when: "executor can't accept task"
+        target.execute(Mock(Runnable))
+
+        then: "get the error"
+        1 * executor.execute(_) >> { throw new RuntimeException("ExecutorError") }
+        thrown(RuntimeException)
+
+        when: "executor accepts task again"
+        target.execute(Mock(Runnable))
+
+        then: "queue is scheduled again"
+        1 * executor.execute(_)
+        target.getQueueSize() == 2
+    }
+
+}
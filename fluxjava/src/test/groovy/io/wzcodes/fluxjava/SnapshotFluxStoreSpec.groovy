@@ -0,0 +1,184 @@
+/*
+ * Copyright (C) 2016 Bugs will find a way (https://wznote.blogspot.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.wzcodes.fluxjava
+
+import spock.lang.Specification
+
+class SnapshotFluxStoreSpec extends Specification {
+
+    private static class StubSnapshotStore extends SnapshotFluxStore<String> {
+        StubSnapshotStore() {
+            super(null)
+        }
+
+        StubSnapshotStore(IFluxBus inBus) {
+            super(inBus)
+        }
+
+        @Override
+        int findItem(String inEntity) {
+            return this.getSnapshot().asList().indexOf(inEntity)
+        }
+    }
+
+    def "Test publish"() {
+        given:
+        def target = new StubSnapshotStore()
+        def entity = new String("a")
+        def snapshot
+
+        when:
+        snapshot = target.getSnapshot()
+
+        then:
+        snapshot.size() == 0
+        target.count == 0
+
+        when:
+        target.publish(snapshot.plus(entity).plus("b"))
+
+        then: "entity is returned without copying"
+        target.count == 2
+        target.getItem(0).is(entity)
+        target.findItem("b") == 1
+
+        and: "the snapshot taken before is not changed"
+        snapshot.size() == 0
+
+        when:
+        snapshot = target.getSnapshot()
+        target.publish(snapshot.set(0, "c"))
+
+        then:
+        snapshot.get(0).is(entity)
+        target.getItem(0) == "c"
+
+        when:
+        target.publish(null)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "Test publish with expected version"() {
+        given:
+        def target = new StubSnapshotStore()
+        def snapshot = target.getSnapshot()
+
+        when:
+        def first = target.publish(snapshot, snapshot.plus("a"))
+        def second = target.publish(snapshot, snapshot.plus("b"))
+
+        then: "the one created from an old version is rejected"
+        first
+        second == false
+        target.getSnapshot().asList() == ["a"]
+    }
+
+    def "Test publishChanges"() {
+        given:
+        def bus = Mock(IFluxBus)
+        def target = new StubSnapshotStore(bus)
+        def callback = [getKey: { it.substring(0, 1) }, isSameContent: { a, b -> a == b }] as ListDiff.Callback
+        def event
+
+        when:
+        target.publish(PersistentVector.from(["a0", "b0", "c0"]))
+        def base = target.getSnapshot()
+        def result = target.publishChanges(PersistentVector.from(["c0", "a1", "d0"]), callback)
+
+        then: "the event carries the versions before and after"
+        1 * bus.post(_) >> { event = it[0] }
+        target.getSnapshot().asList() == ["c0", "a1", "d0"]
+        event instanceof ListDiffEvent
+        event.store.is(target)
+        event.base.is(base)
+        event.snapshot.is(target.getSnapshot())
+        event.changes == result
+        result == [new ListDiff.Change(ListDiff.Change.Type.REMOVE, 1, 1, -1),
+                   new ListDiff.Change(ListDiff.Change.Type.MOVE, 0, 1, 1),
+                   new ListDiff.Change(ListDiff.Change.Type.INSERT, 2, 1, -1),
+                   new ListDiff.Change(ListDiff.Change.Type.CHANGE, 1, 1, -1)]
+
+        when: "nothing is emitted without difference"
+        result = target.publishChanges(PersistentVector.from(["c0", "a1", "d0"]), callback)
+
+        then:
+        0 * bus._
+        result.isEmpty()
+    }
+
+    def "Test publishChanges with expected version"() {
+        given:
+        def bus = Mock(IFluxBus)
+        def target = new StubSnapshotStore(bus)
+        def callback = [getKey: { it }, isSameContent: { a, b -> a == b }] as ListDiff.Callback
+        def snapshot = target.getSnapshot()
+
+        when:
+        def first = target.publishChanges(snapshot, snapshot.plus("a"), callback)
+        def second = target.publishChanges(snapshot, snapshot.plus("b"), callback)
+
+        then: "the one created from an old version is rejected without event"
+        1 * bus.post({ it.base.is(snapshot) && it.snapshot.asList() == ["a"] })
+        first == [new ListDiff.Change(ListDiff.Change.Type.INSERT, 0, 1, -1)]
+        second == null
+        target.getSnapshot().asList() == ["a"]
+
+        when:
+        target.publishChanges(null, snapshot, callback)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "Test publishChanges from multiple threads"() {
+        given:
+        def events = Collections.synchronizedList([])
+        def bus = [post: { event -> events.add(event) }] as IFluxBus
+        def target = new StubSnapshotStore(bus)
+        def callback = [getKey: { it }, isSameContent: { a, b -> a == b }] as ListDiff.Callback
+        def threadCount = 4
+        def count = 100
+        def threads = (0..<threadCount).collect { thread ->
+            Thread.start {
+                for (int i = 0; i < count; i++) {
+                    def current
+                    def snapshot
+
+                    // append from the latest version until it's published
+                    while (true) {
+                        current = target.getSnapshot()
+                        snapshot = current.plus(thread + "-" + i)
+                        if (target.publishChanges(current, snapshot, callback) != null) {
+                            break
+                        }
+                    }
+                }
+            }
+        }
+
+        when:
+        threads*.join()
+
+        then: "no item is lost and every version is the base of exactly one event"
+        target.count == threadCount * count
+        events.size() == threadCount * count
+        events*.base*.size().sort() == (0..<threadCount * count).toList()
+        events.every { event -> event.snapshot.size() == event.base.size() + 1 }
+    }
+
+}